@@ -26,19 +26,24 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.sleepycat.bind.tuple.LongBinding;
 import com.sleepycat.je.Cursor;
 import com.sleepycat.je.Database;
 import com.sleepycat.je.DatabaseEntry;
 import com.sleepycat.je.DatabaseNotFoundException;
+import com.sleepycat.je.Durability.SyncPolicy;
 import com.sleepycat.je.LockConflictException;
 import com.sleepycat.je.LockMode;
 import com.sleepycat.je.OperationStatus;
@@ -49,7 +54,12 @@ import org.slf4j.Logger;
 
 import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
 import org.apache.qpid.server.message.EnqueueableMessage;
+import org.apache.qpid.server.model.AbstractConfigurationChangeListener;
 import org.apache.qpid.server.model.ConfiguredObject;
+import org.apache.qpid.server.model.Queue;
+import org.apache.qpid.server.model.State;
+import org.apache.qpid.server.model.VirtualHost;
+import org.apache.qpid.server.stats.LatencyHistogram;
 import org.apache.qpid.server.store.Event;
 import org.apache.qpid.server.store.EventListener;
 import org.apache.qpid.server.store.EventManager;
@@ -79,10 +89,10 @@ public abstract class AbstractBDBMessageStore implements MessageStore
 
     private static final int LOCK_RETRY_ATTEMPTS = 5;
 
-    private static final String MESSAGE_META_DATA_DB_NAME = "MESSAGE_METADATA";
+    public static final String MESSAGE_META_DATA_DB_NAME = "MESSAGE_METADATA";
     private static final String MESSAGE_META_DATA_SEQ_DB_NAME = "MESSAGE_METADATA.SEQ";
     private static final String MESSAGE_CONTENT_DB_NAME = "MESSAGE_CONTENT";
-    private static final String DELIVERY_DB_NAME = "QUEUE_ENTRIES";
+    public static final String DELIVERY_DB_NAME = "QUEUE_ENTRIES";
 
     //TODO: Add upgrader to remove BRIDGES and LINKS
     private static final String BRIDGEDB_NAME = "BRIDGES";
@@ -109,8 +119,14 @@ public abstract class AbstractBDBMessageStore implements MessageStore
     private final Random _lockConflictRandom = new Random();
     private final AtomicLong _inMemorySize = new AtomicLong();
     private final AtomicLong _bytesEvacuatedFromMemory = new AtomicLong();
+    private final AtomicLong _bytesReloadedIntoMemory = new AtomicLong();
+    private final LatencyHistogram _commitLatencyHistogram = new LatencyHistogram();
     private final Set<StoredBDBMessage<?>> _messages = Collections.newSetFromMap(new ConcurrentHashMap<>());
     private final Set<MessageDeleteListener> _messageDeleteListeners = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final ConcurrentMap<UUID, Optional<SyncPolicy>> _queueSyncPolicies = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, ConfiguredObject<?>> _syncPolicyQueues = new ConcurrentHashMap<>();
+    private final List<ConfiguredObject<?>> _syncPolicyAncestors = new CopyOnWriteArrayList<>();
+    private final QueueSyncPolicyListener _queueSyncPolicyListener = new QueueSyncPolicyListener();
 
     @Override
     public void openMessageStore(final ConfiguredObject<?> parent)
@@ -128,6 +144,12 @@ public abstract class AbstractBDBMessageStore implements MessageStore
                 _persistentSizeLowThreshold = _persistentSizeHighThreshold;
             }
 
+            for (ConfiguredObject<?> ancestor = parent; ancestor != null; ancestor = ancestor.getParent())
+            {
+                ancestor.addChangeListener(_queueSyncPolicyListener);
+                _syncPolicyAncestors.add(ancestor);
+            }
+
             doOpen(parent);
         }
     }
@@ -144,8 +166,10 @@ public abstract class AbstractBDBMessageStore implements MessageStore
                 message.clear(true);
             }
             _messages.clear();
+            removeQueueSyncPolicyListener();
             _inMemorySize.set(0);
             _bytesEvacuatedFromMemory.set(0);
+            _bytesReloadedIntoMemory.set(0);
             doClose();
         }
     }
@@ -250,6 +274,18 @@ public abstract class AbstractBDBMessageStore implements MessageStore
         return _bytesEvacuatedFromMemory.get();
     }
 
+    @Override
+    public long getBytesReloadedIntoMemory()
+    {
+        return _bytesReloadedIntoMemory.get();
+    }
+
+    @Override
+    public LatencyHistogram getCommitLatencyHistogram()
+    {
+        return _commitLatencyHistogram;
+    }
+
     @Override
     public boolean isPersistent()
     {
@@ -789,14 +825,16 @@ public abstract class AbstractBDBMessageStore implements MessageStore
      *
      * @throws org.apache.qpid.server.store.StoreException If the operation fails for any reason.
      */
-    private void commitTranImpl(final Transaction tx, boolean syncCommit) throws StoreException
+    private void commitTranImpl(final Transaction tx, boolean syncCommit, final SyncPolicy syncPolicy) throws StoreException
     {
         if (tx == null)
         {
             throw new StoreException("Fatal internal error: transactional is null at commitTran");
         }
 
-        getEnvironmentFacade().commit(tx, syncCommit);
+        final long startTime = System.nanoTime();
+        getEnvironmentFacade().commit(tx, syncCommit, syncPolicy);
+        _commitLatencyHistogram.recordSince(startTime);
 
         getLogger().debug("commitTranImpl completed {} transaction {}",
                           syncCommit ? "synchronous" : "asynchronous", tx);
@@ -804,14 +842,17 @@ public abstract class AbstractBDBMessageStore implements MessageStore
 
     }
 
-    private <X> ListenableFuture<X> commitTranAsyncImpl(final Transaction tx, X val) throws StoreException
+    private <X> ListenableFuture<X> commitTranAsyncImpl(final Transaction tx, final SyncPolicy syncPolicy, X val)
+            throws StoreException
     {
         if (tx == null)
         {
             throw new StoreException("Fatal internal error: transactional is null at commitTran");
         }
 
-        ListenableFuture<X> result = getEnvironmentFacade().commitAsync(tx, val);
+        final long startTime = System.nanoTime();
+        ListenableFuture<X> result = getEnvironmentFacade().commitAsync(tx, syncPolicy, val);
+        result.addListener(() -> _commitLatencyHistogram.recordSince(startTime), MoreExecutors.directExecutor());
 
         getLogger().debug("commitTranAsynImpl completed transaction {}", tx);
 
@@ -952,6 +993,57 @@ public abstract class AbstractBDBMessageStore implements MessageStore
         return _parent;
     }
 
+    /**
+     * Returns the local sync policy to be used when committing a transaction affecting the given queue.  This is the
+     * policy set by the context variable {@link EnvironmentFacade#QUEUE_SYNC_POLICY_PROPERTY_NAME} of the queue, or
+     * the default policy of the environment if the queue does not set one.
+     *
+     * @param queueId the id of the queue
+     * @param resource the queue, or null if only the id is known
+     */
+    private SyncPolicy getQueueSyncPolicy(final UUID queueId, final TransactionLogResource resource)
+    {
+        Optional<SyncPolicy> syncPolicy = _queueSyncPolicies.get(queueId);
+        if (syncPolicy == null)
+        {
+            final ConfiguredObject<?> queue = resource instanceof ConfiguredObject
+                    ? (ConfiguredObject<?>) resource
+                    : findQueue(queueId);
+            if (queue == null)
+            {
+                return getEnvironmentFacade().getDefaultSyncPolicy();
+            }
+            syncPolicy = _queueSyncPolicies.computeIfAbsent(queueId, id ->
+            {
+                _syncPolicyQueues.put(id, queue);
+                queue.addChangeListener(_queueSyncPolicyListener);
+                return Optional.ofNullable(BDBUtils.getSyncPolicy(queue));
+            });
+        }
+        return syncPolicy.orElseGet(() -> getEnvironmentFacade().getDefaultSyncPolicy());
+    }
+
+    private void removeQueueSyncPolicyListener()
+    {
+        for (ConfiguredObject<?> ancestor : _syncPolicyAncestors)
+        {
+            ancestor.removeChangeListener(_queueSyncPolicyListener);
+        }
+        _syncPolicyAncestors.clear();
+        for (ConfiguredObject<?> queue : _syncPolicyQueues.values())
+        {
+            queue.removeChangeListener(_queueSyncPolicyListener);
+        }
+        _syncPolicyQueues.clear();
+        _queueSyncPolicies.clear();
+    }
+
+    private ConfiguredObject<?> findQueue(final UUID queueId)
+    {
+        final ConfiguredObject<?> parent = getParent();
+        return parent instanceof VirtualHost ? parent.getChildById(Queue.class, queueId) : null;
+    }
+
     protected abstract EnvironmentFacade getEnvironmentFacade();
 
     private long getPersistentSizeLowThreshold()
@@ -1060,6 +1152,7 @@ public abstract class AbstractBDBMessageStore implements MessageStore
         private final int _contentSize;
         private final int _metadataSize;
         private MessageDataRef<T> _messageDataRef;
+        private boolean _evacuated;
 
         StoredBDBMessage(long messageId, T metaData, boolean isRecovered)
         {
@@ -1089,6 +1182,7 @@ public abstract class AbstractBDBMessageStore implements MessageStore
                     metaData = (T) getMessageMetaData(_messageId);
                     _messageDataRef = new MessageDataRef<>(metaData, _messageDataRef.getData(), false);
                     _inMemorySize.addAndGet(getMetadataSize());
+                    countReload(getMetadataSize());
                 }
                 return metaData;
             }
@@ -1137,6 +1231,7 @@ public abstract class AbstractBDBMessageStore implements MessageStore
                     data = AbstractBDBMessageStore.this.getAllContent(_messageId);
                     _messageDataRef.setData(data);
                     _inMemorySize.addAndGet(getContentSize());
+                    countReload(getContentSize());
                 }
                 else
                 {
@@ -1291,10 +1386,19 @@ public abstract class AbstractBDBMessageStore implements MessageStore
                 final long bytesCleared = _messageDataRef.clear(false);
                 _inMemorySize.addAndGet(-bytesCleared);
                 _bytesEvacuatedFromMemory.addAndGet(bytesCleared);
+                _evacuated |= bytesCleared > 0;
             }
             return true;
         }
 
+        private void countReload(final long bytesReloaded)
+        {
+            if (_evacuated)
+            {
+                _bytesReloadedIntoMemory.addAndGet(bytesReloaded);
+            }
+        }
+
         @Override
         public String toString()
         {
@@ -1324,6 +1428,7 @@ public abstract class AbstractBDBMessageStore implements MessageStore
     {
         private Transaction _txn;
         private int _storeSizeIncrease;
+        private SyncPolicy _syncPolicy;
         private final List<Runnable> _preCommitActions = new ArrayList<>();
         private final List<Runnable> _postCommitActions = new ArrayList<>();
 
@@ -1361,6 +1466,7 @@ public abstract class AbstractBDBMessageStore implements MessageStore
             }
 
             AbstractBDBMessageStore.this.enqueueMessage(_txn, queue, message.getMessageNumber());
+            includeSyncPolicy(getQueueSyncPolicy(queue.getId(), queue));
             return new BDBEnqueueRecord(queue.getId(), message.getMessageNumber());
         }
 
@@ -1371,6 +1477,12 @@ public abstract class AbstractBDBMessageStore implements MessageStore
 
             AbstractBDBMessageStore.this.dequeueMessage(_txn, enqueueRecord.getQueueId(),
                                                         enqueueRecord.getMessageNumber());
+            includeSyncPolicy(getQueueSyncPolicy(enqueueRecord.getQueueId(), null));
+        }
+
+        private void includeSyncPolicy(final SyncPolicy syncPolicy)
+        {
+            _syncPolicy = BDBUtils.strongestSyncPolicy(_syncPolicy, syncPolicy);
         }
 
         @Override
@@ -1378,7 +1490,7 @@ public abstract class AbstractBDBMessageStore implements MessageStore
         {
             checkMessageStoreOpen();
             doPreCommitActions();
-            AbstractBDBMessageStore.this.commitTranImpl(_txn, true);
+            AbstractBDBMessageStore.this.commitTranImpl(_txn, true, _syncPolicy);
             doPostCommitActions();
             AbstractBDBMessageStore.this.storedSizeChangeOccurred(_storeSizeIncrease);
         }
@@ -1411,7 +1523,7 @@ public abstract class AbstractBDBMessageStore implements MessageStore
             checkMessageStoreOpen();
             doPreCommitActions();
             AbstractBDBMessageStore.this.storedSizeChangeOccurred(_storeSizeIncrease);
-            ListenableFuture<X> futureResult = AbstractBDBMessageStore.this.commitTranAsyncImpl(_txn, val);
+            ListenableFuture<X> futureResult = AbstractBDBMessageStore.this.commitTranAsyncImpl(_txn, _syncPolicy, val);
             doPostCommitActions();
             return futureResult;
         }
@@ -1431,6 +1543,7 @@ public abstract class AbstractBDBMessageStore implements MessageStore
             checkMessageStoreOpen();
 
             AbstractBDBMessageStore.this.removeXid(_txn, record.getFormat(), record.getGlobalId(), record.getBranchId());
+            includeSyncPolicy(getEnvironmentFacade().getDefaultSyncPolicy());
         }
 
         @Override
@@ -1440,6 +1553,7 @@ public abstract class AbstractBDBMessageStore implements MessageStore
             checkMessageStoreOpen();
 
             _postCommitActions.addAll(AbstractBDBMessageStore.this.recordXid(_txn, format, globalId, branchId, enqueues, dequeues));
+            includeSyncPolicy(getEnvironmentFacade().getDefaultSyncPolicy());
             return new BDBStoredXidRecord(format, globalId, branchId);
         }
 
@@ -1457,6 +1571,48 @@ public abstract class AbstractBDBMessageStore implements MessageStore
         _messageDeleteListeners.remove(listener);
     }
 
+    /**
+     * Listens to the queues with a cached sync policy, and to the ancestors of the store from which the queues may
+     * inherit the context variable.  A context change on an ancestor re-resolves the policies of all queues.
+     */
+    private class QueueSyncPolicyListener extends AbstractConfigurationChangeListener
+    {
+        @Override
+        public void attributeSet(final ConfiguredObject<?> object,
+                                 final String attributeName,
+                                 final Object oldAttributeValue,
+                                 final Object newAttributeValue)
+        {
+            if (ConfiguredObject.CONTEXT.equals(attributeName))
+            {
+                if (object instanceof Queue)
+                {
+                    updateSyncPolicy(object);
+                }
+                else
+                {
+                    _syncPolicyQueues.values().forEach(this::updateSyncPolicy);
+                }
+            }
+        }
+
+        @Override
+        public void stateChanged(final ConfiguredObject<?> object, final State oldState, final State newState)
+        {
+            if (newState == State.DELETED && object instanceof Queue)
+            {
+                object.removeChangeListener(this);
+                _syncPolicyQueues.remove(object.getId());
+                _queueSyncPolicies.remove(object.getId());
+            }
+        }
+
+        private void updateSyncPolicy(final ConfiguredObject<?> queue)
+        {
+            _queueSyncPolicies.replace(queue.getId(), Optional.ofNullable(BDBUtils.getSyncPolicy(queue)));
+        }
+    }
+
     private static class BDBStoredXidRecord implements org.apache.qpid.server.store.Transaction.StoredXidRecord
     {
         private final long _format;
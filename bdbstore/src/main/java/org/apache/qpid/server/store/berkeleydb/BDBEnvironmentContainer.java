@@ -22,11 +22,17 @@ package org.apache.qpid.server.store.berkeleydb;
 import java.util.Map;
 
 import org.apache.qpid.server.model.ConfiguredObject;
+import org.apache.qpid.server.model.ManagedContextDefault;
 import org.apache.qpid.server.model.ManagedOperation;
 import org.apache.qpid.server.model.Param;
 
 public interface BDBEnvironmentContainer<X extends ConfiguredObject<X>> extends ConfiguredObject<X>
 {
+    @ManagedContextDefault(name = EnvironmentFacade.QUEUE_SYNC_POLICY_PROPERTY_NAME,
+            description = "The local sync policy (SYNC, WRITE_NO_SYNC or NO_SYNC) used to commit transactions"
+                          + " affecting a queue.  If empty, the default policy of the BDB environment is used.")
+    String DEFAULT_QUEUE_SYNC_POLICY = "";
+
     void setBDBCacheSize(long cacheSize);
 
     @ManagedOperation(description = "Update BDB mutable configuration from settings in context variables",
@@ -28,6 +28,7 @@ import java.util.regex.Pattern;
 import com.sleepycat.je.CacheMode;
 import com.sleepycat.je.CheckpointConfig;
 import com.sleepycat.je.DatabaseConfig;
+import com.sleepycat.je.Durability.SyncPolicy;
 import com.sleepycat.je.Environment;
 import com.sleepycat.je.EnvironmentConfig;
 import com.sleepycat.je.Transaction;
@@ -158,6 +159,56 @@ public class BDBUtils
         return EnvironmentFacade.CACHE_MODE_DEFAULT;
     }
 
+    /**
+     * Returns the local sync policy configured for the given object (usually a queue) by the context variable
+     * {@link EnvironmentFacade#QUEUE_SYNC_POLICY_PROPERTY_NAME}, or null if none is configured.
+     */
+    public static SyncPolicy getSyncPolicy(final ConfiguredObject<?> object)
+    {
+        final String syncPolicy = object.getContextValue(String.class, EnvironmentFacade.QUEUE_SYNC_POLICY_PROPERTY_NAME);
+        if (syncPolicy != null && !"".equals(syncPolicy.trim()))
+        {
+            try
+            {
+                return SyncPolicy.valueOf(syncPolicy.trim());
+            }
+            catch (IllegalArgumentException iae)
+            {
+                LOGGER.warn("Failed to parse {} as {}", syncPolicy, SyncPolicy.class, iae);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the more durable of the two local sync policies, treating null as absent.
+     */
+    public static SyncPolicy strongestSyncPolicy(final SyncPolicy syncPolicy1, final SyncPolicy syncPolicy2)
+    {
+        if (syncPolicy1 == null)
+        {
+            return syncPolicy2;
+        }
+        else if (syncPolicy2 == null)
+        {
+            return syncPolicy1;
+        }
+        return getSyncPolicyStrength(syncPolicy1) >= getSyncPolicyStrength(syncPolicy2) ? syncPolicy1 : syncPolicy2;
+    }
+
+    private static int getSyncPolicyStrength(final SyncPolicy syncPolicy)
+    {
+        switch (syncPolicy)
+        {
+            case SYNC:
+                return 2;
+            case WRITE_NO_SYNC:
+                return 1;
+            default:
+                return 0;
+        }
+    }
+
     public static <T> T getContextValue(final ConfiguredObject<?> parent,
                                         final Class<T> paremeterClass,
                                         final String parameterName,
@@ -0,0 +1,71 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.store.berkeleydb;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sleepycat.je.Durability.SyncPolicy;
+
+/**
+ * Counts the transactions committed by an environment facade for each local {@link SyncPolicy}.
+ */
+public class CommitStatistics
+{
+    public static final String SYNC_COMMITS = "nSyncCommits";
+    public static final String WRITE_NO_SYNC_COMMITS = "nWriteNoSyncCommits";
+    public static final String NO_SYNC_COMMITS = "nNoSyncCommits";
+
+    private final Map<SyncPolicy, LongAdder> _commits = new EnumMap<>(SyncPolicy.class);
+
+    public CommitStatistics()
+    {
+        for (SyncPolicy syncPolicy : SyncPolicy.values())
+        {
+            _commits.put(syncPolicy, new LongAdder());
+        }
+    }
+
+    public void committed(final SyncPolicy syncPolicy)
+    {
+        _commits.get(syncPolicy).increment();
+    }
+
+    public long getCommits(final SyncPolicy syncPolicy)
+    {
+        return _commits.get(syncPolicy).sum();
+    }
+
+    public Map<String, Object> addTo(final Map<String, Object> statistics, final boolean reset)
+    {
+        statistics.put(SYNC_COMMITS, getAndReset(SyncPolicy.SYNC, reset));
+        statistics.put(WRITE_NO_SYNC_COMMITS, getAndReset(SyncPolicy.WRITE_NO_SYNC, reset));
+        statistics.put(NO_SYNC_COMMITS, getAndReset(SyncPolicy.NO_SYNC, reset));
+        return statistics;
+    }
+
+    private long getAndReset(final SyncPolicy syncPolicy, final boolean reset)
+    {
+        final LongAdder commits = _commits.get(syncPolicy);
+        return reset ? commits.sumThenReset() : commits.sum();
+    }
+}
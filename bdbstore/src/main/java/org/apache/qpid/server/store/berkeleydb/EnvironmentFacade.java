@@ -29,6 +29,7 @@ import com.sleepycat.je.CacheMode;
 import com.sleepycat.je.Database;
 import com.sleepycat.je.DatabaseConfig;
 import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.Durability.SyncPolicy;
 import com.sleepycat.je.EnvironmentConfig;
 import com.sleepycat.je.Sequence;
 import com.sleepycat.je.SequenceConfig;
@@ -55,6 +56,7 @@ public interface EnvironmentFacade
     String LOG_HANDLER_CLEANER_PROTECTED_FILES_LIMIT_PROPERTY_NAME = "qpid.bdb.je.cleaner_protected_files_limit";
     int DEFAULT_LOG_HANDLER_CLEANER_PROTECTED_FILES_LIMIT = 10;
     String JUL_LOGGER_LEVEL_OVERRIDE = "qpid.bdb.je.jul_logger_level_override";
+    String QUEUE_SYNC_POLICY_PROPERTY_NAME = "qpid.bdb.queue.sync_policy";
 
 
     void upgradeIfNecessary(ConfiguredObject<?> parent);
@@ -70,6 +72,18 @@ public interface EnvironmentFacade
     void commit(Transaction tx, boolean sync);
     <X> ListenableFuture<X> commitAsync(Transaction tx, X val);
 
+    /**
+     * Commits the transaction using the given local sync policy rather than the default policy of the facade.
+     *
+     * @param tx the transaction
+     * @param sync if false, do not wait for a coalesced sync to complete
+     * @param syncPolicy the local sync policy, or null to use the default policy
+     */
+    void commit(Transaction tx, boolean sync, SyncPolicy syncPolicy);
+    <X> ListenableFuture<X> commitAsync(Transaction tx, SyncPolicy syncPolicy, X val);
+
+    SyncPolicy getDefaultSyncPolicy();
+
     RuntimeException handleDatabaseException(String contextMessage, RuntimeException e);
 
     void closeDatabase(String name);
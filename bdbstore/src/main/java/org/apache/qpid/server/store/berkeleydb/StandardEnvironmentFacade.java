@@ -31,6 +31,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReference;
 
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.sleepycat.je.CheckpointConfig;
 import com.sleepycat.je.Database;
@@ -38,6 +39,7 @@ import com.sleepycat.je.DatabaseConfig;
 import com.sleepycat.je.DatabaseEntry;
 import com.sleepycat.je.DatabaseException;
 import com.sleepycat.je.DbInternal;
+import com.sleepycat.je.Durability.SyncPolicy;
 import com.sleepycat.je.Environment;
 import com.sleepycat.je.EnvironmentConfig;
 import com.sleepycat.je.EnvironmentMutableConfig;
@@ -64,6 +66,7 @@ public class StandardEnvironmentFacade implements EnvironmentFacade
     private final AtomicReference<Environment> _environment;
 
     private final Committer _committer;
+    private final CommitStatistics _commitStatistics = new CommitStatistics();
     private final File _environmentPath;
 
     private static final Set<String> PARAMS_SET_BY_DEFAULT;
@@ -168,27 +171,57 @@ public class StandardEnvironmentFacade implements EnvironmentFacade
     @Override
     public void commit(com.sleepycat.je.Transaction tx, boolean syncCommit)
     {
-        try
+        commit(tx, syncCommit, null);
+    }
+
+    @Override
+    public <X> ListenableFuture<X> commitAsync(final Transaction tx, final X val)
+    {
+        return commitAsync(tx, null, val);
+    }
+
+    @Override
+    public void commit(final Transaction tx, final boolean syncCommit, final SyncPolicy syncPolicy)
+    {
+        final SyncPolicy policy = syncPolicy == null ? getDefaultSyncPolicy() : syncPolicy;
+        commitWithoutSync(tx, policy);
+        if (policy == SyncPolicy.SYNC)
         {
-            tx.commitNoSync();
+            _committer.commit(tx, syncCommit);
         }
-        catch (DatabaseException de)
-        {
-            LOGGER.error("Got DatabaseException on commit, closing environment", de);
-
-            closeEnvironmentSafely();
+    }
 
-            throw handleDatabaseException("Got DatabaseException on commit", de);
+    @Override
+    public <X> ListenableFuture<X> commitAsync(final Transaction tx, final SyncPolicy syncPolicy, final X val)
+    {
+        final SyncPolicy policy = syncPolicy == null ? getDefaultSyncPolicy() : syncPolicy;
+        commitWithoutSync(tx, policy);
+        if (policy == SyncPolicy.SYNC)
+        {
+            return _committer.commitAsync(tx, val);
         }
-        _committer.commit(tx, syncCommit);
+        return Futures.immediateFuture(val);
     }
 
     @Override
-    public <X> ListenableFuture<X> commitAsync(final Transaction tx, final X val)
+    public SyncPolicy getDefaultSyncPolicy()
+    {
+        return SyncPolicy.SYNC;
+    }
+
+    private void commitWithoutSync(final Transaction tx, final SyncPolicy syncPolicy)
     {
         try
         {
-            tx.commitNoSync();
+            // SYNC commits are made durable by the committer, which coalesces the log flushes
+            if (syncPolicy == SyncPolicy.WRITE_NO_SYNC)
+            {
+                tx.commitWriteNoSync();
+            }
+            else
+            {
+                tx.commitNoSync();
+            }
         }
         catch (DatabaseException de)
         {
@@ -198,7 +231,7 @@ public class StandardEnvironmentFacade implements EnvironmentFacade
 
             throw handleDatabaseException("Got DatabaseException on commit", de);
         }
-        return _committer.commitAsync(tx, val);
+        _commitStatistics.committed(syncPolicy);
     }
 
     @Override
@@ -316,7 +349,7 @@ public class StandardEnvironmentFacade implements EnvironmentFacade
     @Override
     public Map<String, Object> getTransactionStatistics(boolean reset)
     {
-        return EnvironmentUtils.getTransactionStatistics(getEnvironment(), reset);
+        return _commitStatistics.addTo(EnvironmentUtils.getTransactionStatistics(getEnvironment(), reset), reset);
     }
 
     private void closeSequences()
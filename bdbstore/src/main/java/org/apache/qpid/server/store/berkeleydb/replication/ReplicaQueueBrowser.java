@@ -0,0 +1,274 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.store.berkeleydb.replication;
+
+import static org.apache.qpid.server.store.berkeleydb.BDBUtils.DEFAULT_DATABASE_CONFIG;
+import static org.apache.qpid.server.store.berkeleydb.BDBUtils.abortTransactionSafely;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.sleepycat.bind.tuple.LongBinding;
+import com.sleepycat.je.Cursor;
+import com.sleepycat.je.Database;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.DatabaseException;
+import com.sleepycat.je.LockMode;
+import com.sleepycat.je.OperationStatus;
+import com.sleepycat.je.Transaction;
+import com.sleepycat.je.rep.ReplicaWriteException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.qpid.server.model.Queue;
+import org.apache.qpid.server.store.ConfiguredObjectRecord;
+import org.apache.qpid.server.store.StorableMessageMetaData;
+import org.apache.qpid.server.store.berkeleydb.AbstractBDBMessageStore;
+import org.apache.qpid.server.store.berkeleydb.BDBConfigurationStore;
+import org.apache.qpid.server.store.berkeleydb.entry.QueueEntryKey;
+import org.apache.qpid.server.store.berkeleydb.tuple.ConfiguredObjectBinding;
+import org.apache.qpid.server.store.berkeleydb.tuple.MessageMetaDataBinding;
+import org.apache.qpid.server.store.berkeleydb.tuple.QueueEntryBinding;
+import org.apache.qpid.server.store.berkeleydb.tuple.UUIDTupleBinding;
+import org.apache.qpid.server.util.CachingUUIDFactory;
+
+/**
+ * Reads the messages enqueued on a queue directly from the replicated databases.  Intended for use on a replica,
+ * where no virtual host (and hence no in-memory queue) exists.  Reads are performed in a transaction which only
+ * starts once the node is within the configured staleness of the master.
+ * <p>
+ * The ids of the queues are cached between browses.  A cached id is checked against its configured object record
+ * before use, and the queues are re-read only when the named queue is not (or no longer) in the cache.
+ */
+public class ReplicaQueueBrowser
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaQueueBrowser.class);
+
+    public static final String MESSAGE_ID = "id";
+    public static final String SIZE = "size";
+    public static final String PERSISTENT = "persistent";
+    public static final String MESSAGE_TYPE = "messageType";
+
+    private final ReplicatedEnvironmentFacade _environmentFacade;
+    private volatile Map<String, UUID> _queueIds = Collections.emptyMap();
+
+    public ReplicaQueueBrowser(final ReplicatedEnvironmentFacade environmentFacade)
+    {
+        _environmentFacade = environmentFacade;
+    }
+
+    /**
+     * Returns information about the messages on the named queue, in queue order.
+     *
+     * @param queueName the name of the queue
+     * @param first the position of the first message to return
+     * @param last the position of the last message to return, or -1 for all remaining messages
+     * @param maxStaleness the maximum time in milliseconds by which the replica may lag the master
+     * @return the message information
+     * @throws IllegalArgumentException if no queue with the given name exists
+     */
+    public List<Map<String, Object>> getMessageInfo(final String queueName,
+                                                    final int first,
+                                                    final int last,
+                                                    final long maxStaleness)
+    {
+        final Transaction txn = _environmentFacade.beginReplicaReadTransaction(maxStaleness);
+        try
+        {
+            final UUID queueId = findQueueId(txn, queueName);
+            if (queueId == null)
+            {
+                throw new IllegalArgumentException(String.format("Queue '%s' does not exist", queueName));
+            }
+
+            final List<Long> messageIds = getMessageIds(txn, queueId, first, last);
+            if (messageIds.isEmpty())
+            {
+                return Collections.emptyList();
+            }
+
+            final Database metaDataDb = openDatabase(AbstractBDBMessageStore.MESSAGE_META_DATA_DB_NAME);
+            if (metaDataDb == null)
+            {
+                return Collections.emptyList();
+            }
+            final List<Map<String, Object>> messages = new ArrayList<>(messageIds.size());
+            final DatabaseEntry key = new DatabaseEntry();
+            final DatabaseEntry value = new DatabaseEntry();
+            int skipped = 0;
+            for (Long messageId : messageIds)
+            {
+                LongBinding.longToEntry(messageId, key);
+                if (metaDataDb.get(txn, key, value, LockMode.DEFAULT) == OperationStatus.SUCCESS)
+                {
+                    final StorableMessageMetaData metaData = MessageMetaDataBinding.getInstance().entryToObject(value);
+                    try
+                    {
+                        final Map<String, Object> message = new LinkedHashMap<>();
+                        message.put(MESSAGE_ID, messageId);
+                        message.put(SIZE, metaData.getContentSize());
+                        message.put(PERSISTENT, metaData.isPersistent());
+                        message.put(MESSAGE_TYPE, metaData.getType().getType());
+                        messages.add(message);
+                    }
+                    finally
+                    {
+                        metaData.dispose();
+                    }
+                }
+                else
+                {
+                    skipped++;
+                }
+            }
+            if (skipped > 0)
+            {
+                LOGGER.debug("Skipped {} message(s) on queue '{}' whose metadata was removed whilst browsing",
+                             skipped, queueName);
+            }
+            return messages;
+        }
+        catch (DatabaseException e)
+        {
+            throw _environmentFacade.handleDatabaseException("Cannot browse queue '" + queueName + "' on replica", e);
+        }
+        finally
+        {
+            abortTransactionSafely(txn, _environmentFacade);
+        }
+    }
+
+    private UUID findQueueId(final Transaction txn, final String queueName)
+    {
+        final Database configuredObjectsDb = openDatabase(BDBConfigurationStore.CONFIGURED_OBJECTS_DB_NAME);
+        if (configuredObjectsDb == null)
+        {
+            return null;
+        }
+        final UUID cachedId = _queueIds.get(queueName);
+        if (cachedId != null && isQueue(configuredObjectsDb, txn, cachedId, queueName))
+        {
+            return cachedId;
+        }
+        final Map<String, UUID> queueIds = readQueueIds(configuredObjectsDb, txn);
+        _queueIds = queueIds;
+        return queueIds.get(queueName);
+    }
+
+    private boolean isQueue(final Database configuredObjectsDb,
+                            final Transaction txn,
+                            final UUID id,
+                            final String queueName)
+    {
+        final DatabaseEntry key = new DatabaseEntry();
+        final DatabaseEntry value = new DatabaseEntry();
+        UUIDTupleBinding.getInstance().objectToEntry(id, key);
+        if (configuredObjectsDb.get(txn, key, value, LockMode.DEFAULT) == OperationStatus.SUCCESS)
+        {
+            final ConfiguredObjectRecord record = new ConfiguredObjectBinding(id).entryToObject(value);
+            return isNamedQueue(record, queueName);
+        }
+        return false;
+    }
+
+    private Map<String, UUID> readQueueIds(final Database configuredObjectsDb, final Transaction txn)
+    {
+        final Map<String, UUID> queueIds = new HashMap<>();
+        try (Cursor cursor = configuredObjectsDb.openCursor(txn, null))
+        {
+            final DatabaseEntry key = new DatabaseEntry();
+            final DatabaseEntry value = new DatabaseEntry();
+            while (cursor.getNext(key, value, LockMode.DEFAULT) == OperationStatus.SUCCESS)
+            {
+                final UUID id = UUIDTupleBinding.getInstance().entryToObject(key);
+                final ConfiguredObjectRecord record = new ConfiguredObjectBinding(id).entryToObject(value);
+                if (Queue.class.getSimpleName().equals(record.getType()))
+                {
+                    queueIds.put(String.valueOf(record.getAttributes().get(Queue.NAME)), id);
+                }
+            }
+        }
+        return Collections.unmodifiableMap(queueIds);
+    }
+
+    private boolean isNamedQueue(final ConfiguredObjectRecord record, final String queueName)
+    {
+        return Queue.class.getSimpleName().equals(record.getType())
+               && queueName.equals(record.getAttributes().get(Queue.NAME));
+    }
+
+    private List<Long> getMessageIds(final Transaction txn, final UUID queueId, final int first, final int last)
+    {
+        final List<Long> messageIds = new ArrayList<>();
+        final Database deliveryDb = openDatabase(AbstractBDBMessageStore.DELIVERY_DB_NAME);
+        if (deliveryDb == null)
+        {
+            return messageIds;
+        }
+        try (Cursor cursor = deliveryDb.openCursor(txn, null))
+        {
+            final DatabaseEntry key = new DatabaseEntry();
+            final DatabaseEntry value = new DatabaseEntry();
+            value.setPartial(0, 0, true);
+
+            final CachingUUIDFactory uuidFactory = new CachingUUIDFactory();
+            QueueEntryBinding.objectToEntry(new QueueEntryKey(queueId, 0L), key);
+
+            int position = 0;
+            if (cursor.getSearchKeyRange(key, value, LockMode.DEFAULT) == OperationStatus.SUCCESS)
+            {
+                do
+                {
+                    final QueueEntryKey entry = QueueEntryBinding.entryToObject(uuidFactory, key);
+                    if (!entry.getQueueId().equals(queueId) || (last >= 0 && position > last))
+                    {
+                        break;
+                    }
+                    if (position >= first)
+                    {
+                        messageIds.add(entry.getMessageId());
+                    }
+                    position++;
+                }
+                while (cursor.getNext(key, value, LockMode.DEFAULT) == OperationStatus.SUCCESS);
+            }
+        }
+        return messageIds;
+    }
+
+    private Database openDatabase(final String name)
+    {
+        try
+        {
+            return _environmentFacade.openDatabase(name, DEFAULT_DATABASE_CONFIG);
+        }
+        catch (ReplicaWriteException e)
+        {
+            // the database has not yet been created on the master
+            return null;
+        }
+    }
+}
@@ -73,6 +73,7 @@ import org.apache.qpid.server.model.IllegalStateTransitionException;
 import org.apache.qpid.server.store.StoreException;
 import org.apache.qpid.server.store.berkeleydb.BDBUtils;
 import org.apache.qpid.server.store.berkeleydb.CoalescingCommiter;
+import org.apache.qpid.server.store.berkeleydb.CommitStatistics;
 import org.apache.qpid.server.store.berkeleydb.EnvHomeRegistry;
 import org.apache.qpid.server.store.berkeleydb.EnvironmentFacade;
 import org.apache.qpid.server.store.berkeleydb.EnvironmentUtils;
@@ -228,6 +229,7 @@ public class ReplicatedEnvironmentFacade implements EnvironmentFacade, StateChan
     private volatile Durability _realMessageStoreDurability = null;
     private volatile Durability _messageStoreDurability;
     private volatile CoalescingCommiter _coalescingCommiter = null;
+    private final CommitStatistics _commitStatistics = new CommitStatistics();
     private volatile long _joinTime;
     private volatile ReplicatedEnvironment.State _lastKnownEnvironmentState;
     private volatile long _envSetupTimeoutMillis;
@@ -324,48 +326,94 @@ public class ReplicatedEnvironmentFacade implements EnvironmentFacade, StateChan
         return getEnvironment().beginTransaction(null, transactionConfig);
     }
 
+    /**
+     * Begins a read-only transaction which is only started once this node is no more than the given time behind
+     * the master.  Unlike other transactions, this can be used on a replica to read the replicated databases.
+     *
+     * @param maxStaleness maximum lag behind the master in milliseconds; also used as the time to wait for the node
+     *                     to catch up
+     * @return the transaction
+     */
+    public Transaction beginReplicaReadTransaction(final long maxStaleness)
+    {
+        final TransactionConfig transactionConfig = new TransactionConfig();
+        transactionConfig.setReadCommitted(true);
+        transactionConfig.setConsistencyPolicy(new TimeConsistencyPolicy(maxStaleness, TimeUnit.MILLISECONDS,
+                                                                         maxStaleness, TimeUnit.MILLISECONDS));
+        return beginTransaction(transactionConfig);
+    }
+
     @Override
     public void commit(final Transaction tx, boolean syncCommit)
     {
-        try
-        {
-            // Using commit() instead of commitNoSync() for the HA store to allow
-            // the HA durability configuration to influence resulting behaviour.
-            tx.commit(_realMessageStoreDurability);
-        }
-        catch (DatabaseException de)
-        {
-            throw handleDatabaseException("Got DatabaseException on commit, closing environment", de);
-        }
+        commit(tx, syncCommit, null);
+    }
+
+    @Override
+    public <X> ListenableFuture<X> commitAsync(final Transaction tx, final X val)
+    {
+        return commitAsync(tx, null, val);
+    }
 
-        if (_coalescingCommiter != null && _realMessageStoreDurability.getLocalSync() == SyncPolicy.NO_SYNC
-                && _messageStoreDurability.getLocalSync() == SyncPolicy.SYNC)
+    @Override
+    public void commit(final Transaction tx, final boolean syncCommit, final SyncPolicy syncPolicy)
+    {
+        if (commitAndTestCoalescingRequired(tx, syncPolicy))
         {
             _coalescingCommiter.commit(tx, syncCommit);
         }
+    }
 
+    @Override
+    public <X> ListenableFuture<X> commitAsync(final Transaction tx, final SyncPolicy syncPolicy, final X val)
+    {
+        if (commitAndTestCoalescingRequired(tx, syncPolicy))
+        {
+            return _coalescingCommiter.commitAsync(tx, val);
+        }
+        return Futures.immediateFuture(val);
     }
 
     @Override
-    public <X> ListenableFuture<X> commitAsync(final Transaction tx, final X val)
+    public SyncPolicy getDefaultSyncPolicy()
     {
+        final Durability messageStoreDurability = _messageStoreDurability;
+        return messageStoreDurability == null
+                ? _defaultDurability.getLocalSync()
+                : messageStoreDurability.getLocalSync();
+    }
+
+    private boolean commitAndTestCoalescingRequired(final Transaction tx, final SyncPolicy syncPolicy)
+    {
+        final Durability messageStoreDurability = _messageStoreDurability;
+        final Durability realMessageStoreDurability = _realMessageStoreDurability;
+        final SyncPolicy defaultSyncPolicy = getDefaultSyncPolicy();
+        final SyncPolicy policy = syncPolicy == null ? defaultSyncPolicy : syncPolicy;
+        final boolean usesMessageStoreDurability = policy == defaultSyncPolicy;
         try
         {
             // Using commit() instead of commitNoSync() for the HA store to allow
             // the HA durability configuration to influence resulting behaviour.
-            tx.commit(_realMessageStoreDurability);
+            if (usesMessageStoreDurability)
+            {
+                tx.commit(realMessageStoreDurability);
+            }
+            else
+            {
+                final Durability durability = messageStoreDurability == null ? _defaultDurability : messageStoreDurability;
+                tx.commit(new Durability(policy, durability.getReplicaSync(), durability.getReplicaAck()));
+            }
         }
         catch (DatabaseException de)
         {
             throw handleDatabaseException("Got DatabaseException on commit, closing environment", de);
         }
+        _commitStatistics.committed(policy);
 
-        if (_coalescingCommiter != null && _realMessageStoreDurability.getLocalSync() == SyncPolicy.NO_SYNC
-            && _messageStoreDurability.getLocalSync() == SyncPolicy.SYNC)
-        {
-            return _coalescingCommiter.commitAsync(tx, val);
-        }
-        return Futures.immediateFuture(val);
+        return usesMessageStoreDurability
+               && _coalescingCommiter != null
+               && realMessageStoreDurability.getLocalSync() == SyncPolicy.NO_SYNC
+               && messageStoreDurability.getLocalSync() == SyncPolicy.SYNC;
     }
 
     @Override
@@ -864,7 +912,8 @@ public class ReplicatedEnvironmentFacade implements EnvironmentFacade, StateChan
             @Override
             public Map<String,Object> call()
             {
-                return EnvironmentUtils.getTransactionStatistics(getEnvironment(), reset);
+                return _commitStatistics.addTo(EnvironmentUtils.getTransactionStatistics(getEnvironment(), reset),
+                                               reset);
             }
         };
 
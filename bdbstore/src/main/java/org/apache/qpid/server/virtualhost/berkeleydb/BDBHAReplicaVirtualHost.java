@@ -19,6 +19,11 @@
 
 package org.apache.qpid.server.virtualhost.berkeleydb;
 
+import java.util.List;
+import java.util.Map;
+
+import org.apache.qpid.server.model.ManagedOperation;
+import org.apache.qpid.server.model.Param;
 import org.apache.qpid.server.model.VirtualHost;
 import org.apache.qpid.server.virtualhost.NonStandardVirtualHost;
 
@@ -29,4 +34,11 @@ import org.apache.qpid.server.virtualhost.NonStandardVirtualHost;
 public interface BDBHAReplicaVirtualHost<X extends BDBHAReplicaVirtualHost<X>>
         extends VirtualHost<X>, NonStandardVirtualHost<X>
 {
+    @ManagedOperation(description = "Get information about a range of messages on a queue, read from the replicated"
+                                    + " store. Requires replica reads to be enabled on the virtual host node.",
+            nonModifying = true,
+            changesConfiguredObjectState = false)
+    List<Map<String, Object>> getReplicatedMessageInfo(@Param(name = "queueName", mandatory = true) String queueName,
+                                                       @Param(name = "first", defaultValue = "0") int first,
+                                                       @Param(name = "last", defaultValue = "-1") int last);
 }
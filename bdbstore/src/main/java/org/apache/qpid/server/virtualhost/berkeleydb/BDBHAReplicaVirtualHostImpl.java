@@ -19,6 +19,7 @@
 
 package org.apache.qpid.server.virtualhost.berkeleydb;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -26,7 +27,11 @@ import org.apache.qpid.server.model.ConfiguredObject;
 import org.apache.qpid.server.model.ManagedObject;
 import org.apache.qpid.server.model.ManagedObjectFactoryConstructor;
 import org.apache.qpid.server.model.VirtualHostNode;
+import org.apache.qpid.server.store.berkeleydb.BDBConfigurationStore;
+import org.apache.qpid.server.store.berkeleydb.replication.ReplicaQueueBrowser;
+import org.apache.qpid.server.store.berkeleydb.replication.ReplicatedEnvironmentFacade;
 import org.apache.qpid.server.virtualhost.AbstractNonConnectionAcceptingVirtualHost;
+import org.apache.qpid.server.virtualhostnode.berkeleydb.BDBHAVirtualHostNode;
 
 /**
   Object that represents the VirtualHost whilst the VirtualHostNode is in the replica role.  The
@@ -36,6 +41,7 @@ import org.apache.qpid.server.virtualhost.AbstractNonConnectionAcceptingVirtualH
 public class BDBHAReplicaVirtualHostImpl extends AbstractNonConnectionAcceptingVirtualHost<BDBHAReplicaVirtualHostImpl>
         implements BDBHAReplicaVirtualHost<BDBHAReplicaVirtualHostImpl>
 {
+    private volatile ReplicaQueueBrowser _queueBrowser;
 
     @ManagedObjectFactoryConstructor(conditionallyAvailable = true, condition = "org.apache.qpid.server.JECheck#isAvailable()")
     public BDBHAReplicaVirtualHostImpl(final Map<String, Object> attributes, VirtualHostNode<?> virtualHostNode)
@@ -52,4 +58,22 @@ public class BDBHAReplicaVirtualHostImpl extends AbstractNonConnectionAcceptingV
         throwUnsupported();
     }
 
+    @Override
+    public List<Map<String, Object>> getReplicatedMessageInfo(final String queueName, final int first, final int last)
+    {
+        if (!getContextValue(Boolean.class, BDBHAVirtualHostNode.REPLICA_READS_ENABLED))
+        {
+            throwUnsupported();
+        }
+        ReplicaQueueBrowser queueBrowser = _queueBrowser;
+        if (queueBrowser == null)
+        {
+            final BDBConfigurationStore configurationStore =
+                    (BDBConfigurationStore) ((VirtualHostNode<?>) getParent()).getConfigurationStore();
+            queueBrowser = new ReplicaQueueBrowser((ReplicatedEnvironmentFacade) configurationStore.getEnvironmentFacade());
+            _queueBrowser = queueBrowser;
+        }
+        final long maxStaleness = getContextValue(Long.class, BDBHAVirtualHostNode.REPLICA_READ_MAX_STALENESS);
+        return queueBrowser.getMessageInfo(queueName, first, last, maxStaleness);
+    }
 }
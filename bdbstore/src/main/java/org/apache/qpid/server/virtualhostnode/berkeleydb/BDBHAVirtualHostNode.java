@@ -24,6 +24,7 @@ import java.util.List;
 
 import org.apache.qpid.server.model.DerivedAttribute;
 import org.apache.qpid.server.model.ManagedAttribute;
+import org.apache.qpid.server.model.ManagedContextDefault;
 import org.apache.qpid.server.store.berkeleydb.HASettings;
 import org.apache.qpid.server.store.preferences.PreferenceStoreProvider;
 
@@ -44,6 +45,16 @@ public interface BDBHAVirtualHostNode<X extends BDBHAVirtualHostNode<X>> extends
     public static final String HELPER_NODE_NAME = "helperNodeName";
     public static final String PERMITTED_NODES = "permittedNodes";
 
+    String REPLICA_READS_ENABLED = "qpid.bdb.ha.replica_reads_enabled";
+    @ManagedContextDefault(name = REPLICA_READS_ENABLED,
+            description = "If true, queue contents may be read from the replicated store whilst the node is a replica")
+    boolean DEFAULT_REPLICA_READS_ENABLED = false;
+
+    String REPLICA_READ_MAX_STALENESS = "qpid.bdb.ha.replica_read_max_staleness";
+    @ManagedContextDefault(name = REPLICA_READ_MAX_STALENESS,
+            description = "The maximum time (in milliseconds) a replica may lag behind the master when serving reads")
+    long DEFAULT_REPLICA_READ_MAX_STALENESS = 5000L;
+
     @Override
     @ManagedAttribute(mandatory=true, immutable = true)
     String getName();
@@ -56,18 +56,31 @@ import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
 import org.apache.qpid.server.configuration.IllegalConfigurationException;
+import org.apache.qpid.server.message.EnqueueableMessage;
 import org.apache.qpid.server.model.AbstractConfigurationChangeListener;
 import org.apache.qpid.server.model.ConfigurationChangeListener;
 import org.apache.qpid.server.model.ConfiguredObject;
+import org.apache.qpid.server.model.Queue;
 import org.apache.qpid.server.model.RemoteReplicationNode;
 import org.apache.qpid.server.model.State;
 import org.apache.qpid.server.model.VirtualHost;
+import org.apache.qpid.server.protocol.v0_8.MessageMetaData;
+import org.apache.qpid.server.protocol.v0_8.transport.BasicContentHeaderProperties;
+import org.apache.qpid.server.protocol.v0_8.transport.ContentHeaderBody;
+import org.apache.qpid.server.protocol.v0_8.transport.MessagePublishInfo;
 import org.apache.qpid.server.store.DurableConfigurationStore;
+import org.apache.qpid.server.store.MessageStore;
+import org.apache.qpid.server.store.StoredMessage;
+import org.apache.qpid.server.store.Transaction;
 import org.apache.qpid.server.store.berkeleydb.replication.DatabasePinger;
+import org.apache.qpid.server.store.berkeleydb.replication.ReplicaQueueBrowser;
 import org.apache.qpid.server.store.berkeleydb.replication.ReplicatedEnvironmentFacade;
 import org.apache.qpid.server.util.ExternalServiceException;
 import org.apache.qpid.server.util.FileUtils;
+import org.apache.qpid.server.virtualhost.QueueManagingVirtualHost;
+import org.apache.qpid.server.virtualhost.berkeleydb.BDBHAReplicaVirtualHost;
 import org.apache.qpid.server.virtualhost.berkeleydb.BDBHAVirtualHost;
 import org.apache.qpid.server.virtualhost.berkeleydb.BDBHAVirtualHostImpl;
 import org.apache.qpid.server.virtualhostnode.berkeleydb.BDBHARemoteReplicationNode;
@@ -465,6 +478,148 @@ public class BDBHAVirtualHostNodeTest extends UnitTestBase
 
     }
 
+    @Test
+    public void testReplicatedMessageInfoReadOnReplica() throws Exception
+    {
+        int node1PortNumber = _portHelper.getNextAvailable();
+        int node2PortNumber = _portHelper.getNextAvailable();
+        String helperAddress = "localhost:" + node1PortNumber;
+        String groupName = "group";
+        String nodeName = "node1";
+
+        Map<String, Object> node1Attributes = _helper.createNodeAttributes(nodeName, groupName, helperAddress,
+                                                                           helperAddress, nodeName, node1PortNumber,
+                                                                           node2PortNumber);
+        BDBHAVirtualHostNode<?> node1 = _helper.createAndStartHaVHN(node1Attributes);
+        _helper.assertNodeRole(node1, NodeRole.MASTER);
+
+        Map<String, Object> node2Attributes = _helper.createNodeAttributes("node2", groupName,
+                                                                           "localhost:" + node2PortNumber,
+                                                                           helperAddress, nodeName);
+        Map<String, String> node2Context = (Map<String, String>) node2Attributes.get(BDBHAVirtualHostNode.CONTEXT);
+        node2Context.put(BDBHAVirtualHostNode.REPLICA_READS_ENABLED, "true");
+        BDBHAVirtualHostNode<?> node2 = _helper.createAndStartHaVHN(node2Attributes);
+        _helper.assertNodeRole(node2, NodeRole.REPLICA);
+
+        _helper.awaitForVirtualhost(node1);
+        QueueManagingVirtualHost<?> virtualHost = (QueueManagingVirtualHost<?>) node1.getVirtualHost();
+        Queue<?> queue = virtualHost.createChild(Queue.class, Collections.singletonMap(Queue.NAME, "testQueue"));
+
+        MessageStore messageStore = virtualHost.getMessageStore();
+        BasicContentHeaderProperties properties = new BasicContentHeaderProperties();
+        properties.setDeliveryMode(BasicContentHeaderProperties.PERSISTENT);
+        MessageMetaData metaData = new MessageMetaData(new MessagePublishInfo(null, false, false, null),
+                                                       new ContentHeaderBody(properties, 10));
+        final StoredMessage<MessageMetaData> storedMessage = messageStore.addMessage(metaData).allContentAdded();
+        Transaction txn = messageStore.newTransaction();
+        txn.enqueueMessage(queue, new EnqueueableMessage<MessageMetaData>()
+        {
+            @Override
+            public long getMessageNumber()
+            {
+                return storedMessage.getMessageNumber();
+            }
+
+            @Override
+            public boolean isPersistent()
+            {
+                return true;
+            }
+
+            @Override
+            public StoredMessage<MessageMetaData> getStoredMessage()
+            {
+                return storedMessage;
+            }
+        });
+        txn.commitTran();
+
+        _helper.awaitForVirtualhost(node2);
+        BDBHAReplicaVirtualHost<?> replicaVirtualHost = (BDBHAReplicaVirtualHost<?>) node2.getVirtualHost();
+
+        QpidByteBuffer.deinitialisePool();
+        QpidByteBuffer.initialisePool(4096, 10, 0.5);
+        try
+        {
+            List<Map<String, Object>> messages = replicaVirtualHost.getReplicatedMessageInfo("testQueue", 0, -1);
+            assertEquals("Unexpected number of messages", 1, messages.size());
+            assertEquals("Unexpected message id",
+                         storedMessage.getMessageNumber(),
+                         messages.get(0).get(ReplicaQueueBrowser.MESSAGE_ID));
+            assertEquals("Unexpected message size", 10, messages.get(0).get(ReplicaQueueBrowser.SIZE));
+
+            try
+            {
+                replicaVirtualHost.getReplicatedMessageInfo("nonExistingQueue", 0, -1);
+                fail("Exception not thrown");
+            }
+            catch (IllegalArgumentException e)
+            {
+                // pass
+            }
+
+            virtualHost.createChild(Queue.class, Collections.singletonMap(Queue.NAME, "testQueue2"));
+            awaitReplication(node1, node2);
+
+            assertTrue("Unexpected messages on queue created after the first browse",
+                       replicaVirtualHost.getReplicatedMessageInfo("testQueue2", 0, -1).isEmpty());
+            assertEquals("Unexpected number of messages after the queues were re-read",
+                         1,
+                         replicaVirtualHost.getReplicatedMessageInfo("testQueue", 0, -1).size());
+        }
+        finally
+        {
+            QpidByteBuffer.deinitialisePool();
+        }
+    }
+
+    private void awaitReplication(final BDBHAVirtualHostNode<?> master, final BDBHAVirtualHostNode<?> replica)
+            throws InterruptedException
+    {
+        int waitCounter = 100;
+        while (!replica.getLastKnownReplicationTransactionId().equals(master.getLastKnownReplicationTransactionId())
+               && (waitCounter--) != 0)
+        {
+            Thread.sleep(100L);
+        }
+        assertEquals("Last transaction was not replicated",
+                     master.getLastKnownReplicationTransactionId(),
+                     replica.getLastKnownReplicationTransactionId());
+    }
+
+    @Test
+    public void testReplicatedMessageInfoRequiresReplicaReadsEnabled() throws Exception
+    {
+        int node1PortNumber = _portHelper.getNextAvailable();
+        int node2PortNumber = _portHelper.getNextAvailable();
+        String helperAddress = "localhost:" + node1PortNumber;
+        String groupName = "group";
+        String nodeName = "node1";
+
+        Map<String, Object> node1Attributes = _helper.createNodeAttributes(nodeName, groupName, helperAddress,
+                                                                           helperAddress, nodeName, node1PortNumber,
+                                                                           node2PortNumber);
+        BDBHAVirtualHostNode<?> node1 = _helper.createAndStartHaVHN(node1Attributes);
+        _helper.assertNodeRole(node1, NodeRole.MASTER);
+
+        Map<String, Object> node2Attributes = _helper.createNodeAttributes("node2", groupName,
+                                                                           "localhost:" + node2PortNumber,
+                                                                           helperAddress, nodeName);
+        BDBHAVirtualHostNode<?> node2 = _helper.createAndStartHaVHN(node2Attributes);
+        _helper.assertNodeRole(node2, NodeRole.REPLICA);
+        _helper.awaitForVirtualhost(node2);
+
+        try
+        {
+            ((BDBHAReplicaVirtualHost<?>) node2.getVirtualHost()).getReplicatedMessageInfo("testQueue", 0, -1);
+            fail("Exception not thrown");
+        }
+        catch (IllegalStateException e)
+        {
+            // pass
+        }
+    }
+
     @Test
     public void testNotPermittedNodeIsNotAllowedToConnect() throws Exception
     {
@@ -22,19 +22,30 @@ package org.apache.qpid.server.store.berkeleydb;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.junit.Assume.assumeThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+import com.sleepycat.je.Durability.SyncPolicy;
 
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.message.EnqueueableMessage;
+import org.apache.qpid.server.model.ConfigurationChangeListener;
+import org.apache.qpid.server.model.ConfiguredObject;
+import org.apache.qpid.server.model.Queue;
 import org.apache.qpid.server.model.VirtualHost;
 import org.apache.qpid.server.protocol.v0_8.AMQShortString;
 import org.apache.qpid.server.protocol.v0_8.FieldTableFactory;
@@ -47,6 +58,8 @@ import org.apache.qpid.server.store.MessageStore;
 import org.apache.qpid.server.store.MessageStoreTestCase;
 import org.apache.qpid.server.store.StoreException;
 import org.apache.qpid.server.store.StoredMessage;
+import org.apache.qpid.server.store.Transaction;
+import org.apache.qpid.server.store.TransactionLogResource;
 import org.apache.qpid.server.util.FileUtils;
 import org.apache.qpid.server.virtualhost.berkeleydb.BDBVirtualHost;
 import org.apache.qpid.test.utils.VirtualHostNodeStoreType;
@@ -183,6 +196,93 @@ public class BDBMessageStoreTest extends MessageStoreTestCase
     }
 
 
+    @Test
+    public void testTransactionCommittedWithStrongestQueueSyncPolicy() throws Exception
+    {
+        final BDBMessageStore bdbStore = (BDBMessageStore) getStore();
+        final EnvironmentFacade environmentFacade = bdbStore.getEnvironmentFacade();
+        final Queue<?> noSyncQueue = createQueue(SyncPolicy.NO_SYNC);
+        final Queue<?> writeNoSyncQueue = createQueue(SyncPolicy.WRITE_NO_SYNC);
+        final TransactionLogResource defaultQueue = createQueue(null);
+        final EnqueueableMessage message = createEnqueueableMessage(createAndStoreSingleChunkMessage_0_8(bdbStore));
+        environmentFacade.getTransactionStatistics(true);
+
+        Transaction txn = bdbStore.newTransaction();
+        txn.enqueueMessage(noSyncQueue, message);
+        txn.commitTran();
+
+        txn = bdbStore.newTransaction();
+        txn.enqueueMessage(noSyncQueue, message);
+        txn.enqueueMessage(writeNoSyncQueue, message);
+        txn.commitTranAsync(null).get();
+
+        txn = bdbStore.newTransaction();
+        txn.enqueueMessage(defaultQueue, message);
+        txn.enqueueMessage(writeNoSyncQueue, message);
+        txn.commitTran();
+
+        final Map<String, Object> statistics = environmentFacade.getTransactionStatistics(false);
+        assertEquals("Unexpected no sync commits", 1L, statistics.get(CommitStatistics.NO_SYNC_COMMITS));
+        assertEquals("Unexpected write no sync commits", 1L, statistics.get(CommitStatistics.WRITE_NO_SYNC_COMMITS));
+        assertEquals("Unexpected sync commits", 1L, statistics.get(CommitStatistics.SYNC_COMMITS));
+    }
+
+    @Test
+    public void testInheritedQueueSyncPolicyIsRefreshed() throws Exception
+    {
+        final BDBMessageStore bdbStore = (BDBMessageStore) getStore();
+        final EnvironmentFacade environmentFacade = bdbStore.getEnvironmentFacade();
+        final VirtualHost<?> virtualHost = getVirtualHost();
+        final Queue<?> queue = createQueue(null);
+        final EnqueueableMessage message = createEnqueueableMessage(createAndStoreSingleChunkMessage_0_8(bdbStore));
+        environmentFacade.getTransactionStatistics(true);
+
+        Transaction txn = bdbStore.newTransaction();
+        txn.enqueueMessage(queue, message);
+        txn.commitTran();
+
+        final ArgumentCaptor<ConfigurationChangeListener> listenerCaptor =
+                ArgumentCaptor.forClass(ConfigurationChangeListener.class);
+        verify(virtualHost).addChangeListener(listenerCaptor.capture());
+        final ConfigurationChangeListener listener = listenerCaptor.getValue();
+
+        when(queue.getContextValue(String.class, EnvironmentFacade.QUEUE_SYNC_POLICY_PROPERTY_NAME))
+                .thenReturn(SyncPolicy.NO_SYNC.name());
+        listener.attributeSet(virtualHost, ConfiguredObject.CONTEXT, null, null);
+
+        txn = bdbStore.newTransaction();
+        txn.enqueueMessage(queue, message);
+        txn.commitTran();
+
+        final Map<String, Object> statistics = environmentFacade.getTransactionStatistics(false);
+        assertEquals("Unexpected sync commits", 1L, statistics.get(CommitStatistics.SYNC_COMMITS));
+        assertEquals("Unexpected no sync commits", 1L, statistics.get(CommitStatistics.NO_SYNC_COMMITS));
+
+        bdbStore.closeMessageStore();
+        verify(virtualHost).removeChangeListener(listener);
+        verify(queue).removeChangeListener(listener);
+    }
+
+    private Queue<?> createQueue(final SyncPolicy syncPolicy)
+    {
+        final Queue<?> queue = mock(Queue.class);
+        when(queue.getId()).thenReturn(UUID.randomUUID());
+        when(queue.getName()).thenReturn(getTestName() + "_" + syncPolicy);
+        when(queue.getContextValue(String.class, EnvironmentFacade.QUEUE_SYNC_POLICY_PROPERTY_NAME))
+                .thenReturn(syncPolicy == null ? "" : syncPolicy.name());
+        return queue;
+    }
+
+    private EnqueueableMessage createEnqueueableMessage(final StoredMessage<?> storedMessage)
+    {
+        final EnqueueableMessage message = mock(EnqueueableMessage.class);
+        final long messageNumber = storedMessage.getMessageNumber();
+        when(message.getMessageNumber()).thenReturn(messageNumber);
+        when(message.isPersistent()).thenReturn(true);
+        when(message.getStoredMessage()).thenReturn((StoredMessage) storedMessage);
+        return message;
+    }
+
     @Override
     protected VirtualHost createVirtualHost()
     {
@@ -25,6 +25,7 @@ import static org.apache.qpid.server.store.berkeleydb.EnvironmentFacade
         .LOG_HANDLER_CLEANER_PROTECTED_FILES_LIMIT_PROPERTY_NAME;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
@@ -42,6 +43,7 @@ import java.util.Map;
 
 import com.sleepycat.je.Database;
 import com.sleepycat.je.DatabaseConfig;
+import com.sleepycat.je.Durability.SyncPolicy;
 import com.sleepycat.je.EnvironmentConfig;
 import com.sleepycat.je.Transaction;
 import org.junit.After;
@@ -154,6 +156,27 @@ public class StandardEnvironmentFacadeTest extends UnitTestBase
         assertNotSame("Expecting a new handle after database closure", handle1, handle3);
     }
 
+    @Test
+    public void testCommitWithSyncPolicy() throws Exception
+    {
+        EnvironmentFacade ef = createEnvironmentFacade();
+        assertEquals("Unexpected default sync policy", SyncPolicy.SYNC, ef.getDefaultSyncPolicy());
+
+        ef.commit(ef.beginTransaction(null), true);
+        ef.commit(ef.beginTransaction(null), true, SyncPolicy.SYNC);
+        ef.commit(ef.beginTransaction(null), true, SyncPolicy.WRITE_NO_SYNC);
+        ef.commitAsync(ef.beginTransaction(null), SyncPolicy.NO_SYNC, null).get();
+        ef.commitAsync(ef.beginTransaction(null), SyncPolicy.NO_SYNC, null).get();
+
+        Map<String, Object> statistics = ef.getTransactionStatistics(true);
+        assertEquals("Unexpected sync commits", 2L, statistics.get(CommitStatistics.SYNC_COMMITS));
+        assertEquals("Unexpected write no sync commits", 1L, statistics.get(CommitStatistics.WRITE_NO_SYNC_COMMITS));
+        assertEquals("Unexpected no sync commits", 2L, statistics.get(CommitStatistics.NO_SYNC_COMMITS));
+
+        statistics = ef.getTransactionStatistics(false);
+        assertEquals("Statistics not reset", 0L, statistics.get(CommitStatistics.SYNC_COMMITS));
+    }
+
     EnvironmentFacade createEnvironmentFacade()
     {
         _environmentFacade = createEnvironmentFacade(Collections.<String, String>emptyMap());
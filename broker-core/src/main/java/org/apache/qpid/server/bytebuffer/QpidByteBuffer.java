@@ -28,6 +28,8 @@ import java.nio.channels.ScatteringByteChannel;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.ThreadFactory;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLEngineResult;
@@ -78,6 +80,26 @@ public interface QpidByteBuffer extends AutoCloseable
         return QpidByteBufferFactory.deflate(uncompressedBuffer);
     }
 
+    /**
+     * Compresses the remaining content of the buffer with the given deflater, which must be newly created or reset.
+     * The content is passed through the deflater in chunks, without first being copied into a single array.
+     */
+    static QpidByteBuffer deflate(QpidByteBuffer uncompressedBuffer, Deflater deflater)
+    {
+        return QpidByteBufferFactory.deflate(uncompressedBuffer, deflater);
+    }
+
+    /**
+     * Decompresses the remaining content of the buffer with the given inflater, which must be newly created or reset.
+     *
+     * @param dictionary the preset dictionary to use if the compressed data requires one, or null
+     */
+    static QpidByteBuffer inflate(QpidByteBuffer compressedBuffer, Inflater inflater, byte[] dictionary)
+            throws IOException
+    {
+        return QpidByteBufferFactory.inflate(compressedBuffer, inflater, dictionary);
+    }
+
     static long write(GatheringByteChannel channel, Collection<QpidByteBuffer> qpidByteBuffers)
             throws IOException
     {
@@ -32,8 +32,11 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.ThreadFactory;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
 
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLEngineResult;
@@ -265,6 +268,104 @@ final class QpidByteBufferFactory
         }
     }
 
+    static QpidByteBuffer deflate(QpidByteBuffer uncompressedBuffer, Deflater deflater)
+    {
+        if (uncompressedBuffer == null)
+        {
+            throw new IllegalArgumentException("uncompressedBuffer cannot be null");
+        }
+
+        final boolean isDirect = uncompressedBuffer.isDirect();
+        final FragmentCollector output = new FragmentCollector(isDirect);
+        final byte[] input = new byte[Math.min(output.getFragmentSize(), 16384)];
+        try (QpidByteBuffer source = uncompressedBuffer.duplicate())
+        {
+            while (source.hasRemaining())
+            {
+                final int length = Math.min(input.length, source.remaining());
+                source.get(input, 0, length);
+                deflater.setInput(input, 0, length);
+                while (!deflater.needsInput())
+                {
+                    output.advance(deflater.deflate(output.getTransferBuffer(),
+                                                    output.getTransferPosition(),
+                                                    output.getTransferRemaining()));
+                }
+            }
+            deflater.finish();
+            while (!deflater.finished())
+            {
+                output.advance(deflater.deflate(output.getTransferBuffer(),
+                                                output.getTransferPosition(),
+                                                output.getTransferRemaining()));
+            }
+            return output.build();
+        }
+        catch (RuntimeException e)
+        {
+            output.dispose();
+            throw e;
+        }
+    }
+
+    static QpidByteBuffer inflate(QpidByteBuffer compressedBuffer, Inflater inflater, byte[] dictionary)
+            throws IOException
+    {
+        if (compressedBuffer == null)
+        {
+            throw new IllegalArgumentException("compressedBuffer cannot be null");
+        }
+
+        final boolean isDirect = compressedBuffer.isDirect();
+        final FragmentCollector output = new FragmentCollector(isDirect);
+        final byte[] input = new byte[Math.min(output.getFragmentSize(), 16384)];
+        try (QpidByteBuffer source = compressedBuffer.duplicate())
+        {
+            while (!inflater.finished())
+            {
+                if (inflater.needsInput())
+                {
+                    if (!source.hasRemaining())
+                    {
+                        throw new IOException("Unexpected end of compressed data");
+                    }
+                    final int length = Math.min(input.length, source.remaining());
+                    source.get(input, 0, length);
+                    inflater.setInput(input, 0, length);
+                }
+                else if (inflater.needsDictionary())
+                {
+                    if (dictionary == null)
+                    {
+                        throw new IOException("Compressed data requires an unknown preset dictionary");
+                    }
+                    try
+                    {
+                        inflater.setDictionary(dictionary);
+                    }
+                    catch (IllegalArgumentException e)
+                    {
+                        throw new IOException("Compressed data requires a different preset dictionary", e);
+                    }
+                }
+                output.advance(inflater.inflate(output.getTransferBuffer(),
+                                                output.getTransferPosition(),
+                                                output.getTransferRemaining()));
+            }
+            return output.build();
+        }
+        catch (DataFormatException e)
+        {
+            output.dispose();
+            throw new IOException("Invalid compressed data", e);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            output.dispose();
+            throw e;
+        }
+    }
+
     static long write(GatheringByteChannel channel, Collection<QpidByteBuffer> qpidByteBuffers)
             throws IOException
     {
@@ -475,6 +576,78 @@ final class QpidByteBufferFactory
         });
     }
 
+    /**
+     * Accumulates output produced into a transfer array as a list of buffer fragments, copying the data once.
+     */
+    private static final class FragmentCollector
+    {
+        private final List<SingleQpidByteBuffer> _fragments = new ArrayList<>();
+        private final boolean _isDirect;
+        private final byte[] _transferBuffer;
+        private int _transferPosition;
+
+        private FragmentCollector(final boolean isDirect)
+        {
+            _isDirect = isDirect;
+            _transferBuffer = new byte[(isDirect && _pooledBufferSize > 0) ? _pooledBufferSize : 65536];
+        }
+
+        int getFragmentSize()
+        {
+            return _transferBuffer.length;
+        }
+
+        byte[] getTransferBuffer()
+        {
+            return _transferBuffer;
+        }
+
+        int getTransferPosition()
+        {
+            return _transferPosition;
+        }
+
+        int getTransferRemaining()
+        {
+            return _transferBuffer.length - _transferPosition;
+        }
+
+        void advance(final int produced)
+        {
+            _transferPosition += produced;
+            if (_transferPosition == _transferBuffer.length)
+            {
+                addFragment();
+            }
+        }
+
+        QpidByteBuffer build()
+        {
+            if (_transferPosition != 0)
+            {
+                addFragment();
+            }
+            return createQpidByteBuffer(_fragments);
+        }
+
+        void dispose()
+        {
+            _fragments.forEach(QpidByteBuffer::dispose);
+            _fragments.clear();
+        }
+
+        private void addFragment()
+        {
+            final SingleQpidByteBuffer fragment = _isDirect
+                    ? allocateDirectSingle(_transferPosition)
+                    : new SingleQpidByteBuffer(new NonPooledByteBufferRef(ByteBuffer.allocate(_transferPosition)));
+            fragment.put(_transferBuffer, 0, _transferPosition);
+            fragment.flip();
+            _fragments.add(fragment);
+            _transferPosition = 0;
+        }
+    }
+
     private static SingleQpidByteBuffer allocateDirectSingle(int size)
     {
         if (size < 0)
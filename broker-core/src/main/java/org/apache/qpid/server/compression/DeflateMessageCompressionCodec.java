@@ -0,0 +1,203 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.plugin.MessageCompressionCodec;
+import org.apache.qpid.server.plugin.PluggableService;
+
+/**
+ * Compresses payloads in the zlib format (the "deflate" content encoding of HTTP).  This avoids the CRC-32 and
+ * header overhead of gzip, and by default uses the fastest compression level.
+ * <p>
+ * The codec uses the broker specific content encoding {@value #TYPE} rather than "deflate", so that payloads which
+ * applications have encoded themselves are never decompressed or recompressed by the broker.
+ * <p>
+ * A preset dictionary may be configured with the {@value #DICTIONARY_PROPERTY} system property.  For small
+ * payloads with a common structure, such as JSON documents, a dictionary of typical content greatly improves the
+ * compression ratio.  Clients decompressing the payloads must use the same dictionary.  The zlib format records
+ * the checksum of the dictionary, so data compressed with a different dictionary is detected.
+ */
+@PluggableService
+public class DeflateMessageCompressionCodec implements MessageCompressionCodec
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeflateMessageCompressionCodec.class);
+
+    public static final String TYPE = "x-qpid-deflate";
+    public static final String LEVEL_PROPERTY = "qpid.compression.deflate.level";
+    public static final String DICTIONARY_PROPERTY = "qpid.compression.deflate.dictionary";
+
+    private static final int LEVEL = Integer.getInteger(LEVEL_PROPERTY, Deflater.BEST_SPEED);
+    private static final byte[] DICTIONARY = loadDictionary(System.getProperty(DICTIONARY_PROPERTY));
+
+    // Deflater and Inflater hold native memory which is slow to allocate, so each thread reuses its own
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(() -> new Deflater(LEVEL));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+    private final int _level;
+    private final byte[] _dictionary;
+
+    public DeflateMessageCompressionCodec()
+    {
+        this(LEVEL, DICTIONARY);
+    }
+
+    DeflateMessageCompressionCodec(final int level, final byte[] dictionary)
+    {
+        _level = level;
+        _dictionary = dictionary;
+    }
+
+    @Override
+    public String getType()
+    {
+        return TYPE;
+    }
+
+    @Override
+    public QpidByteBuffer compress(final QpidByteBuffer uncompressed)
+    {
+        final Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setLevel(_level);
+        if (_dictionary != null)
+        {
+            deflater.setDictionary(_dictionary);
+        }
+        return QpidByteBuffer.deflate(uncompressed, deflater);
+    }
+
+    @Override
+    public QpidByteBuffer decompress(final QpidByteBuffer compressed) throws IOException
+    {
+        final Inflater inflater = INFLATER.get();
+        inflater.reset();
+        return QpidByteBuffer.inflate(compressed, inflater, _dictionary);
+    }
+
+    @Override
+    public InputStream decompressingStream(final InputStream compressed)
+    {
+        return new DictionaryInflaterInputStream(compressed, new Inflater(), _dictionary);
+    }
+
+    @Override
+    public OutputStream compressingStream(final OutputStream compressed)
+    {
+        final Deflater deflater = new Deflater(_level);
+        if (_dictionary != null)
+        {
+            deflater.setDictionary(_dictionary);
+        }
+        return new DeflaterOutputStream(compressed, deflater, true)
+        {
+            @Override
+            public void close() throws IOException
+            {
+                try
+                {
+                    super.close();
+                }
+                finally
+                {
+                    deflater.end();
+                }
+            }
+        };
+    }
+
+    private static byte[] loadDictionary(final String path)
+    {
+        if (path == null || "".equals(path))
+        {
+            return null;
+        }
+        try
+        {
+            return Files.readAllBytes(Paths.get(path));
+        }
+        catch (IOException e)
+        {
+            LOGGER.warn("Unable to read deflate compression dictionary '{}', no dictionary will be used", path, e);
+            return null;
+        }
+    }
+
+    private static class DictionaryInflaterInputStream extends InflaterInputStream
+    {
+        private final byte[] _dictionary;
+
+        DictionaryInflaterInputStream(final InputStream in, final Inflater inflater, final byte[] dictionary)
+        {
+            super(in, inflater);
+            _dictionary = dictionary;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException
+        {
+            int read = super.read(b, off, len);
+            if (read == -1 && inf.needsDictionary())
+            {
+                if (_dictionary == null)
+                {
+                    throw new IOException("Compressed data requires an unknown preset dictionary");
+                }
+                try
+                {
+                    inf.setDictionary(_dictionary);
+                }
+                catch (IllegalArgumentException e)
+                {
+                    throw new IOException("Compressed data requires a different preset dictionary", e);
+                }
+                read = super.read(b, off, len);
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            try
+            {
+                super.close();
+            }
+            finally
+            {
+                inf.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.plugin.MessageCompressionCodec;
+import org.apache.qpid.server.plugin.PluggableService;
+import org.apache.qpid.server.util.GZIPUtils;
+
+@PluggableService
+public class GzipMessageCompressionCodec implements MessageCompressionCodec
+{
+    @Override
+    public String getType()
+    {
+        return GZIPUtils.GZIP_CONTENT_ENCODING;
+    }
+
+    @Override
+    public QpidByteBuffer compress(final QpidByteBuffer uncompressed) throws IOException
+    {
+        return QpidByteBuffer.deflate(uncompressed);
+    }
+
+    @Override
+    public QpidByteBuffer decompress(final QpidByteBuffer compressed) throws IOException
+    {
+        return QpidByteBuffer.inflate(compressed);
+    }
+
+    @Override
+    public InputStream decompressingStream(final InputStream compressed) throws IOException
+    {
+        return new GZIPInputStream(compressed);
+    }
+
+    @Override
+    public OutputStream compressingStream(final OutputStream compressed) throws IOException
+    {
+        return new GZIPOutputStream(compressed, true);
+    }
+}
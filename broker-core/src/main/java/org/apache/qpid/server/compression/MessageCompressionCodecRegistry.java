@@ -0,0 +1,153 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.compression;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.plugin.MessageCompressionCodec;
+import org.apache.qpid.server.plugin.QpidServiceLoader;
+import org.apache.qpid.server.util.GZIPUtils;
+
+public class MessageCompressionCodecRegistry
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(MessageCompressionCodecRegistry.class);
+
+    private static final Map<String, MessageCompressionCodec> _codecs;
+
+    static
+    {
+        final Map<String, MessageCompressionCodec> codecs = new LinkedHashMap<>();
+        for (MessageCompressionCodec codec : new QpidServiceLoader().instancesOf(MessageCompressionCodec.class))
+        {
+            final MessageCompressionCodec existing = codecs.put(codec.getType(), codec);
+            if (existing != null)
+            {
+                LOGGER.warn("Message compression codec {} for content encoding '{}' replaced by {}.",
+                            existing.getClass().getName(),
+                            existing.getType(),
+                            codec.getClass().getName());
+            }
+        }
+        _codecs = Collections.unmodifiableMap(codecs);
+    }
+
+    /**
+     * @param contentEncoding the content encoding of a message
+     * @return the codec for the content encoding, or null if the content encoding is not a known compression
+     */
+    public static MessageCompressionCodec getCodec(String contentEncoding)
+    {
+        return contentEncoding == null ? null : _codecs.get(contentEncoding);
+    }
+
+    /**
+     * Return a new byte array with the uncompressed form of the data
+     *
+     * @param contentEncoding the content encoding of the data
+     * @param data the compressed data
+     * @return the uncompressed data, or null if the content encoding is not a known compression or the data could not
+     * be uncompressed
+     */
+    public static byte[] uncompressToArray(String contentEncoding, byte[] data)
+    {
+        final MessageCompressionCodec codec = getCodec(contentEncoding);
+        if (codec == null || data == null)
+        {
+            return null;
+        }
+        try (QpidByteBuffer compressed = QpidByteBuffer.wrap(data);
+             QpidByteBuffer uncompressed = codec.decompress(compressed))
+        {
+            final byte[] result = new byte[uncompressed.remaining()];
+            uncompressed.get(result);
+            return result;
+        }
+        catch (IOException e)
+        {
+            LOGGER.warn("Unexpected IOException when attempting to uncompress with {}", contentEncoding, e);
+            return null;
+        }
+    }
+
+    public static Collection<String> getSupportedContentEncodings()
+    {
+        return _codecs.keySet();
+    }
+
+    /**
+     * Determines the codecs a client accepts from the connection properties it sent.  A client which supports
+     * compression without listing the content encodings it accepts is assumed to accept only gzip.
+     *
+     * @param compressionSupported the value of the compression supported client property, or null
+     * @param acceptedContentEncodings the value of the compression codecs client property, or null: either a list
+     *                                 or a comma separated string of content encodings in order of preference
+     * @return the accepted codecs known to the broker, in the order of the client's preference
+     */
+    public static List<MessageCompressionCodec> getAcceptedCodecs(Object compressionSupported,
+                                                                  Object acceptedContentEncodings)
+    {
+        if (compressionSupported == null || !Boolean.parseBoolean(String.valueOf(compressionSupported)))
+        {
+            return Collections.emptyList();
+        }
+
+        final List<String> contentEncodings = new ArrayList<>();
+        if (acceptedContentEncodings instanceof Collection)
+        {
+            for (Object contentEncoding : (Collection<?>) acceptedContentEncodings)
+            {
+                contentEncodings.add(String.valueOf(contentEncoding).trim());
+            }
+        }
+        else if (acceptedContentEncodings != null)
+        {
+            for (String contentEncoding : String.valueOf(acceptedContentEncodings).split(","))
+            {
+                contentEncodings.add(contentEncoding.trim());
+            }
+        }
+        else
+        {
+            contentEncodings.add(GZIPUtils.GZIP_CONTENT_ENCODING);
+        }
+
+        final List<MessageCompressionCodec> codecs = new ArrayList<>(contentEncodings.size());
+        for (String contentEncoding : contentEncodings)
+        {
+            final MessageCompressionCodec codec = _codecs.get(contentEncoding);
+            if (codec != null && !codecs.contains(codec))
+            {
+                codecs.add(codec);
+            }
+        }
+        return Collections.unmodifiableList(codecs);
+    }
+}
@@ -21,15 +21,27 @@
 package org.apache.qpid.server.configuration.store;
 
 import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 
 import org.apache.qpid.server.model.ConfigurationChangeListener;
 import org.apache.qpid.server.model.ConfiguredObject;
 import org.apache.qpid.server.model.Model;
 import org.apache.qpid.server.model.State;
+import org.apache.qpid.server.store.ConfiguredObjectRecord;
 import org.apache.qpid.server.store.DurableConfigurationStore;
 
 public class StoreConfigurationChangeListener implements ConfigurationChangeListener
 {
+    /** The open batches of the current thread, by store */
+    private static final ThreadLocal<Map<DurableConfigurationStore, Batch>> BATCHES = new ThreadLocal<>();
+
     private final DurableConfigurationStore _store;
     private boolean _bulkChanges = false;
 
@@ -46,7 +58,7 @@ public class StoreConfigurationChangeListener implements ConfigurationChangeList
         {
             if(object.isDurable())
             {
-                _store.remove(object.asObjectRecord());
+                remove(object.asObjectRecord());
             }
             object.removeChangeListener(this);
         }
@@ -65,7 +77,7 @@ public class StoreConfigurationChangeListener implements ConfigurationChangeList
                 if(parentType.equals(object.getCategoryClass()))
                 {
                     child.addChangeListener(this);
-                    _store.update(true, child.asObjectRecord());
+                    update(true, child.asObjectRecord());
 
                     Class<? extends ConfiguredObject> categoryClass = child.getCategoryClass();
                     Collection<Class<? extends ConfiguredObject>> childTypes =
@@ -95,7 +107,7 @@ public class StoreConfigurationChangeListener implements ConfigurationChangeList
     {
         if (object.isDurable() && _bulkChanges)
         {
-            _store.update(false, object.asObjectRecord());
+            update(false, object.asObjectRecord());
         }
         _bulkChanges = false;
     }
@@ -107,7 +119,7 @@ public class StoreConfigurationChangeListener implements ConfigurationChangeList
         {
             if (child.isDurable())
             {
-                _store.remove(child.asObjectRecord());
+                remove(child.asObjectRecord());
             }
             child.removeChangeListener(this);
         }
@@ -118,7 +130,7 @@ public class StoreConfigurationChangeListener implements ConfigurationChangeList
     {
         if (object.isDurable() && !_bulkChanges)
         {
-            _store.update(false, object.asObjectRecord());
+            update(false, object.asObjectRecord());
         }
     }
 
@@ -127,4 +139,183 @@ public class StoreConfigurationChangeListener implements ConfigurationChangeList
     {
         return "StoreConfigurationChangeListener [store=" + _store + "]";
     }
+
+    /**
+     * Performs the action with the store changes that listeners for the given store make on the calling thread held
+     * back until the action returns, then applies them to the store as one update and one removal.  Changes made on
+     * other threads, or after the action has returned, are written to the store as usual.
+     */
+    public static <T> ListenableFuture<T> batchChanges(final DurableConfigurationStore store,
+                                                       final Supplier<ListenableFuture<T>> action)
+    {
+        return batchChanges(store, action, () -> {});
+    }
+
+    /**
+     * As {@link #batchChanges(DurableConfigurationStore, Supplier)}, but if the held back update cannot be written,
+     * so that none of the changes reached the store, runs the undo action to remove the changes from memory.  The
+     * store changes the undo action makes on the calling thread are discarded.
+     */
+    public static <T> ListenableFuture<T> batchChanges(final DurableConfigurationStore store,
+                                                       final Supplier<ListenableFuture<T>> action,
+                                                       final Runnable undo)
+    {
+        Map<DurableConfigurationStore, Batch> batches = BATCHES.get();
+        if (batches == null)
+        {
+            batches = new IdentityHashMap<>();
+            BATCHES.set(batches);
+        }
+        else if (batches.containsKey(store))
+        {
+            return action.get();
+        }
+        final Batch batch = new Batch();
+        batches.put(store, batch);
+
+        final ListenableFuture<T> result;
+        try
+        {
+            result = action.get();
+        }
+        catch (RuntimeException e)
+        {
+            try
+            {
+                applyBatch(store, batch, undo);
+            }
+            catch (RuntimeException applyException)
+            {
+                e.addSuppressed(applyException);
+            }
+            throw e;
+        }
+
+        try
+        {
+            applyBatch(store, batch, undo);
+        }
+        catch (RuntimeException e)
+        {
+            return Futures.immediateFailedFuture(e);
+        }
+        return result;
+    }
+
+    private static void applyBatch(final DurableConfigurationStore store, final Batch batch, final Runnable undo)
+    {
+        removeBatch(store);
+        try
+        {
+            batch.applyUpdates(store);
+        }
+        catch (RuntimeException e)
+        {
+            discardChanges(store, undo, e);
+            throw e;
+        }
+        // the updates are in the store, so a failure to remove is left as it would be without the batch
+        batch.applyRemovals(store);
+    }
+
+    private static void discardChanges(final DurableConfigurationStore store,
+                                       final Runnable undo,
+                                       final RuntimeException cause)
+    {
+        Map<DurableConfigurationStore, Batch> batches = BATCHES.get();
+        if (batches == null)
+        {
+            batches = new IdentityHashMap<>();
+            BATCHES.set(batches);
+        }
+        batches.put(store, new Batch());
+        try
+        {
+            undo.run();
+        }
+        catch (RuntimeException e)
+        {
+            cause.addSuppressed(e);
+        }
+        finally
+        {
+            removeBatch(store);
+        }
+    }
+
+    private static void removeBatch(final DurableConfigurationStore store)
+    {
+        final Map<DurableConfigurationStore, Batch> batches = BATCHES.get();
+        batches.remove(store);
+        if (batches.isEmpty())
+        {
+            BATCHES.remove();
+        }
+    }
+
+    private Batch getBatch()
+    {
+        final Map<DurableConfigurationStore, Batch> batches = BATCHES.get();
+        return batches == null ? null : batches.get(_store);
+    }
+
+    private void update(final boolean createIfNecessary, final ConfiguredObjectRecord record)
+    {
+        final Batch batch = getBatch();
+        if (batch == null)
+        {
+            _store.update(createIfNecessary, record);
+        }
+        else
+        {
+            batch.update(record);
+        }
+    }
+
+    private void remove(final ConfiguredObjectRecord record)
+    {
+        final Batch batch = getBatch();
+        if (batch == null)
+        {
+            _store.remove(record);
+        }
+        else
+        {
+            batch.remove(record);
+        }
+    }
+
+    private static class Batch
+    {
+        private final Map<UUID, ConfiguredObjectRecord> _updated = new LinkedHashMap<>();
+        private final Map<UUID, ConfiguredObjectRecord> _removed = new LinkedHashMap<>();
+
+        void update(final ConfiguredObjectRecord record)
+        {
+            _removed.remove(record.getId());
+            _updated.put(record.getId(), record);
+        }
+
+        void remove(final ConfiguredObjectRecord record)
+        {
+            _updated.remove(record.getId());
+            _removed.put(record.getId(), record);
+        }
+
+        void applyUpdates(final DurableConfigurationStore store)
+        {
+            if (!_updated.isEmpty())
+            {
+                store.update(true, _updated.values().toArray(new ConfiguredObjectRecord[_updated.size()]));
+            }
+        }
+
+        void applyRemovals(final DurableConfigurationStore store)
+        {
+            if (!_removed.isEmpty())
+            {
+                store.remove(_removed.values().toArray(new ConfiguredObjectRecord[_removed.size()]));
+            }
+        }
+    }
 }
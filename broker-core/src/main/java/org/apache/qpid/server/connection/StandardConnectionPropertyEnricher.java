@@ -27,6 +27,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.apache.qpid.server.common.ServerPropertyNames;
+import org.apache.qpid.server.compression.MessageCompressionCodecRegistry;
 import org.apache.qpid.server.configuration.CommonProperties;
 import org.apache.qpid.server.model.Broker;
 import org.apache.qpid.server.plugin.ConnectionPropertyEnricher;
@@ -56,6 +57,11 @@ public class StandardConnectionPropertyEnricher implements ConnectionPropertyEnr
 
         modifiedProperties.put(ConnectionStartProperties.QPID_MESSAGE_COMPRESSION_SUPPORTED,
                                String.valueOf(broker.isMessageCompressionEnabled()));
+        if (broker.isMessageCompressionEnabled())
+        {
+            modifiedProperties.put(ConnectionStartProperties.QPID_MESSAGE_COMPRESSION_CODECS,
+                                   String.join(",", MessageCompressionCodecRegistry.getSupportedContentEncodings()));
+        }
         modifiedProperties.put(ConnectionStartProperties.QPID_QUEUE_LIFETIME_SUPPORTED, Boolean.TRUE.toString());
 
 
@@ -82,6 +88,7 @@ public class StandardConnectionPropertyEnricher implements ConnectionPropertyEnr
             case AMQP_1_0:
                 // message compression is not supported in 1.0
                 modifiedProperties.remove(ConnectionStartProperties.QPID_MESSAGE_COMPRESSION_SUPPORTED);
+                modifiedProperties.remove(ConnectionStartProperties.QPID_MESSAGE_COMPRESSION_CODECS);
                 // this property is only meaningful for queue declare operations in 0-x
                 modifiedProperties.remove(ConnectionStartProperties.QPID_QUEUE_LIFETIME_SUPPORTED);
 
@@ -21,6 +21,7 @@
 package org.apache.qpid.server.consumer;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -62,6 +63,8 @@ public abstract class AbstractConsumerTarget<T extends AbstractConsumerTarget<T>
     private final List<MessageInstanceConsumer> _consumers = new CopyOnWriteArrayList<>();
     private final AtomicBoolean _scheduled = new AtomicBoolean();
 
+    private final int _maxDeliveryBatchSize;
+
     private volatile Iterator<MessageInstanceConsumer> _pullIterator;
     private volatile boolean _notifyWorkDesired;
 
@@ -70,6 +73,10 @@ public abstract class AbstractConsumerTarget<T extends AbstractConsumerTarget<T>
     {
         _isMultiQueue = isMultiQueue;
 
+        final Integer maxDeliveryBatchSize =
+                amqpConnection.getContextValue(Integer.class, Consumer.MAX_DELIVERY_BATCH_SIZE);
+        _maxDeliveryBatchSize = maxDeliveryBatchSize == null ? 1 : Math.max(1, maxDeliveryBatchSize);
+
         _suspendedConsumerLoggingTicker = new SuspendedConsumerLoggingTicker(amqpConnection.getContextValue(Long.class, Consumer.SUSPEND_NOTIFICATION_PERIOD))
         {
             @Override
@@ -234,10 +241,10 @@ public abstract class AbstractConsumerTarget<T extends AbstractConsumerTarget<T>
     @Override
     public boolean sendNextMessage()
     {
-        MessageContainer messageContainer = null;
+        List<MessageContainer> messageContainers = Collections.emptyList();
         MessageInstanceConsumer consumer = null;
         boolean iteratedCompleteList = false;
-        while (messageContainer == null)
+        while (messageContainers.isEmpty())
         {
             if (_pullIterator == null || !_pullIterator.hasNext())
             {
@@ -252,86 +259,132 @@ public abstract class AbstractConsumerTarget<T extends AbstractConsumerTarget<T>
             if (_pullIterator.hasNext())
             {
                 consumer = _pullIterator.next();
-                messageContainer = consumer.pullMessage();
+                messageContainers = pullMessages(consumer);
             }
         }
 
-        if (messageContainer != null)
+        if (messageContainers.isEmpty())
+        {
+            return false;
+        }
+
+        final int lastIndex = messageContainers.size() - 1;
+        int index = 0;
+        try
         {
-            MessageInstance entry = messageContainer.getMessageInstance();
-            try
+            for (; index <= lastIndex; index++)
             {
-                send(consumer, entry, false);
+                sendMessage(consumer, messageContainers.get(index), index < lastIndex);
             }
-            catch (MessageConversionException mce)
+        }
+        finally
+        {
+            // if a send failed, give back the messages of the batch which were not sent
+            for (index++; index <= lastIndex; index++)
             {
-                restoreCredit(entry.getMessage());
-                final TransactionLogResource owningResource = entry.getOwningResource();
-                if (owningResource instanceof MessageSource)
+                final MessageContainer unsent = messageContainers.get(index);
+                restoreCredit(unsent.getMessageInstance().getMessage());
+                if (consumer.acquires())
                 {
-                    final MessageSource.MessageConversionExceptionHandlingPolicy handlingPolicy =
-                            ((MessageSource) owningResource).getMessageConversionExceptionHandlingPolicy();
-                    switch(handlingPolicy)
-                    {
-                        case CLOSE:
-                            entry.release(consumer);
-                            throw new ConnectionScopedRuntimeException(String.format(
-                                    "Unable to convert message %s for this consumer",
-                                    entry.getMessage()), mce);
-                        case ROUTE_TO_ALTERNATE:
-                            if (consumer.acquires())
+                    unsent.getMessageInstance().release(consumer);
+                }
+                if (unsent.getMessageReference() != null)
+                {
+                    unsent.getMessageReference().release();
+                }
+            }
+            if (lastIndex > 0)
+            {
+                flushBatched();
+            }
+        }
+        return true;
+    }
+
+    private List<MessageContainer> pullMessages(final MessageInstanceConsumer consumer)
+    {
+        if (_maxDeliveryBatchSize > 1)
+        {
+            @SuppressWarnings("unchecked")
+            final List<MessageContainer> messageContainers = consumer.pullMessages(_maxDeliveryBatchSize);
+            return messageContainers;
+        }
+        final MessageContainer messageContainer = consumer.pullMessage();
+        return messageContainer == null
+                ? Collections.<MessageContainer>emptyList()
+                : Collections.singletonList(messageContainer);
+    }
+
+    private void sendMessage(final MessageInstanceConsumer consumer,
+                             final MessageContainer messageContainer,
+                             final boolean batch)
+    {
+        MessageInstance entry = messageContainer.getMessageInstance();
+        try
+        {
+            send(consumer, entry, batch);
+        }
+        catch (MessageConversionException mce)
+        {
+            restoreCredit(entry.getMessage());
+            final TransactionLogResource owningResource = entry.getOwningResource();
+            if (owningResource instanceof MessageSource)
+            {
+                final MessageSource.MessageConversionExceptionHandlingPolicy handlingPolicy =
+                        ((MessageSource) owningResource).getMessageConversionExceptionHandlingPolicy();
+                switch(handlingPolicy)
+                {
+                    case CLOSE:
+                        entry.release(consumer);
+                        throw new ConnectionScopedRuntimeException(String.format(
+                                "Unable to convert message %s for this consumer",
+                                entry.getMessage()), mce);
+                    case ROUTE_TO_ALTERNATE:
+                        if (consumer.acquires())
+                        {
+                            int enqueues = entry.routeToAlternate(null, null, null);
+                            if (enqueues == 0)
                             {
-                                int enqueues = entry.routeToAlternate(null, null, null);
-                                if (enqueues == 0)
-                                {
-                                    LOGGER.info("Failed to convert message {} for this consumer because '{}'."
-                                                + "  Message discarded.", entry.getMessage(), mce.getMessage());
-
-                                }
-                                else
-                                {
-                                    LOGGER.info("Failed to convert message {} for this consumer because '{}'."
-                                                + "  Message routed to alternate.", entry.getMessage(), mce.getMessage());
-                                }
+                                LOGGER.info("Failed to convert message {} for this consumer because '{}'."
+                                            + "  Message discarded.", entry.getMessage(), mce.getMessage());
+
                             }
                             else
                             {
-                                LOGGER.info("Failed to convert message {} for this browser because '{}'."
-                                            + "  Message skipped.", entry.getMessage(), mce.getMessage());
+                                LOGGER.info("Failed to convert message {} for this consumer because '{}'."
+                                            + "  Message routed to alternate.", entry.getMessage(), mce.getMessage());
                             }
-                            break;
-                        case REJECT:
-                            entry.reject(consumer);
-                            entry.release(consumer);
-                            LOGGER.info("Failed to convert message {} for this consumer because '{}'."
+                        }
+                        else
+                        {
+                            LOGGER.info("Failed to convert message {} for this browser because '{}'."
                                         + "  Message skipped.", entry.getMessage(), mce.getMessage());
-                            break;
-                        default:
-                            throw new ServerScopedRuntimeException("Unrecognised policy " + handlingPolicy);
-                    }
-                }
-                else
-                {
-                    throw new ConnectionScopedRuntimeException(String.format(
-                            "Unable to convert message %s for this consumer",
-                            entry.getMessage()), mce);
+                        }
+                        break;
+                    case REJECT:
+                        entry.reject(consumer);
+                        entry.release(consumer);
+                        LOGGER.info("Failed to convert message {} for this consumer because '{}'."
+                                    + "  Message skipped.", entry.getMessage(), mce.getMessage());
+                        break;
+                    default:
+                        throw new ServerScopedRuntimeException("Unrecognised policy " + handlingPolicy);
                 }
             }
-            finally
+            else
             {
-                if (messageContainer.getMessageReference() != null)
-                {
-                    messageContainer.getMessageReference().release();
-                }
+                throw new ConnectionScopedRuntimeException(String.format(
+                        "Unable to convert message %s for this consumer",
+                        entry.getMessage()), mce);
             }
-            return true;
         }
-        else
+        finally
         {
-            return false;
+            if (messageContainer.getMessageReference() != null)
+            {
+                messageContainer.getMessageReference().release();
+            }
         }
-
-
     }
 
     @Override
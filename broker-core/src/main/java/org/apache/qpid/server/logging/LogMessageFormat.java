@@ -0,0 +1,197 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ *
+ */
+package org.apache.qpid.server.logging;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The compiled form of an operational log message pattern, as used by the generated
+ * <code>org.apache.qpid.server.logging.messages</code> factories.
+ * <p>
+ * Optional sections of the pattern are contained in [square brackets].  The pattern for each combination of
+ * enabled options is compiled once, on first use, and shared between threads.  The {@link LogMessage} instances
+ * returned by {@link #createMessage(int, Object...)} only hold the arguments: the text is formatted when it is
+ * first rendered, which will not happen if the message is disabled.
+ */
+public final class LogMessageFormat
+{
+    private final String _logHierarchy;
+    private final String _pattern;
+    private final int _optionCount;
+    private final boolean _hasParameters;
+    private final Locale _locale;
+    private final AtomicReferenceArray<Object> _compiled;
+
+    /**
+     * @param logHierarchy the log hierarchy of the messages
+     * @param pattern the raw pattern from the message resource bundle
+     * @param optionCount the number of optional sections in the pattern
+     * @param hasParameters false if the pattern has no parameters, in which case it is not passed through a
+     *                      {@link MessageFormat}
+     * @param locale the locale used for formatting
+     */
+    public LogMessageFormat(final String logHierarchy,
+                            final String pattern,
+                            final int optionCount,
+                            final boolean hasParameters,
+                            final Locale locale)
+    {
+        _logHierarchy = logHierarchy;
+        _pattern = pattern;
+        _optionCount = optionCount;
+        _hasParameters = hasParameters;
+        _locale = locale;
+        _compiled = new AtomicReferenceArray<>(1 << optionCount);
+    }
+
+    public String getLogHierarchy()
+    {
+        return _logHierarchy;
+    }
+
+    /**
+     * Creates a message which is formatted when first rendered.
+     *
+     * @param enabledOptions a bit mask of the optional sections to include, the first option being the lowest bit
+     * @param arguments the message arguments
+     * @return the log message
+     */
+    public LogMessage createMessage(final int enabledOptions, final Object... arguments)
+    {
+        return new FormattedLogMessage(this, enabledOptions, arguments);
+    }
+
+    String format(final int enabledOptions, final Object[] arguments)
+    {
+        final Object compiled = getCompiled(enabledOptions);
+        if (compiled instanceof MessageFormat)
+        {
+            // A MessageFormat is not thread safe, but a clone of the compiled prototype is much cheaper than
+            // parsing the pattern again
+            return ((MessageFormat) ((MessageFormat) compiled).clone()).format(arguments);
+        }
+        return (String) compiled;
+    }
+
+    private Object getCompiled(final int enabledOptions)
+    {
+        final int index = enabledOptions & (_compiled.length() - 1);
+        Object compiled = _compiled.get(index);
+        if (compiled == null)
+        {
+            final String pattern = applyOptions(index);
+            compiled = _hasParameters ? new MessageFormat(pattern, _locale) : pattern;
+            if (!_compiled.compareAndSet(index, null, compiled))
+            {
+                compiled = _compiled.get(index);
+            }
+        }
+        return compiled;
+    }
+
+    private String applyOptions(final int enabledOptions)
+    {
+        if (_optionCount == 0)
+        {
+            return _pattern;
+        }
+
+        // Split the pattern up on the option values so we can
+        // rebuild it based on the enabled options.
+        final String[] parts = _pattern.split("\\[");
+        final StringBuilder pattern = new StringBuilder(parts[0]);
+        for (int i = 1; i < parts.length && i <= _optionCount; i++)
+        {
+            final int end = parts[i].indexOf(']');
+            if ((enabledOptions & (1 << (i - 1))) != 0)
+            {
+                pattern.append(parts[i], 0, end);
+            }
+
+            // Use 'end + 1' to remove the ']' from the output
+            pattern.append(parts[i].substring(end + 1));
+        }
+        return pattern.toString();
+    }
+
+    private static final class FormattedLogMessage implements LogMessage
+    {
+        private final LogMessageFormat _format;
+        private final int _enabledOptions;
+        private final Object[] _arguments;
+        private String _message;
+
+        private FormattedLogMessage(final LogMessageFormat format,
+                                    final int enabledOptions,
+                                    final Object[] arguments)
+        {
+            _format = format;
+            _enabledOptions = enabledOptions;
+            _arguments = arguments;
+        }
+
+        @Override
+        public String getLogHierarchy()
+        {
+            return _format.getLogHierarchy();
+        }
+
+        @Override
+        public String toString()
+        {
+            String message = _message;
+            if (message == null)
+            {
+                // Racing threads format the same text, and a String is safe to publish without synchronization
+                message = _format.format(_enabledOptions, _arguments);
+                _message = message;
+            }
+            return message;
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass())
+            {
+                return false;
+            }
+
+            final LogMessage that = (LogMessage) o;
+
+            return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
+        }
+
+        @Override
+        public int hashCode()
+        {
+            int result = toString().hashCode();
+            result = 31 * result + getLogHierarchy().hashCode();
+            return result;
+        }
+    }
+}
@@ -22,13 +22,13 @@ package org.apache.qpid.server.logging.messages;
 
 import static org.apache.qpid.server.logging.AbstractMessageLogger.DEFAULT_LOG_HIERARCHY_PREFIX;
 
-import java.text.MessageFormat;
 import java.util.Locale;
 import java.util.ResourceBundle;
 
 import org.slf4j.LoggerFactory;
 
 import org.apache.qpid.server.logging.LogMessage;
+import org.apache.qpid.server.logging.LogMessageFormat;
 
 /**
  * DO NOT EDIT DIRECTLY, THIS FILE WAS GENERATED.
@@ -87,6 +87,23 @@ public class AccessControlMessages
         _messages = ResourceBundle.getBundle("org.apache.qpid.server.logging.messages.AccessControl_logmessages", _currentLocale);
     }
 
+    private static final LogMessageFormat ALLOWED_FORMAT =
+            new LogMessageFormat(ALLOWED_LOG_HIERARCHY, _messages.getString("ALLOWED"), 0, true, _currentLocale);
+    private static final LogMessageFormat CLOSE_FORMAT =
+            new LogMessageFormat(CLOSE_LOG_HIERARCHY, _messages.getString("CLOSE"), 0, false, _currentLocale);
+    private static final LogMessageFormat CREATE_FORMAT =
+            new LogMessageFormat(CREATE_LOG_HIERARCHY, _messages.getString("CREATE"), 0, true, _currentLocale);
+    private static final LogMessageFormat DELETE_FORMAT =
+            new LogMessageFormat(DELETE_LOG_HIERARCHY, _messages.getString("DELETE"), 0, true, _currentLocale);
+    private static final LogMessageFormat DENIED_FORMAT =
+            new LogMessageFormat(DENIED_LOG_HIERARCHY, _messages.getString("DENIED"), 0, true, _currentLocale);
+    private static final LogMessageFormat LOADED_FORMAT =
+            new LogMessageFormat(LOADED_LOG_HIERARCHY, _messages.getString("LOADED"), 0, true, _currentLocale);
+    private static final LogMessageFormat OPEN_FORMAT =
+            new LogMessageFormat(OPEN_LOG_HIERARCHY, _messages.getString("OPEN"), 0, false, _currentLocale);
+    private static final LogMessageFormat OPERATION_FORMAT =
+            new LogMessageFormat(OPERATION_LOG_HIERARCHY, _messages.getString("OPERATION"), 0, true, _currentLocale);
+
     /**
      * Log a AccessControl message of the Format:
      * <pre>ACL-1001 : Allowed : {0} {1} {2}</pre>
@@ -96,55 +113,7 @@ public class AccessControlMessages
      */
     public static LogMessage ALLOWED(String param1, String param2, String param3)
     {
-        String rawMessage = _messages.getString("ALLOWED");
-
-        final Object[] messageArguments = {param1, param2, param3};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return ALLOWED_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return ALLOWED_FORMAT.createMessage(0, param1, param2, param3);
     }
 
     /**
@@ -156,50 +125,7 @@ public class AccessControlMessages
      */
     public static LogMessage CLOSE()
     {
-        String rawMessage = _messages.getString("CLOSE");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return CLOSE_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return CLOSE_FORMAT.createMessage(0);
     }
 
     /**
@@ -211,55 +137,7 @@ public class AccessControlMessages
      */
     public static LogMessage CREATE(String param1)
     {
-        String rawMessage = _messages.getString("CREATE");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return CREATE_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return CREATE_FORMAT.createMessage(0, param1);
     }
 
     /**
@@ -271,55 +149,7 @@ public class AccessControlMessages
      */
     public static LogMessage DELETE(String param1)
     {
-        String rawMessage = _messages.getString("DELETE");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return DELETE_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return DELETE_FORMAT.createMessage(0, param1);
     }
 
     /**
@@ -331,55 +161,7 @@ public class AccessControlMessages
      */
     public static LogMessage DENIED(String param1, String param2, String param3)
     {
-        String rawMessage = _messages.getString("DENIED");
-
-        final Object[] messageArguments = {param1, param2, param3};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return DENIED_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return DENIED_FORMAT.createMessage(0, param1, param2, param3);
     }
 
     /**
@@ -391,55 +173,7 @@ public class AccessControlMessages
      */
     public static LogMessage LOADED(String param1)
     {
-        String rawMessage = _messages.getString("LOADED");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return LOADED_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return LOADED_FORMAT.createMessage(0, param1);
     }
 
     /**
@@ -451,50 +185,7 @@ public class AccessControlMessages
      */
     public static LogMessage OPEN()
     {
-        String rawMessage = _messages.getString("OPEN");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return OPEN_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return OPEN_FORMAT.createMessage(0);
     }
 
     /**
@@ -506,55 +197,7 @@ public class AccessControlMessages
      */
     public static LogMessage OPERATION(String param1)
     {
-        String rawMessage = _messages.getString("OPERATION");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return OPERATION_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return OPERATION_FORMAT.createMessage(0, param1);
     }
 
 
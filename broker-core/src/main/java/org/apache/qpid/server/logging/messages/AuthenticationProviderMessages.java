@@ -22,13 +22,13 @@ package org.apache.qpid.server.logging.messages;
 
 import static org.apache.qpid.server.logging.AbstractMessageLogger.DEFAULT_LOG_HIERARCHY_PREFIX;
 
-import java.text.MessageFormat;
 import java.util.Locale;
 import java.util.ResourceBundle;
 
 import org.slf4j.LoggerFactory;
 
 import org.apache.qpid.server.logging.LogMessage;
+import org.apache.qpid.server.logging.LogMessageFormat;
 
 /**
  * DO NOT EDIT DIRECTLY, THIS FILE WAS GENERATED.
@@ -83,6 +83,19 @@ public class AuthenticationProviderMessages
         _messages = ResourceBundle.getBundle("org.apache.qpid.server.logging.messages.AuthenticationProvider_logmessages", _currentLocale);
     }
 
+    private static final LogMessageFormat AUTHENTICATION_FAILED_FORMAT =
+            new LogMessageFormat(AUTHENTICATION_FAILED_LOG_HIERARCHY, _messages.getString("AUTHENTICATION_FAILED"), 1, true, _currentLocale);
+    private static final LogMessageFormat CLOSE_FORMAT =
+            new LogMessageFormat(CLOSE_LOG_HIERARCHY, _messages.getString("CLOSE"), 0, false, _currentLocale);
+    private static final LogMessageFormat CREATE_FORMAT =
+            new LogMessageFormat(CREATE_LOG_HIERARCHY, _messages.getString("CREATE"), 0, true, _currentLocale);
+    private static final LogMessageFormat DELETE_FORMAT =
+            new LogMessageFormat(DELETE_LOG_HIERARCHY, _messages.getString("DELETE"), 0, true, _currentLocale);
+    private static final LogMessageFormat OPEN_FORMAT =
+            new LogMessageFormat(OPEN_LOG_HIERARCHY, _messages.getString("OPEN"), 0, false, _currentLocale);
+    private static final LogMessageFormat OPERATION_FORMAT =
+            new LogMessageFormat(OPERATION_LOG_HIERARCHY, _messages.getString("OPERATION"), 0, true, _currentLocale);
+
     /**
      * Log a AuthenticationProvider message of the Format:
      * <pre>ATH-1010 : Authentication Failed[ : "{0}"]</pre>
@@ -92,78 +105,7 @@ public class AuthenticationProviderMessages
      */
     public static LogMessage AUTHENTICATION_FAILED(String param1, boolean opt1)
     {
-        String rawMessage = _messages.getString("AUTHENTICATION_FAILED");
-        StringBuffer msg = new StringBuffer();
-
-        // Split the formatted message up on the option values so we can
-        // rebuild the message based on the configured options.
-        String[] parts = rawMessage.split("\\[");
-        msg.append(parts[0]);
-
-        int end;
-        if (parts.length > 1)
-        {
-
-            // Add Option : : "{0}".
-            end = parts[1].indexOf(']');
-            if (opt1)
-            {
-                msg.append(parts[1].substring(0, end));
-            }
-
-            // Use 'end + 1' to remove the ']' from the output
-            msg.append(parts[1].substring(end + 1));
-        }
-
-        rawMessage = msg.toString();
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return AUTHENTICATION_FAILED_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return AUTHENTICATION_FAILED_FORMAT.createMessage((opt1 ? 1 : 0), param1);
     }
 
     /**
@@ -175,50 +117,7 @@ public class AuthenticationProviderMessages
      */
     public static LogMessage CLOSE()
     {
-        String rawMessage = _messages.getString("CLOSE");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return CLOSE_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return CLOSE_FORMAT.createMessage(0);
     }
 
     /**
@@ -230,55 +129,7 @@ public class AuthenticationProviderMessages
      */
     public static LogMessage CREATE(String param1)
     {
-        String rawMessage = _messages.getString("CREATE");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return CREATE_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return CREATE_FORMAT.createMessage(0, param1);
     }
 
     /**
@@ -290,55 +141,7 @@ public class AuthenticationProviderMessages
      */
     public static LogMessage DELETE(String param1)
     {
-        String rawMessage = _messages.getString("DELETE");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return DELETE_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return DELETE_FORMAT.createMessage(0, param1);
     }
 
     /**
@@ -350,50 +153,7 @@ public class AuthenticationProviderMessages
      */
     public static LogMessage OPEN()
     {
-        String rawMessage = _messages.getString("OPEN");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return OPEN_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return OPEN_FORMAT.createMessage(0);
     }
 
     /**
@@ -405,55 +165,7 @@ public class AuthenticationProviderMessages
      */
     public static LogMessage OPERATION(String param1)
     {
-        String rawMessage = _messages.getString("OPERATION");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return OPERATION_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return OPERATION_FORMAT.createMessage(0, param1);
     }
 
 
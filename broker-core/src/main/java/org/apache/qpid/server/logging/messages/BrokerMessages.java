@@ -22,13 +22,13 @@ package org.apache.qpid.server.logging.messages;
 
 import static org.apache.qpid.server.logging.AbstractMessageLogger.DEFAULT_LOG_HIERARCHY_PREFIX;
 
-import java.text.MessageFormat;
 import java.util.Locale;
 import java.util.ResourceBundle;
 
 import org.slf4j.LoggerFactory;
 
 import org.apache.qpid.server.logging.LogMessage;
+import org.apache.qpid.server.logging.LogMessageFormat;
 
 /**
  * DO NOT EDIT DIRECTLY, THIS FILE WAS GENERATED.
@@ -97,6 +97,33 @@ public class BrokerMessages
         _messages = ResourceBundle.getBundle("org.apache.qpid.server.logging.messages.Broker_logmessages", _currentLocale);
     }
 
+    private static final LogMessageFormat CONFIG_FORMAT =
+            new LogMessageFormat(CONFIG_LOG_HIERARCHY, _messages.getString("CONFIG"), 0, true, _currentLocale);
+    private static final LogMessageFormat FAILED_CHILDREN_FORMAT =
+            new LogMessageFormat(FAILED_CHILDREN_LOG_HIERARCHY, _messages.getString("FAILED_CHILDREN"), 0, true, _currentLocale);
+    private static final LogMessageFormat FATAL_ERROR_FORMAT =
+            new LogMessageFormat(FATAL_ERROR_LOG_HIERARCHY, _messages.getString("FATAL_ERROR"), 0, true, _currentLocale);
+    private static final LogMessageFormat LISTENING_FORMAT =
+            new LogMessageFormat(LISTENING_LOG_HIERARCHY, _messages.getString("LISTENING"), 0, true, _currentLocale);
+    private static final LogMessageFormat MANAGEMENT_MODE_FORMAT =
+            new LogMessageFormat(MANAGEMENT_MODE_LOG_HIERARCHY, _messages.getString("MANAGEMENT_MODE"), 0, true, _currentLocale);
+    private static final LogMessageFormat MAX_MEMORY_FORMAT =
+            new LogMessageFormat(MAX_MEMORY_LOG_HIERARCHY, _messages.getString("MAX_MEMORY"), 0, true, _currentLocale);
+    private static final LogMessageFormat OPERATION_FORMAT =
+            new LogMessageFormat(OPERATION_LOG_HIERARCHY, _messages.getString("OPERATION"), 0, true, _currentLocale);
+    private static final LogMessageFormat PLATFORM_FORMAT =
+            new LogMessageFormat(PLATFORM_LOG_HIERARCHY, _messages.getString("PLATFORM"), 0, true, _currentLocale);
+    private static final LogMessageFormat PROCESS_FORMAT =
+            new LogMessageFormat(PROCESS_LOG_HIERARCHY, _messages.getString("PROCESS"), 0, true, _currentLocale);
+    private static final LogMessageFormat READY_FORMAT =
+            new LogMessageFormat(READY_LOG_HIERARCHY, _messages.getString("READY"), 0, false, _currentLocale);
+    private static final LogMessageFormat SHUTTING_DOWN_FORMAT =
+            new LogMessageFormat(SHUTTING_DOWN_LOG_HIERARCHY, _messages.getString("SHUTTING_DOWN"), 0, true, _currentLocale);
+    private static final LogMessageFormat STARTUP_FORMAT =
+            new LogMessageFormat(STARTUP_LOG_HIERARCHY, _messages.getString("STARTUP"), 0, true, _currentLocale);
+    private static final LogMessageFormat STOPPED_FORMAT =
+            new LogMessageFormat(STOPPED_LOG_HIERARCHY, _messages.getString("STOPPED"), 0, false, _currentLocale);
+
     /**
      * Log a Broker message of the Format:
      * <pre>BRK-1006 : Using configuration : {0}</pre>
@@ -106,55 +133,7 @@ public class BrokerMessages
      */
     public static LogMessage CONFIG(String param1)
     {
-        String rawMessage = _messages.getString("CONFIG");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return CONFIG_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return CONFIG_FORMAT.createMessage(0, param1);
     }
 
     /**
@@ -166,55 +145,7 @@ public class BrokerMessages
      */
     public static LogMessage FAILED_CHILDREN(String param1)
     {
-        String rawMessage = _messages.getString("FAILED_CHILDREN");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return FAILED_CHILDREN_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return FAILED_CHILDREN_FORMAT.createMessage(0, param1);
     }
 
     /**
@@ -226,55 +157,7 @@ public class BrokerMessages
      */
     public static LogMessage FATAL_ERROR(String param1)
     {
-        String rawMessage = _messages.getString("FATAL_ERROR");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return FATAL_ERROR_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return FATAL_ERROR_FORMAT.createMessage(0, param1);
     }
 
     /**
@@ -286,55 +169,7 @@ public class BrokerMessages
      */
     public static LogMessage LISTENING(String param1, Number param2)
     {
-        String rawMessage = _messages.getString("LISTENING");
-
-        final Object[] messageArguments = {param1, param2};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return LISTENING_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return LISTENING_FORMAT.createMessage(0, param1, param2);
     }
 
     /**
@@ -346,55 +181,7 @@ public class BrokerMessages
      */
     public static LogMessage MANAGEMENT_MODE(String param1, String param2)
     {
-        String rawMessage = _messages.getString("MANAGEMENT_MODE");
-
-        final Object[] messageArguments = {param1, param2};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return MANAGEMENT_MODE_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return MANAGEMENT_MODE_FORMAT.createMessage(0, param1, param2);
     }
 
     /**
@@ -406,55 +193,7 @@ public class BrokerMessages
      */
     public static LogMessage MAX_MEMORY(Number param1, Number param2)
     {
-        String rawMessage = _messages.getString("MAX_MEMORY");
-
-        final Object[] messageArguments = {param1, param2};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return MAX_MEMORY_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return MAX_MEMORY_FORMAT.createMessage(0, param1, param2);
     }
 
     /**
@@ -466,55 +205,7 @@ public class BrokerMessages
      */
     public static LogMessage OPERATION(String param1)
     {
-        String rawMessage = _messages.getString("OPERATION");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return OPERATION_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return OPERATION_FORMAT.createMessage(0, param1);
     }
 
     /**
@@ -526,55 +217,7 @@ public class BrokerMessages
      */
     public static LogMessage PLATFORM(String param1, String param2, String param3, String param4, String param5, String param6)
     {
-        String rawMessage = _messages.getString("PLATFORM");
-
-        final Object[] messageArguments = {param1, param2, param3, param4, param5, param6};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return PLATFORM_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return PLATFORM_FORMAT.createMessage(0, param1, param2, param3, param4, param5, param6);
     }
 
     /**
@@ -586,55 +229,7 @@ public class BrokerMessages
      */
     public static LogMessage PROCESS(String param1)
     {
-        String rawMessage = _messages.getString("PROCESS");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return PROCESS_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return PROCESS_FORMAT.createMessage(0, param1);
     }
 
     /**
@@ -646,50 +241,7 @@ public class BrokerMessages
      */
     public static LogMessage READY()
     {
-        String rawMessage = _messages.getString("READY");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return READY_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return READY_FORMAT.createMessage(0);
     }
 
     /**
@@ -701,55 +253,7 @@ public class BrokerMessages
      */
     public static LogMessage SHUTTING_DOWN(String param1, Number param2)
     {
-        String rawMessage = _messages.getString("SHUTTING_DOWN");
-
-        final Object[] messageArguments = {param1, param2};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return SHUTTING_DOWN_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return SHUTTING_DOWN_FORMAT.createMessage(0, param1, param2);
     }
 
     /**
@@ -761,55 +265,7 @@ public class BrokerMessages
      */
     public static LogMessage STARTUP(String param1, String param2)
     {
-        String rawMessage = _messages.getString("STARTUP");
-
-        final Object[] messageArguments = {param1, param2};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return STARTUP_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return STARTUP_FORMAT.createMessage(0, param1, param2);
     }
 
     /**
@@ -821,50 +277,7 @@ public class BrokerMessages
      */
     public static LogMessage STOPPED()
     {
-        String rawMessage = _messages.getString("STOPPED");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return STOPPED_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return STOPPED_FORMAT.createMessage(0);
     }
 
 
@@ -22,13 +22,13 @@ package org.apache.qpid.server.logging.messages;
 
 import static org.apache.qpid.server.logging.AbstractMessageLogger.DEFAULT_LOG_HIERARCHY_PREFIX;
 
-import java.text.MessageFormat;
 import java.util.Locale;
 import java.util.ResourceBundle;
 
 import org.slf4j.LoggerFactory;
 
 import org.apache.qpid.server.logging.LogMessage;
+import org.apache.qpid.server.logging.LogMessageFormat;
 
 /**
  * DO NOT EDIT DIRECTLY, THIS FILE WAS GENERATED.
@@ -95,6 +95,31 @@ public class ChannelMessages
         _messages = ResourceBundle.getBundle("org.apache.qpid.server.logging.messages.Channel_logmessages", _currentLocale);
     }
 
+    private static final LogMessageFormat CLOSE_FORMAT =
+            new LogMessageFormat(CLOSE_LOG_HIERARCHY, _messages.getString("CLOSE"), 0, false, _currentLocale);
+    private static final LogMessageFormat CLOSE_FORCED_FORMAT =
+            new LogMessageFormat(CLOSE_FORCED_LOG_HIERARCHY, _messages.getString("CLOSE_FORCED"), 0, true, _currentLocale);
+    private static final LogMessageFormat CREATE_FORMAT =
+            new LogMessageFormat(CREATE_LOG_HIERARCHY, _messages.getString("CREATE"), 0, false, _currentLocale);
+    private static final LogMessageFormat DEADLETTERMSG_FORMAT =
+            new LogMessageFormat(DEADLETTERMSG_LOG_HIERARCHY, _messages.getString("DEADLETTERMSG"), 0, true, _currentLocale);
+    private static final LogMessageFormat DISCARDMSG_NOALTEXCH_FORMAT =
+            new LogMessageFormat(DISCARDMSG_NOALTEXCH_LOG_HIERARCHY, _messages.getString("DISCARDMSG_NOALTEXCH"), 0, true, _currentLocale);
+    private static final LogMessageFormat DISCARDMSG_NOROUTE_FORMAT =
+            new LogMessageFormat(DISCARDMSG_NOROUTE_LOG_HIERARCHY, _messages.getString("DISCARDMSG_NOROUTE"), 0, true, _currentLocale);
+    private static final LogMessageFormat FLOW_FORMAT =
+            new LogMessageFormat(FLOW_LOG_HIERARCHY, _messages.getString("FLOW"), 0, true, _currentLocale);
+    private static final LogMessageFormat FLOW_CONTROL_IGNORED_FORMAT =
+            new LogMessageFormat(FLOW_CONTROL_IGNORED_LOG_HIERARCHY, _messages.getString("FLOW_CONTROL_IGNORED"), 0, false, _currentLocale);
+    private static final LogMessageFormat FLOW_ENFORCED_FORMAT =
+            new LogMessageFormat(FLOW_ENFORCED_LOG_HIERARCHY, _messages.getString("FLOW_ENFORCED"), 0, true, _currentLocale);
+    private static final LogMessageFormat FLOW_REMOVED_FORMAT =
+            new LogMessageFormat(FLOW_REMOVED_LOG_HIERARCHY, _messages.getString("FLOW_REMOVED"), 0, false, _currentLocale);
+    private static final LogMessageFormat OPERATION_FORMAT =
+            new LogMessageFormat(OPERATION_LOG_HIERARCHY, _messages.getString("OPERATION"), 0, true, _currentLocale);
+    private static final LogMessageFormat PREFETCH_SIZE_FORMAT =
+            new LogMessageFormat(PREFETCH_SIZE_LOG_HIERARCHY, _messages.getString("PREFETCH_SIZE"), 0, true, _currentLocale);
+
     /**
      * Log a Channel message of the Format:
      * <pre>CHN-1003 : Close</pre>
@@ -104,50 +129,7 @@ public class ChannelMessages
      */
     public static LogMessage CLOSE()
     {
-        String rawMessage = _messages.getString("CLOSE");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return CLOSE_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return CLOSE_FORMAT.createMessage(0);
     }
 
     /**
@@ -159,55 +141,7 @@ public class ChannelMessages
      */
     public static LogMessage CLOSE_FORCED(Number param1, String param2)
     {
-        String rawMessage = _messages.getString("CLOSE_FORCED");
-
-        final Object[] messageArguments = {param1, param2};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return CLOSE_FORCED_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return CLOSE_FORCED_FORMAT.createMessage(0, param1, param2);
     }
 
     /**
@@ -219,50 +153,7 @@ public class ChannelMessages
      */
     public static LogMessage CREATE()
     {
-        String rawMessage = _messages.getString("CREATE");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return CREATE_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return CREATE_FORMAT.createMessage(0);
     }
 
     /**
@@ -274,55 +165,7 @@ public class ChannelMessages
      */
     public static LogMessage DEADLETTERMSG(Number param1, String param2)
     {
-        String rawMessage = _messages.getString("DEADLETTERMSG");
-
-        final Object[] messageArguments = {param1, param2};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return DEADLETTERMSG_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return DEADLETTERMSG_FORMAT.createMessage(0, param1, param2);
     }
 
     /**
@@ -334,55 +177,7 @@ public class ChannelMessages
      */
     public static LogMessage DISCARDMSG_NOALTEXCH(Number param1, String param2, String param3)
     {
-        String rawMessage = _messages.getString("DISCARDMSG_NOALTEXCH");
-
-        final Object[] messageArguments = {param1, param2, param3};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return DISCARDMSG_NOALTEXCH_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return DISCARDMSG_NOALTEXCH_FORMAT.createMessage(0, param1, param2, param3);
     }
 
     /**
@@ -394,55 +189,7 @@ public class ChannelMessages
      */
     public static LogMessage DISCARDMSG_NOROUTE(Number param1, String param2)
     {
-        String rawMessage = _messages.getString("DISCARDMSG_NOROUTE");
-
-        final Object[] messageArguments = {param1, param2};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return DISCARDMSG_NOROUTE_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return DISCARDMSG_NOROUTE_FORMAT.createMessage(0, param1, param2);
     }
 
     /**
@@ -454,55 +201,7 @@ public class ChannelMessages
      */
     public static LogMessage FLOW(String param1)
     {
-        String rawMessage = _messages.getString("FLOW");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return FLOW_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return FLOW_FORMAT.createMessage(0, param1);
     }
 
     /**
@@ -514,50 +213,7 @@ public class ChannelMessages
      */
     public static LogMessage FLOW_CONTROL_IGNORED()
     {
-        String rawMessage = _messages.getString("FLOW_CONTROL_IGNORED");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return FLOW_CONTROL_IGNORED_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return FLOW_CONTROL_IGNORED_FORMAT.createMessage(0);
     }
 
     /**
@@ -569,55 +225,7 @@ public class ChannelMessages
      */
     public static LogMessage FLOW_ENFORCED(String param1)
     {
-        String rawMessage = _messages.getString("FLOW_ENFORCED");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return FLOW_ENFORCED_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return FLOW_ENFORCED_FORMAT.createMessage(0, param1);
     }
 
     /**
@@ -629,50 +237,7 @@ public class ChannelMessages
      */
     public static LogMessage FLOW_REMOVED()
     {
-        String rawMessage = _messages.getString("FLOW_REMOVED");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return FLOW_REMOVED_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return FLOW_REMOVED_FORMAT.createMessage(0);
     }
 
     /**
@@ -684,55 +249,7 @@ public class ChannelMessages
      */
     public static LogMessage OPERATION(String param1)
     {
-        String rawMessage = _messages.getString("OPERATION");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return OPERATION_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return OPERATION_FORMAT.createMessage(0, param1);
     }
 
     /**
@@ -744,55 +261,7 @@ public class ChannelMessages
      */
     public static LogMessage PREFETCH_SIZE(Number param1, Number param2)
     {
-        String rawMessage = _messages.getString("PREFETCH_SIZE");
-
-        final Object[] messageArguments = {param1, param2};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return PREFETCH_SIZE_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return PREFETCH_SIZE_FORMAT.createMessage(0, param1, param2);
     }
 
 
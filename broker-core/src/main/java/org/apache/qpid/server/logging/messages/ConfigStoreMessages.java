@@ -22,13 +22,13 @@ package org.apache.qpid.server.logging.messages;
 
 import static org.apache.qpid.server.logging.AbstractMessageLogger.DEFAULT_LOG_HIERARCHY_PREFIX;
 
-import java.text.MessageFormat;
 import java.util.Locale;
 import java.util.ResourceBundle;
 
 import org.slf4j.LoggerFactory;
 
 import org.apache.qpid.server.logging.LogMessage;
+import org.apache.qpid.server.logging.LogMessageFormat;
 
 /**
  * DO NOT EDIT DIRECTLY, THIS FILE WAS GENERATED.
@@ -81,6 +81,17 @@ public class ConfigStoreMessages
         _messages = ResourceBundle.getBundle("org.apache.qpid.server.logging.messages.ConfigStore_logmessages", _currentLocale);
     }
 
+    private static final LogMessageFormat CLOSE_FORMAT =
+            new LogMessageFormat(CLOSE_LOG_HIERARCHY, _messages.getString("CLOSE"), 0, false, _currentLocale);
+    private static final LogMessageFormat CREATED_FORMAT =
+            new LogMessageFormat(CREATED_LOG_HIERARCHY, _messages.getString("CREATED"), 0, false, _currentLocale);
+    private static final LogMessageFormat RECOVERY_COMPLETE_FORMAT =
+            new LogMessageFormat(RECOVERY_COMPLETE_LOG_HIERARCHY, _messages.getString("RECOVERY_COMPLETE"), 0, false, _currentLocale);
+    private static final LogMessageFormat RECOVERY_START_FORMAT =
+            new LogMessageFormat(RECOVERY_START_LOG_HIERARCHY, _messages.getString("RECOVERY_START"), 0, false, _currentLocale);
+    private static final LogMessageFormat STORE_LOCATION_FORMAT =
+            new LogMessageFormat(STORE_LOCATION_LOG_HIERARCHY, _messages.getString("STORE_LOCATION"), 0, true, _currentLocale);
+
     /**
      * Log a ConfigStore message of the Format:
      * <pre>CFG-1003 : Closed</pre>
@@ -90,50 +101,7 @@ public class ConfigStoreMessages
      */
     public static LogMessage CLOSE()
     {
-        String rawMessage = _messages.getString("CLOSE");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return CLOSE_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return CLOSE_FORMAT.createMessage(0);
     }
 
     /**
@@ -145,50 +113,7 @@ public class ConfigStoreMessages
      */
     public static LogMessage CREATED()
     {
-        String rawMessage = _messages.getString("CREATED");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return CREATED_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return CREATED_FORMAT.createMessage(0);
     }
 
     /**
@@ -200,50 +125,7 @@ public class ConfigStoreMessages
      */
     public static LogMessage RECOVERY_COMPLETE()
     {
-        String rawMessage = _messages.getString("RECOVERY_COMPLETE");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return RECOVERY_COMPLETE_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return RECOVERY_COMPLETE_FORMAT.createMessage(0);
     }
 
     /**
@@ -255,50 +137,7 @@ public class ConfigStoreMessages
      */
     public static LogMessage RECOVERY_START()
     {
-        String rawMessage = _messages.getString("RECOVERY_START");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return RECOVERY_START_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return RECOVERY_START_FORMAT.createMessage(0);
     }
 
     /**
@@ -310,55 +149,7 @@ public class ConfigStoreMessages
      */
     public static LogMessage STORE_LOCATION(String param1)
     {
-        String rawMessage = _messages.getString("STORE_LOCATION");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return STORE_LOCATION_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return STORE_LOCATION_FORMAT.createMessage(0, param1);
     }
 
 
@@ -22,13 +22,13 @@ package org.apache.qpid.server.logging.messages;
 
 import static org.apache.qpid.server.logging.AbstractMessageLogger.DEFAULT_LOG_HIERARCHY_PREFIX;
 
-import java.text.MessageFormat;
 import java.util.Locale;
 import java.util.ResourceBundle;
 
 import org.slf4j.LoggerFactory;
 
 import org.apache.qpid.server.logging.LogMessage;
+import org.apache.qpid.server.logging.LogMessageFormat;
 
 /**
  * DO NOT EDIT DIRECTLY, THIS FILE WAS GENERATED.
@@ -93,6 +93,29 @@ public class ConnectionMessages
         _messages = ResourceBundle.getBundle("org.apache.qpid.server.logging.messages.Connection_logmessages", _currentLocale);
     }
 
+    private static final LogMessageFormat CLIENT_VERSION_LOG_FORMAT =
+            new LogMessageFormat(CLIENT_VERSION_LOG_LOG_HIERARCHY, _messages.getString("CLIENT_VERSION_LOG"), 0, true, _currentLocale);
+    private static final LogMessageFormat CLIENT_VERSION_REJECT_FORMAT =
+            new LogMessageFormat(CLIENT_VERSION_REJECT_LOG_HIERARCHY, _messages.getString("CLIENT_VERSION_REJECT"), 0, true, _currentLocale);
+    private static final LogMessageFormat CLOSE_FORMAT =
+            new LogMessageFormat(CLOSE_LOG_HIERARCHY, _messages.getString("CLOSE"), 1, true, _currentLocale);
+    private static final LogMessageFormat DROPPED_CONNECTION_FORMAT =
+            new LogMessageFormat(DROPPED_CONNECTION_LOG_HIERARCHY, _messages.getString("DROPPED_CONNECTION"), 0, false, _currentLocale);
+    private static final LogMessageFormat IDLE_CLOSE_FORMAT =
+            new LogMessageFormat(IDLE_CLOSE_LOG_HIERARCHY, _messages.getString("IDLE_CLOSE"), 1, true, _currentLocale);
+    private static final LogMessageFormat IDLE_TXN_FORMAT =
+            new LogMessageFormat(IDLE_TXN_LOG_HIERARCHY, _messages.getString("IDLE_TXN"), 0, true, _currentLocale);
+    private static final LogMessageFormat LARGE_TRANSACTION_WARN_FORMAT =
+            new LogMessageFormat(LARGE_TRANSACTION_WARN_LOG_HIERARCHY, _messages.getString("LARGE_TRANSACTION_WARN"), 0, true, _currentLocale);
+    private static final LogMessageFormat MODEL_DELETE_FORMAT =
+            new LogMessageFormat(MODEL_DELETE_LOG_HIERARCHY, _messages.getString("MODEL_DELETE"), 0, false, _currentLocale);
+    private static final LogMessageFormat OPEN_FORMAT =
+            new LogMessageFormat(OPEN_LOG_HIERARCHY, _messages.getString("OPEN"), 4, true, _currentLocale);
+    private static final LogMessageFormat OPEN_TXN_FORMAT =
+            new LogMessageFormat(OPEN_TXN_LOG_HIERARCHY, _messages.getString("OPEN_TXN"), 0, true, _currentLocale);
+    private static final LogMessageFormat OPERATION_FORMAT =
+            new LogMessageFormat(OPERATION_LOG_HIERARCHY, _messages.getString("OPERATION"), 0, true, _currentLocale);
+
     /**
      * Log a Connection message of the Format:
      * <pre>CON-1005 : Client version "{0}" logged by validation</pre>
@@ -102,55 +125,7 @@ public class ConnectionMessages
      */
     public static LogMessage CLIENT_VERSION_LOG(String param1)
     {
-        String rawMessage = _messages.getString("CLIENT_VERSION_LOG");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return CLIENT_VERSION_LOG_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return CLIENT_VERSION_LOG_FORMAT.createMessage(0, param1);
     }
 
     /**
@@ -162,55 +137,7 @@ public class ConnectionMessages
      */
     public static LogMessage CLIENT_VERSION_REJECT(String param1)
     {
-        String rawMessage = _messages.getString("CLIENT_VERSION_REJECT");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return CLIENT_VERSION_REJECT_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return CLIENT_VERSION_REJECT_FORMAT.createMessage(0, param1);
     }
 
     /**
@@ -222,78 +149,7 @@ public class ConnectionMessages
      */
     public static LogMessage CLOSE(String param1, boolean opt1)
     {
-        String rawMessage = _messages.getString("CLOSE");
-        StringBuffer msg = new StringBuffer();
-
-        // Split the formatted message up on the option values so we can
-        // rebuild the message based on the configured options.
-        String[] parts = rawMessage.split("\\[");
-        msg.append(parts[0]);
-
-        int end;
-        if (parts.length > 1)
-        {
-
-            // Add Option : : {0}.
-            end = parts[1].indexOf(']');
-            if (opt1)
-            {
-                msg.append(parts[1].substring(0, end));
-            }
-
-            // Use 'end + 1' to remove the ']' from the output
-            msg.append(parts[1].substring(end + 1));
-        }
-
-        rawMessage = msg.toString();
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return CLOSE_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return CLOSE_FORMAT.createMessage((opt1 ? 1 : 0), param1);
     }
 
     /**
@@ -305,50 +161,7 @@ public class ConnectionMessages
      */
     public static LogMessage DROPPED_CONNECTION()
     {
-        String rawMessage = _messages.getString("DROPPED_CONNECTION");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return DROPPED_CONNECTION_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return DROPPED_CONNECTION_FORMAT.createMessage(0);
     }
 
     /**
@@ -360,78 +173,7 @@ public class ConnectionMessages
      */
     public static LogMessage IDLE_CLOSE(String param1, boolean opt1)
     {
-        String rawMessage = _messages.getString("IDLE_CLOSE");
-        StringBuffer msg = new StringBuffer();
-
-        // Split the formatted message up on the option values so we can
-        // rebuild the message based on the configured options.
-        String[] parts = rawMessage.split("\\[");
-        msg.append(parts[0]);
-
-        int end;
-        if (parts.length > 1)
-        {
-
-            // Add Option : : {0}.
-            end = parts[1].indexOf(']');
-            if (opt1)
-            {
-                msg.append(parts[1].substring(0, end));
-            }
-
-            // Use 'end + 1' to remove the ']' from the output
-            msg.append(parts[1].substring(end + 1));
-        }
-
-        rawMessage = msg.toString();
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return IDLE_CLOSE_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return IDLE_CLOSE_FORMAT.createMessage((opt1 ? 1 : 0), param1);
     }
 
     /**
@@ -443,55 +185,7 @@ public class ConnectionMessages
      */
     public static LogMessage IDLE_TXN(Number param1)
     {
-        String rawMessage = _messages.getString("IDLE_TXN");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return IDLE_TXN_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return IDLE_TXN_FORMAT.createMessage(0, param1);
     }
 
     /**
@@ -503,55 +197,7 @@ public class ConnectionMessages
      */
     public static LogMessage LARGE_TRANSACTION_WARN(Number param1, Number param2)
     {
-        String rawMessage = _messages.getString("LARGE_TRANSACTION_WARN");
-
-        final Object[] messageArguments = {param1, param2};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return LARGE_TRANSACTION_WARN_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return LARGE_TRANSACTION_WARN_FORMAT.createMessage(0, param1, param2);
     }
 
     /**
@@ -563,50 +209,7 @@ public class ConnectionMessages
      */
     public static LogMessage MODEL_DELETE()
     {
-        String rawMessage = _messages.getString("MODEL_DELETE");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return MODEL_DELETE_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return MODEL_DELETE_FORMAT.createMessage(0);
     }
 
     /**
@@ -618,108 +221,7 @@ public class ConnectionMessages
      */
     public static LogMessage OPEN(String param1, String param2, String param3, String param4, String param5, String param6, boolean opt1, boolean opt2, boolean opt3, boolean opt4)
     {
-        String rawMessage = _messages.getString("OPEN");
-        StringBuffer msg = new StringBuffer();
-
-        // Split the formatted message up on the option values so we can
-        // rebuild the message based on the configured options.
-        String[] parts = rawMessage.split("\\[");
-        msg.append(parts[0]);
-
-        int end;
-        if (parts.length > 1)
-        {
-
-            // Add Option : : SSL.
-            end = parts[1].indexOf(']');
-            if (opt1)
-            {
-                msg.append(parts[1].substring(0, end));
-            }
-
-            // Use 'end + 1' to remove the ']' from the output
-            msg.append(parts[1].substring(end + 1));
-
-            // Add Option : : Client ID : {3}.
-            end = parts[2].indexOf(']');
-            if (opt2)
-            {
-                msg.append(parts[2].substring(0, end));
-            }
-
-            // Use 'end + 1' to remove the ']' from the output
-            msg.append(parts[2].substring(end + 1));
-
-            // Add Option : : Client Version : {4}.
-            end = parts[3].indexOf(']');
-            if (opt3)
-            {
-                msg.append(parts[3].substring(0, end));
-            }
-
-            // Use 'end + 1' to remove the ']' from the output
-            msg.append(parts[3].substring(end + 1));
-
-            // Add Option : : Client Product : {5}.
-            end = parts[4].indexOf(']');
-            if (opt4)
-            {
-                msg.append(parts[4].substring(0, end));
-            }
-
-            // Use 'end + 1' to remove the ']' from the output
-            msg.append(parts[4].substring(end + 1));
-        }
-
-        rawMessage = msg.toString();
-
-        final Object[] messageArguments = {param1, param2, param3, param4, param5, param6};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return OPEN_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return OPEN_FORMAT.createMessage((opt1 ? 1 : 0) | (opt2 ? 2 : 0) | (opt3 ? 4 : 0) | (opt4 ? 8 : 0), param1, param2, param3, param4, param5, param6);
     }
 
     /**
@@ -731,55 +233,7 @@ public class ConnectionMessages
      */
     public static LogMessage OPEN_TXN(Number param1)
     {
-        String rawMessage = _messages.getString("OPEN_TXN");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return OPEN_TXN_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return OPEN_TXN_FORMAT.createMessage(0, param1);
     }
 
     /**
@@ -791,55 +245,7 @@ public class ConnectionMessages
      */
     public static LogMessage OPERATION(String param1)
     {
-        String rawMessage = _messages.getString("OPERATION");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return OPERATION_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return OPERATION_FORMAT.createMessage(0, param1);
     }
 
 
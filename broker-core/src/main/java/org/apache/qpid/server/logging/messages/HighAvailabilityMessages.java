@@ -22,13 +22,13 @@ package org.apache.qpid.server.logging.messages;
 
 import static org.apache.qpid.server.logging.AbstractMessageLogger.DEFAULT_LOG_HIERARCHY_PREFIX;
 
-import java.text.MessageFormat;
 import java.util.Locale;
 import java.util.ResourceBundle;
 
 import org.slf4j.LoggerFactory;
 
 import org.apache.qpid.server.logging.LogMessage;
+import org.apache.qpid.server.logging.LogMessageFormat;
 
 /**
  * DO NOT EDIT DIRECTLY, THIS FILE WAS GENERATED.
@@ -99,6 +99,35 @@ public class HighAvailabilityMessages
         _messages = ResourceBundle.getBundle("org.apache.qpid.server.logging.messages.HighAvailability_logmessages", _currentLocale);
     }
 
+    private static final LogMessageFormat ADDED_FORMAT =
+            new LogMessageFormat(ADDED_LOG_HIERARCHY, _messages.getString("ADDED"), 0, true, _currentLocale);
+    private static final LogMessageFormat CREATED_FORMAT =
+            new LogMessageFormat(CREATED_LOG_HIERARCHY, _messages.getString("CREATED"), 0, false, _currentLocale);
+    private static final LogMessageFormat DELETED_FORMAT =
+            new LogMessageFormat(DELETED_LOG_HIERARCHY, _messages.getString("DELETED"), 0, false, _currentLocale);
+    private static final LogMessageFormat DESIGNATED_PRIMARY_CHANGED_FORMAT =
+            new LogMessageFormat(DESIGNATED_PRIMARY_CHANGED_LOG_HIERARCHY, _messages.getString("DESIGNATED_PRIMARY_CHANGED"), 0, true, _currentLocale);
+    private static final LogMessageFormat INTRUDER_DETECTED_FORMAT =
+            new LogMessageFormat(INTRUDER_DETECTED_LOG_HIERARCHY, _messages.getString("INTRUDER_DETECTED"), 0, true, _currentLocale);
+    private static final LogMessageFormat JOINED_FORMAT =
+            new LogMessageFormat(JOINED_LOG_HIERARCHY, _messages.getString("JOINED"), 0, true, _currentLocale);
+    private static final LogMessageFormat LEFT_FORMAT =
+            new LogMessageFormat(LEFT_LOG_HIERARCHY, _messages.getString("LEFT"), 0, true, _currentLocale);
+    private static final LogMessageFormat NODE_ROLLEDBACK_FORMAT =
+            new LogMessageFormat(NODE_ROLLEDBACK_LOG_HIERARCHY, _messages.getString("NODE_ROLLEDBACK"), 0, false, _currentLocale);
+    private static final LogMessageFormat PRIORITY_CHANGED_FORMAT =
+            new LogMessageFormat(PRIORITY_CHANGED_LOG_HIERARCHY, _messages.getString("PRIORITY_CHANGED"), 0, true, _currentLocale);
+    private static final LogMessageFormat QUORUM_LOST_FORMAT =
+            new LogMessageFormat(QUORUM_LOST_LOG_HIERARCHY, _messages.getString("QUORUM_LOST"), 0, false, _currentLocale);
+    private static final LogMessageFormat QUORUM_OVERRIDE_CHANGED_FORMAT =
+            new LogMessageFormat(QUORUM_OVERRIDE_CHANGED_LOG_HIERARCHY, _messages.getString("QUORUM_OVERRIDE_CHANGED"), 0, true, _currentLocale);
+    private static final LogMessageFormat REMOVED_FORMAT =
+            new LogMessageFormat(REMOVED_LOG_HIERARCHY, _messages.getString("REMOVED"), 0, true, _currentLocale);
+    private static final LogMessageFormat ROLE_CHANGED_FORMAT =
+            new LogMessageFormat(ROLE_CHANGED_LOG_HIERARCHY, _messages.getString("ROLE_CHANGED"), 0, true, _currentLocale);
+    private static final LogMessageFormat TRANSFER_MASTER_FORMAT =
+            new LogMessageFormat(TRANSFER_MASTER_LOG_HIERARCHY, _messages.getString("TRANSFER_MASTER"), 0, true, _currentLocale);
+
     /**
      * Log a HighAvailability message of the Format:
      * <pre>HA-1003 : Added : Node : ''{0}'' ({1})</pre>
@@ -108,55 +137,7 @@ public class HighAvailabilityMessages
      */
     public static LogMessage ADDED(String param1, String param2)
     {
-        String rawMessage = _messages.getString("ADDED");
-
-        final Object[] messageArguments = {param1, param2};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return ADDED_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return ADDED_FORMAT.createMessage(0, param1, param2);
     }
 
     /**
@@ -168,50 +149,7 @@ public class HighAvailabilityMessages
      */
     public static LogMessage CREATED()
     {
-        String rawMessage = _messages.getString("CREATED");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return CREATED_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return CREATED_FORMAT.createMessage(0);
     }
 
     /**
@@ -223,50 +161,7 @@ public class HighAvailabilityMessages
      */
     public static LogMessage DELETED()
     {
-        String rawMessage = _messages.getString("DELETED");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return DELETED_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return DELETED_FORMAT.createMessage(0);
     }
 
     /**
@@ -278,55 +173,7 @@ public class HighAvailabilityMessages
      */
     public static LogMessage DESIGNATED_PRIMARY_CHANGED(String param1)
     {
-        String rawMessage = _messages.getString("DESIGNATED_PRIMARY_CHANGED");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return DESIGNATED_PRIMARY_CHANGED_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return DESIGNATED_PRIMARY_CHANGED_FORMAT.createMessage(0, param1);
     }
 
     /**
@@ -338,55 +185,7 @@ public class HighAvailabilityMessages
      */
     public static LogMessage INTRUDER_DETECTED(String param1, String param2)
     {
-        String rawMessage = _messages.getString("INTRUDER_DETECTED");
-
-        final Object[] messageArguments = {param1, param2};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return INTRUDER_DETECTED_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return INTRUDER_DETECTED_FORMAT.createMessage(0, param1, param2);
     }
 
     /**
@@ -398,55 +197,7 @@ public class HighAvailabilityMessages
      */
     public static LogMessage JOINED(String param1, String param2)
     {
-        String rawMessage = _messages.getString("JOINED");
-
-        final Object[] messageArguments = {param1, param2};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return JOINED_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return JOINED_FORMAT.createMessage(0, param1, param2);
     }
 
     /**
@@ -458,55 +209,7 @@ public class HighAvailabilityMessages
      */
     public static LogMessage LEFT(String param1, String param2)
     {
-        String rawMessage = _messages.getString("LEFT");
-
-        final Object[] messageArguments = {param1, param2};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return LEFT_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return LEFT_FORMAT.createMessage(0, param1, param2);
     }
 
     /**
@@ -518,50 +221,7 @@ public class HighAvailabilityMessages
      */
     public static LogMessage NODE_ROLLEDBACK()
     {
-        String rawMessage = _messages.getString("NODE_ROLLEDBACK");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return NODE_ROLLEDBACK_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return NODE_ROLLEDBACK_FORMAT.createMessage(0);
     }
 
     /**
@@ -573,55 +233,7 @@ public class HighAvailabilityMessages
      */
     public static LogMessage PRIORITY_CHANGED(String param1)
     {
-        String rawMessage = _messages.getString("PRIORITY_CHANGED");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return PRIORITY_CHANGED_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return PRIORITY_CHANGED_FORMAT.createMessage(0, param1);
     }
 
     /**
@@ -633,50 +245,7 @@ public class HighAvailabilityMessages
      */
     public static LogMessage QUORUM_LOST()
     {
-        String rawMessage = _messages.getString("QUORUM_LOST");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return QUORUM_LOST_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return QUORUM_LOST_FORMAT.createMessage(0);
     }
 
     /**
@@ -688,55 +257,7 @@ public class HighAvailabilityMessages
      */
     public static LogMessage QUORUM_OVERRIDE_CHANGED(String param1)
     {
-        String rawMessage = _messages.getString("QUORUM_OVERRIDE_CHANGED");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return QUORUM_OVERRIDE_CHANGED_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return QUORUM_OVERRIDE_CHANGED_FORMAT.createMessage(0, param1);
     }
 
     /**
@@ -748,55 +269,7 @@ public class HighAvailabilityMessages
      */
     public static LogMessage REMOVED(String param1, String param2)
     {
-        String rawMessage = _messages.getString("REMOVED");
-
-        final Object[] messageArguments = {param1, param2};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return REMOVED_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return REMOVED_FORMAT.createMessage(0, param1, param2);
     }
 
     /**
@@ -808,55 +281,7 @@ public class HighAvailabilityMessages
      */
     public static LogMessage ROLE_CHANGED(String param1, String param2, String param3, String param4)
     {
-        String rawMessage = _messages.getString("ROLE_CHANGED");
-
-        final Object[] messageArguments = {param1, param2, param3, param4};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return ROLE_CHANGED_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return ROLE_CHANGED_FORMAT.createMessage(0, param1, param2, param3, param4);
     }
 
     /**
@@ -868,55 +293,7 @@ public class HighAvailabilityMessages
      */
     public static LogMessage TRANSFER_MASTER(String param1, String param2)
     {
-        String rawMessage = _messages.getString("TRANSFER_MASTER");
-
-        final Object[] messageArguments = {param1, param2};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return TRANSFER_MASTER_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return TRANSFER_MASTER_FORMAT.createMessage(0, param1, param2);
     }
 
 
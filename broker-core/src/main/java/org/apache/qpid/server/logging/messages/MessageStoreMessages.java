@@ -22,13 +22,13 @@ package org.apache.qpid.server.logging.messages;
 
 import static org.apache.qpid.server.logging.AbstractMessageLogger.DEFAULT_LOG_HIERARCHY_PREFIX;
 
-import java.text.MessageFormat;
 import java.util.Locale;
 import java.util.ResourceBundle;
 
 import org.slf4j.LoggerFactory;
 
 import org.apache.qpid.server.logging.LogMessage;
+import org.apache.qpid.server.logging.LogMessageFormat;
 
 /**
  * DO NOT EDIT DIRECTLY, THIS FILE WAS GENERATED.
@@ -87,6 +87,23 @@ public class MessageStoreMessages
         _messages = ResourceBundle.getBundle("org.apache.qpid.server.logging.messages.MessageStore_logmessages", _currentLocale);
     }
 
+    private static final LogMessageFormat CLOSED_FORMAT =
+            new LogMessageFormat(CLOSED_LOG_HIERARCHY, _messages.getString("CLOSED"), 0, false, _currentLocale);
+    private static final LogMessageFormat CREATED_FORMAT =
+            new LogMessageFormat(CREATED_LOG_HIERARCHY, _messages.getString("CREATED"), 0, false, _currentLocale);
+    private static final LogMessageFormat OVERFULL_FORMAT =
+            new LogMessageFormat(OVERFULL_LOG_HIERARCHY, _messages.getString("OVERFULL"), 0, false, _currentLocale);
+    private static final LogMessageFormat RECOVERED_FORMAT =
+            new LogMessageFormat(RECOVERED_LOG_HIERARCHY, _messages.getString("RECOVERED"), 0, true, _currentLocale);
+    private static final LogMessageFormat RECOVERY_COMPLETE_FORMAT =
+            new LogMessageFormat(RECOVERY_COMPLETE_LOG_HIERARCHY, _messages.getString("RECOVERY_COMPLETE"), 0, false, _currentLocale);
+    private static final LogMessageFormat RECOVERY_START_FORMAT =
+            new LogMessageFormat(RECOVERY_START_LOG_HIERARCHY, _messages.getString("RECOVERY_START"), 0, false, _currentLocale);
+    private static final LogMessageFormat STORE_LOCATION_FORMAT =
+            new LogMessageFormat(STORE_LOCATION_LOG_HIERARCHY, _messages.getString("STORE_LOCATION"), 0, true, _currentLocale);
+    private static final LogMessageFormat UNDERFULL_FORMAT =
+            new LogMessageFormat(UNDERFULL_LOG_HIERARCHY, _messages.getString("UNDERFULL"), 0, false, _currentLocale);
+
     /**
      * Log a MessageStore message of the Format:
      * <pre>MST-1003 : Closed</pre>
@@ -96,50 +113,7 @@ public class MessageStoreMessages
      */
     public static LogMessage CLOSED()
     {
-        String rawMessage = _messages.getString("CLOSED");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return CLOSED_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return CLOSED_FORMAT.createMessage(0);
     }
 
     /**
@@ -151,50 +125,7 @@ public class MessageStoreMessages
      */
     public static LogMessage CREATED()
     {
-        String rawMessage = _messages.getString("CREATED");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return CREATED_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return CREATED_FORMAT.createMessage(0);
     }
 
     /**
@@ -206,50 +137,7 @@ public class MessageStoreMessages
      */
     public static LogMessage OVERFULL()
     {
-        String rawMessage = _messages.getString("OVERFULL");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return OVERFULL_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return OVERFULL_FORMAT.createMessage(0);
     }
 
     /**
@@ -261,55 +149,7 @@ public class MessageStoreMessages
      */
     public static LogMessage RECOVERED(Number param1)
     {
-        String rawMessage = _messages.getString("RECOVERED");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return RECOVERED_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return RECOVERED_FORMAT.createMessage(0, param1);
     }
 
     /**
@@ -321,50 +161,7 @@ public class MessageStoreMessages
      */
     public static LogMessage RECOVERY_COMPLETE()
     {
-        String rawMessage = _messages.getString("RECOVERY_COMPLETE");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return RECOVERY_COMPLETE_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return RECOVERY_COMPLETE_FORMAT.createMessage(0);
     }
 
     /**
@@ -376,50 +173,7 @@ public class MessageStoreMessages
      */
     public static LogMessage RECOVERY_START()
     {
-        String rawMessage = _messages.getString("RECOVERY_START");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return RECOVERY_START_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return RECOVERY_START_FORMAT.createMessage(0);
     }
 
     /**
@@ -431,55 +185,7 @@ public class MessageStoreMessages
      */
     public static LogMessage STORE_LOCATION(String param1)
     {
-        String rawMessage = _messages.getString("STORE_LOCATION");
-
-        final Object[] messageArguments = {param1};
-        // Create a new MessageFormat to ensure thread safety.
-        // Sharing a MessageFormat and using applyPattern is not thread safe
-        MessageFormat formatter = new MessageFormat(rawMessage, _currentLocale);
-
-        final String message = formatter.format(messageArguments);
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return STORE_LOCATION_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return STORE_LOCATION_FORMAT.createMessage(0, param1);
     }
 
     /**
@@ -491,50 +197,7 @@ public class MessageStoreMessages
      */
     public static LogMessage UNDERFULL()
     {
-        String rawMessage = _messages.getString("UNDERFULL");
-
-        final String message = rawMessage;
-
-        return new LogMessage()
-        {
-            @Override
-            public String toString()
-            {
-                return message;
-            }
-
-            @Override
-            public String getLogHierarchy()
-            {
-                return UNDERFULL_LOG_HIERARCHY;
-            }
-
-            @Override
-            public boolean equals(final Object o)
-            {
-                if (this == o)
-                {
-                    return true;
-                }
-                if (o == null || getClass() != o.getClass())
-                {
-                    return false;
-                }
-
-                final LogMessage that = (LogMessage) o;
-
-                return getLogHierarchy().equals(that.getLogHierarchy()) && toString().equals(that.toString());
-
-            }
-
-            @Override
-            public int hashCode()
-            {
-                int result = toString().hashCode();
-                result = 31 * result + getLogHierarchy().hashCode();
-                return result;
-            }
-        };
+        return UNDERFULL_FORMAT.createMessage(0);
     }
 
 
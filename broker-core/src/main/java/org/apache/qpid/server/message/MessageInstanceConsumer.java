@@ -20,6 +20,9 @@
  */
 package org.apache.qpid.server.message;
 
+import java.util.Collections;
+import java.util.List;
+
 import org.apache.qpid.server.consumer.ConsumerTarget;
 
 public interface MessageInstanceConsumer<T extends ConsumerTarget>
@@ -38,6 +41,21 @@ public interface MessageInstanceConsumer<T extends ConsumerTarget>
 
     MessageContainer pullMessage();
 
+    /**
+     * Pulls up to {@code maxMessages} messages for delivery to the target.  Sources which cannot deliver in batches
+     * return at most one message.
+     *
+     * @param maxMessages the maximum number of messages to return
+     * @return the messages, empty if none are available
+     */
+    default List<MessageContainer> pullMessages(int maxMessages)
+    {
+        final MessageContainer messageContainer = pullMessage();
+        return messageContainer == null
+                ? Collections.<MessageContainer>emptyList()
+                : Collections.singletonList(messageContainer);
+    }
+
     T getTarget();
 
     void setNotifyWorkDesired(boolean desired);
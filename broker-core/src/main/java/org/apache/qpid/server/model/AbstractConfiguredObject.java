@@ -2405,6 +2405,23 @@ public abstract class AbstractConfiguredObject<X extends ConfiguredObject<X>> im
         return false;
     }
 
+    /**
+     * Deletes a child without authorising the deletion, to undo the creation of a child which the current user was
+     * authorised to create.
+     */
+    protected final ListenableFuture<Void> deleteChildNoChecks(final ConfiguredObject<?> child)
+    {
+        if (child instanceof AbstractConfiguredObject)
+        {
+            return ((AbstractConfiguredObject<?>) child).deleteNoChecks();
+        }
+        else if (child instanceof AbstractConfiguredObjectProxy)
+        {
+            return ((AbstractConfiguredObjectProxy) child).deleteNoChecks();
+        }
+        return child.deleteAsync();
+    }
+
     protected ListenableFuture<Void> deleteNoChecks()
     {
         final String simpleClassName = AbstractConfiguredObject.this.getClass().getSimpleName();
@@ -3178,6 +3195,20 @@ public abstract class AbstractConfiguredObject<X extends ConfiguredObject<X>> im
         authorise(configuredObject, null, Operation.CREATE, Collections.emptyMap());
     }
 
+    /**
+     * Authorises an operation on a child which does not exist yet, as it would be authorised on a child created
+     * with the given attributes.
+     */
+    protected final <C extends ConfiguredObject<?>> void authoriseChildOperation(Class<C> childClass,
+                                                                                Map<String, Object> attributes,
+                                                                                Operation operation,
+                                                                                Map<String, Object> arguments)
+            throws AccessControlException
+    {
+        ConfiguredObject<?> configuredObject = createProxyForAuthorisation(childClass, attributes, this);
+        authorise(configuredObject, null, operation, arguments);
+    }
+
     @Override
     public final void authorise(Operation operation) throws AccessControlException
     {
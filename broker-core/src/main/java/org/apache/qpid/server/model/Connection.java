@@ -196,6 +196,18 @@ public interface Connection<X extends Connection<X>> extends ConfiguredObject<X>
             description = "Total number of messages received by this connection within a transaction.", metricName = "transacted_outbound_messages_count")
     long getTransactedMessagesOut();
 
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.TIME_DURATION, label = "Mean Publish To Settle",
+            description = "Mean time between a message being received on this connection and it being settled with the publisher.",
+            metricName = "publish_to_settle_mean_milliseconds")
+    long getMeanPublishToSettleTime();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.TIME_DURATION, label = "Publish To Settle (99th percentile)",
+            description = "Estimated 99th percentile of the time between a message being received on this connection and it being settled with the publisher.",
+            metricName = "publish_to_settle_99th_percentile_milliseconds")
+    long getPublishToSettleTime99thPercentile();
+
     //children
     Collection<Session> getSessions();
 
@@ -41,6 +41,13 @@ public interface Consumer<X extends Consumer<X,T>, T extends ConsumerTarget> ext
     @ManagedContextDefault( name = SUSPEND_NOTIFICATION_PERIOD)
     long SUSPEND_NOTIFICATION_PERIOD_DEFAULT = 10000;
 
+    String MAX_DELIVERY_BATCH_SIZE = "consumer.maxDeliveryBatchSize";
+
+    @ManagedContextDefault( name = MAX_DELIVERY_BATCH_SIZE,
+            description = "The maximum number of messages a consumer acquires from its queue in a single delivery"
+                          + " pass.  Larger batches are written to the network together.")
+    int MAX_DELIVERY_BATCH_SIZE_DEFAULT = 1;
+
     AtomicLong CONSUMER_NUMBER_GENERATOR = new AtomicLong(0);
 
     @DerivedAttribute
@@ -209,6 +209,22 @@ public interface Queue<X extends Queue<X>> extends ConfiguredObject<X>,
                           + " 'maximumQueueDepthBytes' and 'maximumQueueDepthMessages'.")
     double DEFAULT_FLOW_CONTROL_RESUME_LIMIT = 80.0;
 
+    String CONTENT_PREFETCH_DEPTH = "queue.contentPrefetchDepth";
+    @SuppressWarnings("unused")
+    @ManagedContextDefault( name = CONTENT_PREFETCH_DEPTH,
+            description = "The number of messages ahead of each consumer whose content, if flowed to disk, is read"
+                          + " back into memory before the consumer reaches them. A value of zero disables prefetch.")
+    int DEFAULT_CONTENT_PREFETCH_DEPTH = 8;
+
+    String QUEUE_FLOW_CONTROL_GRADUATED = "queue.queueFlowControlGraduated";
+    @SuppressWarnings("unused")
+    @ManagedContextDefault( name = QUEUE_FLOW_CONTROL_GRADUATED,
+            description = "If true, producer flow control unblocks the blocked sessions one at a time, longest blocked"
+                          + " first, spreading them over the time the queue needs to drain to the flow resume limit at"
+                          + " its measured drain rate. Otherwise all blocked sessions are unblocked together once the"
+                          + " flow resume limit is reached.")
+    boolean DEFAULT_FLOW_CONTROL_GRADUATED = false;
+
     @SuppressWarnings("unused")
     @DerivedAttribute
     boolean isQueueFlowStopped();
@@ -509,6 +525,21 @@ public interface Queue<X extends Queue<X>> extends ConfiguredObject<X>,
                       description = "Current age of oldest message on the queue.", metricName = "oldest_message_age_milliseconds")
     long getOldestMessageAge();
 
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.BYTES, label = "Drain Rate",
+                      description = "Size of messages removed from the queue per second, measured over the last sampling period.")
+    long getDrainRateBytes();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.MESSAGES, label = "Drain Rate",
+                      description = "Number of messages removed from the queue per second, measured over the last sampling period.")
+    long getDrainRateMessages();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.COUNT, label = "Flow Controlled Sessions",
+                      description = "Current number of sessions blocked from publishing by the producer flow control of this queue.")
+    int getProducerFlowControlledSessions();
+
     @SuppressWarnings("unused")
     @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.BYTES, label = "Malformed",
             description = "Total size of enqueued malformed messages.", metricName = "malformed_bytes_count")
@@ -519,6 +550,30 @@ public interface Queue<X extends Queue<X>> extends ConfiguredObject<X>,
             description = "Total number of enqueued malformed messages.", metricName = "malformed_messages_count")
     long getTotalMalformedMessages();
 
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.TIME_DURATION, label = "Mean Residence Time",
+                      description = "Mean time messages spent on the queue before being removed from it.",
+                      metricName = "residence_time_mean_milliseconds")
+    long getMeanResidenceTime();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.TIME_DURATION, label = "Residence Time (99th percentile)",
+                      description = "Estimated 99th percentile of the time messages spent on the queue before being removed from it.",
+                      metricName = "residence_time_99th_percentile_milliseconds")
+    long getResidenceTime99thPercentile();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.TIME_DURATION, label = "Mean Time To Acknowledge",
+                      description = "Mean time between a message being delivered to a consumer and its acknowledgement.",
+                      metricName = "time_to_ack_mean_milliseconds")
+    long getMeanTimeToAck();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.TIME_DURATION, label = "Time To Acknowledge (99th percentile)",
+                      description = "Estimated 99th percentile of the time between a message being delivered to a consumer and its acknowledgement.",
+                      metricName = "time_to_ack_99th_percentile_milliseconds")
+    long getTimeToAck99thPercentile();
+
     @ManagedOperation(description = "move messages from this queue to another", changesConfiguredObjectState = false)
     List<Long> moveMessages(@Param(name = "destination", description = "The queue to which the messages should be moved", mandatory = true) Queue<?> destination,
                             @Param(name = "messageIds", description = "If provided, only messages in the queue whose (internal) message-id is supplied will be considered for moving") List<Long> messageIds,
@@ -66,6 +66,12 @@ public interface SystemConfig<X extends SystemConfig<X>> extends ConfiguredObjec
     @ManagedContextDefault(name = SystemConfig.POSIX_FILE_PERMISSIONS)
     String DEFAULT_POSIX_FILE_PERMISSIONS = "rw-r-----";
 
+    String JSON_CONFIG_STORE_JOURNAL_COMPACTION_THRESHOLD = "qpid.jsonConfigStore.journalCompactionThreshold";
+    @ManagedContextDefault(name = SystemConfig.JSON_CONFIG_STORE_JOURNAL_COMPACTION_THRESHOLD,
+            description = "The minimum number of changes held in the journal of a JSON configuration store before"
+                          + " the configuration file is rewritten and the journal emptied")
+    int DEFAULT_JSON_CONFIG_STORE_JOURNAL_COMPACTION_THRESHOLD = 1000;
+
 
     String MANAGEMENT_MODE_USER_NAME = "mm_admin";
 
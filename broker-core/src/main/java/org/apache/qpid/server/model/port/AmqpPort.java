@@ -54,6 +54,7 @@ public interface AmqpPort<X extends AmqpPort<X>> extends Port<X>
     String PORT_AMQP_THREAD_POOL_KEEP_ALIVE_TIMEOUT = "qpid.port.amqp.threadPool.keep_alive_timeout";
 
     String PORT_AMQP_NUMBER_OF_SELECTORS = "qpid.port.amqp.threadPool.numberOfSelectors";
+    String PORT_AMQP_THREAD_POOL_WORK_STEALING = "qpid.port.amqp.threadPool.workStealing";
     String PORT_AMQP_ACCEPT_BACKLOG = "qpid.port.amqp.acceptBacklog";
 
     @ManagedContextDefault(name = DEFAULT_AMQP_PROTOCOLS)
@@ -76,6 +77,12 @@ public interface AmqpPort<X extends AmqpPort<X>> extends Port<X>
     @ManagedContextDefault(name = PORT_AMQP_NUMBER_OF_SELECTORS)
     long DEFAULT_PORT_AMQP_NUMBER_OF_SELECTORS = Math.max(DEFAULT_PORT_AMQP_THREAD_POOL_SIZE / 8, 1);
 
+    @SuppressWarnings("unused")
+    @ManagedContextDefault(name = PORT_AMQP_THREAD_POOL_WORK_STEALING,
+            description = "Whether each thread of the port's IO pool has its own queue of connection work, from which"
+                          + " idle threads steal, rather than all of the threads sharing a single queue")
+    boolean DEFAULT_PORT_AMQP_THREAD_POOL_WORK_STEALING = false;
+
     @SuppressWarnings("unused")
     @ManagedContextDefault(name = PORT_AMQP_ACCEPT_BACKLOG)
     int DEFAULT_PORT_AMQP_ACCEPT_BACKLOG = 1024;
@@ -171,6 +178,35 @@ public interface AmqpPort<X extends AmqpPort<X>> extends Port<X>
             metricName = "aggregate_connection_count")
     long getTotalConnectionCount();
 
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.COUNT,
+            label = "Scheduled Connection Timers",
+            description = "Current number of connection timers held by the timing wheels of the port's selectors")
+    int getScheduledConnectionTimerCount();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.COUNT,
+            label = "Expired Connection Timers",
+            description = "Total number of connection timers that have expired on the timing wheels of the port's"
+                          + " selectors since the port was activated")
+    long getExpiredConnectionTimerCount();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.COUNT,
+            label = "Processed Connections",
+            description = "Total number of times a connection has been taken up for processing by the port's IO pool"
+                          + " since the port was activated")
+    long getProcessedConnectionCount();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.TIME_DURATION,
+            label = "Connection Scheduling Delay",
+            description = "Total time in milliseconds that connections of the port have waited between being scheduled"
+                          + " and being processed by the port's IO pool since the port was activated")
+    long getTotalConnectionSchedulingDelay();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.COUNT,
+            label = "Stolen IO Tasks",
+            description = "Total number of tasks that threads of the port's IO pool have stolen from the work of other"
+                          + " threads since the port was activated. Always zero unless work stealing is enabled.")
+    long getStolenIoTaskCount();
+
     @DerivedAttribute(description = "Maximum time allowed for a new connection to send a protocol header."
                                     + " If the connection does not send a protocol header within this time,"
                                     + " the connection will be aborted.")
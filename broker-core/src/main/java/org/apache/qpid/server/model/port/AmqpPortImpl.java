@@ -615,6 +615,41 @@ public class AmqpPortImpl extends AbstractPort<AmqpPortImpl> implements AmqpPort
         return _totalConnectionCount.get();
     }
 
+    @Override
+    public int getScheduledConnectionTimerCount()
+    {
+        final AcceptingTransport transport = _transport;
+        return transport == null ? 0 : transport.getScheduledTimerCount();
+    }
+
+    @Override
+    public long getExpiredConnectionTimerCount()
+    {
+        final AcceptingTransport transport = _transport;
+        return transport == null ? 0L : transport.getExpiredTimerCount();
+    }
+
+    @Override
+    public long getProcessedConnectionCount()
+    {
+        final AcceptingTransport transport = _transport;
+        return transport == null ? 0L : transport.getProcessedConnectionCount();
+    }
+
+    @Override
+    public long getTotalConnectionSchedulingDelay()
+    {
+        final AcceptingTransport transport = _transport;
+        return transport == null ? 0L : transport.getTotalSchedulingDelay();
+    }
+
+    @Override
+    public long getStolenIoTaskCount()
+    {
+        final AcceptingTransport transport = _transport;
+        return transport == null ? 0L : transport.getStolenTaskCount();
+    }
+
     @Override
     public long getProtocolHandshakeTimeout()
     {
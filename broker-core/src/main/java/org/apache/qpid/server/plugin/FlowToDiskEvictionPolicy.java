@@ -0,0 +1,38 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.plugin;
+
+import java.util.Collection;
+
+import org.apache.qpid.server.model.Queue;
+
+/**
+ * Decides which messages a virtual host flows to disk when the in-memory size of its messages is over the target
+ * size.  The type of the policy is the name by which it is selected.
+ */
+public interface FlowToDiskEvictionPolicy extends Pluggable
+{
+    /**
+     * Flows messages on the given queues to disk, so that the in-memory size of the messages which are kept in memory
+     * is brought within the target size.
+     */
+    void evict(Collection<? extends Queue> queues, long targetSize);
+}
@@ -0,0 +1,45 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.plugin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+
+/**
+ * A message payload compression codec.  The type of the codec is the content encoding it applies, which is also
+ * the name used to negotiate the codec with clients.
+ */
+public interface MessageCompressionCodec extends Pluggable
+{
+    QpidByteBuffer compress(QpidByteBuffer uncompressed) throws IOException;
+
+    QpidByteBuffer decompress(QpidByteBuffer compressed) throws IOException;
+
+    InputStream decompressingStream(InputStream compressed) throws IOException;
+
+    /**
+     * The returned stream flushes all data written to it on each flush, and finishes the compressed data when closed.
+     */
+    OutputStream compressingStream(OutputStream compressed) throws IOException;
+}
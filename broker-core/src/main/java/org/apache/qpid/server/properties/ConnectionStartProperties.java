@@ -40,6 +40,13 @@ public class ConnectionStartProperties
 
     public static final String QPID_MESSAGE_COMPRESSION_SUPPORTED = "qpid.message_compression_supported";
 
+    /**
+     * Comma separated list of the content encodings of the message compression codecs supported by the broker
+     * or, from the client, accepted by the client in order of preference.  Clients which support compression but
+     * do not send this property are assumed to accept only gzip.
+     */
+    public static final String QPID_MESSAGE_COMPRESSION_CODECS = "qpid.message_compression_codecs";
+
     public static final String QPID_VIRTUALHOST_PROPERTIES_SUPPORTED = "qpid.virtualhost_properties_supported";
 
     public static final String CLIENT_ID_0_10 = "clientName";
@@ -18,7 +18,6 @@
  */
 package org.apache.qpid.server.queue;
 
-import static org.apache.qpid.server.util.GZIPUtils.GZIP_CONTENT_ENCODING;
 import static org.apache.qpid.server.util.ParameterizedTypes.MAP_OF_STRING_STRING;
 
 import java.io.IOException;
@@ -47,13 +46,12 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 import javax.security.auth.Subject;
 
@@ -68,6 +66,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.compression.MessageCompressionCodecRegistry;
 import org.apache.qpid.server.configuration.IllegalConfigurationException;
 import org.apache.qpid.server.configuration.updater.Task;
 import org.apache.qpid.server.connection.SessionPrincipal;
@@ -101,6 +100,7 @@ import org.apache.qpid.server.message.ServerMessage;
 import org.apache.qpid.server.message.internal.InternalMessage;
 import org.apache.qpid.server.model.*;
 import org.apache.qpid.server.model.preferences.GenericPrincipal;
+import org.apache.qpid.server.plugin.MessageCompressionCodec;
 import org.apache.qpid.server.plugin.MessageConverter;
 import org.apache.qpid.server.plugin.MessageFilterFactory;
 import org.apache.qpid.server.plugin.QpidServiceLoader;
@@ -110,6 +110,8 @@ import org.apache.qpid.server.security.SecurityToken;
 import org.apache.qpid.server.security.access.Operation;
 import org.apache.qpid.server.security.auth.AuthenticatedPrincipal;
 import org.apache.qpid.server.session.AMQPSession;
+import org.apache.qpid.server.stats.LatencyHistogram;
+import org.apache.qpid.server.stats.LatencyHistogramProvider;
 import org.apache.qpid.server.store.MessageDurability;
 import org.apache.qpid.server.store.MessageEnqueueRecord;
 import org.apache.qpid.server.store.StorableMessageMetaData;
@@ -134,7 +136,8 @@ public abstract class AbstractQueue<X extends AbstractQueue<X>>
         extends AbstractConfiguredObject<X>
         implements Queue<X>,
                    MessageGroupManager.ConsumerResetHelper,
-                   TransactionMonitor
+                   TransactionMonitor,
+                   LatencyHistogramProvider
 {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractQueue.class);
@@ -166,6 +169,7 @@ public abstract class AbstractQueue<X extends AbstractQueue<X>>
     private final AtomicInteger _activeSubscriberCount = new AtomicInteger();
 
     private final QueueStatistics _queueStatistics = new QueueStatistics();
+    private final DrainRateMonitor _drainRateMonitor = new DrainRateMonitor(_queueStatistics, System.nanoTime());
 
     /** max allowed size(KB) of a single message */
     @ManagedAttributeField( afterSet = "updateAlertChecks" )
@@ -288,6 +292,7 @@ public abstract class AbstractQueue<X extends AbstractQueue<X>>
     private long _flowToDiskThreshold;
     private volatile MessageDestination _alternateBindingDestination;
     private volatile MessageConversionExceptionHandlingPolicy _messageConversionExceptionHandlingPolicy;
+    private volatile int _contentPrefetchDepth;
 
     private interface HoldMethod
     {
@@ -512,6 +517,7 @@ public abstract class AbstractQueue<X extends AbstractQueue<X>>
 
         _mimeTypeToFileExtension = getContextValue(Map.class, MAP_OF_STRING_STRING, MIME_TYPE_TO_FILE_EXTENSION);
         _messageConversionExceptionHandlingPolicy = getContextValue(MessageConversionExceptionHandlingPolicy.class, MESSAGE_CONVERSION_EXCEPTION_HANDLING_POLICY);
+        _contentPrefetchDepth = getContextValue(Integer.class, CONTENT_PREFETCH_DEPTH);
 
         _flowToDiskThreshold = getAncestor(Broker.class).getFlowToDiskThreshold();
 
@@ -1644,6 +1650,28 @@ public abstract class AbstractQueue<X extends AbstractQueue<X>>
         return oldestMessageArrivalTime == 0 ? 0 : System.currentTimeMillis() - oldestMessageArrivalTime;
     }
 
+    @Override
+    public long getDrainRateBytes()
+    {
+        return _drainRateMonitor.getByteRate();
+    }
+
+    @Override
+    public long getDrainRateMessages()
+    {
+        return _drainRateMonitor.getMessageRate();
+    }
+
+    @Override
+    public int getProducerFlowControlledSessions()
+    {
+        if (_postEnqueueOverflowPolicyHandler instanceof ProducerFlowControlOverflowPolicyHandler)
+        {
+            return ((ProducerFlowControlOverflowPolicyHandler) _postEnqueueOverflowPolicyHandler).getBlockedSessionCount();
+        }
+        return 0;
+    }
+
     @Override
     public boolean isDeleted()
     {
@@ -2185,35 +2213,56 @@ public abstract class AbstractQueue<X extends AbstractQueue<X>>
 
     MessageContainer deliverSingleMessage(QueueConsumer<?,?> consumer)
     {
-        boolean queueEmpty = false;
-        MessageContainer messageContainer = null;
+        final List<MessageContainer> messageContainers = deliverMessages(consumer, 1);
+        return messageContainers.isEmpty() ? null : messageContainers.get(0);
+    }
+
+    /**
+     * Attempts delivery of up to {@code maxMessages} messages to the given consumer in a single pass.  Each message
+     * is subject to the same credit and consumer priority checks as {@link #deliverSingleMessage(QueueConsumer)}, but
+     * the consumer is flushed only once the batch is complete.
+     *
+     * @param consumer the consumer
+     * @param maxMessages the maximum number of messages to deliver
+     * @return the messages acquired or referenced for the consumer, empty if there are none
+     */
+    List<MessageContainer> deliverMessages(QueueConsumer<?,?> consumer, int maxMessages)
+    {
+        List<MessageContainer> messageContainers = Collections.emptyList();
         _queueConsumerManager.setNotified(consumer, false);
         try
         {
-
             if (!consumer.isSuspended())
             {
-                if(consumer.isNonLive())
+                if (!consumer.isNonLive())
                 {
-                    messageContainer = NO_MESSAGES;
-                }
-                else
-                {
-                    messageContainer = attemptDelivery(consumer);
+                    MessageContainer messageContainer;
+                    while (messageContainers.size() < maxMessages
+                           && (messageContainer = attemptDelivery(consumer)).getMessageInstance() != null)
+                    {
+                        if (maxMessages == 1)
+                        {
+                            messageContainers = Collections.singletonList(messageContainer);
+                        }
+                        else
+                        {
+                            if (messageContainers.isEmpty())
+                            {
+                                messageContainers = new ArrayList<>(maxMessages);
+                            }
+                            messageContainers.add(messageContainer);
+                        }
+                    }
                 }
 
-                if(messageContainer.getMessageInstance() == null)
+                if (messageContainers.isEmpty())
                 {
-                    if (consumer.acquires())
+                    if (consumer.acquires() && hasAvailableMessages())
                     {
-                        if (hasAvailableMessages())
-                        {
-                            notifyOtherConsumers(consumer);
-                        }
+                        notifyOtherConsumers(consumer);
                     }
 
                     consumer.noMessagesAvailable();
-                    messageContainer = null;
                 }
                 else
                 {
@@ -2231,7 +2280,7 @@ public abstract class AbstractQueue<X extends AbstractQueue<X>>
             consumer.flushBatched();
         }
 
-        return messageContainer;
+        return messageContainers;
     }
 
     private boolean hasAvailableMessages()
@@ -2281,6 +2330,7 @@ public abstract class AbstractQueue<X extends AbstractQueue<X>>
                     else
                     {
                         setLastSeenEntry(sub, node);
+                        prefetchAhead(sub, node);
                         return new MessageContainer(node, messageReference);
                     }
                 }
@@ -2294,6 +2344,43 @@ public abstract class AbstractQueue<X extends AbstractQueue<X>>
         return NO_MESSAGES;
     }
 
+    /**
+     * Schedules the content of the next entries the consumer is likely to be sent to be read back into memory, if
+     * it has been flowed to disk, so that the deliveries do not wait on the store.  Entries already examined for
+     * the consumer are not examined again.
+     */
+    private void prefetchAhead(final QueueConsumer<?,?> sub, final QueueEntry node)
+    {
+        final QueueContext context = sub.getQueueContext();
+        if (_contentPrefetchDepth <= 0 || context == null)
+        {
+            return;
+        }
+
+        // once the consumer is within the window already examined, each delivery opens it by one more entry
+        final QueueEntry prefetched = context.getPrefetchedEntry();
+        final boolean withinWindow = prefetched != null && prefetched.compareTo(node) > 0;
+        QueueEntry entry = withinWindow ? prefetched : node;
+        int remaining = withinWindow ? 1 : _contentPrefetchDepth;
+        while (remaining > 0 && (entry = getEntries().next(entry)) != null)
+        {
+            if (entry.isAvailable() && sub.hasInterest(entry))
+            {
+                final StoredMessage<?> storedMessage = entry.getMessage().getStoredMessage();
+                if (storedMessage != null && !storedMessage.isInContentInMemory())
+                {
+                    final MessageReference reference = entry.newMessageReference();
+                    if (reference != null && !_virtualHost.prefetchContent(reference))
+                    {
+                        return;
+                    }
+                }
+                remaining--;
+            }
+            context.setPrefetchedEntry(entry);
+        }
+    }
+
     private boolean noHigherPriorityWithCredit(final QueueConsumer<?,?> sub, final QueueEntry queueEntry)
     {
         Iterator<QueueConsumer<?,?>> consumerIterator = _queueConsumerManager.getAllIterator();
@@ -2519,6 +2606,39 @@ public abstract class AbstractQueue<X extends AbstractQueue<X>>
         return _queueStatistics.getMalformedCount();
     }
 
+    @Override
+    public long getMeanResidenceTime()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(_queueStatistics.getResidenceTime().getMean());
+    }
+
+    @Override
+    public long getResidenceTime99thPercentile()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(_queueStatistics.getResidenceTime().getValueAtPercentile(99.0));
+    }
+
+    @Override
+    public long getMeanTimeToAck()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(_queueStatistics.getTimeToAck().getMean());
+    }
+
+    @Override
+    public long getTimeToAck99thPercentile()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(_queueStatistics.getTimeToAck().getValueAtPercentile(99.0));
+    }
+
+    @Override
+    public Map<String, LatencyHistogram> getLatencyHistograms()
+    {
+        final Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+        histograms.put("residenceTime", _queueStatistics.getResidenceTime());
+        histograms.put("timeToAck", _queueStatistics.getTimeToAck());
+        return histograms;
+    }
+
     @Override
     public void reallocateMessages()
     {
@@ -2775,7 +2895,7 @@ public abstract class AbstractQueue<X extends AbstractQueue<X>>
     class MessageContent extends BaseMessageContent
     {
 
-        private boolean _decompressBeforeLimiting;
+        private MessageCompressionCodec _decompressBeforeLimiting;
 
         MessageContent(MessageReference<?> messageReference, long limit, boolean decompressBeforeLimiting)
         {
@@ -2783,9 +2903,10 @@ public abstract class AbstractQueue<X extends AbstractQueue<X>>
             if (decompressBeforeLimiting)
             {
                 String contentEncoding = getContentEncoding();
-                if (GZIP_CONTENT_ENCODING.equals(contentEncoding))
+                MessageCompressionCodec codec = MessageCompressionCodecRegistry.getCodec(contentEncoding);
+                if (codec != null)
                 {
-                    _decompressBeforeLimiting = true;
+                    _decompressBeforeLimiting = codec;
                 }
                 else if (contentEncoding != null && !"".equals(contentEncoding) && !"identity".equals(contentEncoding))
                 {
@@ -2800,15 +2921,15 @@ public abstract class AbstractQueue<X extends AbstractQueue<X>>
         {
             ServerMessage message = _messageReference.getMessage();
 
-            int length = (int) ((_limit == UNLIMITED || _decompressBeforeLimiting) ? message.getSize() : _limit);
+            int length = (int) ((_limit == UNLIMITED || _decompressBeforeLimiting != null) ? message.getSize() : _limit);
             try (QpidByteBuffer content = message.getContent(0, length))
             {
                 InputStream inputStream = content.asInputStream();
-                if (_limit != UNLIMITED && _decompressBeforeLimiting)
+                if (_limit != UNLIMITED && _decompressBeforeLimiting != null)
                 {
-                    inputStream = new GZIPInputStream(inputStream);
+                    inputStream = _decompressBeforeLimiting.decompressingStream(inputStream);
                     inputStream = ByteStreams.limit(inputStream, _limit);
-                    outputStream = new GZIPOutputStream(outputStream, true);
+                    outputStream = _decompressBeforeLimiting.compressingStream(outputStream);
                 }
 
                 try
@@ -2818,7 +2939,7 @@ public abstract class AbstractQueue<X extends AbstractQueue<X>>
                 finally
                 {
                     inputStream.close();
-                    // Seems weird to close the outputStream here but otherwise the GZIPOutputStream will be in an
+                    // Seems weird to close the outputStream here but otherwise the compressing stream will be in an
                     // invalid state. Calling flush() did not solve the problem.
                     outputStream.close();
                 }
@@ -3805,6 +3926,8 @@ public abstract class AbstractQueue<X extends AbstractQueue<X>>
             // next entry they are interested in yet.  This would lead to holding on to references to expired messages, etc
             // which would give us memory "leak".
 
+            _drainRateMonitor.sample(System.nanoTime());
+
             Iterator<QueueConsumer<?,?>> consumerIterator = _queueConsumerManager.getAllIterator();
 
             while (consumerIterator.hasNext() && !isDeleted())
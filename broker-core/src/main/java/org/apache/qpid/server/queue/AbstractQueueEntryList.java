@@ -20,7 +20,10 @@
  */
 package org.apache.qpid.server.queue;
 
+import java.util.concurrent.TimeUnit;
+
 import org.apache.qpid.server.message.MessageInstance;
+import org.apache.qpid.server.message.MessageInstanceConsumer;
 import org.apache.qpid.server.model.Queue;
 import org.apache.qpid.server.store.MessageDurability;
 
@@ -65,6 +68,7 @@ abstract class AbstractQueueEntryList implements QueueEntryList
         final boolean isConsumerAcquired = toState instanceof MessageInstance.ConsumerAcquiredState;
         final boolean wasConsumerAcquired = fromState instanceof MessageInstance.ConsumerAcquiredState;
 
+        long deliveryTime = 0L;
         switch(fromState.getState())
         {
             case AVAILABLE:
@@ -74,6 +78,12 @@ abstract class AbstractQueueEntryList implements QueueEntryList
                 if(wasConsumerAcquired && !isConsumerAcquired)
                 {
                     queueStatistics.removeFromUnacknowledged(sizeWithHeader);
+                    final MessageInstanceConsumer<?> consumer =
+                            ((MessageInstance.ConsumerAcquiredState<?>) fromState).getConsumer();
+                    if(consumer instanceof QueueConsumerImpl)
+                    {
+                        deliveryTime = ((QueueConsumerImpl<?>) consumer).removeDeliveryTime(entry);
+                    }
                 }
                 break;
         }
@@ -88,6 +98,14 @@ abstract class AbstractQueueEntryList implements QueueEntryList
                     queueStatistics.addToUnacknowledged(sizeWithHeader);
                 }
                 break;
+            case DEQUEUED:
+                final long arrivalTime = entry.getMessage().getArrivalTime();
+                queueStatistics.recordResidenceTime(TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - arrivalTime));
+                if(deliveryTime != 0L)
+                {
+                    queueStatistics.recordTimeToAck(deliveryTime);
+                }
+                break;
             case DELETED:
                 queueStatistics.removeFromQueue(sizeWithHeader);
                 queueStatistics.addToDequeued(sizeWithHeader);
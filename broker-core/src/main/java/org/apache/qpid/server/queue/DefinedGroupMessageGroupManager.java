@@ -20,10 +20,13 @@
  */
 package org.apache.qpid.server.queue;
 
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,9 +41,14 @@ import org.apache.qpid.server.util.StateChangeListener;
 public class DefinedGroupMessageGroupManager implements MessageGroupManager
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefinedGroupMessageGroupManager.class);
+    private static final int LOCK_STRIPES = 64;
+
     private final String _groupId;
     private final String _defaultGroup;
-    private final Map<Object, Group> _groupMap = new HashMap<>();
+    private final Map<Object, Group> _groupMap = new ConcurrentHashMap<>();
+    // the keys of the groups assigned to each consumer; may contain stale keys which are checked against _groupMap
+    private final Map<QueueConsumer<?,?>, Set<Object>> _consumerGroups = new ConcurrentHashMap<>();
+    private final Object[] _groupLocks = new Object[LOCK_STRIPES];
     private final ConsumerResetHelper _resetHelper;
 
     private final class Group
@@ -77,7 +85,11 @@ public class DefinedGroupMessageGroupManager implements MessageGroupManager
             }
             if(--_activeCount == 0)
             {
-                _groupMap.remove(_group);
+                if (_groupMap.get(_group) == this)
+                {
+                    _groupMap.remove(_group);
+                }
+                removeConsumerGroup(_consumer, _group);
                 if(!_skippedEntries.isEmpty())
                 {
                     _resetHelper.resetSubPointersForGroups(_skippedEntries.first());
@@ -134,6 +146,24 @@ public class DefinedGroupMessageGroupManager implements MessageGroupManager
         {
             _skippedEntries.add(entry);
         }
+
+        QueueEntry getEarliestAvailableSkippedEntry()
+        {
+            final Iterator<QueueEntry> iterator = _skippedEntries.iterator();
+            while (iterator.hasNext())
+            {
+                final QueueEntry entry = iterator.next();
+                if (entry.isAvailable())
+                {
+                    return entry;
+                }
+                else if (entry.isDeleted())
+                {
+                    iterator.remove();
+                }
+            }
+            return null;
+        }
     }
 
     DefinedGroupMessageGroupManager(final String groupId, String defaultGroup, ConsumerResetHelper resetHelper)
@@ -141,38 +171,54 @@ public class DefinedGroupMessageGroupManager implements MessageGroupManager
         _groupId = groupId;
         _defaultGroup = defaultGroup;
         _resetHelper = resetHelper;
+        for (int i = 0; i < LOCK_STRIPES; i++)
+        {
+            _groupLocks[i] = new Object();
+        }
     }
-    
+
     @Override
-    public synchronized boolean mightAssign(final QueueEntry entry, final QueueConsumer sub)
+    public boolean mightAssign(final QueueEntry entry, final QueueConsumer sub)
     {
         Object groupId = getKey(entry);
 
-        Group group = _groupMap.get(groupId);
-        final boolean possibleAssignment = group == null || !group.isValid() || group.getConsumer() == sub;
-        if(!possibleAssignment)
+        synchronized (getLock(groupId))
         {
-            group.addSkippedEntry(entry);
+            Group group = _groupMap.get(groupId);
+            final boolean possibleAssignment = group == null || !group.isValid() || group.getConsumer() == sub;
+            if (!possibleAssignment)
+            {
+                group.addSkippedEntry(entry);
+            }
+            return possibleAssignment;
         }
-        return possibleAssignment;
     }
 
     @Override
-    public synchronized boolean acceptMessage(final QueueConsumer<?,?> sub, final QueueEntry entry)
+    public boolean acceptMessage(final QueueConsumer<?,?> sub, final QueueEntry entry)
     {
-        return assignMessage(sub, entry) && entry.acquire(sub);
+        Object groupId = getKey(entry);
+
+        synchronized (getLock(groupId))
+        {
+            return assignMessage(sub, entry, groupId) && entry.acquire(sub);
+        }
     }
 
-    private boolean assignMessage(final QueueConsumer<?,?> sub, final QueueEntry entry)
+    private boolean assignMessage(final QueueConsumer<?,?> sub, final QueueEntry entry, final Object groupId)
     {
-        Object groupId = getKey(entry);
         Group group = _groupMap.get(groupId);
 
         if(group == null || !group.isValid())
         {
+            if (group != null)
+            {
+                removeConsumerGroup(group.getConsumer(), groupId);
+            }
             group = new Group(groupId, sub);
 
             _groupMap.put(groupId, group);
+            addConsumerGroup(sub, groupId);
 
             // there's a small chance that the group became empty between the point at which getNextAvailable() was
             // called on the consumer, and when accept message is called... in that case we want to avoid delivering
@@ -198,55 +244,66 @@ public class DefinedGroupMessageGroupManager implements MessageGroupManager
     }
 
     @Override
-    public synchronized QueueEntry findEarliestAssignedAvailableEntry(final QueueConsumer<?,?> sub)
+    public QueueEntry findEarliestAssignedAvailableEntry(final QueueConsumer<?,?> sub)
     {
-        EntryFinder visitor = new EntryFinder(sub);
-        sub.getQueue().visit(visitor);
-        return visitor.getEntry();
-    }
-
-    private class EntryFinder implements QueueEntryVisitor
-    {
-        private QueueEntry _entry;
-        private QueueConsumer<?,?> _sub;
-
-        EntryFinder(final QueueConsumer<?, ?> sub)
+        final Set<Object> groupIds = _consumerGroups.get(sub);
+        if (groupIds == null)
         {
-            _sub = sub;
+            return null;
         }
 
-        @Override
-        public boolean visit(final QueueEntry entry)
+        // any available entry of a group which another consumer has moved past is recorded as a skipped entry
+        QueueEntry earliest = null;
+        for (Object groupId : groupIds)
         {
-            if(!entry.isAvailable())
+            synchronized (getLock(groupId))
             {
-                return false;
+                final Group group = _groupMap.get(groupId);
+                if (group != null && group.getConsumer() == sub)
+                {
+                    final QueueEntry entry = group.getEarliestAvailableSkippedEntry();
+                    if (entry != null && (earliest == null || entry.compareTo(earliest) < 0))
+                    {
+                        earliest = entry;
+                    }
+                }
             }
+        }
+        return earliest;
+    }
 
-            Object groupId = getKey(entry);
+    @Override
+    public void clearAssignments(final QueueConsumer<?,?> sub)
+    {
+        _consumerGroups.remove(sub);
+    }
 
-            Group group = _groupMap.get(groupId);
-            if(group != null && group.getConsumer() == _sub)
-            {
-                _entry = entry;
-                return true;
-            }
-            else
-            {
-                return false;
-            }
-        }
+    private Object getLock(final Object groupId)
+    {
+        final int hash = Objects.hashCode(groupId);
+        return _groupLocks[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
+    }
 
-        public QueueEntry getEntry()
+    private void addConsumerGroup(final QueueConsumer<?,?> consumer, final Object groupId)
+    {
+        _consumerGroups.compute(consumer, (c, groupIds) ->
         {
-            return _entry;
-        }
+            final Set<Object> ids = groupIds == null ? ConcurrentHashMap.newKeySet() : groupIds;
+            ids.add(groupId);
+            return ids;
+        });
     }
 
-    
-    @Override
-    public void clearAssignments(final QueueConsumer<?,?> sub)
+    private void removeConsumerGroup(final QueueConsumer<?,?> consumer, final Object groupId)
     {
+        if (consumer != null)
+        {
+            _consumerGroups.computeIfPresent(consumer, (c, groupIds) ->
+            {
+                groupIds.remove(groupId);
+                return groupIds.isEmpty() ? null : groupIds;
+            });
+        }
     }
     
     private Object getKey(QueueEntry entry)
@@ -277,7 +334,7 @@ public class DefinedGroupMessageGroupManager implements MessageGroupManager
         @Override
         public void stateChanged(final MessageInstance entry, final EntryState oldState, final EntryState newState)
         {
-            synchronized (DefinedGroupMessageGroupManager.this)
+            synchronized (getLock(_group._group))
             {
                 if(_group.isValid())
                 {
@@ -0,0 +1,78 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.queue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the rate at which messages are removed from a queue.  The rate is recalculated when sampled by queue
+ * housekeeping, provided that at least a second has passed since the previous calculation, and is only read
+ * otherwise.
+ */
+final class DrainRateMonitor
+{
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final QueueStatistics _queueStatistics;
+    private long _sampleTime;
+    private long _sampleCount;
+    private long _sampleSize;
+    private volatile long _messageRate;
+    private volatile long _byteRate;
+
+    DrainRateMonitor(final QueueStatistics queueStatistics, final long now)
+    {
+        _queueStatistics = queueStatistics;
+        _sampleTime = now;
+        _sampleCount = queueStatistics.getDequeueCount();
+        _sampleSize = queueStatistics.getDequeueSize();
+    }
+
+    synchronized void sample(final long now)
+    {
+        final long elapsed = now - _sampleTime;
+        if (elapsed >= NANOS_PER_SECOND)
+        {
+            final long count = _queueStatistics.getDequeueCount();
+            final long size = _queueStatistics.getDequeueSize();
+            _messageRate = perSecond(count - _sampleCount, elapsed);
+            _byteRate = perSecond(size - _sampleSize, elapsed);
+            _sampleTime = now;
+            _sampleCount = count;
+            _sampleSize = size;
+        }
+    }
+
+    long getMessageRate()
+    {
+        return _messageRate;
+    }
+
+    long getByteRate()
+    {
+        return _byteRate;
+    }
+
+    private static long perSecond(final long delta, final long elapsedNanos)
+    {
+        return (long) (delta * ((double) NANOS_PER_SECOND / elapsedNanos));
+    }
+}
@@ -23,10 +23,15 @@ import java.security.AccessController;
 import java.util.Collections;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.security.auth.Subject;
 
+import com.google.common.base.Supplier;
+
 import org.apache.qpid.server.connection.SessionPrincipal;
 import org.apache.qpid.server.logging.EventLogger;
 import org.apache.qpid.server.logging.messages.QueueMessages;
@@ -42,7 +47,14 @@ public class ProducerFlowControlOverflowPolicyHandler implements OverflowPolicyH
 
     ProducerFlowControlOverflowPolicyHandler(Queue<?> queue, EventLogger eventLogger)
     {
-        _handler = new Handler(queue, eventLogger);
+        this(queue, eventLogger, System::nanoTime);
+    }
+
+    ProducerFlowControlOverflowPolicyHandler(Queue<?> queue,
+                                             EventLogger eventLogger,
+                                             Supplier<Long> nanoTimeSupplier)
+    {
+        _handler = new Handler(queue, eventLogger, nanoTimeSupplier);
         queue.addChangeListener(_handler);
     }
 
@@ -51,6 +63,11 @@ public class ProducerFlowControlOverflowPolicyHandler implements OverflowPolicyH
         return _handler.isQueueFlowStopped();
     }
 
+    int getBlockedSessionCount()
+    {
+        return _handler.getBlockedSessionCount();
+    }
+
     @Override
     public void checkOverflow(final QueueEntry newlyEnqueued)
     {
@@ -59,23 +76,33 @@ public class ProducerFlowControlOverflowPolicyHandler implements OverflowPolicyH
 
     private static class Handler extends AbstractConfigurationChangeListener
     {
+        private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
         private final Queue<?> _queue;
         private final EventLogger _eventLogger;
+        private final Supplier<Long> _nanoTimeSupplier;
         private final AtomicBoolean _overfullReported = new AtomicBoolean(false);
         private final Set<AMQPSession<?, ?>> _blockedSessions =
                 Collections.newSetFromMap(new ConcurrentHashMap<AMQPSession<?, ?>, Boolean>());
+        // the order in which sessions were blocked, which may contain sessions which have since been unblocked
+        private final ConcurrentLinkedQueue<AMQPSession<?, ?>> _blockingOrder = new ConcurrentLinkedQueue<>();
+        // when a blocked session was last unblocked, or the first session was blocked
+        private final AtomicLong _lastReleaseTime = new AtomicLong();
         private volatile double _queueFlowResumeLimit;
+        private volatile boolean _graduated;
         private boolean _checkCapacity;
 
-        private Handler(final Queue<?> queue, final EventLogger eventLogger)
+        private Handler(final Queue<?> queue, final EventLogger eventLogger, final Supplier<Long> nanoTimeSupplier)
         {
             _queue = queue;
             _eventLogger = eventLogger;
+            _nanoTimeSupplier = nanoTimeSupplier;
             Double value = _queue.getContextValue(Double.class, Queue.QUEUE_FLOW_RESUME_LIMIT);
             if (value != null)
             {
                 _queueFlowResumeLimit = value;
             }
+            _graduated = isGraduated();
         }
 
         private void checkOverflow(final QueueEntry newlyEnqueued)
@@ -106,6 +133,12 @@ public class ProducerFlowControlOverflowPolicyHandler implements OverflowPolicyH
                     _queueFlowResumeLimit = queueFlowResumePercentage;
                     _checkCapacity = true;
                 }
+                final boolean graduated = isGraduated();
+                if (graduated != _graduated)
+                {
+                    _graduated = graduated;
+                    _checkCapacity = true;
+                }
             }
             if (Queue.MAXIMUM_QUEUE_DEPTH_BYTES.equals(attributeName)
                 || Queue.MAXIMUM_QUEUE_DEPTH_MESSAGES.equals(attributeName))
@@ -138,6 +171,16 @@ public class ProducerFlowControlOverflowPolicyHandler implements OverflowPolicyH
             return _overfullReported.get();
         }
 
+        int getBlockedSessionCount()
+        {
+            return _blockedSessions.size();
+        }
+
+        private boolean isGraduated()
+        {
+            return Boolean.TRUE.equals(_queue.getContextValue(Boolean.class, Queue.QUEUE_FLOW_CONTROL_GRADUATED));
+        }
+
         private void checkUnderfull(long maximumQueueDepthBytes, long maximumQueueDepthMessages)
         {
             long queueDepthBytes = _queue.getQueueDepthBytes();
@@ -160,9 +203,78 @@ public class ProducerFlowControlOverflowPolicyHandler implements OverflowPolicyH
                     blockedSession.unblock(_queue);
                     _blockedSessions.remove(blockedSession);
                 }
+                _blockingOrder.clear();
+            }
+            else if (_graduated && !_blockedSessions.isEmpty())
+            {
+                releaseBlockedSessions(queueDepthBytes, maximumQueueDepthBytes,
+                                       queueDepthMessages, maximumQueueDepthMessages);
+            }
+        }
+
+        /**
+         * Unblocks the longest blocked session once the queue has drained for long enough. The time the queue needs
+         * to drain to the flow resume limit at its measured drain rate is shared equally among the blocked sessions.
+         * Sessions are therefore released faster when consumers are faster. Each released producer adds to the
+         * depth, which slows the release of the rest. A queue with no measured drain rate releases nobody before
+         * the resume limit.
+         */
+        private void releaseBlockedSessions(final long queueDepthBytes,
+                                            final long maximumQueueDepthBytes,
+                                            final long queueDepthMessages,
+                                            final long maximumQueueDepthMessages)
+        {
+            final long timeToResume = Math.max(getTimeToResume(queueDepthBytes,
+                                                               maximumQueueDepthBytes,
+                                                               _queue.getDrainRateBytes()),
+                                               getTimeToResume(queueDepthMessages,
+                                                               maximumQueueDepthMessages,
+                                                               _queue.getDrainRateMessages()));
+            final int blockedSessions = _blockedSessions.size();
+            if (timeToResume == Long.MAX_VALUE || blockedSessions == 0)
+            {
+                return;
+            }
+
+            final long now = _nanoTimeSupplier.get();
+            final long lastReleaseTime = _lastReleaseTime.get();
+            if (now - lastReleaseTime >= timeToResume / blockedSessions
+                && _lastReleaseTime.compareAndSet(lastReleaseTime, now))
+            {
+                AMQPSession<?, ?> session;
+                while ((session = _blockingOrder.poll()) != null)
+                {
+                    if (_blockedSessions.remove(session))
+                    {
+                        session.unblock(_queue);
+                        break;
+                    }
+                }
             }
         }
 
+        /**
+         * @return the nanoseconds the queue needs to drain to the flow resume limit at the given rate per second, or
+         * {@link Long#MAX_VALUE} if the queue is above the limit and not draining
+         */
+        private long getTimeToResume(final long queueDepth, final long maximumQueueDepth, final long drainRate)
+        {
+            if (maximumQueueDepth < 0)
+            {
+                return 0L;
+            }
+            final long excess = queueDepth - getFlowResumeLimit(maximumQueueDepth);
+            if (excess <= 0)
+            {
+                return 0L;
+            }
+            if (drainRate <= 0)
+            {
+                return Long.MAX_VALUE;
+            }
+            return (long) (excess * ((double) NANOS_PER_SECOND / drainRate));
+        }
+
         private void checkOverfull(final long maximumQueueDepthBytes, final long maximumQueueDepthMessages)
         {
             final long queueDepthBytes = _queue.getQueueDepthBytes();
@@ -190,7 +302,14 @@ public class ProducerFlowControlOverflowPolicyHandler implements OverflowPolicyH
 
                         final AMQPSession<?, ?> session = sessionPrincipal.getSession();
                         session.block(_queue);
-                        _blockedSessions.add(session);
+                        if (_blockedSessions.add(session))
+                        {
+                            if (_blockedSessions.size() == 1)
+                            {
+                                _lastReleaseTime.set(_nanoTimeSupplier.get());
+                            }
+                            _blockingOrder.add(session);
+                        }
                     }
                 }
             }
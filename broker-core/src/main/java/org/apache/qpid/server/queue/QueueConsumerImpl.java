@@ -26,8 +26,10 @@ import java.text.MessageFormat;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -77,6 +79,8 @@ class QueueConsumerImpl<T extends ConsumerTarget>
     private final boolean _isTransient;
     private final AtomicLong _deliveredCount = new AtomicLong(0);
     private final AtomicLong _deliveredBytes = new AtomicLong(0);
+    /** System.nanoTime() of the delivery of each entry this consumer holds acquired, for the queue's time-to-ack */
+    private final Map<MessageInstance, Long> _deliveryTimes = new ConcurrentHashMap<>();
     private final FilterManager _filters;
     private final Class<? extends ServerMessage> _messageClass;
     private final Object _sessionReference;
@@ -338,12 +342,44 @@ class QueueConsumerImpl<T extends ConsumerTarget>
         MessageContainer messageContainer = _queue.deliverSingleMessage(this);
         if (messageContainer != null)
         {
-            _deliveredCount.incrementAndGet();
-            _deliveredBytes.addAndGet(messageContainer.getMessageInstance().getMessage().getSizeIncludingHeader());
+            messageDelivered(messageContainer);
         }
         return messageContainer;
     }
 
+    @Override
+    public List<MessageContainer> pullMessages(final int maxMessages)
+    {
+        final List<MessageContainer> messageContainers = _queue.deliverMessages(this, maxMessages);
+        for (MessageContainer messageContainer : messageContainers)
+        {
+            messageDelivered(messageContainer);
+        }
+        return messageContainers;
+    }
+
+    private void messageDelivered(final MessageContainer messageContainer)
+    {
+        final MessageInstance entry = messageContainer.getMessageInstance();
+        _deliveredCount.incrementAndGet();
+        _deliveredBytes.addAndGet(entry.getMessage().getSizeIncludingHeader());
+        if (entry.isAcquiredBy(this))
+        {
+            _deliveryTimes.put(entry, System.nanoTime());
+        }
+    }
+
+    /**
+     * Forgets the delivery of an entry which is no longer acquired by this consumer.
+     *
+     * @return the {@link System#nanoTime()} at which the entry was delivered, or 0 if it was not delivered
+     */
+    long removeDeliveryTime(final MessageInstance entry)
+    {
+        final Long deliveryTime = _deliveryTimes.remove(entry);
+        return deliveryTime == null ? 0L : deliveryTime;
+    }
+
     @Override
     public void setNotifyWorkDesired(final boolean desired)
     {
@@ -41,11 +41,6 @@ public class QueueConsumerManagerImpl implements QueueConsumerManager
 
     private final AbstractQueue<?> _queue;
 
-    private final List<PriorityConsumerListPair> _interested;
-    private final QueueConsumerNodeList _notInterested;
-    private final List<PriorityConsumerListPair> _notified;
-    private final QueueConsumerNodeList _nonAcquiring;
-
     private final List<PriorityConsumerListPair> _allConsumers;
 
     private volatile int _count;
@@ -62,10 +57,6 @@ public class QueueConsumerManagerImpl implements QueueConsumerManager
     public QueueConsumerManagerImpl(final AbstractQueue<?> queue)
     {
         _queue = queue;
-        _notInterested = new QueueConsumerNodeList(queue);
-        _interested = new CopyOnWriteArrayList<>();
-        _notified = new CopyOnWriteArrayList<>();
-        _nonAcquiring = new QueueConsumerNodeList(queue);
         _allConsumers = new CopyOnWriteArrayList<>();
     }
 
@@ -73,7 +64,7 @@ public class QueueConsumerManagerImpl implements QueueConsumerManager
     @Override
     public void addConsumer(final QueueConsumer<?,?> consumer)
     {
-        QueueConsumerNode node = new QueueConsumerNode(this, consumer);
+        QueueConsumerNode node = new QueueConsumerNode(consumer);
         consumer.setQueueConsumerNode(node);
         addToAll(node);
         if (consumer.isNotifyWorkDesired())
@@ -163,7 +154,7 @@ public class QueueConsumerManagerImpl implements QueueConsumerManager
     @Override
     public Iterator<QueueConsumer<?,?>> getInterestedIterator()
     {
-        return new QueueConsumerIterator(new PrioritisedQueueConsumerNodeIterator(_interested));
+        return new QueueConsumerIterator(new PrioritisedStateIterator(NodeState.INTERESTED));
     }
 
     @Override
@@ -175,7 +166,7 @@ public class QueueConsumerManagerImpl implements QueueConsumerManager
     @Override
     public Iterator<QueueConsumer<?,?>> getNonAcquiringIterator()
     {
-        return new QueueConsumerIterator(_nonAcquiring.iterator());
+        return new QueueConsumerIterator(new PrioritisedStateIterator(NodeState.NON_ACQUIRING));
     }
 
     @Override
@@ -187,57 +178,14 @@ public class QueueConsumerManagerImpl implements QueueConsumerManager
     @Override
     public int getHighestNotifiedPriority()
     {
-        final Iterator<QueueConsumerNode> notifiedIterator =
-                new PrioritisedQueueConsumerNodeIterator(_notified);
-        if(notifiedIterator.hasNext())
-        {
-            final QueueConsumerNode queueConsumerNode = notifiedIterator.next();
-            return queueConsumerNode.getQueueConsumer().getPriority();
-        }
-        else
-        {
-            return Integer.MIN_VALUE;
-        }
-    }
-
-    QueueConsumerNodeListEntry addNodeToInterestList(final QueueConsumerNode queueConsumerNode)
-    {
-        QueueConsumerNodeListEntry newListEntry;
-        switch (queueConsumerNode.getState())
+        for (PriorityConsumerListPair pair : _allConsumers)
         {
-            case INTERESTED:
-                newListEntry = null;
-                for (PriorityConsumerListPair pair : _interested)
-                {
-                    if (pair._priority == queueConsumerNode.getQueueConsumer().getPriority())
-                    {
-                        newListEntry = pair._consumers.add(queueConsumerNode);
-                        break;
-                    }
-                }
-                break;
-            case NOT_INTERESTED:
-                newListEntry = _notInterested.add(queueConsumerNode);
-                break;
-            case NOTIFIED:
-                newListEntry = null;
-                for (PriorityConsumerListPair pair : _notified)
-                {
-                    if (pair._priority == queueConsumerNode.getQueueConsumer().getPriority())
-                    {
-                        newListEntry = pair._consumers.add(queueConsumerNode);
-                        break;
-                    }
-                }
-                break;
-            case NON_ACQUIRING:
-                newListEntry = _nonAcquiring.add(queueConsumerNode);
-                break;
-            default:
-                newListEntry = null;
-                break;
+            if (pair._index.hasAny(NodeState.NOTIFIED))
+            {
+                return pair._priority;
+            }
         }
-        return newListEntry;
+        return Integer.MIN_VALUE;
     }
 
     private static class QueueConsumerIterator implements Iterator<QueueConsumer<?,?>>
@@ -279,6 +227,7 @@ public class QueueConsumerManagerImpl implements QueueConsumerManager
             {
                 final QueueConsumerNodeListEntry entry = priorityConsumerListPair._consumers.add(consumerNode);
                 consumerNode.setAllEntry(entry);
+                priorityConsumerListPair._index.add(consumerNode);
                 return;
             }
             else if (priorityConsumerListPair._priority < consumerPriority)
@@ -290,9 +239,8 @@ public class QueueConsumerManagerImpl implements QueueConsumerManager
         PriorityConsumerListPair newPriorityConsumerListPair = new PriorityConsumerListPair(consumerPriority);
         final QueueConsumerNodeListEntry entry = newPriorityConsumerListPair._consumers.add(consumerNode);
         consumerNode.setAllEntry(entry);
+        newPriorityConsumerListPair._index.add(consumerNode);
         _allConsumers.add(i, newPriorityConsumerListPair);
-        _notified.add(i, new PriorityConsumerListPair(consumerPriority));
-        _interested.add(i, new PriorityConsumerListPair(consumerPriority));
     }
 
     private void removeFromAll(final QueueConsumer<?,?> consumer)
@@ -305,11 +253,10 @@ public class QueueConsumerManagerImpl implements QueueConsumerManager
             if (priorityConsumerListPair._priority == consumerPriority)
             {
                 priorityConsumerListPair._consumers.removeEntry(node.getAllEntry());
+                priorityConsumerListPair._index.remove(node);
                 if (priorityConsumerListPair._consumers.isEmpty())
                 {
                     _allConsumers.remove(i);
-                    _notified.remove(i);
-                    _interested.remove(i);
                 }
                 return;
             }
@@ -325,11 +272,13 @@ public class QueueConsumerManagerImpl implements QueueConsumerManager
     {
         final int _priority;
         final QueueConsumerNodeList _consumers;
+        final QueueConsumerStateIndex _index;
 
         private PriorityConsumerListPair(final int priority)
         {
             _priority = priority;
             _consumers = new QueueConsumerNodeList(_queue);
+            _index = new QueueConsumerStateIndex();
         }
     }
 
@@ -385,4 +334,51 @@ public class QueueConsumerManagerImpl implements QueueConsumerManager
             throw new UnsupportedOperationException();
         }
     }
+
+    private class PrioritisedStateIterator implements Iterator<QueueConsumerNode>
+    {
+        final NodeState _state;
+        final Iterator<PriorityConsumerListPair> _outerIterator;
+        Iterator<QueueConsumerNode> _innerIterator;
+
+        private PrioritisedStateIterator(final NodeState state)
+        {
+            _state = state;
+            _outerIterator = _allConsumers.iterator();
+            _innerIterator = Collections.emptyIterator();
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            while (!_innerIterator.hasNext())
+            {
+                if (_outerIterator.hasNext())
+                {
+                    _innerIterator = _outerIterator.next()._index.iterator(_state);
+                }
+                else
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public QueueConsumerNode next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            return _innerIterator.next();
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
 }
@@ -21,18 +21,25 @@
 package org.apache.qpid.server.queue;
 
 import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 final class QueueConsumerNode
 {
-    private final QueueConsumerManagerImpl _queueConsumerManager;
+    private static final AtomicReferenceFieldUpdater<QueueConsumerNode, QueueConsumerManagerImpl.NodeState>
+            STATE_UPDATER = AtomicReferenceFieldUpdater.newUpdater(QueueConsumerNode.class,
+                                                                   QueueConsumerManagerImpl.NodeState.class,
+                                                                   "_state");
+
     private final QueueConsumer<?,?> _queueConsumer;
-    private QueueConsumerNodeListEntry _listEntry;
-    private QueueConsumerManagerImpl.NodeState _state = QueueConsumerManagerImpl.NodeState.REMOVED;
+    private volatile QueueConsumerManagerImpl.NodeState _state = QueueConsumerManagerImpl.NodeState.REMOVED;
     private QueueConsumerNodeListEntry _allEntry;
+    // written in the config thread, read by any thread changing the state of the node
+    private volatile QueueConsumerStateIndex _index;
+    private volatile QueueConsumerStateIndex.Segment _indexSegment;
+    private volatile int _indexSlot;
 
-    QueueConsumerNode(final QueueConsumerManagerImpl queueConsumerManager, final QueueConsumer<?,?> queueConsumer)
+    QueueConsumerNode(final QueueConsumer<?,?> queueConsumer)
     {
-        _queueConsumerManager = queueConsumerManager;
         _queueConsumer = queueConsumer;
     }
 
@@ -46,22 +53,24 @@ final class QueueConsumerNode
         return _state;
     }
 
-    public synchronized boolean moveFromTo(Collection<QueueConsumerManagerImpl.NodeState> fromStates,
-                                           QueueConsumerManagerImpl.NodeState toState)
+    public boolean moveFromTo(Collection<QueueConsumerManagerImpl.NodeState> fromStates,
+                              QueueConsumerManagerImpl.NodeState toState)
     {
-        if (fromStates.contains(_state))
+        while (true)
         {
-            if (_listEntry != null)
+            final QueueConsumerManagerImpl.NodeState state = _state;
+            if (!fromStates.contains(state))
             {
-                _listEntry.remove();
+                return false;
+            }
+            if (STATE_UPDATER.compareAndSet(this, state, toState))
+            {
+                if (_index != null)
+                {
+                    _index.stateChanged(this, state, toState);
+                }
+                return true;
             }
-            _state = toState;
-            _listEntry = _queueConsumerManager.addNodeToInterestList(this);
-            return true;
-        }
-        else
-        {
-            return false;
         }
     }
 
@@ -74,4 +83,24 @@ final class QueueConsumerNode
     {
         _allEntry = allEntry;
     }
+
+    QueueConsumerStateIndex.Segment getIndexSegment()
+    {
+        return _indexSegment;
+    }
+
+    int getIndexSlot()
+    {
+        return _indexSlot;
+    }
+
+    void setIndexPosition(final QueueConsumerStateIndex index,
+                          final QueueConsumerStateIndex.Segment segment,
+                          final int slot)
+    {
+        _indexSegment = segment;
+        _indexSlot = slot;
+        // publish the index last, so that a thread which sees it also sees the position
+        _index = index;
+    }
 }
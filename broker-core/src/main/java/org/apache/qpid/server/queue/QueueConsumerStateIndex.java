@@ -0,0 +1,258 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.queue;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.qpid.server.queue.QueueConsumerManagerImpl.NodeState;
+
+/**
+ * Indexes the consumers of a single priority by state, so that the consumers in a given state can be found without
+ * moving them between lists as their state changes.
+ * <p>
+ * Each consumer occupies a slot for as long as it is attached.  Slots are grouped into segments of 64, each holding
+ * one bit mask per indexed state.  Slots are only allocated and released in the config thread, whereas the masks are
+ * updated without locking by whichever thread changes a consumer's state: having changed a state (or the occupant
+ * of a slot), the thread re-derives the slot's bits from the state of its occupant, repeating until that state is
+ * unchanged.  The masks therefore always converge on the current states, but may briefly lag them, so iterators
+ * check the state of every consumer they return.
+ * <p>
+ * Iteration starts from a round-robin cursor, which is moved past a consumer whenever it is notified, so that work is
+ * offered to the consumers of a priority in turn.
+ */
+final class QueueConsumerStateIndex
+{
+    private static final int SEGMENT_SIZE = Long.SIZE;
+
+    private final List<Segment> _segments = new CopyOnWriteArrayList<>();
+    private volatile int _cursor;
+
+    // Always in the config thread
+    void add(final QueueConsumerNode node)
+    {
+        Segment segment = null;
+        for (Segment candidate : _segments)
+        {
+            if (candidate._occupied != -1L)
+            {
+                segment = candidate;
+                break;
+            }
+        }
+        if (segment == null)
+        {
+            segment = new Segment(_segments.size() * SEGMENT_SIZE);
+            _segments.add(segment);
+        }
+
+        final int slot = Long.numberOfTrailingZeros(~segment._occupied);
+        segment._occupied |= 1L << slot;
+        node.setIndexPosition(this, segment, slot);
+        segment._nodes.set(slot, node);
+        segment.update(slot);
+    }
+
+    // Always in the config thread
+    void remove(final QueueConsumerNode node)
+    {
+        final Segment segment = node.getIndexSegment();
+        final int slot = node.getIndexSlot();
+        if (segment != null && segment._nodes.compareAndSet(slot, node, null))
+        {
+            segment._occupied &= ~(1L << slot);
+            segment.update(slot);
+        }
+    }
+
+    void stateChanged(final QueueConsumerNode node, final NodeState fromState, final NodeState toState)
+    {
+        final Segment segment = node.getIndexSegment();
+        final int slot = node.getIndexSlot();
+        segment.update(slot);
+        if (fromState == NodeState.INTERESTED && toState == NodeState.NOTIFIED)
+        {
+            _cursor = segment._base + slot + 1;
+        }
+    }
+
+    boolean hasAny(final NodeState state)
+    {
+        for (Segment segment : _segments)
+        {
+            final AtomicLong mask = segment.getMask(state);
+            if (mask != null && mask.get() != 0L)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    Iterator<QueueConsumerNode> iterator(final NodeState state)
+    {
+        return new StateIterator(state);
+    }
+
+    static final class Segment
+    {
+        private final int _base;
+        private final AtomicReferenceArray<QueueConsumerNode> _nodes = new AtomicReferenceArray<>(SEGMENT_SIZE);
+        private final AtomicLong _interested = new AtomicLong();
+        private final AtomicLong _notified = new AtomicLong();
+        private final AtomicLong _nonAcquiring = new AtomicLong();
+        // Always in the config thread
+        private long _occupied;
+
+        private Segment(final int base)
+        {
+            _base = base;
+        }
+
+        private AtomicLong getMask(final NodeState state)
+        {
+            switch (state)
+            {
+                case INTERESTED:
+                    return _interested;
+                case NOTIFIED:
+                    return _notified;
+                case NON_ACQUIRING:
+                    return _nonAcquiring;
+                default:
+                    return null;
+            }
+        }
+
+        private void update(final int slot)
+        {
+            final long bit = 1L << slot;
+            while (true)
+            {
+                final QueueConsumerNode node = _nodes.get(slot);
+                final NodeState state = node == null ? NodeState.REMOVED : node.getState();
+
+                updateBit(_interested, bit, state == NodeState.INTERESTED);
+                updateBit(_notified, bit, state == NodeState.NOTIFIED);
+                updateBit(_nonAcquiring, bit, state == NodeState.NON_ACQUIRING);
+
+                if (_nodes.get(slot) == node && (node == null || node.getState() == state))
+                {
+                    return;
+                }
+            }
+        }
+
+        private static void updateBit(final AtomicLong mask, final long bit, final boolean set)
+        {
+            while (true)
+            {
+                final long current = mask.get();
+                if (((current & bit) != 0L) == set
+                    || mask.compareAndSet(current, set ? current | bit : current & ~bit))
+                {
+                    return;
+                }
+            }
+        }
+    }
+
+    private final class StateIterator implements Iterator<QueueConsumerNode>
+    {
+        private final NodeState _state;
+        private final int _capacity;
+        private int _position;
+        private int _remaining;
+        private QueueConsumerNode _next;
+
+        private StateIterator(final NodeState state)
+        {
+            _state = state;
+            _capacity = _segments.size() * SEGMENT_SIZE;
+            _remaining = _capacity;
+            _position = _capacity == 0 ? 0 : Integer.remainderUnsigned(_cursor, _capacity);
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if (_next == null)
+            {
+                _next = findNext();
+            }
+            return _next != null;
+        }
+
+        @Override
+        public QueueConsumerNode next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            final QueueConsumerNode next = _next;
+            _next = null;
+            return next;
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        private QueueConsumerNode findNext()
+        {
+            while (_remaining > 0)
+            {
+                final Segment segment = _segments.get(_position / SEGMENT_SIZE);
+                final int slot = _position % SEGMENT_SIZE;
+                final int limit = Math.min(SEGMENT_SIZE - slot, _remaining);
+                final long candidates = segment.getMask(_state).get() >>> slot;
+                final int offset = Long.numberOfTrailingZeros(candidates);
+                if (offset < limit)
+                {
+                    advance(offset + 1);
+                    final QueueConsumerNode node = segment._nodes.get(slot + offset);
+                    if (node != null && node.getState() == _state)
+                    {
+                        return node;
+                    }
+                }
+                else
+                {
+                    advance(limit);
+                }
+            }
+            return null;
+        }
+
+        private void advance(final int slots)
+        {
+            _remaining -= slots;
+            _position = (_position + slots) % _capacity;
+        }
+    }
+}
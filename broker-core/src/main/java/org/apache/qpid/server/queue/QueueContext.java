@@ -27,6 +27,7 @@ final class QueueContext
 {
     private volatile QueueEntry _lastSeenEntry;
     private volatile QueueEntry _releasedEntry;
+    private volatile QueueEntry _prefetchedEntry;
 
     static final AtomicReferenceFieldUpdater<QueueContext, QueueEntry>
             _lastSeenUpdater =
@@ -53,6 +54,16 @@ final class QueueContext
         return _releasedEntry;
     }
 
+    QueueEntry getPrefetchedEntry()
+    {
+        return _prefetchedEntry;
+    }
+
+    void setPrefetchedEntry(final QueueEntry prefetchedEntry)
+    {
+        _prefetchedEntry = prefetchedEntry;
+    }
+
     @Override
     public String toString()
     {
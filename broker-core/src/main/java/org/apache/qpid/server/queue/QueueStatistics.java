@@ -23,6 +23,8 @@ package org.apache.qpid.server.queue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.qpid.server.stats.LatencyHistogram;
+
 final class QueueStatistics
 {
     private final AtomicInteger _queueCount = new AtomicInteger();
@@ -57,6 +59,9 @@ final class QueueStatistics
     private final AtomicInteger _malformedCount = new AtomicInteger();
     private final AtomicLong _malformedSize = new AtomicLong();
 
+    private final LatencyHistogram _residenceTime = new LatencyHistogram();
+    private final LatencyHistogram _timeToAck = new LatencyHistogram();
+
     public final int getQueueCount()
     {
         return _queueCount.get();
@@ -167,6 +172,16 @@ final class QueueStatistics
         return _malformedSize.get();
     }
 
+    public LatencyHistogram getResidenceTime()
+    {
+        return _residenceTime;
+    }
+
+    public LatencyHistogram getTimeToAck()
+    {
+        return _timeToAck;
+    }
+
     void addToQueue(long size)
     {
         int count = _queueCount.incrementAndGet();
@@ -258,4 +273,14 @@ final class QueueStatistics
         _malformedCount.incrementAndGet();
         _malformedSize.addAndGet(size);
     }
+
+    void recordResidenceTime(final long residenceTimeNanos)
+    {
+        _residenceTime.record(residenceTimeNanos);
+    }
+
+    void recordTimeToAck(final long deliveryNanoTime)
+    {
+        _timeToAck.recordSince(deliveryNanoTime);
+    }
 }
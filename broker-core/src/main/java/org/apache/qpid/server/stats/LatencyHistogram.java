@@ -0,0 +1,172 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.stats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of latencies recorded into a fixed set of buckets.
+ * <p>
+ * The bucket boundaries are shared by all histograms so that values can be compared (and aggregated) across objects
+ * and exported as Prometheus histograms without re-bucketing. Recording a value costs a binary search over the
+ * boundaries and two atomic increments, making it cheap enough to be done on the message path.
+ */
+public final class LatencyHistogram
+{
+    private static final long[] BUCKET_UPPER_BOUNDS = {
+            TimeUnit.MICROSECONDS.toNanos(10),
+            TimeUnit.MICROSECONDS.toNanos(25),
+            TimeUnit.MICROSECONDS.toNanos(50),
+            TimeUnit.MICROSECONDS.toNanos(100),
+            TimeUnit.MICROSECONDS.toNanos(250),
+            TimeUnit.MICROSECONDS.toNanos(500),
+            TimeUnit.MILLISECONDS.toNanos(1),
+            TimeUnit.MICROSECONDS.toNanos(2500),
+            TimeUnit.MILLISECONDS.toNanos(5),
+            TimeUnit.MILLISECONDS.toNanos(10),
+            TimeUnit.MILLISECONDS.toNanos(25),
+            TimeUnit.MILLISECONDS.toNanos(50),
+            TimeUnit.MILLISECONDS.toNanos(100),
+            TimeUnit.MILLISECONDS.toNanos(250),
+            TimeUnit.MILLISECONDS.toNanos(500),
+            TimeUnit.SECONDS.toNanos(1),
+            TimeUnit.MILLISECONDS.toNanos(2500),
+            TimeUnit.SECONDS.toNanos(5),
+            TimeUnit.SECONDS.toNanos(10),
+            TimeUnit.SECONDS.toNanos(30),
+            TimeUnit.SECONDS.toNanos(60),
+            TimeUnit.SECONDS.toNanos(300)
+    };
+
+    private final AtomicLongArray _bucketCounts = new AtomicLongArray(BUCKET_UPPER_BOUNDS.length + 1);
+    private final AtomicLong _sum = new AtomicLong();
+
+    /**
+     * Returns the inclusive upper bound, in nanoseconds, of each finite bucket. Values greater than the last bound
+     * are counted in an additional overflow bucket.
+     */
+    public static long[] getBucketUpperBounds()
+    {
+        return BUCKET_UPPER_BOUNDS.clone();
+    }
+
+    public void record(final long latencyNanos)
+    {
+        final long value = Math.max(0L, latencyNanos);
+        _bucketCounts.incrementAndGet(bucketIndex(value));
+        _sum.addAndGet(value);
+    }
+
+    public void recordSince(final long startNanoTime)
+    {
+        record(System.nanoTime() - startNanoTime);
+    }
+
+    /**
+     * Returns a snapshot of the (non-cumulative) number of values recorded in each bucket, the last element being the
+     * overflow bucket.
+     */
+    public long[] getBucketCounts()
+    {
+        final long[] counts = new long[_bucketCounts.length()];
+        for (int i = 0; i < counts.length; i++)
+        {
+            counts[i] = _bucketCounts.get(i);
+        }
+        return counts;
+    }
+
+    public long getCount()
+    {
+        long count = 0;
+        for (int i = 0; i < _bucketCounts.length(); i++)
+        {
+            count += _bucketCounts.get(i);
+        }
+        return count;
+    }
+
+    public long getSum()
+    {
+        return _sum.get();
+    }
+
+    public long getMean()
+    {
+        final long count = getCount();
+        return count == 0 ? 0L : getSum() / count;
+    }
+
+    /**
+     * Estimates the value at the given percentile by linear interpolation within the bucket containing it, in the
+     * same way as Prometheus' <code>histogram_quantile</code>. Values falling into the overflow bucket are reported
+     * as the largest finite bucket bound.
+     */
+    public long getValueAtPercentile(final double percentile)
+    {
+        final long[] counts = getBucketCounts();
+        long total = 0;
+        for (final long count : counts)
+        {
+            total += count;
+        }
+        if (total == 0)
+        {
+            return 0L;
+        }
+
+        final double rank = Math.min(100.0, Math.max(0.0, percentile)) / 100.0 * total;
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_UPPER_BOUNDS.length; i++)
+        {
+            final long count = counts[i];
+            if (count > 0 && cumulative + count >= rank)
+            {
+                final long lower = i == 0 ? 0L : BUCKET_UPPER_BOUNDS[i - 1];
+                final long upper = BUCKET_UPPER_BOUNDS[i];
+                return lower + (long) ((upper - lower) * ((rank - cumulative) / count));
+            }
+            cumulative += count;
+        }
+        return BUCKET_UPPER_BOUNDS[BUCKET_UPPER_BOUNDS.length - 1];
+    }
+
+    static int bucketIndex(final long value)
+    {
+        int low = 0;
+        int high = BUCKET_UPPER_BOUNDS.length;
+        while (low < high)
+        {
+            final int mid = (low + high) >>> 1;
+            if (BUCKET_UPPER_BOUNDS[mid] < value)
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
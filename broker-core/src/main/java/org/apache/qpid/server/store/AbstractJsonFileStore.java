@@ -47,6 +47,7 @@ public abstract class AbstractJsonFileStore
     private String _configFileName;
     private String _backupFileName;
     private String _tempFileName;
+    private String _journalFileName;
     private String _lockFileName;
 
     protected AbstractJsonFileStore()
@@ -94,6 +95,7 @@ public abstract class AbstractJsonFileStore
             _configFileName = fileFromSettings.getName();
             _backupFileName = fileFromSettings.getName() + ".bak";
             _tempFileName = fileFromSettings.getName() + ".tmp";
+            _journalFileName = fileFromSettings.getName() + ".journal";
 
             _lockFileName = fileFromSettings.getName() + ".lck";
         }
@@ -103,6 +105,7 @@ public abstract class AbstractJsonFileStore
             _configFileName = name + ".json";
             _backupFileName = name + ".bak";
             _tempFileName = name + ".tmp";
+            _journalFileName = name + ".journal";
 
             _lockFileName = name + ".lck";
         }
@@ -255,6 +258,11 @@ public abstract class AbstractJsonFileStore
         return new File(_directoryName, _configFileName);
     }
 
+    protected File getJournalFile()
+    {
+        return new File(_directoryName, _journalFileName);
+    }
+
     protected void delete(final String storePath)
     {
         if (storePath != null)
@@ -269,6 +277,15 @@ public abstract class AbstractJsonFileStore
             {
                 LOGGER.info("Failed to delete the store at location " + storePath);
             }
+
+            if (_directoryName != null && _journalFileName != null)
+            {
+                File journalFile = getJournalFile();
+                if (journalFile.exists() && !journalFile.delete())
+                {
+                    LOGGER.info("Failed to delete the store journal at location " + journalFile);
+                }
+            }
         }
 
         _configFileName = null;
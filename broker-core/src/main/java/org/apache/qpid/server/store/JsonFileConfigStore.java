@@ -20,9 +20,16 @@
  */
 package org.apache.qpid.server.store;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -50,11 +57,25 @@ import org.apache.qpid.server.model.Model;
 import org.apache.qpid.server.model.SystemConfig;
 import org.apache.qpid.server.plugin.QpidServiceLoader;
 import org.apache.qpid.server.store.handler.ConfiguredObjectRecordHandler;
-
+import org.apache.qpid.server.util.FileHelper;
+
+/**
+ * Stores the configuration as a JSON snapshot of the whole configured object tree.  Unless journalled, the snapshot
+ * is rewritten on every change.  A journalled store instead appends each change to a journal, which is replayed over
+ * the snapshot on recovery.  The snapshot is rewritten, and the journal emptied, once the journal holds as many
+ * entries as the snapshot holds records (or the compaction threshold, if larger), when the store is opened and when
+ * it is closed.
+ */
 public class JsonFileConfigStore extends AbstractJsonFileStore implements DurableConfigurationStore
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(JsonFileConfigStore.class);
 
+    private static final String JOURNAL_OPERATION = "op";
+    private static final String JOURNAL_UPDATE = "update";
+    private static final String JOURNAL_REMOVE = "remove";
+    private static final String JOURNAL_RECORDS = "records";
+    private static final String JOURNAL_IDS = "ids";
+
     private static final Comparator<Class<? extends ConfiguredObject>> CATEGORY_CLASS_COMPARATOR =
             new Comparator<Class<? extends ConfiguredObject>>()
             {
@@ -81,6 +102,7 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
     private final Map<String, List<UUID>> _idsByType = new HashMap<String, List<UUID>>();
     private volatile Class<? extends ConfiguredObject> _rootClass;
     private final ObjectMapper _objectMapper;
+    private final ObjectMapper _journalObjectMapper;
     private volatile Map<String,Class<? extends ConfiguredObject>> _classNameMapping;
 
     private ConfiguredObject<?> _parent;
@@ -89,10 +111,22 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
     private State _state = State.CLOSED;
     private final Object _lock = new Object();
 
+    private final boolean _journalled;
+    private FileChannel _journalChannel;
+    private int _journalEntries;
+    private int _journalCompactionThreshold;
+
     public JsonFileConfigStore(Class<? extends ConfiguredObject> rootClass)
+    {
+        this(rootClass, false);
+    }
+
+    public JsonFileConfigStore(Class<? extends ConfiguredObject> rootClass, boolean journalled)
     {
         super();
+        _journalled = journalled;
         _objectMapper = ConfiguredObjectJacksonModule.newObjectMapper(true).enable(SerializationFeature.INDENT_OUTPUT);
+        _journalObjectMapper = ConfiguredObjectJacksonModule.newObjectMapper(true);
         _rootClass = rootClass;
     }
 
@@ -110,10 +144,20 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
         _classNameMapping = generateClassNameMap(_parent.getModel(), _rootClass);
 
         FileBasedSettings fileBasedSettings = (FileBasedSettings) _parent;
+        final String posixFileAttributes = parent.getContextValue(String.class, SystemConfig.POSIX_FILE_PERMISSIONS);
         setup(parent.getName(),
               fileBasedSettings.getStorePath(),
-              parent.getContextValue(String.class, SystemConfig.POSIX_FILE_PERMISSIONS),
+              posixFileAttributes,
               Collections.emptyMap());
+        final Integer compactionThreshold =
+                parent.getContextValue(Integer.class, SystemConfig.JSON_CONFIG_STORE_JOURNAL_COMPACTION_THRESHOLD);
+        _journalCompactionThreshold = compactionThreshold == null
+                ? SystemConfig.DEFAULT_JSON_CONFIG_STORE_JOURNAL_COMPACTION_THRESHOLD
+                : compactionThreshold;
+        if (_journalled)
+        {
+            openJournal(posixFileAttributes);
+        }
         changeState(State.CLOSED, State.CONFIGURED);
 
     }
@@ -218,9 +262,10 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
                 }
                 idsForType.add(record.getId());
             }
-            if(updated)
+            final boolean journalReplayed = replayJournal();
+            if(updated || journalReplayed)
             {
-                save();
+                compact();
             }
             return updated;
         }
@@ -272,7 +317,7 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
 
             idsForType.add(record.getId());
 
-            save();
+            journalUpdate(Collections.singletonList(record));
         }
     }
 
@@ -406,7 +451,10 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
                 _idsByType.get(record.getType()).remove(record.getId());
             }
         }
-        save();
+        if (!removedIds.isEmpty())
+        {
+            journalRemove(removedIds);
+        }
         return removedIds.toArray(new UUID[removedIds.size()]);
     }
 
@@ -453,9 +501,11 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
                 throw new StoreException("Cannot update record of unknown type " + type);
             }
         }
+        final List<ConfiguredObjectRecord> updatedRecords = new ArrayList<>(records.length);
         for(ConfiguredObjectRecord record : records)
         {
             record = new ConfiguredObjectRecordImpl(record);
+            updatedRecords.add(record);
             final UUID id = record.getId();
             final String type = record.getType();
             if(_objectsById.put(id, record) == null)
@@ -475,7 +525,7 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
             }
         }
 
-        save();
+        journalUpdate(updatedRecords);
     }
 
     @Override
@@ -484,10 +534,24 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
 
         try
         {
-            cleanup();
+            synchronized (this)
+            {
+                if (isOpen() && _journalEntries > 0)
+                {
+                    compact();
+                }
+            }
         }
         finally
         {
+            try
+            {
+                closeJournal();
+            }
+            finally
+            {
+                cleanup();
+            }
             _idsByType.clear();
             _objectsById.clear();
             synchronized (_lock)
@@ -505,6 +569,216 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
         delete(fileBasedSettings.getStorePath());
     }
 
+    private void openJournal(final String posixFileAttributes)
+    {
+        final Path journalPath = getJournalFile().toPath();
+        try
+        {
+            if (!Files.exists(journalPath))
+            {
+                new FileHelper().createNewFile(journalPath, posixFileAttributes);
+            }
+            _journalChannel = FileChannel.open(journalPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            _journalEntries = 0;
+        }
+        catch (IOException e)
+        {
+            throw new StoreException("Cannot open configuration journal " + journalPath, e);
+        }
+    }
+
+    private void closeJournal()
+    {
+        if (_journalChannel != null)
+        {
+            try
+            {
+                _journalChannel.close();
+            }
+            catch (IOException e)
+            {
+                throw new StoreException("Cannot close configuration journal " + getJournalFile(), e);
+            }
+            finally
+            {
+                _journalChannel = null;
+            }
+        }
+    }
+
+    private void journalUpdate(final Collection<ConfiguredObjectRecord> records)
+    {
+        if (_journalChannel == null)
+        {
+            save();
+            return;
+        }
+
+        final List<Map<String, Object>> recordMaps = new ArrayList<>(records.size());
+        for (ConfiguredObjectRecord record : records)
+        {
+            final Map<String, Object> recordMap = new LinkedHashMap<>();
+            recordMap.put("id", record.getId());
+            recordMap.put("type", record.getType());
+            recordMap.put("attributes", record.getAttributes());
+            recordMap.put("parents", record.getParents());
+            recordMaps.add(recordMap);
+        }
+        final Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put(JOURNAL_OPERATION, JOURNAL_UPDATE);
+        entry.put(JOURNAL_RECORDS, recordMaps);
+        journal(entry);
+    }
+
+    private void journalRemove(final Collection<UUID> ids)
+    {
+        if (_journalChannel == null)
+        {
+            save();
+            return;
+        }
+
+        final Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put(JOURNAL_OPERATION, JOURNAL_REMOVE);
+        entry.put(JOURNAL_IDS, ids);
+        journal(entry);
+    }
+
+    private void journal(final Map<String, Object> entry)
+    {
+        try
+        {
+            final ByteBuffer buffer =
+                    ByteBuffer.wrap((_journalObjectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining())
+            {
+                _journalChannel.write(buffer);
+            }
+        }
+        catch (IOException e)
+        {
+            throw new StoreException("Cannot write to configuration journal " + getJournalFile(), e);
+        }
+
+        if (++_journalEntries >= Math.max(_journalCompactionThreshold, _objectsById.size()))
+        {
+            compact();
+        }
+    }
+
+    private void compact()
+    {
+        save();
+        if (_journalChannel != null)
+        {
+            try
+            {
+                _journalChannel.truncate(0L);
+            }
+            catch (IOException e)
+            {
+                throw new StoreException("Cannot truncate configuration journal " + getJournalFile(), e);
+            }
+            _journalEntries = 0;
+        }
+    }
+
+    /**
+     * Replays the journal over the records loaded from the configuration file.
+     *
+     * @return true if the journal held any entry, including an incomplete last one, and so must be compacted
+     */
+    private boolean replayJournal() throws IOException
+    {
+        final File journalFile = getJournalFile();
+        if (!journalFile.exists())
+        {
+            return false;
+        }
+
+        int replayed = 0;
+        IOException incompleteEntryException = null;
+        try (BufferedReader reader = Files.newBufferedReader(journalFile.toPath(), StandardCharsets.UTF_8))
+        {
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                if (line.isEmpty())
+                {
+                    continue;
+                }
+
+                if (incompleteEntryException != null)
+                {
+                    // only the last entry can be cut short by the broker stopping, anything else is corruption
+                    throw new StoreException(String.format("Configuration journal %s has an unreadable entry after "
+                                                           + "%d replayed entries", journalFile, replayed),
+                                             incompleteEntryException);
+                }
+
+                try
+                {
+                    replayJournalEntry(_journalObjectMapper.readValue(line, Map.class));
+                    replayed++;
+                }
+                catch (IOException e)
+                {
+                    incompleteEntryException = e;
+                }
+            }
+
+            if (incompleteEntryException != null)
+            {
+                LOGGER.warn("Ignoring incomplete entry at the end of configuration journal {}", journalFile);
+            }
+        }
+        LOGGER.debug("Replayed {} entries from configuration journal {}", replayed, journalFile);
+        // an incomplete entry has no line terminator, so the journal must be emptied before anything is appended to it
+        return replayed > 0 || incompleteEntryException != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void replayJournalEntry(final Map<String, Object> entry)
+    {
+        final Object operation = entry.get(JOURNAL_OPERATION);
+        if (JOURNAL_UPDATE.equals(operation))
+        {
+            for (Map<String, Object> recordMap : (List<Map<String, Object>>) entry.get(JOURNAL_RECORDS))
+            {
+                final Map<String, UUID> parents = new LinkedHashMap<>();
+                for (Map.Entry<String, String> parent : ((Map<String, String>) recordMap.get("parents")).entrySet())
+                {
+                    parents.put(parent.getKey(), UUID.fromString(parent.getValue()));
+                }
+                final ConfiguredObjectRecord record =
+                        new ConfiguredObjectRecordImpl(UUID.fromString((String) recordMap.get("id")),
+                                                       (String) recordMap.get("type"),
+                                                       (Map<String, Object>) recordMap.get("attributes"),
+                                                       parents);
+                if (_objectsById.put(record.getId(), record) == null)
+                {
+                    _idsByType.computeIfAbsent(record.getType(), type -> new ArrayList<>()).add(record.getId());
+                }
+            }
+        }
+        else if (JOURNAL_REMOVE.equals(operation))
+        {
+            for (String id : (List<String>) entry.get(JOURNAL_IDS))
+            {
+                final ConfiguredObjectRecord record = _objectsById.remove(UUID.fromString(id));
+                if (record != null)
+                {
+                    _idsByType.get(record.getType()).remove(record.getId());
+                }
+            }
+        }
+        else
+        {
+            throw new StoreException("Unknown operation '" + operation + "' in configuration journal "
+                                     + getJournalFile());
+        }
+    }
+
     private static Map<String,Class<? extends ConfiguredObject>> generateClassNameMap(final Model model,
                                                                                       final Class<? extends ConfiguredObject> clazz)
     {
@@ -530,6 +804,14 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
         return _objectMapper;
     }
 
+    private boolean isOpen()
+    {
+        synchronized (_lock)
+        {
+            return _state == State.OPEN;
+        }
+    }
+
     private void assertState(State state)
     {
         synchronized (_lock)
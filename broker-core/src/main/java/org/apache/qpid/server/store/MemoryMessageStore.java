@@ -37,6 +37,7 @@ import com.google.common.util.concurrent.ListenableFuture;
 
 import org.apache.qpid.server.message.EnqueueableMessage;
 import org.apache.qpid.server.model.ConfiguredObject;
+import org.apache.qpid.server.stats.LatencyHistogram;
 import org.apache.qpid.server.store.handler.DistributedTransactionHandler;
 import org.apache.qpid.server.store.handler.MessageHandler;
 import org.apache.qpid.server.store.handler.MessageInstanceHandler;
@@ -54,6 +55,7 @@ public class MemoryMessageStore implements MessageStore
     private final Map<UUID, Set<Long>> _messageInstances = new HashMap<UUID, Set<Long>>();
     private final Map<Xid, DistributedTransactionRecords> _distributedTransactions = new HashMap<Xid, DistributedTransactionRecords>();
     private final AtomicLong _inMemorySize = new AtomicLong();
+    private final LatencyHistogram _commitLatencyHistogram = new LatencyHistogram();
     private final Set<MessageDeleteListener> _messageDeleteListeners = Collections.newSetFromMap(new ConcurrentHashMap<>());
 
 
@@ -106,9 +108,11 @@ public class MemoryMessageStore implements MessageStore
         @Override
         public void commitTran()
         {
+            final long startTime = System.nanoTime();
             commitTransactionInternal(this);
             _localEnqueueMap.clear();
             _localDequeueMap.clear();
+            _commitLatencyHistogram.recordSince(startTime);
         }
 
         @Override
@@ -354,6 +358,18 @@ public class MemoryMessageStore implements MessageStore
         return 0L;
     }
 
+    @Override
+    public long getBytesReloadedIntoMemory()
+    {
+        return 0L;
+    }
+
+    @Override
+    public LatencyHistogram getCommitLatencyHistogram()
+    {
+        return _commitLatencyHistogram;
+    }
+
     @Override
     public Transaction newTransaction()
     {
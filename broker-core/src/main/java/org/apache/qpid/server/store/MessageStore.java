@@ -24,6 +24,7 @@ package org.apache.qpid.server.store;
 import java.io.File;
 
 import org.apache.qpid.server.model.ConfiguredObject;
+import org.apache.qpid.server.stats.LatencyHistogram;
 import org.apache.qpid.server.store.handler.DistributedTransactionHandler;
 import org.apache.qpid.server.store.handler.MessageHandler;
 import org.apache.qpid.server.store.handler.MessageInstanceHandler;
@@ -65,6 +66,18 @@ public interface MessageStore
 
     long getBytesEvacuatedFromMemory();
 
+    /**
+     * Returns the number of bytes of message metadata and content read back into memory after having been
+     * evacuated by flow to disk.
+     */
+    long getBytesReloadedIntoMemory();
+
+    /**
+     * Returns the histogram of the time taken to commit transactions to this store, measured from the commit being
+     * requested until it has completed (for asynchronous commits, until the returned future completes).
+     */
+    LatencyHistogram getCommitLatencyHistogram();
+
     /**
      * Is this store capable of persisting the data
      *
@@ -23,6 +23,7 @@ import java.io.File;
 import java.util.UUID;
 
 import org.apache.qpid.server.model.ConfiguredObject;
+import org.apache.qpid.server.stats.LatencyHistogram;
 import org.apache.qpid.server.store.handler.ConfiguredObjectRecordHandler;
 import org.apache.qpid.server.store.handler.DistributedTransactionHandler;
 import org.apache.qpid.server.store.handler.MessageHandler;
@@ -30,6 +31,7 @@ import org.apache.qpid.server.store.handler.MessageInstanceHandler;
 
 public abstract class NullMessageStore implements MessageStore, DurableConfigurationStore, MessageStoreProvider, MessageStore.MessageStoreReader
 {
+    private final LatencyHistogram _commitLatencyHistogram = new LatencyHistogram();
 
     @Override
     public MessageStore getMessageStore()
@@ -108,6 +110,18 @@ public abstract class NullMessageStore implements MessageStore, DurableConfigura
         return 0L;
     }
 
+    @Override
+    public long getBytesReloadedIntoMemory()
+    {
+        return 0L;
+    }
+
+    @Override
+    public LatencyHistogram getCommitLatencyHistogram()
+    {
+        return _commitLatencyHistogram;
+    }
+
     @Override
     public Transaction newTransaction()
     {
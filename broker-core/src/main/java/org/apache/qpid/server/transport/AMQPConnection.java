@@ -78,6 +78,14 @@ public interface AMQPConnection<C extends AMQPConnection<C>>
 
     void registerTransactedMessageDelivered();
 
+    /**
+     * Records that a message published on this connection has been settled with the publisher (acknowledged,
+     * confirmed or completed, depending on the protocol).
+     *
+     * @param publishTime the {@link System#nanoTime()} at which the message was received
+     */
+    void registerPublishSettled(long publishTime);
+
     void closeSessionAsync(AMQPSession<?,?> session, CloseReason reason, String message);
 
     SocketAddress getRemoteSocketAddress();
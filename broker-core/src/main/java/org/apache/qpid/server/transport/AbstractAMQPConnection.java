@@ -28,6 +28,7 @@ import java.security.AccessController;
 import java.security.Principal;
 import java.security.PrivilegedAction;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -37,6 +38,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import javax.security.auth.Subject;
@@ -71,6 +73,8 @@ import org.apache.qpid.server.model.Transport;
 import org.apache.qpid.server.model.port.AmqpPort;
 import org.apache.qpid.server.security.auth.AuthenticatedPrincipal;
 import org.apache.qpid.server.security.auth.sasl.SaslSettings;
+import org.apache.qpid.server.stats.LatencyHistogram;
+import org.apache.qpid.server.stats.LatencyHistogramProvider;
 import org.apache.qpid.server.stats.StatisticsGatherer;
 import org.apache.qpid.server.store.StoreException;
 import org.apache.qpid.server.transport.network.NetworkConnection;
@@ -88,7 +92,7 @@ import org.apache.qpid.server.virtualhost.QueueManagingVirtualHost;
 
 public abstract class AbstractAMQPConnection<C extends AbstractAMQPConnection<C,T>, T>
         extends AbstractConfiguredObject<C>
-        implements ProtocolEngine, AMQPConnection<C>, EventLoggerProvider, SaslSettings
+        implements ProtocolEngine, AMQPConnection<C>, EventLoggerProvider, SaslSettings, LatencyHistogramProvider
 
 {
     public static final FixedKeyMapCreator PUBLISH_ACTION_MAP_CREATOR = new FixedKeyMapCreator("routingKey", "immediate");
@@ -121,6 +125,7 @@ public abstract class AbstractAMQPConnection<C extends AbstractAMQPConnection<C,
     private final AtomicLong _messagesOut = new AtomicLong();
     private final AtomicLong _transactedMessagesIn = new AtomicLong();
     private final AtomicLong _transactedMessagesOut = new AtomicLong();
+    private final LatencyHistogram _publishToSettleTime = new LatencyHistogram();
     private final AtomicLong _bytesIn = new AtomicLong();
     private final AtomicLong _bytesOut = new AtomicLong();
     private final AtomicLong _localTransactionBegins = new AtomicLong();
@@ -500,6 +505,12 @@ public abstract class AbstractAMQPConnection<C extends AbstractAMQPConnection<C,
         _statisticsGatherer.registerTransactedMessageReceived();
     }
 
+    @Override
+    public void registerPublishSettled(final long publishTime)
+    {
+        _publishToSettleTime.recordSince(publishTime);
+    }
+
     public void setClientProduct(final String clientProduct)
     {
         _clientProduct = clientProduct;
@@ -746,6 +757,24 @@ public abstract class AbstractAMQPConnection<C extends AbstractAMQPConnection<C,
         return _transactedMessagesOut.get();
     }
 
+    @Override
+    public long getMeanPublishToSettleTime()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(_publishToSettleTime.getMean());
+    }
+
+    @Override
+    public long getPublishToSettleTime99thPercentile()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(_publishToSettleTime.getValueAtPercentile(99.0));
+    }
+
+    @Override
+    public Map<String, LatencyHistogram> getLatencyHistograms()
+    {
+        return Collections.singletonMap("publishToSettleTime", _publishToSettleTime);
+    }
+
     public AccessControlContext getAccessControllerContext()
     {
         return _accessControllerContext;
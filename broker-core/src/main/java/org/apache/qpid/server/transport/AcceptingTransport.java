@@ -29,4 +29,29 @@ public interface AcceptingTransport
     int getAcceptingPort();
 
     boolean updatesSSLContext();
+
+    default int getScheduledTimerCount()
+    {
+        return 0;
+    }
+
+    default long getExpiredTimerCount()
+    {
+        return 0L;
+    }
+
+    default long getProcessedConnectionCount()
+    {
+        return 0L;
+    }
+
+    default long getTotalSchedulingDelay()
+    {
+        return 0L;
+    }
+
+    default long getStolenTaskCount()
+    {
+        return 0L;
+    }
 }
@@ -0,0 +1,50 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.transport;
+
+/**
+ * The queue from which the threads of a {@link NetworkConnectionScheduler} take their work: selection tasks, socket
+ * accepts and the processing of connections.
+ */
+interface ConnectionWorkQueue
+{
+    void add(Runnable task);
+
+    /**
+     * Adds the task which will process the given connection.
+     */
+    void add(Runnable task, NonBlockingConnection connection);
+
+    /**
+     * Waits for and removes the next task for the calling pool thread.
+     */
+    Runnable take() throws InterruptedException;
+
+    /**
+     * Called on the pool thread which is about to process the given connection.
+     */
+    void processing(NonBlockingConnection connection);
+
+    /**
+     * @return the number of tasks taken by a pool thread from another thread's share of the work
+     */
+    long getStolenTaskCount();
+}
@@ -28,13 +28,14 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
 
-public class NetworkConnectionScheduler
+public class NetworkConnectionScheduler implements SchedulingDelayNotificationListener
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(NetworkConnectionScheduler.class);
     private final ThreadFactory _factory;
@@ -45,13 +46,25 @@ public class NetworkConnectionScheduler
     private final long _threadKeepAliveTimeout;
     private final String _name;
     private final int _numberOfSelectors;
-    private SelectorThread _selectorThread;
+    private final boolean _workStealing;
+    private final AtomicLong _processedConnectionCount = new AtomicLong();
+    private final AtomicLong _totalSchedulingDelay = new AtomicLong();
+    private volatile SelectorThread _selectorThread;
+    private volatile ConnectionWorkQueue _workQueue;
 
     public NetworkConnectionScheduler(final String name,
                                       final int numberOfSelectors, int threadPoolSize,
                                       long threadKeepAliveTimeout)
     {
-        this(name, numberOfSelectors, threadPoolSize, threadKeepAliveTimeout, new ThreadFactory()
+        this(name, numberOfSelectors, threadPoolSize, threadKeepAliveTimeout, false);
+    }
+
+    public NetworkConnectionScheduler(final String name,
+                                      final int numberOfSelectors, int threadPoolSize,
+                                      long threadKeepAliveTimeout,
+                                      boolean workStealing)
+    {
+        this(name, numberOfSelectors, threadPoolSize, threadKeepAliveTimeout, workStealing, new ThreadFactory()
                                     {
                                         final AtomicInteger _count = new AtomicInteger();
 
@@ -76,6 +89,7 @@ public class NetworkConnectionScheduler
                ", _threadKeepAliveTimeout=" + _threadKeepAliveTimeout +
                ", _name='" + _name + '\'' +
                ", _numberOfSelectors=" + _numberOfSelectors +
+               ", _workStealing=" + _workStealing +
                ", _selectorThread=" + _selectorThread +
                '}';
     }
@@ -84,8 +98,22 @@ public class NetworkConnectionScheduler
                                       final int numberOfSelectors, int threadPoolSize,
                                       long threadKeepAliveTimeout,
                                       ThreadFactory factory)
+    {
+        this(name, numberOfSelectors, threadPoolSize, threadKeepAliveTimeout, false, factory);
+    }
+
+    /**
+     * @param workStealing whether each pool thread has its own deque of connection work, from which the other
+     *                     threads steal when idle, rather than all of the threads sharing a single queue
+     */
+    public NetworkConnectionScheduler(String name,
+                                      final int numberOfSelectors, int threadPoolSize,
+                                      long threadKeepAliveTimeout,
+                                      boolean workStealing,
+                                      ThreadFactory factory)
     {
         _name = name;
+        _workStealing = workStealing;
         _poolSize = threadPoolSize;
         _threadKeepAliveTimeout = threadKeepAliveTimeout;
         _factory = factory;
@@ -98,7 +126,8 @@ public class NetworkConnectionScheduler
     {
         try
         {
-            _selectorThread = new SelectorThread(this, _numberOfSelectors);
+            _workQueue = _workStealing ? new WorkStealingConnectionWorkQueue() : new SharedConnectionWorkQueue();
+            _selectorThread = new SelectorThread(this, _numberOfSelectors, _workQueue);
             final int corePoolSize = _poolSize;
             final int maximumPoolSize = _poolSize;
             final long keepAliveTime = _threadKeepAliveTimeout;
@@ -126,6 +155,7 @@ public class NetworkConnectionScheduler
     void processConnection(final NonBlockingConnection connection)
     {
         Thread.currentThread().setName(connection.getThreadName());
+        _workQueue.processing(connection);
         connection.doPreWork();
         boolean rerun;
         do
@@ -234,4 +264,62 @@ public class NetworkConnectionScheduler
     {
         _selectorThread.addToWork(connection);
     }
+
+    /**
+     * @return the number of connection timers currently held by the timing wheels of the selectors
+     */
+    public int getScheduledTimerCount()
+    {
+        final SelectorThread selectorThread = _selectorThread;
+        return selectorThread == null ? 0 : selectorThread.getScheduledTimerCount();
+    }
+
+    /**
+     * @return the number of connection timers that have expired since the scheduler started
+     */
+    public long getExpiredTimerCount()
+    {
+        final SelectorThread selectorThread = _selectorThread;
+        return selectorThread == null ? 0L : selectorThread.getExpiredTimerCount();
+    }
+
+    /**
+     * Records the delay between a connection being scheduled and a pool thread starting to process it.
+     */
+    @Override
+    public void notifySchedulingDelay(final long schedulingDelay)
+    {
+        _processedConnectionCount.incrementAndGet();
+        _totalSchedulingDelay.addAndGet(schedulingDelay);
+    }
+
+    public boolean isWorkStealing()
+    {
+        return _workStealing;
+    }
+
+    /**
+     * @return the number of times a connection has been taken up for processing by a pool thread
+     */
+    public long getProcessedConnectionCount()
+    {
+        return _processedConnectionCount.get();
+    }
+
+    /**
+     * @return the sum of the delays, in milliseconds, between connections being scheduled and their processing
+     */
+    public long getTotalSchedulingDelay()
+    {
+        return _totalSchedulingDelay.get();
+    }
+
+    /**
+     * @return the number of tasks that pool threads have stolen from the work of other threads
+     */
+    public long getStolenTaskCount()
+    {
+        final ConnectionWorkQueue workQueue = _workQueue;
+        return workQueue == null ? 0L : workQueue.getStolenTaskCount();
+    }
 }
@@ -70,6 +70,7 @@ public class NonBlockingConnection implements ServerNetworkConnection, ByteBuffe
     private volatile boolean _unexpectedByteBufferSizeReported;
     private final String _threadName;
     private volatile SelectorThread.SelectionTask _selectionTask;
+    private volatile WorkStealingConnectionWorkQueue.Worker _lastWorker;
     private volatile Iterator<Runnable> _pendingIterator;
     private final AtomicLong _maxWriteIdleMillis = new AtomicLong();
     private final AtomicLong _maxReadIdleMillis = new AtomicLong();
@@ -242,6 +243,7 @@ public class NonBlockingConnection implements ServerNetworkConnection, ByteBuffe
                     listener.notifySchedulingDelay(schedulingDelay);
                 }
             }
+            getScheduler().notifySchedulingDelay(schedulingDelay);
         }
     }
 
@@ -681,6 +683,16 @@ public class NonBlockingConnection implements ServerNetworkConnection, ByteBuffe
         _selectionTask = selectionTask;
     }
 
+    WorkStealingConnectionWorkQueue.Worker getLastWorker()
+    {
+        return _lastWorker;
+    }
+
+    void setLastWorker(final WorkStealingConnectionWorkQueue.Worker lastWorker)
+    {
+        _lastWorker = lastWorker;
+    }
+
     public void setSelectedHost(final String selectedHost)
     {
         _selectedHost = selectedHost;
@@ -29,16 +29,14 @@ import java.nio.channels.Selector;
 import java.nio.channels.ServerSocketChannel;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -59,12 +57,14 @@ class SelectorThread extends Thread
                                CommonProperties.IO_NETWORK_TRANSPORT_TIMEOUT_DEFAULT);
 
     static final String IO_THREAD_NAME_PREFIX  = "IO-";
+    static final long TIMER_WHEEL_TICK_DURATION = 10L;
+    static final int TIMER_WHEEL_NUMBER_OF_BUCKETS = 512;
     private final Queue<Runnable> _tasks = new ConcurrentLinkedQueue<>();
 
     private final AtomicBoolean _closed = new AtomicBoolean();
     private final NetworkConnectionScheduler _scheduler;
 
-    private final BlockingQueue<Runnable> _workQueue = new LinkedBlockingQueue<>();
+    private final ConnectionWorkQueue _workQueue;
     private final  AtomicInteger _nextSelectorTaskIndex = new AtomicInteger();
 
     public final class SelectionTask implements Runnable
@@ -81,10 +81,28 @@ class SelectorThread extends Thread
          */
         private final Queue<NonBlockingConnection> _unregisteredConnections = new ConcurrentLinkedQueue<>();
 
-        /** Set of connections that are currently being selected upon */
-        private final Set<NonBlockingConnection> _unscheduledConnections = new HashSet<>();
+        /**
+         * Connections that are currently being selected upon, each with its timer for the next tick of the
+         * connection's tickers.
+         */
+        private final Map<NonBlockingConnection, TimerWheel.Timer<NonBlockingConnection>> _unscheduledConnections =
+                new HashMap<>();
+
+        /** Timers of the unscheduled connections, so that only the connections with due ticks need be visited */
+        private final TimerWheel<NonBlockingConnection> _timerWheel =
+                new TimerWheel<>(TIMER_WHEEL_TICK_DURATION, TIMER_WHEEL_NUMBER_OF_BUCKETS, System.currentTimeMillis());
+
+        /** Unscheduled connections which were found to be due when they were added */
+        private final List<NonBlockingConnection> _dueConnections = new ArrayList<>();
 
+        /**
+         * Connections removed from the selector by other threads, whose timers must be dropped by the selecting thread.
+         */
+        private final Queue<NonBlockingConnection> _removedConnections = new ConcurrentLinkedQueue<>();
 
+        private volatile int _scheduledTimerCount;
+        private volatile long _expiredTimerCount;
+        private volatile int _unscheduledConnectionCount;
 
         private SelectionTask() throws IOException
         {
@@ -117,27 +135,87 @@ class SelectorThread extends Thread
             return _unregisteredConnections;
         }
 
-        public Set<NonBlockingConnection> getUnscheduledConnections()
+        int getScheduledTimerCount()
+        {
+            return _scheduledTimerCount;
+        }
+
+        long getExpiredTimerCount()
+        {
+            return _expiredTimerCount;
+        }
+
+        int getUnscheduledConnectionCount()
+        {
+            return _unscheduledConnectionCount;
+        }
+
+        private void addUnscheduledConnection(final NonBlockingConnection connection, final long currentTime)
+        {
+            TimerWheel.Timer<NonBlockingConnection> timer = _unscheduledConnections.get(connection);
+            if (timer == null)
+            {
+                timer = new TimerWheel.Timer<>(connection);
+                _unscheduledConnections.put(connection, timer);
+            }
+
+            final AggregateTicker ticker = connection.getTicker();
+            final int period = ticker.getTimeToNextTick(currentTime);
+            ticker.resetModified();
+
+            if (period <= 0 || connection.isStateChanged())
+            {
+                _timerWheel.cancel(timer);
+                _dueConnections.add(connection);
+            }
+            else if (period == Integer.MAX_VALUE)
+            {
+                _timerWheel.cancel(timer);
+            }
+            else
+            {
+                _timerWheel.schedule(timer, currentTime + period);
+            }
+        }
+
+        private void removeUnscheduledConnection(final NonBlockingConnection connection)
+        {
+            final TimerWheel.Timer<NonBlockingConnection> timer = _unscheduledConnections.remove(connection);
+            if (timer != null)
+            {
+                _timerWheel.cancel(timer);
+            }
+        }
+
+        private void processRemovedConnections()
         {
-            return _unscheduledConnections;
+            NonBlockingConnection removedConnection;
+            while ((removedConnection = _removedConnections.poll()) != null)
+            {
+                removeUnscheduledConnection(removedConnection);
+                _dueConnections.remove(removedConnection);
+            }
         }
 
         private List<NonBlockingConnection> processUnscheduledConnections()
         {
             _nextTimeout = Integer.MAX_VALUE;
-            if (getUnscheduledConnections().isEmpty())
+            if (_unscheduledConnections.isEmpty())
             {
+                updateTimerStatistics();
                 return Collections.emptyList();
             }
 
-            List<NonBlockingConnection> toBeScheduled = new ArrayList<>();
+            final long currentTime = System.currentTimeMillis();
+            final List<NonBlockingConnection> expired = new ArrayList<>(_dueConnections);
+            _dueConnections.clear();
+            _timerWheel.expire(currentTime, expired);
 
-            long currentTime = System.currentTimeMillis();
-            Iterator<NonBlockingConnection> iterator = getUnscheduledConnections().iterator();
-            while (iterator.hasNext())
+            List<NonBlockingConnection> toBeScheduled = expired.isEmpty()
+                    ? Collections.<NonBlockingConnection>emptyList()
+                    : new ArrayList<>(expired.size());
+            for (NonBlockingConnection connection : expired)
             {
-                NonBlockingConnection connection = iterator.next();
-
                 final AggregateTicker ticker = connection.getTicker();
                 int period = ticker.getTimeToNextTick(currentTime);
                 ticker.resetModified();
@@ -154,16 +232,31 @@ class SelectorThread extends Thread
                         LOGGER.debug("Failed to register with selector for connection " + connection +
                                      ". Connection is probably being closed by peer.", e);
                     }
-                    iterator.remove();
+                    _unscheduledConnections.remove(connection);
                 }
-                else
+                else if (period != Integer.MAX_VALUE && _unscheduledConnections.containsKey(connection))
                 {
-                    _nextTimeout = Math.min(period, _nextTimeout);
+                    // the tickers have been pushed back since the timer was set
+                    _timerWheel.schedule(_unscheduledConnections.get(connection), currentTime + period);
                 }
             }
 
-            // QPID-7447: prevent unnecessary allocation of empty iterator
-            return toBeScheduled.isEmpty() ? Collections.<NonBlockingConnection>emptyList() : toBeScheduled;
+            _nextTimeout = (int) Math.min(_timerWheel.getTimeToNextExpiry(currentTime), Integer.MAX_VALUE);
+            if (_nextTimeout == 0)
+            {
+                // a zero timeout would make select() block indefinitely
+                _nextTimeout = 1;
+            }
+            updateTimerStatistics();
+
+            return toBeScheduled;
+        }
+
+        private void updateTimerStatistics()
+        {
+            _unscheduledConnectionCount = _unscheduledConnections.size();
+            _scheduledTimerCount = _timerWheel.getSize();
+            _expiredTimerCount = _timerWheel.getExpiredCount();
         }
 
         private List<NonBlockingConnection> processSelectionKeys()
@@ -250,7 +343,7 @@ class SelectorThread extends Thread
                         }
 
                         toBeScheduled.add(connection);
-                        getUnscheduledConnections().remove(connection);
+                        removeUnscheduledConnection(connection);
                     }
                 }
 
@@ -268,10 +361,11 @@ class SelectorThread extends Thread
             }
             List<NonBlockingConnection> unregisterableConnections = new ArrayList<>();
 
+            final long currentTime = System.currentTimeMillis();
             NonBlockingConnection unregisteredConnection;
             while ((unregisteredConnection = getUnregisteredConnections().poll()) != null)
             {
-                getUnscheduledConnections().add(unregisteredConnection);
+                addUnscheduledConnection(unregisteredConnection, currentTime);
 
 
                 final int ops = (unregisteredConnection.wantsRead() ? SelectionKey.OP_READ : 0)
@@ -342,6 +436,7 @@ class SelectorThread extends Thread
                                         connections.add(new ConnectionProcessor(_scheduler, connection));
                                     }
                                 }
+                                processRemovedConnections();
                                 for (NonBlockingConnection connection : processUnscheduledConnections())
                                 {
                                     if (connection.setScheduled())
@@ -359,7 +454,10 @@ class SelectorThread extends Thread
 
                         if (!connections.isEmpty())
                         {
-                            _workQueue.addAll(connections);
+                            for (ConnectionProcessor connectionProcessor : connections)
+                            {
+                                _workQueue.add(connectionProcessor, connectionProcessor._connection);
+                            }
                             _workQueue.add(this);
                             for (ConnectionProcessor connectionProcessor : connections)
                             {
@@ -412,9 +510,12 @@ class SelectorThread extends Thread
 
     private SelectionTask[] _selectionTasks;
 
-    SelectorThread(final NetworkConnectionScheduler scheduler, final int numberOfSelectors) throws IOException
+    SelectorThread(final NetworkConnectionScheduler scheduler,
+                   final int numberOfSelectors,
+                   final ConnectionWorkQueue workQueue) throws IOException
     {
         _scheduler = scheduler;
+        _workQueue = workQueue;
         _selectionTasks = new SelectionTask[numberOfSelectors];
         for(int i = 0; i < numberOfSelectors; i++)
         {
@@ -579,7 +680,12 @@ class SelectorThread extends Thread
 
     private void unregisterConnection(final NonBlockingConnection connection) throws ClosedChannelException
     {
-        SelectionKey register = connection.getSocketChannel().register(connection.getSelectionTask().getSelector(), 0);
+        final SelectionTask selectionTask = connection.getSelectionTask();
+        // the timer is dropped even if the channel is already closed, otherwise the selection task would hold onto
+        // a connection that has no timer due and is never selected again
+        selectionTask._removedConnections.add(connection);
+        selectionTask.wakeup();
+        SelectionKey register = connection.getSocketChannel().register(selectionTask.getSelector(), 0);
         register.cancel();
     }
 
@@ -644,6 +750,36 @@ class SelectorThread extends Thread
 
     }
 
+    int getScheduledTimerCount()
+    {
+        int count = 0;
+        for (SelectionTask task : _selectionTasks)
+        {
+            count += task.getScheduledTimerCount();
+        }
+        return count;
+    }
+
+    long getExpiredTimerCount()
+    {
+        long count = 0;
+        for (SelectionTask task : _selectionTasks)
+        {
+            count += task.getExpiredTimerCount();
+        }
+        return count;
+    }
+
+    int getUnscheduledConnectionCount()
+    {
+        int count = 0;
+        for (SelectionTask task : _selectionTasks)
+        {
+            count += task.getUnscheduledConnectionCount();
+        }
+        return count;
+    }
+
     private SelectionTask getNextSelectionTask()
     {
         int index;
@@ -693,7 +829,7 @@ class SelectorThread extends Thread
         int count = _scheduler.getPoolSize();
         while(count-- > 0)
         {
-            _workQueue.offer(goodNight);
+            _workQueue.add(goodNight);
         }
 
         for(SelectionTask task : _selectionTasks)
@@ -711,7 +847,7 @@ class SelectorThread extends Thread
          }
          if(connection.setScheduled())
          {
-             _workQueue.add(new ConnectionProcessor(_scheduler, connection));
+             _workQueue.add(new ConnectionProcessor(_scheduler, connection), connection);
          }
      }
 }
@@ -36,7 +36,7 @@ class TCPandSSLTransport implements AcceptingTransport
     private AmqpPort<?> _port;
     private Set<Protocol> _supported;
     private Protocol _defaultSupportedProtocolReply;
-    private NetworkConnectionScheduler _scheduler;
+    private volatile NetworkConnectionScheduler _scheduler;
 
     TCPandSSLTransport(final Set<Transport> transports,
                        final AmqpPort<?> port,
@@ -64,8 +64,12 @@ class TCPandSSLTransport implements AcceptingTransport
 
         long threadPoolKeepAliveTimeout = _port.getContextValue(Long.class, AmqpPort.PORT_AMQP_THREAD_POOL_KEEP_ALIVE_TIMEOUT);
 
+        boolean workStealing =
+                Boolean.TRUE.equals(_port.getContextValue(Boolean.class, AmqpPort.PORT_AMQP_THREAD_POOL_WORK_STEALING));
+
         _scheduler = new NetworkConnectionScheduler("Port-"+_port.getName(), _port.getNumberOfSelectors(),
-                                                    _port.getThreadPoolSize(), threadPoolKeepAliveTimeout);
+                                                    _port.getThreadPoolSize(), threadPoolKeepAliveTimeout,
+                                                    workStealing);
         _scheduler.start();
         _networkTransport = new NonBlockingNetworkTransport(protocolEngineFactory,
                                                             encryptionSet, _scheduler, _port);
@@ -102,6 +106,41 @@ class TCPandSSLTransport implements AcceptingTransport
         return true;
     }
 
+    @Override
+    public int getScheduledTimerCount()
+    {
+        final NetworkConnectionScheduler scheduler = _scheduler;
+        return scheduler == null ? 0 : scheduler.getScheduledTimerCount();
+    }
+
+    @Override
+    public long getExpiredTimerCount()
+    {
+        final NetworkConnectionScheduler scheduler = _scheduler;
+        return scheduler == null ? 0L : scheduler.getExpiredTimerCount();
+    }
+
+    @Override
+    public long getProcessedConnectionCount()
+    {
+        final NetworkConnectionScheduler scheduler = _scheduler;
+        return scheduler == null ? 0L : scheduler.getProcessedConnectionCount();
+    }
+
+    @Override
+    public long getTotalSchedulingDelay()
+    {
+        final NetworkConnectionScheduler scheduler = _scheduler;
+        return scheduler == null ? 0L : scheduler.getTotalSchedulingDelay();
+    }
+
+    @Override
+    public long getStolenTaskCount()
+    {
+        final NetworkConnectionScheduler scheduler = _scheduler;
+        return scheduler == null ? 0L : scheduler.getStolenTaskCount();
+    }
+
     @Override
     public void close()
     {
@@ -0,0 +1,203 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.transport;
+
+import java.util.List;
+
+/**
+ * A hashed timing wheel.  Timers are hashed into buckets by the tick in which they fall due, so that advancing the
+ * wheel only visits the timers in the buckets for the elapsed ticks, rather than every timer.
+ * <p>
+ * A timer never expires before its deadline, but may expire up to one tick after it.
+ * <p>
+ * This class is not thread safe.  Within the selector it is only used by the thread which currently holds the
+ * selecting flag of the owning {@link SelectorThread.SelectionTask}.
+ */
+final class TimerWheel<T>
+{
+    private final long _tickDuration;
+    private final int _mask;
+    private final Timer<T>[] _buckets;
+    private long _currentTick;
+    private int _size;
+    private long _expiredCount;
+
+    @SuppressWarnings("unchecked")
+    TimerWheel(final long tickDuration, final int numberOfBuckets, final long now)
+    {
+        if (tickDuration <= 0)
+        {
+            throw new IllegalArgumentException("Tick duration must be positive: " + tickDuration);
+        }
+        if (numberOfBuckets <= 0 || Integer.bitCount(numberOfBuckets) != 1)
+        {
+            throw new IllegalArgumentException("Number of buckets must be a positive power of two: " + numberOfBuckets);
+        }
+        _tickDuration = tickDuration;
+        _mask = numberOfBuckets - 1;
+        _buckets = (Timer<T>[]) new Timer[numberOfBuckets];
+        _currentTick = now / tickDuration;
+    }
+
+    /**
+     * Schedules the timer to expire at the given time, replacing any deadline it already had.
+     */
+    void schedule(final Timer<T> timer, final long deadline)
+    {
+        cancel(timer);
+
+        // round up so that the timer is not expired before its deadline
+        long tick = (deadline + _tickDuration - 1) / _tickDuration;
+        if (tick <= _currentTick)
+        {
+            tick = _currentTick + 1;
+        }
+        timer._deadline = deadline;
+        timer._tick = tick;
+        timer._bucket = (int) (tick & _mask);
+
+        final Timer<T> head = _buckets[timer._bucket];
+        timer._next = head;
+        if (head != null)
+        {
+            head._previous = timer;
+        }
+        _buckets[timer._bucket] = timer;
+        _size++;
+    }
+
+    void cancel(final Timer<T> timer)
+    {
+        if (timer._bucket < 0)
+        {
+            return;
+        }
+        if (timer._previous == null)
+        {
+            _buckets[timer._bucket] = timer._next;
+        }
+        else
+        {
+            timer._previous._next = timer._next;
+        }
+        if (timer._next != null)
+        {
+            timer._next._previous = timer._previous;
+        }
+        timer._previous = null;
+        timer._next = null;
+        timer._bucket = -1;
+        _size--;
+    }
+
+    /**
+     * Advances the wheel to the given time, removing the timers that have fallen due.
+     *
+     * @param now the current time
+     * @param expired the list to which the owners of the expired timers are added
+     */
+    void expire(final long now, final List<T> expired)
+    {
+        final long nowTick = now / _tickDuration;
+        if (nowTick <= _currentTick)
+        {
+            return;
+        }
+
+        // after a full rotation every bucket has been visited, so there is no point going round again
+        final long ticks = Math.min(nowTick - _currentTick, _buckets.length);
+        for (long i = 1; i <= ticks && _size > 0; i++)
+        {
+            Timer<T> timer = _buckets[(int) ((_currentTick + i) & _mask)];
+            while (timer != null)
+            {
+                final Timer<T> next = timer._next;
+                if (timer._tick <= nowTick)
+                {
+                    cancel(timer);
+                    expired.add(timer._owner);
+                    _expiredCount++;
+                }
+                timer = next;
+            }
+        }
+        _currentTick = nowTick;
+    }
+
+    /**
+     * Returns the time until the next tick in which a timer may fall due.  As the buckets are shared by timers in
+     * different rotations of the wheel, the wheel may find nothing to expire at that time.
+     *
+     * @param now the current time
+     * @return the time in milliseconds, or {@link Long#MAX_VALUE} if there are no timers
+     */
+    long getTimeToNextExpiry(final long now)
+    {
+        if (_size == 0)
+        {
+            return Long.MAX_VALUE;
+        }
+        for (int i = 1; i <= _buckets.length; i++)
+        {
+            final long tick = _currentTick + i;
+            if (_buckets[(int) (tick & _mask)] != null)
+            {
+                return Math.max(0L, tick * _tickDuration - now);
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    int getSize()
+    {
+        return _size;
+    }
+
+    long getExpiredCount()
+    {
+        return _expiredCount;
+    }
+
+    static final class Timer<T>
+    {
+        private final T _owner;
+        private long _deadline;
+        private long _tick;
+        private int _bucket = -1;
+        private Timer<T> _previous;
+        private Timer<T> _next;
+
+        Timer(final T owner)
+        {
+            _owner = owner;
+        }
+
+        boolean isScheduled()
+        {
+            return _bucket >= 0;
+        }
+
+        long getDeadline()
+        {
+            return _deadline;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.transport;
+
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gives each pool thread its own deque of connection work.  The task processing a connection is added to the deque
+ * of the thread which last processed that connection, so that a connection tends to stay on the thread whose caches
+ * already hold its state.  Other tasks, and the tasks of connections not yet processed, are added to a queue shared
+ * by all of the threads.
+ * <p>
+ * A thread takes from its own deque first, then from the shared queue, and then steals from the other end of the
+ * deques of the other threads before parking.  Adding to the deque of a thread unparks that thread, or, if it is
+ * busy, an idle thread which may steal the task, so that affinity never leaves work waiting behind a busy thread.
+ */
+class WorkStealingConnectionWorkQueue implements ConnectionWorkQueue
+{
+    private final Queue<Runnable> _sharedQueue = new ConcurrentLinkedQueue<>();
+    private final List<Worker> _workers = new CopyOnWriteArrayList<>();
+    private final Deque<Worker> _idleWorkers = new ConcurrentLinkedDeque<>();
+    private final ThreadLocal<Worker> _currentWorker = new ThreadLocal<>();
+    private final AtomicLong _stolenTaskCount = new AtomicLong();
+
+    @Override
+    public void add(final Runnable task)
+    {
+        _sharedQueue.add(task);
+        wakeIdleWorker();
+    }
+
+    @Override
+    public void add(final Runnable task, final NonBlockingConnection connection)
+    {
+        final Worker worker = connection.getLastWorker();
+        if (worker != null && worker._queue == this)
+        {
+            worker._deque.addLast(task);
+            if (!worker.wake())
+            {
+                wakeIdleWorker();
+            }
+        }
+        else
+        {
+            add(task);
+        }
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException
+    {
+        final Worker worker = getCurrentWorker();
+        while (true)
+        {
+            Runnable task = poll(worker);
+            if (task != null)
+            {
+                return task;
+            }
+
+            worker._parked.set(true);
+            _idleWorkers.addFirst(worker);
+            task = poll(worker);
+            if (task == null)
+            {
+                while (worker._parked.get())
+                {
+                    LockSupport.park(this);
+                    if (Thread.interrupted())
+                    {
+                        worker._parked.set(false);
+                        _idleWorkers.remove(worker);
+                        throw new InterruptedException();
+                    }
+                }
+            }
+            else
+            {
+                worker._parked.set(false);
+            }
+            _idleWorkers.remove(worker);
+
+            if (task != null)
+            {
+                return task;
+            }
+        }
+    }
+
+    @Override
+    public void processing(final NonBlockingConnection connection)
+    {
+        final Worker worker = _currentWorker.get();
+        if (worker != null)
+        {
+            connection.setLastWorker(worker);
+        }
+    }
+
+    @Override
+    public long getStolenTaskCount()
+    {
+        return _stolenTaskCount.get();
+    }
+
+    private Worker getCurrentWorker()
+    {
+        Worker worker = _currentWorker.get();
+        if (worker == null)
+        {
+            synchronized (_workers)
+            {
+                worker = new Worker(this, Thread.currentThread(), _workers.size());
+                _workers.add(worker);
+            }
+            _currentWorker.set(worker);
+        }
+        return worker;
+    }
+
+    private Runnable poll(final Worker worker)
+    {
+        Runnable task = worker._deque.pollFirst();
+        if (task == null)
+        {
+            task = _sharedQueue.poll();
+        }
+        if (task == null)
+        {
+            task = steal(worker);
+        }
+        return task;
+    }
+
+    private Runnable steal(final Worker thief)
+    {
+        final int numberOfWorkers = _workers.size();
+        for (int i = 1; i < numberOfWorkers; i++)
+        {
+            final Worker victim = _workers.get((thief._index + i) % numberOfWorkers);
+            final Runnable task = victim._deque.pollLast();
+            if (task != null)
+            {
+                _stolenTaskCount.incrementAndGet();
+                return task;
+            }
+        }
+        return null;
+    }
+
+    private void wakeIdleWorker()
+    {
+        Worker worker;
+        while ((worker = _idleWorkers.pollFirst()) != null)
+        {
+            if (worker.wake())
+            {
+                return;
+            }
+        }
+    }
+
+    static final class Worker
+    {
+        private final WorkStealingConnectionWorkQueue _queue;
+        private final Thread _thread;
+        private final int _index;
+        private final Deque<Runnable> _deque = new ConcurrentLinkedDeque<>();
+        private final AtomicBoolean _parked = new AtomicBoolean();
+
+        private Worker(final WorkStealingConnectionWorkQueue queue, final Thread thread, final int index)
+        {
+            _queue = queue;
+            _thread = thread;
+            _index = index;
+        }
+
+        private boolean wake()
+        {
+            if (_parked.compareAndSet(true, false))
+            {
+                LockSupport.unpark(_thread);
+                return true;
+            }
+            return false;
+        }
+    }
+}
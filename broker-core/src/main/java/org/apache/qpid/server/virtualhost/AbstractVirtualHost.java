@@ -20,7 +20,6 @@
  */
 package org.apache.qpid.server.virtualhost;
 
-import static com.google.common.collect.Iterators.cycle;
 import static java.util.Collections.newSetFromMap;
 
 import java.io.BufferedInputStream;
@@ -79,6 +78,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.apache.qpid.server.configuration.IllegalConfigurationException;
+import org.apache.qpid.server.configuration.store.StoreConfigurationChangeListener;
 import org.apache.qpid.server.configuration.updater.Task;
 import org.apache.qpid.server.configuration.updater.TaskExecutor;
 import org.apache.qpid.server.configuration.updater.TaskExecutorImpl;
@@ -91,11 +91,10 @@ import org.apache.qpid.server.logging.messages.VirtualHostMessages;
 import org.apache.qpid.server.logging.subjects.MessageStoreLogSubject;
 import org.apache.qpid.server.message.AMQMessageHeader;
 import org.apache.qpid.server.message.InstanceProperties;
-import org.apache.qpid.server.message.MessageDeletedException;
 import org.apache.qpid.server.message.MessageDestination;
 import org.apache.qpid.server.message.MessageNode;
-import org.apache.qpid.server.message.MessageReference;
 import org.apache.qpid.server.message.MessageSource;
+import org.apache.qpid.server.message.MessageReference;
 import org.apache.qpid.server.message.RoutingResult;
 import org.apache.qpid.server.message.ServerMessage;
 import org.apache.qpid.server.message.internal.InternalMessage;
@@ -105,12 +104,12 @@ import org.apache.qpid.server.model.preferences.Preference;
 import org.apache.qpid.server.model.preferences.UserPreferences;
 import org.apache.qpid.server.model.preferences.UserPreferencesImpl;
 import org.apache.qpid.server.plugin.ConnectionValidator;
+import org.apache.qpid.server.plugin.FlowToDiskEvictionPolicy;
 import org.apache.qpid.server.plugin.QpidServiceLoader;
 import org.apache.qpid.server.plugin.SystemNodeCreator;
 import org.apache.qpid.server.pool.SuppressingInheritedAccessControlContextThreadFactory;
 import org.apache.qpid.server.protocol.LinkModel;
 import org.apache.qpid.server.queue.QueueEntry;
-import org.apache.qpid.server.queue.QueueEntryIterator;
 import org.apache.qpid.server.security.AccessControl;
 import org.apache.qpid.server.security.CompoundAccessControl;
 import org.apache.qpid.server.security.Result;
@@ -119,6 +118,8 @@ import org.apache.qpid.server.security.SubjectFixedResultAccessControl.ResultCal
 import org.apache.qpid.server.security.access.Operation;
 import org.apache.qpid.server.security.auth.AuthenticatedPrincipal;
 import org.apache.qpid.server.security.auth.SocketConnectionMetaData;
+import org.apache.qpid.server.stats.LatencyHistogram;
+import org.apache.qpid.server.stats.LatencyHistogramProvider;
 import org.apache.qpid.server.stats.StatisticsReportingTask;
 import org.apache.qpid.server.store.ConfiguredObjectRecord;
 import org.apache.qpid.server.store.DurableConfigurationStore;
@@ -149,9 +150,11 @@ import org.apache.qpid.server.txn.ServerTransaction;
 import org.apache.qpid.server.util.HousekeepingExecutor;
 import org.apache.qpid.server.util.Strings;
 import org.apache.qpid.server.virtualhost.connection.ConnectionPrincipalStatisticsRegistryImpl;
+import org.apache.qpid.server.virtualhost.flowtodisk.ContentPrefetcher;
+import org.apache.qpid.server.virtualhost.flowtodisk.FlowToDiskEvictionPolicyRegistry;
 
 public abstract class AbstractVirtualHost<X extends AbstractVirtualHost<X>> extends AbstractConfiguredObject<X>
-        implements QueueManagingVirtualHost<X>
+        implements QueueManagingVirtualHost<X>, LatencyHistogramProvider
 {
     private final Collection<ConnectionValidator> _connectionValidators = new ArrayList<>();
 
@@ -174,6 +177,8 @@ public abstract class AbstractVirtualHost<X extends AbstractVirtualHost<X>> exte
     private static final int HOUSEKEEPING_SHUTDOWN_TIMEOUT = 5;
 
     private volatile ScheduledThreadPoolExecutor _houseKeepingTaskExecutor;
+    private volatile ScheduledThreadPoolExecutor _contentPrefetchExecutor;
+    private volatile ContentPrefetcher _contentPrefetcher;
     private volatile ScheduledFuture<?> _statisticsReportingFuture;
 
     private final Broker<?> _broker;
@@ -210,7 +215,7 @@ public abstract class AbstractVirtualHost<X extends AbstractVirtualHost<X>> exte
 
     private final Set<BlockingType> _blockingReasons = Collections.synchronizedSet(EnumSet.noneOf(BlockingType.class));
 
-    private NetworkConnectionScheduler _networkConnectionScheduler;
+    private volatile NetworkConnectionScheduler _networkConnectionScheduler;
 
     private final VirtualHostPrincipal _principal;
 
@@ -283,6 +288,7 @@ public abstract class AbstractVirtualHost<X extends AbstractVirtualHost<X>> exte
     private Collection<VirtualHostLogger> _virtualHostLoggersToClose;
     private PreferenceStore _preferenceStore;
     private long _flowToDiskCheckPeriod;
+    private volatile FlowToDiskEvictionPolicy _flowToDiskEvictionPolicy;
     private volatile boolean _isDiscardGlobalSharedSubscriptionLinksOnDetach;
     private volatile ConnectionPrincipalStatisticsRegistry _connectionPrincipalStatisticsRegistry;
     private volatile HouseKeepingTask _statisticsCheckTask;
@@ -608,6 +614,7 @@ public abstract class AbstractVirtualHost<X extends AbstractVirtualHost<X>> exte
 
         _fileSystemMaxUsagePercent = getContextValue(Integer.class, Broker.STORE_FILESYSTEM_MAX_USAGE_PERCENT);
         _flowToDiskCheckPeriod = getContextValue(Long.class, FLOW_TO_DISK_CHECK_PERIOD);
+        _flowToDiskEvictionPolicy = resolveFlowToDiskEvictionPolicy();
         _isDiscardGlobalSharedSubscriptionLinksOnDetach = getContextValue(Boolean.class, DISCARD_GLOBAL_SHARED_SUBSCRIPTION_LINKS_ON_DETACH);
 
         QpidServiceLoader serviceLoader = new QpidServiceLoader();
@@ -659,6 +666,14 @@ public abstract class AbstractVirtualHost<X extends AbstractVirtualHost<X>> exte
                                                                  getHousekeepingThreadCount(),
                                                                  getSystemTaskSubject("Housekeeping", getPrincipal()));
         }
+        if(_contentPrefetchExecutor == null || _contentPrefetchExecutor.isTerminated())
+        {
+            _contentPrefetchExecutor = new HousekeepingExecutor("virtualhost-" + getName() + "-prefetch",
+                                                                getContextValue(Integer.class, CONTENT_PREFETCH_THREAD_COUNT),
+                                                                getSystemTaskSubject("Prefetch", getPrincipal()));
+            _contentPrefetcher = new ContentPrefetcher(_contentPrefetchExecutor,
+                                                       getContextValue(Long.class, CONTENT_PREFETCH_BUDGET));
+        }
     }
 
     private void checkVHostStateIsActive()
@@ -909,6 +924,58 @@ public abstract class AbstractVirtualHost<X extends AbstractVirtualHost<X>> exte
         }));
     }
 
+    @Override
+    public int bulkConfigure(final List<Map<String, Object>> operations)
+    {
+        return doSync(doOnConfigThread(new Task<ListenableFuture<Integer>, RuntimeException>()
+        {
+            @Override
+            public ListenableFuture<Integer> execute()
+            {
+                final BulkConfigurationChanges changes =
+                        new BulkConfigurationChanges(AbstractVirtualHost.this, operations);
+                changes.authorise((category, attributes, operation, arguments) ->
+                                          authoriseChildOperation((Class) category, attributes, operation, arguments));
+                final ListenableFuture<Void> applied =
+                        StoreConfigurationChangeListener.batchChanges(getDurableConfigurationStore(),
+                                                                      changes::apply,
+                                                                      () -> deleteCreatedChildren(changes));
+                return Futures.transform(applied, input -> changes.size(), MoreExecutors.directExecutor());
+            }
+
+            @Override
+            public String getObject()
+            {
+                return AbstractVirtualHost.this.toString();
+            }
+
+            @Override
+            public String getAction()
+            {
+                return "bulkConfigure";
+            }
+
+            @Override
+            public String getArguments()
+            {
+                return "operations=" + operations.size();
+            }
+        }));
+    }
+
+    private void deleteCreatedChildren(final BulkConfigurationChanges changes)
+    {
+        for (ConfiguredObject<?> child : changes.getCreatedChildren())
+        {
+            if (child.getState() != State.DELETED)
+            {
+                LOGGER.debug("Deleting {} '{}' as the bulk configuration change could not be stored",
+                             child.getCategoryClass().getSimpleName(), child.getName());
+                deleteChildNoChecks(child);
+            }
+        }
+    }
+
     @Override
     public Content exportMessageStore()
     {
@@ -1203,6 +1270,33 @@ public abstract class AbstractVirtualHost<X extends AbstractVirtualHost<X>> exte
 
     private void shutdownHouseKeeping()
     {
+        if(_contentPrefetchExecutor != null)
+        {
+            // let queued prefetches run so that they release their message references, skipping the store reads
+            _contentPrefetcher.close();
+            _contentPrefetcher = null;
+            _contentPrefetchExecutor.shutdown();
+
+            try
+            {
+                if (!_contentPrefetchExecutor.awaitTermination(HOUSEKEEPING_SHUTDOWN_TIMEOUT, TimeUnit.SECONDS))
+                {
+                    LOGGER.warn("Content prefetch did not complete within {} seconds of shutdown",
+                                HOUSEKEEPING_SHUTDOWN_TIMEOUT);
+                    _contentPrefetchExecutor.shutdownNow();
+                }
+            }
+            catch (InterruptedException e)
+            {
+                LOGGER.warn("Interrupted during content prefetch shutdown:", e);
+                Thread.currentThread().interrupt();
+            }
+            finally
+            {
+                _contentPrefetchExecutor = null;
+            }
+        }
+
         if(_houseKeepingTaskExecutor != null)
         {
             _houseKeepingTaskExecutor.shutdown();
@@ -1484,6 +1578,37 @@ public abstract class AbstractVirtualHost<X extends AbstractVirtualHost<X>> exte
         return _messageStore == null ? -1 : _messageStore.getBytesEvacuatedFromMemory();
     }
 
+    @Override
+    public long getBytesReloadedIntoMemory()
+    {
+        return _messageStore == null ? -1 : _messageStore.getBytesReloadedIntoMemory();
+    }
+
+    @Override
+    public long getMeanStoreCommitLatency()
+    {
+        final MessageStore messageStore = _messageStore;
+        return messageStore == null ? -1 : TimeUnit.NANOSECONDS.toMillis(messageStore.getCommitLatencyHistogram().getMean());
+    }
+
+    @Override
+    public long getStoreCommitLatency99thPercentile()
+    {
+        final MessageStore messageStore = _messageStore;
+        return messageStore == null
+                ? -1
+                : TimeUnit.NANOSECONDS.toMillis(messageStore.getCommitLatencyHistogram().getValueAtPercentile(99.0));
+    }
+
+    @Override
+    public Map<String, LatencyHistogram> getLatencyHistograms()
+    {
+        final MessageStore messageStore = _messageStore;
+        return messageStore == null
+                ? Collections.emptyMap()
+                : Collections.singletonMap("storeCommitLatency", messageStore.getCommitLatencyHistogram());
+    }
+
     @Override
     public <T extends ConfiguredObject<?>> T getAttainedChildFromAddress(final Class<T> childClass,
                                                                          final String address)
@@ -1512,6 +1637,32 @@ public abstract class AbstractVirtualHost<X extends AbstractVirtualHost<X>> exte
         return _maximumMessageSize.get();
     }
 
+    private boolean isConnectionThreadPoolWorkStealing()
+    {
+        return Boolean.TRUE.equals(getContextValue(Boolean.class, VIRTUALHOST_CONNECTION_THREAD_POOL_WORK_STEALING));
+    }
+
+    @Override
+    public long getProcessedConnectionCount()
+    {
+        final NetworkConnectionScheduler scheduler = _networkConnectionScheduler;
+        return scheduler == null ? 0L : scheduler.getProcessedConnectionCount();
+    }
+
+    @Override
+    public long getTotalConnectionSchedulingDelay()
+    {
+        final NetworkConnectionScheduler scheduler = _networkConnectionScheduler;
+        return scheduler == null ? 0L : scheduler.getTotalSchedulingDelay();
+    }
+
+    @Override
+    public long getStolenIoTaskCount()
+    {
+        final NetworkConnectionScheduler scheduler = _networkConnectionScheduler;
+        return scheduler == null ? 0L : scheduler.getStolenTaskCount();
+    }
+
     @Override
     public MessageDestination getDefaultDestination()
     {
@@ -1955,6 +2106,19 @@ public abstract class AbstractVirtualHost<X extends AbstractVirtualHost<X>> exte
         return getInMemoryMessageSize() > _targetSize.get();
     }
 
+    @Override
+    public boolean prefetchContent(final MessageReference<?> reference)
+    {
+        final ContentPrefetcher contentPrefetcher = _contentPrefetcher;
+        if (contentPrefetcher == null
+            || getInMemoryMessageSize() + contentPrefetcher.getOutstandingBytes() > _targetSize.get())
+        {
+            reference.release();
+            return false;
+        }
+        return contentPrefetcher.prefetch(reference);
+    }
+
     private static class MessageHeaderImpl implements AMQMessageHeader
     {
         private final String _userName;
@@ -2113,52 +2277,7 @@ public abstract class AbstractVirtualHost<X extends AbstractVirtualHost<X>> exte
         {
             if (isOverTargetSize())
             {
-                long currentTargetSize = _targetSize.get();
-                List<QueueEntryIterator> queueIterators = new ArrayList<>();
-                for (Queue<?> q : getChildren(Queue.class))
-                {
-                    queueIterators.add(q.queueEntryIterator());
-                }
-                Collections.shuffle(queueIterators);
-
-                long cumulativeSize = 0;
-                final Iterator<QueueEntryIterator> cyclicIterators = cycle(queueIterators);
-                while (cyclicIterators.hasNext())
-                {
-                    final QueueEntryIterator queueIterator = cyclicIterators.next();
-                    if (queueIterator.advance())
-                    {
-                        QueueEntry node = queueIterator.getNode();
-                        if (node != null && !node.isDeleted())
-                        {
-                            try (MessageReference messageReference = node.getMessage().newReference())
-                            {
-                                final StoredMessage storedMessage = messageReference.getMessage().getStoredMessage();
-                                final long inMemorySize = storedMessage.getInMemorySize();
-                                if (inMemorySize > 0)
-                                {
-                                    if (cumulativeSize <= currentTargetSize)
-                                    {
-                                        cumulativeSize += inMemorySize;
-                                    }
-
-                                    if (cumulativeSize > currentTargetSize && node.getQueue().checkValid(node))
-                                    {
-                                        storedMessage.flowToDisk();
-                                    }
-                                }
-                            }
-                            catch (MessageDeletedException e)
-                            {
-                                // pass
-                            }
-                        }
-                    }
-                    else
-                    {
-                        cyclicIterators.remove();
-                    }
-                }
+                _flowToDiskEvictionPolicy.evict(getChildren(Queue.class), _targetSize.get());
             }
         }
     }
@@ -2351,6 +2470,22 @@ public abstract class AbstractVirtualHost<X extends AbstractVirtualHost<X>> exte
         return _flowToDiskCheckPeriod;
     }
 
+    private FlowToDiskEvictionPolicy resolveFlowToDiskEvictionPolicy()
+    {
+        final String type = getContextValue(String.class, FLOW_TO_DISK_EVICTION_POLICY);
+        final FlowToDiskEvictionPolicy policy = FlowToDiskEvictionPolicyRegistry.getPolicy(type);
+        if (policy == null)
+        {
+            LOGGER.warn("Unknown flow to disk eviction policy '{}' for virtual host '{}', using '{}'. Known policies: {}",
+                        type,
+                        getName(),
+                        DEFAULT_FLOW_TO_DISK_EVICTION_POLICY,
+                        FlowToDiskEvictionPolicyRegistry.getPolicyTypes());
+            return FlowToDiskEvictionPolicyRegistry.getPolicy(DEFAULT_FLOW_TO_DISK_EVICTION_POLICY);
+        }
+        return policy;
+    }
+
     @Override
     public boolean isDiscardGlobalSharedSubscriptionLinksOnDetach()
     {
@@ -2705,6 +2840,7 @@ public abstract class AbstractVirtualHost<X extends AbstractVirtualHost<X>> exte
                                                                      getNumberOfSelectors(),
                                                                      getConnectionThreadPoolSize(),
                                                                      threadPoolKeepAliveTimeout,
+                                                                     isConnectionThreadPoolWorkStealing(),
                                                                      connectionThreadFactory);
         _networkConnectionScheduler.start();
 
@@ -0,0 +1,407 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.virtualhost;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import org.apache.qpid.server.model.ConfiguredObject;
+import org.apache.qpid.server.model.Exchange;
+import org.apache.qpid.server.model.Queue;
+import org.apache.qpid.server.model.State;
+import org.apache.qpid.server.security.access.Operation;
+
+/**
+ * A batch of changes to the children of a virtual host: creating, updating and deleting children, and creating and
+ * deleting bindings.  The whole batch is validated against the current children, and against the changes earlier
+ * in the batch, when it is constructed, and every change is authorised before any is applied, so that a batch which
+ * cannot be applied fails before any change is made.
+ */
+final class BulkConfigurationChanges
+{
+    static final String ACTION = "action";
+    static final String CATEGORY = "category";
+    static final String NAME = "name";
+    static final String ATTRIBUTES = "attributes";
+    static final String EXCHANGE = "exchange";
+    static final String DESTINATION = "destination";
+    static final String BINDING_KEY = "bindingKey";
+    static final String ARGUMENTS = "arguments";
+    static final String REPLACE_EXISTING_ARGUMENTS = "replaceExistingArguments";
+
+    enum Action
+    {
+        CREATE, UPDATE, DELETE, BIND, UNBIND
+    }
+
+    private final ConfiguredObject<?> _parent;
+    private final List<Change> _changes;
+    private final Map<Class<? extends ConfiguredObject>, Map<String, Change>> _created = new HashMap<>();
+    private final Map<Class<? extends ConfiguredObject>, Set<String>> _deletedNames = new HashMap<>();
+    private final List<ConfiguredObject<?>> _createdChildren = new ArrayList<>();
+
+    BulkConfigurationChanges(final ConfiguredObject<?> parent, final List<Map<String, Object>> operations)
+    {
+        _parent = parent;
+        _changes = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++)
+        {
+            try
+            {
+                _changes.add(validate(operations.get(i)));
+            }
+            catch (IllegalArgumentException e)
+            {
+                throw new IllegalArgumentException(String.format("Operation %d is invalid: %s", i, e.getMessage()), e);
+            }
+        }
+    }
+
+    int size()
+    {
+        return _changes.size();
+    }
+
+    /**
+     * Checks that the current user may make each of the changes in the batch.  A change to a child created earlier
+     * in the batch is authorised against the attributes the child is created with.
+     */
+    void authorise(final ChildAuthoriser childAuthoriser)
+    {
+        for (Change change : _changes)
+        {
+            switch (change._action)
+            {
+                case CREATE:
+                    childAuthoriser.authorise(change._category,
+                                              change._attributes,
+                                              Operation.CREATE,
+                                              Collections.emptyMap());
+                    break;
+                case UPDATE:
+                {
+                    final Object desiredState = change._attributes.get(ConfiguredObject.DESIRED_STATE);
+                    if (State.DELETED.name().equals(String.valueOf(desiredState)))
+                    {
+                        authorise(childAuthoriser, change, Operation.DELETE, Collections.emptyMap());
+                    }
+                    authorise(childAuthoriser, change, Operation.UPDATE, change._attributes);
+                    break;
+                }
+                case DELETE:
+                    authorise(childAuthoriser, change, Operation.DELETE, Collections.emptyMap());
+                    break;
+                case BIND:
+                {
+                    final Map<String, Object> arguments = new LinkedHashMap<>();
+                    arguments.put("destination", change._destination);
+                    arguments.put("bindingKey", change._bindingKey);
+                    arguments.put("arguments", change._attributes);
+                    arguments.put("replaceExistingArguments", change._replaceExistingArguments);
+                    authorise(childAuthoriser, change, Operation.INVOKE_METHOD("bind"), arguments);
+                    break;
+                }
+                case UNBIND:
+                {
+                    final Map<String, Object> arguments = new LinkedHashMap<>();
+                    arguments.put("destination", change._destination);
+                    arguments.put("bindingKey", change._bindingKey);
+                    authorise(childAuthoriser, change, Operation.INVOKE_METHOD("unbind"), arguments);
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("Unexpected action " + change._action);
+            }
+        }
+    }
+
+    /**
+     * Applies the changes in order.  Must be called on the configuration thread of the parent.  Each change is
+     * started once the change before it has completed, so that a change to a child created earlier in the batch
+     * finds the child.  The first change to fail fails the batch, and the changes after it are not made.
+     */
+    ListenableFuture<Void> apply()
+    {
+        ListenableFuture<?> previous = Futures.immediateFuture(null);
+        for (Change change : _changes)
+        {
+            previous = Futures.transformAsync(previous, input -> apply(change), MoreExecutors.directExecutor());
+        }
+        return Futures.transform(previous, input -> null, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Returns the children created by {@link #apply()} so far, most recently created first, so that they can be
+     * removed again if the batch cannot be stored.
+     */
+    List<ConfiguredObject<?>> getCreatedChildren()
+    {
+        final List<ConfiguredObject<?>> createdChildren = new ArrayList<>(_createdChildren);
+        Collections.reverse(createdChildren);
+        return createdChildren;
+    }
+
+    private ListenableFuture<?> apply(final Change change)
+    {
+        switch (change._action)
+        {
+            case CREATE:
+                return Futures.transform(_parent.createChildAsync(change._category, change._attributes),
+                                         child ->
+                                         {
+                                             _createdChildren.add(child);
+                                             return child;
+                                         },
+                                         MoreExecutors.directExecutor());
+            case UPDATE:
+                return getChild(change._category, change._name).setAttributesAsync(change._attributes);
+            case DELETE:
+                return getChild(change._category, change._name).deleteAsync();
+            case BIND:
+                getChild(Exchange.class, change._name).bind(change._destination,
+                                                            change._bindingKey,
+                                                            change._attributes,
+                                                            change._replaceExistingArguments);
+                return Futures.immediateFuture(null);
+            case UNBIND:
+                getChild(Exchange.class, change._name).unbind(change._destination, change._bindingKey);
+                return Futures.immediateFuture(null);
+            default:
+                throw new IllegalStateException("Unexpected action " + change._action);
+        }
+    }
+
+    private void authorise(final ChildAuthoriser childAuthoriser,
+                           final Change change,
+                           final Operation operation,
+                           final Map<String, Object> arguments)
+    {
+        if (change._createdBy == null)
+        {
+            getChild(change._category, change._name).authorise(operation, arguments);
+        }
+        else
+        {
+            childAuthoriser.authorise(change._category, change._createdBy._attributes, operation, arguments);
+        }
+    }
+
+    private <C extends ConfiguredObject> C getChild(final Class<C> category, final String name)
+    {
+        final C child = _parent.getChildByName(category, name);
+        if (child == null)
+        {
+            throw new IllegalStateException(String.format("%s '%s' no longer exists", category.getSimpleName(), name));
+        }
+        return child;
+    }
+
+    private Change validate(final Map<String, Object> operation)
+    {
+        final Action action = getAction(operation);
+        switch (action)
+        {
+            case CREATE:
+            {
+                final Class<? extends ConfiguredObject> category = getCategory(operation);
+                final Map<String, Object> attributes = getMap(operation, ATTRIBUTES, true);
+                final Object name = attributes.get(ConfiguredObject.NAME);
+                if (!(name instanceof String))
+                {
+                    throw new IllegalArgumentException("attribute '" + ConfiguredObject.NAME + "' must be a string");
+                }
+                if (exists(category, (String) name))
+                {
+                    throw new IllegalArgumentException(String.format("%s '%s' already exists",
+                                                                     category.getSimpleName(), name));
+                }
+                final Change change = new Change(action, category, (String) name, attributes);
+                _deletedNames.getOrDefault(category, Collections.emptySet()).remove(name);
+                _created.computeIfAbsent(category, c -> new HashMap<>()).put((String) name, change);
+                return change;
+            }
+            case UPDATE:
+            {
+                final Class<? extends ConfiguredObject> category = getCategory(operation);
+                final String name = getExisting(operation, NAME, category);
+                final Change change = new Change(action, category, name, getMap(operation, ATTRIBUTES, true));
+                change._createdBy = getCreatedBy(category, name);
+                return change;
+            }
+            case DELETE:
+            {
+                final Class<? extends ConfiguredObject> category = getCategory(operation);
+                final String name = getExisting(operation, NAME, category);
+                final Change change = new Change(action, category, name, Collections.emptyMap());
+                change._createdBy = _created.getOrDefault(category, Collections.emptyMap()).remove(name);
+                _deletedNames.computeIfAbsent(category, c -> new HashSet<>()).add(name);
+                return change;
+            }
+            case BIND:
+            case UNBIND:
+            {
+                final String exchange = getExisting(operation, EXCHANGE, Exchange.class);
+                final String destination = getString(operation, DESTINATION);
+                if (!exists(Queue.class, destination) && !exists(Exchange.class, destination))
+                {
+                    throw new IllegalArgumentException(String.format("destination '%s' does not exist", destination));
+                }
+                final Change change = new Change(action, Exchange.class, exchange, getMap(operation, ARGUMENTS, false));
+                change._destination = destination;
+                change._bindingKey = getString(operation, BINDING_KEY);
+                change._replaceExistingArguments =
+                        Boolean.parseBoolean(String.valueOf(operation.get(REPLACE_EXISTING_ARGUMENTS)));
+                change._createdBy = getCreatedBy(Exchange.class, exchange);
+                return change;
+            }
+            default:
+                throw new IllegalStateException("Unexpected action " + action);
+        }
+    }
+
+    private boolean exists(final Class<? extends ConfiguredObject> category, final String name)
+    {
+        if (getCreatedBy(category, name) != null)
+        {
+            return true;
+        }
+        return !_deletedNames.getOrDefault(category, Collections.emptySet()).contains(name)
+               && _parent.getChildByName(category, name) != null;
+    }
+
+    private Change getCreatedBy(final Class<? extends ConfiguredObject> category, final String name)
+    {
+        return _created.getOrDefault(category, Collections.emptyMap()).get(name);
+    }
+
+    private String getExisting(final Map<String, Object> operation,
+                               final String key,
+                               final Class<? extends ConfiguredObject> category)
+    {
+        final String name = getString(operation, key);
+        if (!exists(category, name))
+        {
+            throw new IllegalArgumentException(String.format("%s '%s' does not exist", category.getSimpleName(), name));
+        }
+        return name;
+    }
+
+    private Action getAction(final Map<String, Object> operation)
+    {
+        final String action = getString(operation, ACTION);
+        try
+        {
+            return Action.valueOf(action.toUpperCase(Locale.ENGLISH));
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new IllegalArgumentException("unknown action '" + action + "'");
+        }
+    }
+
+    private Class<? extends ConfiguredObject> getCategory(final Map<String, Object> operation)
+    {
+        final String category = getString(operation, CATEGORY);
+        for (Class<? extends ConfiguredObject> childType : _parent.getModel().getChildTypes(_parent.getCategoryClass()))
+        {
+            if (childType.getSimpleName().equalsIgnoreCase(category))
+            {
+                return childType;
+            }
+        }
+        throw new IllegalArgumentException(String.format("unknown category '%s' for children of %s",
+                                                         category, _parent.getCategoryClass().getSimpleName()));
+    }
+
+    private static String getString(final Map<String, Object> operation, final String key)
+    {
+        final Object value = operation.get(key);
+        if (!(value instanceof String))
+        {
+            throw new IllegalArgumentException("'" + key + "' must be a string");
+        }
+        return (String) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> getMap(final Map<String, Object> operation,
+                                              final String key,
+                                              final boolean mandatory)
+    {
+        final Object value = operation.get(key);
+        if (value == null && !mandatory)
+        {
+            return Collections.emptyMap();
+        }
+        if (!(value instanceof Map))
+        {
+            throw new IllegalArgumentException("'" + key + "' must be a map");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    /**
+     * Authorises an operation on a child which does not exist yet, against the attributes it is to be created with.
+     */
+    @FunctionalInterface
+    interface ChildAuthoriser
+    {
+        void authorise(Class<? extends ConfiguredObject> category,
+                       Map<String, Object> attributes,
+                       Operation operation,
+                       Map<String, Object> arguments);
+    }
+
+    private static final class Change
+    {
+        private final Action _action;
+        private final Class<? extends ConfiguredObject> _category;
+        private final String _name;
+        private final Map<String, Object> _attributes;
+        private String _destination;
+        private String _bindingKey;
+        private boolean _replaceExistingArguments;
+        /** The creation earlier in the batch of the child this change applies to, if any */
+        private Change _createdBy;
+
+        private Change(final Action action,
+                       final Class<? extends ConfiguredObject> category,
+                       final String name,
+                       final Map<String, Object> attributes)
+        {
+            _action = action;
+            _category = category;
+            _name = name;
+            _attributes = attributes;
+        }
+    }
+}
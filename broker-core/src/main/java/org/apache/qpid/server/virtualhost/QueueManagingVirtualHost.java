@@ -31,6 +31,7 @@ import com.google.common.util.concurrent.ListenableFuture;
 
 import org.apache.qpid.server.logging.EventLoggerProvider;
 import org.apache.qpid.server.message.MessageDestination;
+import org.apache.qpid.server.message.MessageReference;
 import org.apache.qpid.server.model.Broker;
 import org.apache.qpid.server.model.ConfiguredObject;
 import org.apache.qpid.server.model.Connection;
@@ -52,6 +53,7 @@ import org.apache.qpid.server.stats.StatisticsGatherer;
 import org.apache.qpid.server.store.DurableConfigurationStore;
 import org.apache.qpid.server.store.EventListener;
 import org.apache.qpid.server.store.preferences.UserPreferencesCreator;
+import org.apache.qpid.server.virtualhost.flowtodisk.ConsumerDistanceFlowToDiskEvictionPolicy;
 
 public interface QueueManagingVirtualHost<X extends QueueManagingVirtualHost<X>> extends VirtualHost<X>,
                                                                                          EventListener,
@@ -82,6 +84,26 @@ public interface QueueManagingVirtualHost<X extends QueueManagingVirtualHost<X>>
     @ManagedContextDefault(name = FLOW_TO_DISK_CHECK_PERIOD)
     long DEFAULT_FLOW_TO_DISK_CHECK_PERIOD = 30000L;
 
+    String FLOW_TO_DISK_EVICTION_POLICY = "virtualhost.flowToDiskEvictionPolicy";
+    @ManagedContextDefault(name = FLOW_TO_DISK_EVICTION_POLICY,
+            description = "The policy which chooses the messages to flow to disk when the in-memory size of messages"
+                          + " is over the target size: 'ConsumerDistance' keeps the heads of queues with consumers in"
+                          + " memory ahead of idle queues, 'RoundRobin' shares memory equally between the heads of"
+                          + " all queues")
+    String DEFAULT_FLOW_TO_DISK_EVICTION_POLICY = ConsumerDistanceFlowToDiskEvictionPolicy.TYPE;
+
+    String CONTENT_PREFETCH_BUDGET = "virtualhost.contentPrefetchBudget";
+    @ManagedContextDefault(name = CONTENT_PREFETCH_BUDGET,
+            description = "The maximum number of bytes of flowed to disk messages which may be being read back into"
+                          + " memory ahead of their consumers at any one time")
+    long DEFAULT_CONTENT_PREFETCH_BUDGET = 16L * 1024L * 1024L;
+
+    String CONTENT_PREFETCH_THREAD_COUNT = "virtualhost.contentPrefetchThreadCount";
+    @ManagedContextDefault(name = CONTENT_PREFETCH_THREAD_COUNT,
+            description = "The number of threads which read flowed to disk messages back into memory ahead of their"
+                          + " consumers")
+    int DEFAULT_CONTENT_PREFETCH_THREAD_COUNT = 1;
+
     String CONNECTION_THREAD_POOL_KEEP_ALIVE_TIMEOUT = "connectionThreadPoolKeepAliveTimeout";
     @SuppressWarnings("unused")
     @ManagedContextDefault(name = QueueManagingVirtualHost.CONNECTION_THREAD_POOL_KEEP_ALIVE_TIMEOUT)
@@ -169,6 +191,13 @@ public interface QueueManagingVirtualHost<X extends QueueManagingVirtualHost<X>>
     @ManagedContextDefault( name = VIRTUALHOST_CONNECTION_THREAD_POOL_NUMBER_OF_SELECTORS)
     long DEFAULT_VIRTUALHOST_CONNECTION_THREAD_POOL_NUMBER_OF_SELECTORS = Math.max(DEFAULT_VIRTUALHOST_CONNECTION_THREAD_POOL_SIZE/8, 1);
 
+    String VIRTUALHOST_CONNECTION_THREAD_POOL_WORK_STEALING = "virtualhost.connectionThreadPool.workStealing";
+    @SuppressWarnings("unused")
+    @ManagedContextDefault( name = VIRTUALHOST_CONNECTION_THREAD_POOL_WORK_STEALING,
+            description = "Whether each thread of the connection thread pool has its own queue of connection work,"
+                          + " from which idle threads steal, rather than all of the threads sharing a single queue")
+    boolean DEFAULT_VIRTUALHOST_CONNECTION_THREAD_POOL_WORK_STEALING = false;
+
     String NAMED_CACHE_MAXIMUM_SIZE = "virtualhost.namedCache.maximumSize";
     @SuppressWarnings("unused")
     @ManagedContextDefault(name = NAMED_CACHE_MAXIMUM_SIZE, description = "Maximum number of entries within the named cached")
@@ -285,6 +314,23 @@ public interface QueueManagingVirtualHost<X extends QueueManagingVirtualHost<X>>
                       description = "Total Number of Bytes Evacuated from Memory Due to Flow to Disk.")
     long getBytesEvacuatedFromMemory();
 
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.BYTES, label = "Reloaded Message Bytes",
+                      description = "Total Number of Bytes Read Back into Memory after being Evacuated Due to Flow to Disk.")
+    long getBytesReloadedIntoMemory();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.TIME_DURATION, label = "Mean Store Commit Latency",
+                      description = "Mean time taken to commit a transaction to the message store.",
+                      metricName = "store_commit_latency_mean_milliseconds")
+    long getMeanStoreCommitLatency();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.TIME_DURATION, label = "Store Commit Latency (99th percentile)",
+                      description = "Estimated 99th percentile of the time taken to commit a transaction to the message store.",
+                      metricName = "store_commit_latency_99th_percentile_milliseconds")
+    long getStoreCommitLatency99thPercentile();
+
     @SuppressWarnings("unused")
     @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME,
             units = StatisticUnit.BYTES,
@@ -292,6 +338,28 @@ public interface QueueManagingVirtualHost<X extends QueueManagingVirtualHost<X>>
             description = "Maximum size of message published into the Virtual Host since start-up.", metricName = "inbound_message_size_high_water_mark")
     long getInboundMessageSizeHighWatermark();
 
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.COUNT,
+            label = "Processed Connections",
+            description = "Total number of times a connection has been taken up for processing by the connection"
+                          + " thread pool since the Virtual Host was activated.",
+            metricName = "processed_connections_count")
+    long getProcessedConnectionCount();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.TIME_DURATION,
+            label = "Connection Scheduling Delay",
+            description = "Total time in milliseconds that connections have waited between being scheduled and being"
+                          + " processed by the connection thread pool since the Virtual Host was activated.",
+            metricName = "connection_scheduling_delay_milliseconds_sum")
+    long getTotalConnectionSchedulingDelay();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.COUNT,
+            label = "Stolen IO Tasks",
+            description = "Total number of tasks that threads of the connection thread pool have stolen from the work"
+                          + " of other threads since the Virtual Host was activated. Always zero unless work stealing"
+                          + " is enabled.",
+            metricName = "stolen_io_tasks_count")
+    long getStolenIoTaskCount();
+
     @Override
     @ManagedOperation(nonModifying = true, changesConfiguredObjectState = false)
     Collection<? extends Connection<?>> getConnections();
@@ -325,6 +393,19 @@ public interface QueueManagingVirtualHost<X extends QueueManagingVirtualHost<X>>
             changesConfiguredObjectState = false)
     void importMessageStore(@Param(name="source", description = "Extract file", mandatory = true)String source);
 
+    @ManagedOperation(description = "Applies a batch of changes to the children and bindings of this virtual host."
+                                    + " The whole batch is validated before any change is made, and the changes"
+                                    + " to the configuration store are written together once all have been made."
+                                    + " Returns the number of changes applied.",
+            changesConfiguredObjectState = true)
+    int bulkConfigure(@Param(name = "operations", mandatory = true,
+            description = "The changes, in order. Each is a map with an 'action' of 'create', 'update' or 'delete'"
+                          + " together with a 'category' (e.g. 'Queue') and, for 'create' and 'update', the"
+                          + " 'attributes' (including the name) or, for 'delete', the 'name'; or an 'action' of"
+                          + " 'bind' or 'unbind' together with the 'exchange', 'destination' and 'bindingKey' and,"
+                          + " for 'bind', optionally the 'arguments' and 'replaceExistingArguments'.")
+                      List<Map<String, Object>> operations);
+
     @ManagedOperation(nonModifying = true,
             description = "Returns metadata concerning the current connection",
             changesConfiguredObjectState = false,
@@ -377,6 +458,14 @@ public interface QueueManagingVirtualHost<X extends QueueManagingVirtualHost<X>>
 
     boolean isOverTargetSize();
 
+    /**
+     * Schedules the content of the referenced message, if it has been flowed to disk, to be read back into memory
+     * in the background.  Takes ownership of the reference.
+     *
+     * @return false if no more content can be prefetched for now, true otherwise
+     */
+    boolean prefetchContent(MessageReference<?> reference);
+
     interface Transaction
     {
         void dequeue(QueueEntry entry);
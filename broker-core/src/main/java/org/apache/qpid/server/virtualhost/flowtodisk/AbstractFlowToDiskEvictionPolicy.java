@@ -0,0 +1,113 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.virtualhost.flowtodisk;
+
+import static com.google.common.collect.Iterators.cycle;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.qpid.server.message.MessageDeletedException;
+import org.apache.qpid.server.message.MessageReference;
+import org.apache.qpid.server.model.Queue;
+import org.apache.qpid.server.plugin.FlowToDiskEvictionPolicy;
+import org.apache.qpid.server.queue.QueueEntry;
+import org.apache.qpid.server.queue.QueueEntryIterator;
+import org.apache.qpid.server.store.StoredMessage;
+
+/**
+ * Base for policies which walk queues from their heads, keeping messages in memory until the target size is reached
+ * and flowing every message beyond that point to disk.  Policies differ in the order in which the queues share the
+ * target size.
+ */
+public abstract class AbstractFlowToDiskEvictionPolicy implements FlowToDiskEvictionPolicy
+{
+    /**
+     * Walks the queues one entry from each in turn.
+     *
+     * @param residentSize the in-memory size already kept by earlier walks
+     * @return the in-memory size kept, including that kept by earlier walks
+     */
+    protected long evictRoundRobin(final Collection<? extends Queue> queues,
+                                   final long residentSize,
+                                   final long targetSize)
+    {
+        final List<QueueEntryIterator> queueIterators = new ArrayList<>();
+        for (Queue<?> queue : queues)
+        {
+            queueIterators.add(queue.queueEntryIterator());
+        }
+
+        long cumulativeSize = residentSize;
+        final Iterator<QueueEntryIterator> cyclicIterators = cycle(queueIterators);
+        while (cyclicIterators.hasNext())
+        {
+            final QueueEntryIterator queueIterator = cyclicIterators.next();
+            if (queueIterator.advance())
+            {
+                cumulativeSize = retainOrEvict(queueIterator.getNode(), cumulativeSize, targetSize);
+            }
+            else
+            {
+                cyclicIterators.remove();
+            }
+        }
+        return cumulativeSize;
+    }
+
+    /**
+     * Counts the in-memory size of the message of the entry towards the kept size, or flows the message to disk if
+     * the kept size has already passed the target.
+     *
+     * @return the in-memory size kept
+     */
+    protected long retainOrEvict(final QueueEntry node, final long residentSize, final long targetSize)
+    {
+        long cumulativeSize = residentSize;
+        if (node != null && !node.isDeleted())
+        {
+            try (MessageReference messageReference = node.getMessage().newReference())
+            {
+                final StoredMessage storedMessage = messageReference.getMessage().getStoredMessage();
+                final long inMemorySize = storedMessage.getInMemorySize();
+                if (inMemorySize > 0)
+                {
+                    if (cumulativeSize <= targetSize)
+                    {
+                        cumulativeSize += inMemorySize;
+                    }
+
+                    if (cumulativeSize > targetSize && node.getQueue().checkValid(node))
+                    {
+                        storedMessage.flowToDisk();
+                    }
+                }
+            }
+            catch (MessageDeletedException e)
+            {
+                // pass
+            }
+        }
+        return cumulativeSize;
+    }
+}
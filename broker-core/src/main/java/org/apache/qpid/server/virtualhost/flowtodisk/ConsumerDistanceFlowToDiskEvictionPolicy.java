@@ -0,0 +1,70 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.virtualhost.flowtodisk;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.qpid.server.model.Queue;
+import org.apache.qpid.server.plugin.PluggableService;
+
+/**
+ * Keeps in memory the messages which consumers will reach soonest.  The heads of the queues which have consumers
+ * share the target size first, and the queues without consumers only get what is left over, so idle backlogs are
+ * flowed to disk before the messages that are about to be delivered.  Within each queue, messages are flowed from
+ * the tail.
+ */
+@PluggableService
+public class ConsumerDistanceFlowToDiskEvictionPolicy extends AbstractFlowToDiskEvictionPolicy
+{
+    public static final String TYPE = "ConsumerDistance";
+
+    @Override
+    public String getType()
+    {
+        return TYPE;
+    }
+
+    @Override
+    public void evict(final Collection<? extends Queue> queues, final long targetSize)
+    {
+        final List<Queue> consumed = new ArrayList<>();
+        final List<Queue> idle = new ArrayList<>();
+        for (Queue<?> queue : queues)
+        {
+            if (queue.getConsumerCount() > 0)
+            {
+                consumed.add(queue);
+            }
+            else
+            {
+                idle.add(queue);
+            }
+        }
+        Collections.shuffle(consumed);
+        Collections.shuffle(idle);
+
+        final long residentSize = evictRoundRobin(consumed, 0L, targetSize);
+        evictRoundRobin(idle, residentSize, targetSize);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.virtualhost.flowtodisk;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.message.MessageReference;
+import org.apache.qpid.server.store.StoredMessage;
+
+/**
+ * Reads the content of messages which have been flowed to disk back into memory on a store I/O executor, ahead of
+ * the consumers which are about to be sent them, so that the delivery itself does not have to wait on the store.
+ * The bytes being read at any one time are bounded by a budget.
+ */
+public class ContentPrefetcher
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContentPrefetcher.class);
+
+    private final Executor _executor;
+    private final long _budget;
+    private final AtomicLong _outstandingBytes = new AtomicLong();
+    private final Set<Long> _inFlight = ConcurrentHashMap.newKeySet();
+    private volatile boolean _closed;
+
+    public ContentPrefetcher(final Executor executor, final long budget)
+    {
+        _executor = executor;
+        _budget = budget;
+    }
+
+    /**
+     * Schedules the content of the referenced message to be read into memory.  The prefetcher takes ownership of
+     * the reference, releasing it once the read is complete or if the read cannot be scheduled.
+     *
+     * @return false if the budget is exhausted or the prefetcher or its executor has been shut down, true otherwise
+     */
+    public boolean prefetch(final MessageReference<?> reference)
+    {
+        if (_closed)
+        {
+            reference.release();
+            return false;
+        }
+
+        final StoredMessage<?> storedMessage = reference.getMessage().getStoredMessage();
+        final long messageNumber = storedMessage.getMessageNumber();
+        if (storedMessage.isInContentInMemory() || !_inFlight.add(messageNumber))
+        {
+            reference.release();
+            return true;
+        }
+
+        final long size = (long) storedMessage.getContentSize() + (long) storedMessage.getMetadataSize();
+        if (!reserve(size))
+        {
+            _inFlight.remove(messageNumber);
+            reference.release();
+            return false;
+        }
+
+        try
+        {
+            _executor.execute(() -> load(reference, size));
+            return true;
+        }
+        catch (RejectedExecutionException e)
+        {
+            complete(messageNumber, size);
+            reference.release();
+            return false;
+        }
+    }
+
+    /**
+     * Stops further prefetching.  Reads which are already scheduled but have not yet started are skipped when the
+     * executor runs them, releasing their references without touching the store, so the executor may be shut down
+     * gracefully.
+     */
+    public void close()
+    {
+        _closed = true;
+    }
+
+    public long getOutstandingBytes()
+    {
+        return _outstandingBytes.get();
+    }
+
+    private boolean reserve(final long size)
+    {
+        long outstanding;
+        do
+        {
+            outstanding = _outstandingBytes.get();
+            if (outstanding != 0L && outstanding + size > _budget)
+            {
+                return false;
+            }
+        }
+        while (!_outstandingBytes.compareAndSet(outstanding, outstanding + size));
+        return true;
+    }
+
+    private void load(final MessageReference<?> reference, final long size)
+    {
+        final StoredMessage<?> storedMessage = reference.getMessage().getStoredMessage();
+        try
+        {
+            if (_closed)
+            {
+                return;
+            }
+            storedMessage.getMetaData();
+            try (QpidByteBuffer content = storedMessage.getContent(0, Integer.MAX_VALUE))
+            {
+                LOGGER.debug("Prefetched {} bytes of content for message {}",
+                             content.remaining(), storedMessage.getMessageNumber());
+            }
+        }
+        catch (RuntimeException e)
+        {
+            LOGGER.debug("Failed to prefetch content for message {}, it will be read on delivery",
+                         storedMessage.getMessageNumber(), e);
+        }
+        finally
+        {
+            complete(storedMessage.getMessageNumber(), size);
+            reference.release();
+        }
+    }
+
+    private void complete(final long messageNumber, final long size)
+    {
+        _outstandingBytes.addAndGet(-size);
+        _inFlight.remove(messageNumber);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.virtualhost.flowtodisk;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.qpid.server.plugin.FlowToDiskEvictionPolicy;
+import org.apache.qpid.server.plugin.QpidServiceLoader;
+
+public class FlowToDiskEvictionPolicyRegistry
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(FlowToDiskEvictionPolicyRegistry.class);
+
+    private static final Map<String, FlowToDiskEvictionPolicy> _policies;
+
+    static
+    {
+        final Map<String, FlowToDiskEvictionPolicy> policies = new HashMap<>();
+        for (FlowToDiskEvictionPolicy policy : new QpidServiceLoader().instancesOf(FlowToDiskEvictionPolicy.class))
+        {
+            final FlowToDiskEvictionPolicy existing = policies.put(policy.getType(), policy);
+            if (existing != null)
+            {
+                LOGGER.warn("Flow to disk eviction policy {} of type '{}' replaced by {}.",
+                            existing.getClass().getName(),
+                            existing.getType(),
+                            policy.getClass().getName());
+            }
+        }
+        _policies = Collections.unmodifiableMap(policies);
+    }
+
+    /**
+     * @return the policy of the given type, or null if there is no such policy
+     */
+    public static FlowToDiskEvictionPolicy getPolicy(String type)
+    {
+        return type == null ? null : _policies.get(type);
+    }
+
+    public static Set<String> getPolicyTypes()
+    {
+        return _policies.keySet();
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.virtualhost.flowtodisk;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.qpid.server.model.Queue;
+import org.apache.qpid.server.plugin.PluggableService;
+
+/**
+ * Shares the target size equally between the heads of all the queues, visited in a random order.
+ */
+@PluggableService
+public class RoundRobinFlowToDiskEvictionPolicy extends AbstractFlowToDiskEvictionPolicy
+{
+    public static final String TYPE = "RoundRobin";
+
+    @Override
+    public String getType()
+    {
+        return TYPE;
+    }
+
+    @Override
+    public void evict(final Collection<? extends Queue> queues, final long targetSize)
+    {
+        final List<Queue> shuffled = new ArrayList<>(queues);
+        Collections.shuffle(shuffled);
+        evictRoundRobin(shuffled, 0L, targetSize);
+    }
+}
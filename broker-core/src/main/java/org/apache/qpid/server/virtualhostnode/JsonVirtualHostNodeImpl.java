@@ -54,7 +54,7 @@ public class JsonVirtualHostNodeImpl extends AbstractStandardVirtualHostNode<Jso
     @Override
     protected DurableConfigurationStore createConfigurationStore()
     {
-        return new JsonFileConfigStore(VirtualHost.class);
+        return new JsonFileConfigStore(VirtualHost.class, true);
     }
 
     @Override
@@ -0,0 +1,195 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.compression;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+
+import com.google.common.io.ByteStreams;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class DeflateMessageCompressionCodecTest extends UnitTestBase
+{
+    private static final byte[] DICTIONARY =
+            "{\"orderId\":\"\",\"customer\":{\"name\":\"\",\"address\":\"\"},\"items\":[]}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    @Before
+    public void setUp()
+    {
+        QpidByteBuffer.deinitialisePool();
+        QpidByteBuffer.initialisePool(1024, 100, 0.5);
+    }
+
+    @After
+    public void tearDown()
+    {
+        QpidByteBuffer.deinitialisePool();
+    }
+
+    @Test
+    public void testRoundTripDirect() throws Exception
+    {
+        final DeflateMessageCompressionCodec codec = new DeflateMessageCompressionCodec(Deflater.BEST_SPEED, null);
+        final byte[] payload = createPayload(20000);
+
+        try (QpidByteBuffer uncompressed = QpidByteBuffer.allocateDirect(payload.length))
+        {
+            uncompressed.put(payload);
+            uncompressed.flip();
+
+            try (QpidByteBuffer compressed = codec.compress(uncompressed))
+            {
+                assertTrue("Compressed content not direct", compressed.isDirect());
+                assertTrue("Content not compressed", compressed.remaining() < payload.length);
+                assertEquals("Source buffer consumed", payload.length, uncompressed.remaining());
+
+                try (QpidByteBuffer decompressed = codec.decompress(compressed))
+                {
+                    assertArrayEquals(payload, toArray(decompressed));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRoundTripHeap() throws Exception
+    {
+        final DeflateMessageCompressionCodec codec = new DeflateMessageCompressionCodec(Deflater.BEST_SPEED, null);
+        final byte[] payload = createPayload(3000);
+
+        try (QpidByteBuffer uncompressed = QpidByteBuffer.wrap(payload);
+             QpidByteBuffer compressed = codec.compress(uncompressed);
+             QpidByteBuffer decompressed = codec.decompress(compressed))
+        {
+            assertArrayEquals(payload, toArray(decompressed));
+        }
+    }
+
+    @Test
+    public void testPresetDictionary() throws Exception
+    {
+        final DeflateMessageCompressionCodec codec = new DeflateMessageCompressionCodec(Deflater.BEST_SPEED, DICTIONARY);
+        final DeflateMessageCompressionCodec codecWithoutDictionary =
+                new DeflateMessageCompressionCodec(Deflater.BEST_SPEED, null);
+        final byte[] payload = createPayload(1);
+
+        try (QpidByteBuffer uncompressed = QpidByteBuffer.wrap(payload);
+             QpidByteBuffer compressed = codec.compress(uncompressed);
+             QpidByteBuffer compressedWithoutDictionary = codecWithoutDictionary.compress(uncompressed))
+        {
+            assertTrue("Dictionary did not improve compression",
+                       compressed.remaining() < compressedWithoutDictionary.remaining());
+
+            try (QpidByteBuffer decompressed = codec.decompress(compressed))
+            {
+                assertArrayEquals(payload, toArray(decompressed));
+            }
+
+            try
+            {
+                codecWithoutDictionary.decompress(compressed);
+                fail("Exception not thrown");
+            }
+            catch (IOException e)
+            {
+                // pass
+            }
+        }
+    }
+
+    @Test
+    public void testStreams() throws Exception
+    {
+        final DeflateMessageCompressionCodec codec = new DeflateMessageCompressionCodec(Deflater.BEST_SPEED, DICTIONARY);
+        final byte[] payload = createPayload(100);
+
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream outputStream = codec.compressingStream(compressed))
+        {
+            outputStream.write(payload);
+        }
+
+        try (QpidByteBuffer compressedBuffer = QpidByteBuffer.wrap(compressed.toByteArray());
+             QpidByteBuffer decompressed = codec.decompress(compressedBuffer))
+        {
+            assertArrayEquals(payload, toArray(decompressed));
+        }
+
+        try (InputStream inputStream = codec.decompressingStream(new ByteArrayInputStream(compressed.toByteArray())))
+        {
+            assertArrayEquals(payload, ByteStreams.toByteArray(inputStream));
+        }
+    }
+
+    @Test
+    public void testDecompressingInvalidData()
+    {
+        final DeflateMessageCompressionCodec codec = new DeflateMessageCompressionCodec(Deflater.BEST_SPEED, null);
+        try (QpidByteBuffer buffer = QpidByteBuffer.wrap("not_a_compressed_stream".getBytes(StandardCharsets.UTF_8)))
+        {
+            codec.decompress(buffer);
+            fail("Exception not thrown");
+        }
+        catch (IOException e)
+        {
+            // pass
+        }
+    }
+
+    private byte[] createPayload(final int numberOfOrders)
+    {
+        final StringBuilder payload = new StringBuilder("[");
+        for (int i = 0; i < numberOfOrders; i++)
+        {
+            if (i > 0)
+            {
+                payload.append(',');
+            }
+            payload.append("{\"orderId\":\"").append(i)
+                   .append("\",\"customer\":{\"name\":\"customer").append(i % 17)
+                   .append("\",\"address\":\"").append(i % 5).append(" High Street\"},\"items\":[]}");
+        }
+        return payload.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] toArray(final QpidByteBuffer buffer)
+    {
+        final byte[] data = new byte[buffer.remaining()];
+        buffer.get(data);
+        return data;
+    }
+}
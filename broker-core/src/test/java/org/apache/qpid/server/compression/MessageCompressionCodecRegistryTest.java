@@ -0,0 +1,102 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.compression;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.plugin.MessageCompressionCodec;
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class MessageCompressionCodecRegistryTest extends UnitTestBase
+{
+    @Before
+    public void setUp()
+    {
+        QpidByteBuffer.deinitialisePool();
+        QpidByteBuffer.initialisePool(1024, 100, 0.5);
+    }
+
+    @After
+    public void tearDown()
+    {
+        QpidByteBuffer.deinitialisePool();
+    }
+
+    @Test
+    public void testGetCodec()
+    {
+        assertTrue(MessageCompressionCodecRegistry.getCodec("gzip") instanceof GzipMessageCompressionCodec);
+        assertTrue(MessageCompressionCodecRegistry.getCodec(DeflateMessageCompressionCodec.TYPE)
+                           instanceof DeflateMessageCompressionCodec);
+        assertNull(MessageCompressionCodecRegistry.getCodec("deflate"));
+        assertNull(MessageCompressionCodecRegistry.getCodec("identity"));
+        assertNull(MessageCompressionCodecRegistry.getCodec(null));
+        assertTrue(MessageCompressionCodecRegistry.getSupportedContentEncodings().containsAll(Arrays.asList("gzip",
+                                                                                                          DeflateMessageCompressionCodec.TYPE)));
+    }
+
+    @Test
+    public void testAcceptedCodecs()
+    {
+        final MessageCompressionCodec gzip = MessageCompressionCodecRegistry.getCodec("gzip");
+        final MessageCompressionCodec deflate = MessageCompressionCodecRegistry.getCodec(DeflateMessageCompressionCodec.TYPE);
+
+        assertEquals(Collections.emptyList(), MessageCompressionCodecRegistry.getAcceptedCodecs(null, "gzip"));
+        assertEquals(Collections.emptyList(), MessageCompressionCodecRegistry.getAcceptedCodecs("false", "gzip"));
+        assertEquals(Collections.singletonList(gzip), MessageCompressionCodecRegistry.getAcceptedCodecs("true", null));
+        assertEquals(Arrays.asList(deflate, gzip),
+                     MessageCompressionCodecRegistry.getAcceptedCodecs(Boolean.TRUE, DeflateMessageCompressionCodec.TYPE + ", unknown,gzip"));
+
+        final List<String> encodings = Arrays.asList("unknown", "gzip");
+        assertEquals(Collections.singletonList(gzip), MessageCompressionCodecRegistry.getAcceptedCodecs("true",
+                                                                                                         encodings));
+    }
+
+    @Test
+    public void testUncompressToArray() throws Exception
+    {
+        final byte[] payload = "payload".getBytes(StandardCharsets.UTF_8);
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream outputStream = new GZIPOutputStream(compressed))
+        {
+            outputStream.write(payload);
+        }
+
+        assertArrayEquals(payload, MessageCompressionCodecRegistry.uncompressToArray("gzip", compressed.toByteArray()));
+        assertNull(MessageCompressionCodecRegistry.uncompressToArray("identity", payload));
+        assertNull(MessageCompressionCodecRegistry.uncompressToArray("gzip", payload));
+    }
+}
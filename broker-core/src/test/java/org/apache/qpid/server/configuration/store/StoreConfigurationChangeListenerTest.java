@@ -23,6 +23,7 @@ package org.apache.qpid.server.configuration.store;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -30,6 +31,7 @@ import static org.mockito.Mockito.when;
 import java.util.Collections;
 import java.util.UUID;
 
+import com.google.common.util.concurrent.Futures;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -102,6 +104,40 @@ public class StoreConfigurationChangeListenerTest extends UnitTestBase
         verify(_store).update(eq(false), eq(record));
     }
 
+    @Test
+    public void testBatchedChangesAreHeldBackUntilActionReturns() throws Exception
+    {
+        notifyBrokerStarted();
+        final ConfiguredObject<?> batched = createDurableObject();
+        final ConfiguredObjectRecord batchedRecord = batched.asObjectRecord();
+        final ConfiguredObject<?> otherThread = createDurableObject();
+        final ConfiguredObjectRecord otherThreadRecord = otherThread.asObjectRecord();
+
+        StoreConfigurationChangeListener.batchChanges(_store, () ->
+        {
+            _listener.attributeSet(batched, ConfiguredObject.DESCRIPTION, null, "batched");
+            verify(_store, never()).update(eq(false), eq(batchedRecord));
+
+            final Thread thread = new Thread(() -> _listener.attributeSet(otherThread,
+                                                                          ConfiguredObject.DESCRIPTION,
+                                                                          null,
+                                                                          "other thread"));
+            thread.start();
+            try
+            {
+                thread.join();
+            }
+            catch (InterruptedException e)
+            {
+                throw new RuntimeException(e);
+            }
+            verify(_store).update(eq(false), eq(otherThreadRecord));
+            return Futures.immediateFuture(null);
+        }).get();
+
+        verify(_store).update(eq(true), eq(batchedRecord));
+    }
+
     @Test
     public void testChildAddedWhereParentManagesChildStorage()
     {
@@ -114,6 +150,16 @@ public class StoreConfigurationChangeListenerTest extends UnitTestBase
         verifyNoMoreInteractions(_store);
     }
 
+    private ConfiguredObject<?> createDurableObject()
+    {
+        final ConfiguredObject<?> object = mock(VirtualHost.class);
+        when(object.isDurable()).thenReturn(true);
+        final ConfiguredObjectRecord record = mock(ConfiguredObjectRecord.class);
+        when(record.getId()).thenReturn(UUID.randomUUID());
+        when(object.asObjectRecord()).thenReturn(record);
+        return object;
+    }
+
     private void notifyBrokerStarted()
     {
         Broker broker = mock(Broker.class);
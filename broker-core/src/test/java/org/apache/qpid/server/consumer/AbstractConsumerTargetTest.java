@@ -25,6 +25,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -33,6 +34,10 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InOrder;
@@ -234,6 +239,56 @@ public class AbstractConsumerTargetTest extends UnitTestBase
         verify(_messageInstance, never()).routeToAlternate(any(Action.class), any(ServerTransaction.class), any());
     }
 
+    @Test
+    public void testSendNextMessageSendsBatch() throws Exception
+    {
+        when(_connection.getContextValue(eq(Integer.class), eq(Consumer.MAX_DELIVERY_BATCH_SIZE))).thenReturn(3);
+        _consumerTarget = new TestAbstractConsumerTarget();
+        _consumerTarget.consumerAdded(_consumer);
+        _consumerTarget.setFailSend(false);
+        doReturn(_connection).when(_session).getAMQPConnection();
+
+        final MessageReference reference = mock(MessageReference.class);
+        final MessageInstance instance1 = mock(MessageInstance.class);
+        final MessageInstance instance2 = mock(MessageInstance.class);
+        when(_consumer.pullMessages(3)).thenReturn(Arrays.asList(new MessageContainer(instance1, reference),
+                                                                 new MessageContainer(instance2, reference)));
+
+        assertTrue("Expected messages to be sent", _consumerTarget.sendNextMessage());
+        assertEquals("Unexpected batch flags", Arrays.asList(true, false), _consumerTarget.getSentBatchFlags());
+        verify(reference, times(2)).release();
+        verify(_consumer, never()).pullMessage();
+    }
+
+    @Test
+    public void testSendNextMessageReleasesUnsentMessagesOfBatch() throws Exception
+    {
+        when(_connection.getContextValue(eq(Integer.class), eq(Consumer.MAX_DELIVERY_BATCH_SIZE))).thenReturn(3);
+        _consumerTarget = new TestAbstractConsumerTarget();
+        _consumerTarget.consumerAdded(_consumer);
+        configureBehaviour(true, MessageSource.MessageConversionExceptionHandlingPolicy.CLOSE);
+
+        final MessageReference unsentReference = mock(MessageReference.class);
+        final MessageInstance unsentInstance = mock(MessageInstance.class);
+        when(_consumer.pullMessages(3)).thenReturn(Arrays.asList(new MessageContainer(_messageInstance,
+                                                                                      mock(MessageReference.class)),
+                                                                 new MessageContainer(unsentInstance,
+                                                                                      unsentReference)));
+        try
+        {
+            _consumerTarget.sendNextMessage();
+            fail("exception not thrown");
+        }
+        catch (ConnectionScopedRuntimeException e)
+        {
+            // pass
+        }
+
+        verify(unsentInstance).release(_consumer);
+        verify(unsentReference).release();
+        assertEquals("Unexpected number of sends", 1, _consumerTarget.getSentBatchFlags().size());
+    }
+
     private void configureBehaviour(final boolean acquires,
                                     final MessageSource.MessageConversionExceptionHandlingPolicy exceptionHandlingPolicy)
     {
@@ -244,6 +299,8 @@ public class AbstractConsumerTargetTest extends UnitTestBase
     private class TestAbstractConsumerTarget extends AbstractConsumerTarget<TestAbstractConsumerTarget>
     {
         private boolean _creditRestored;
+        private boolean _failSend = true;
+        private final List<Boolean> _sentBatchFlags = new ArrayList<>();
 
         TestAbstractConsumerTarget()
         {
@@ -253,7 +310,21 @@ public class AbstractConsumerTargetTest extends UnitTestBase
         @Override
         protected void doSend(final MessageInstanceConsumer consumer, final MessageInstance entry, final boolean batch)
         {
-            throw new MessageConversionException("testException");
+            _sentBatchFlags.add(batch);
+            if (_failSend)
+            {
+                throw new MessageConversionException("testException");
+            }
+        }
+
+        void setFailSend(final boolean failSend)
+        {
+            _failSend = failSend;
+        }
+
+        List<Boolean> getSentBatchFlags()
+        {
+            return _sentBatchFlags;
         }
 
         @Override
@@ -0,0 +1,99 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ *
+ */
+package org.apache.qpid.server.logging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class LogMessageFormatTest extends UnitTestBase
+{
+    private static final String HIERARCHY = "qpid.message.test.open";
+
+    @Test
+    public void testOptionalSections()
+    {
+        final LogMessageFormat format =
+                new LogMessageFormat(HIERARCHY, "TST-1001 : Open : {0}[ : SSL][ : Client ID : {1}]", 2, true, Locale.US);
+
+        assertEquals("TST-1001 : Open : a", format.createMessage(0, "a", "b").toString());
+        assertEquals("TST-1001 : Open : a : SSL", format.createMessage(1, "a", "b").toString());
+        assertEquals("TST-1001 : Open : a : Client ID : b", format.createMessage(2, "a", "b").toString());
+        assertEquals("TST-1001 : Open : a : SSL : Client ID : b", format.createMessage(3, "a", "b").toString());
+        assertEquals(HIERARCHY, format.createMessage(0, "a", "b").getLogHierarchy());
+    }
+
+    @Test
+    public void testNumberFormatting()
+    {
+        final LogMessageFormat format =
+                new LogMessageFormat(HIERARCHY, "TST-1002 : {0,number} bytes", 0, true, Locale.US);
+
+        assertEquals("TST-1002 : 12,345 bytes", format.createMessage(0, 12345).toString());
+    }
+
+    @Test
+    public void testPatternWithoutParametersNotFormatted()
+    {
+        final LogMessageFormat format = new LogMessageFormat(HIERARCHY, "TST-1003 : Can't open", 0, false, Locale.US);
+
+        assertEquals("TST-1003 : Can't open", format.createMessage(0).toString());
+    }
+
+    @Test
+    public void testFormattingDeferredUntilRendered()
+    {
+        final AtomicInteger renderCount = new AtomicInteger();
+        final Object argument = new Object()
+        {
+            @Override
+            public String toString()
+            {
+                renderCount.incrementAndGet();
+                return "arg";
+            }
+        };
+        final LogMessageFormat format = new LogMessageFormat(HIERARCHY, "TST-1004 : {0}", 0, true, Locale.US);
+
+        final LogMessage message = format.createMessage(0, argument);
+        assertEquals("Message formatted before rendering", 0, renderCount.get());
+
+        assertEquals("TST-1004 : arg", message.toString());
+        assertEquals("TST-1004 : arg", message.toString());
+        assertEquals("Message not formatted once", 1, renderCount.get());
+    }
+
+    @Test
+    public void testEquality()
+    {
+        final LogMessageFormat format = new LogMessageFormat(HIERARCHY, "TST-1005 : {0}", 0, true, Locale.US);
+
+        assertEquals(format.createMessage(0, "a"), format.createMessage(0, "a"));
+        assertEquals(format.createMessage(0, "a").hashCode(), format.createMessage(0, "a").hashCode());
+        assertNotEquals(format.createMessage(0, "a"), format.createMessage(0, "b"));
+    }
+}
@@ -222,6 +222,13 @@ public class BrokerTestHelper
                                  testBase);
     }
 
+    public static QueueManagingVirtualHost<?> createVirtualHost(String name,
+                                                                AccessControl accessControl,
+                                                                final UnitTestBase testBase) throws Exception
+    {
+        return createVirtualHost(name, createBrokerMock(createAccessControlMock()), false, accessControl, testBase);
+    }
+
     public static QueueManagingVirtualHost<?> createVirtualHost(String name,
                                                                 Broker<?> broker,
                                                                 boolean defaultVHN,
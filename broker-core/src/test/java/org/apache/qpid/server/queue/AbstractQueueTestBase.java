@@ -66,6 +66,7 @@ import org.apache.qpid.server.exchange.DirectExchangeImpl;
 import org.apache.qpid.server.exchange.ExchangeDefaults;
 import org.apache.qpid.server.message.AMQMessageHeader;
 import org.apache.qpid.server.message.InstanceProperties;
+import org.apache.qpid.server.message.MessageContainer;
 import org.apache.qpid.server.message.MessageInstance;
 import org.apache.qpid.server.message.MessageInstanceConsumer;
 import org.apache.qpid.server.message.MessageReference;
@@ -81,6 +82,7 @@ import org.apache.qpid.server.model.OverflowPolicy;
 import org.apache.qpid.server.model.Queue;
 import org.apache.qpid.server.model.QueueNotificationListener;
 import org.apache.qpid.server.queue.AbstractQueue.QueueEntryFilter;
+import org.apache.qpid.server.stats.LatencyHistogram;
 import org.apache.qpid.server.store.MessageEnqueueRecord;
 import org.apache.qpid.server.store.StoredMessage;
 import org.apache.qpid.server.store.TransactionLogResource;
@@ -224,6 +226,46 @@ abstract class AbstractQueueTestBase extends UnitTestBase
                           _consumer.getQueueContext().getReleasedEntry());
     }
 
+    @Test
+    public void testDequeueLatenciesRecorded() throws Exception
+    {
+        ServerMessage messageA = createMessage(new Long(24));
+        _queue.enqueue(messageA, null, null);
+        _consumer = (QueueConsumer<?,?>) _queue.addConsumer(_consumerTarget, null, messageA.getClass(), "test",
+                                                          EnumSet.of(ConsumerOption.ACQUIRES,
+                                                                     ConsumerOption.SEES_REQUEUES), 0);
+        while(_consumerTarget.processPending());
+
+        final QueueEntry entry = _consumer.getQueueContext().getLastSeenEntry();
+        assertTrue("Entry should have been delivered", entry.isAcquiredBy(_consumer));
+        entry.delete();
+
+        final Map<String, LatencyHistogram> histograms = ((AbstractQueue<?>) _queue).getLatencyHistograms();
+        assertEquals("Unexpected residence time count", 1L, histograms.get("residenceTime").getCount());
+        assertEquals("Unexpected time to ack count", 1L, histograms.get("timeToAck").getCount());
+    }
+
+    @Test
+    public void testTimeToAckNotRecordedForReleasedMessage() throws Exception
+    {
+        ServerMessage messageA = createMessage(new Long(24));
+        _queue.enqueue(messageA, null, null);
+        _consumer = (QueueConsumer<?,?>) _queue.addConsumer(_consumerTarget, null, messageA.getClass(), "test",
+                                                          EnumSet.of(ConsumerOption.ACQUIRES,
+                                                                     ConsumerOption.SEES_REQUEUES), 0);
+        while(_consumerTarget.processPending());
+
+        final QueueEntry entry = _consumer.getQueueContext().getLastSeenEntry();
+        assertTrue("Entry should have been delivered", entry.isAcquiredBy(_consumer));
+        entry.release();
+        assertTrue("Entry should have been acquired", entry.acquire());
+        entry.delete();
+
+        final Map<String, LatencyHistogram> histograms = ((AbstractQueue<?>) _queue).getLatencyHistograms();
+        assertEquals("Unexpected residence time count", 1L, histograms.get("residenceTime").getCount());
+        assertEquals("Unexpected time to ack count", 0L, histograms.get("timeToAck").getCount());
+    }
+
     /**
      * Tests enqueuing two messages.
      */
@@ -243,6 +285,33 @@ abstract class AbstractQueueTestBase extends UnitTestBase
                           _consumer.getQueueContext().getReleasedEntry());
     }
 
+    @Test
+    public void testPullMessagesAcquiresBatch() throws Exception
+    {
+        ServerMessage messageA = createMessage(new Long(24));
+        ServerMessage messageB = createMessage(new Long(25));
+        ServerMessage messageC = createMessage(new Long(26));
+        _queue.enqueue(messageA, null, null);
+        _queue.enqueue(messageB, null, null);
+        _queue.enqueue(messageC, null, null);
+        _consumer = (QueueConsumer<?,?>) _queue.addConsumer(_consumerTarget, null, messageA.getClass(), "test",
+                                                          EnumSet.of(ConsumerOption.ACQUIRES,
+                                                                     ConsumerOption.SEES_REQUEUES), 0);
+
+        List<MessageContainer> batch = _consumer.pullMessages(2);
+        assertEquals("Unexpected batch size", (long) 2, (long) batch.size());
+        assertEquals(messageA, batch.get(0).getMessageInstance().getMessage());
+        assertEquals(messageB, batch.get(1).getMessageInstance().getMessage());
+        assertTrue("Message not acquired", batch.get(0).getMessageInstance().isAcquiredBy(_consumer));
+        assertTrue("Message not acquired", batch.get(1).getMessageInstance().isAcquiredBy(_consumer));
+
+        batch = _consumer.pullMessages(2);
+        assertEquals("Unexpected batch size", (long) 1, (long) batch.size());
+        assertEquals(messageC, batch.get(0).getMessageInstance().getMessage());
+
+        assertTrue("Expected no further messages", _consumer.pullMessages(2).isEmpty());
+    }
+
     @Test
     public void testMessageHeldIfNotYetValidWhenConsumerAdded() throws Exception
     {
@@ -0,0 +1,191 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.qpid.server.consumer.ConsumerOption;
+import org.apache.qpid.server.consumer.TestConsumerTarget;
+import org.apache.qpid.server.message.AMQMessageHeader;
+import org.apache.qpid.server.message.MessageContainer;
+import org.apache.qpid.server.message.MessageInstance;
+import org.apache.qpid.server.message.MessageReference;
+import org.apache.qpid.server.message.ServerMessage;
+import org.apache.qpid.server.model.BrokerTestHelper;
+import org.apache.qpid.server.model.Queue;
+import org.apache.qpid.server.store.StoredMessage;
+import org.apache.qpid.server.store.TransactionLogResource;
+import org.apache.qpid.server.virtualhost.QueueManagingVirtualHost;
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class DefinedGroupMessageGroupManagerTest extends UnitTestBase
+{
+    private QueueManagingVirtualHost<?> _virtualHost;
+    private Queue<?> _queue;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        BrokerTestHelper.setUp();
+        _virtualHost = BrokerTestHelper.createVirtualHost(getClass().getName(), this);
+
+        final Map<String, Object> attributes = new HashMap<>();
+        attributes.put(Queue.NAME, getTestName());
+        attributes.put(Queue.MESSAGE_GROUP_TYPE, MessageGroupType.SHARED_GROUPS);
+        _queue = _virtualHost.createChild(Queue.class, attributes);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        try
+        {
+            _queue.close();
+            _virtualHost.close();
+        }
+        finally
+        {
+            BrokerTestHelper.tearDown();
+        }
+    }
+
+    @Test
+    public void testGroupsAreDeliveredToAssignedConsumer() throws Exception
+    {
+        final ServerMessage messageA1 = createMessage(1L, "A");
+        final ServerMessage messageB1 = createMessage(2L, "B");
+        final ServerMessage messageA2 = createMessage(3L, "A");
+        final ServerMessage messageB2 = createMessage(4L, "B");
+        enqueue(messageA1, messageB1, messageA2, messageB2);
+
+        final QueueConsumer<?, ?> consumer1 = addConsumer(messageA1);
+        final QueueConsumer<?, ?> consumer2 = addConsumer(messageA1);
+
+        assertMessages(consumer1.pullMessages(1), messageA1);
+        assertMessages(consumer2.pullMessages(4), messageB1, messageB2);
+        assertMessages(consumer1.pullMessages(4), messageA2);
+    }
+
+    @Test
+    public void testSkippedMessagesDeliveredToOtherConsumerWhenGroupReleased() throws Exception
+    {
+        final ServerMessage messageA1 = createMessage(1L, "A");
+        final ServerMessage messageB1 = createMessage(2L, "B");
+        final ServerMessage messageA2 = createMessage(3L, "A");
+        enqueue(messageA1, messageB1, messageA2);
+
+        final QueueConsumer<?, ?> consumer1 = addConsumer(messageA1);
+        final QueueConsumer<?, ?> consumer2 = addConsumer(messageA1);
+
+        final List<MessageContainer> consumer1Messages = consumer1.pullMessages(1);
+        assertMessages(consumer1Messages, messageA1);
+        assertMessages(consumer2.pullMessages(4), messageB1);
+
+        final MessageInstance entryA1 = consumer1Messages.get(0).getMessageInstance();
+        entryA1.release(consumer1);
+
+        assertMessages(consumer2.pullMessages(4), messageA1, messageA2);
+    }
+
+    @Test
+    public void testSkippedMessagesDeliveredToOtherConsumerWhenConsumerClosed() throws Exception
+    {
+        final ServerMessage messageA1 = createMessage(1L, "A");
+        final ServerMessage messageB1 = createMessage(2L, "B");
+        final ServerMessage messageA2 = createMessage(3L, "A");
+        final ServerMessage messageC1 = createMessage(4L, "C");
+        enqueue(messageA1, messageB1, messageA2, messageC1);
+
+        final QueueConsumer<?, ?> consumer1 = addConsumer(messageA1);
+        final QueueConsumer<?, ?> consumer2 = addConsumer(messageA1);
+
+        final List<MessageContainer> consumer1Messages = consumer1.pullMessages(1);
+        assertMessages(consumer1Messages, messageA1);
+        assertMessages(consumer2.pullMessages(4), messageB1, messageC1);
+
+        consumer1.close();
+        consumer1Messages.get(0).getMessageInstance().release(consumer1);
+
+        assertMessages(consumer2.pullMessages(4), messageA1, messageA2);
+    }
+
+    private void enqueue(final ServerMessage... messages)
+    {
+        for (ServerMessage message : messages)
+        {
+            _queue.enqueue(message, null, null);
+        }
+    }
+
+    private QueueConsumer<?, ?> addConsumer(final ServerMessage message) throws Exception
+    {
+        return (QueueConsumer<?, ?>) _queue.addConsumer(new TestConsumerTarget(), null, message.getClass(), "test",
+                                                        EnumSet.of(ConsumerOption.ACQUIRES,
+                                                                   ConsumerOption.SEES_REQUEUES), 0);
+    }
+
+    private void assertMessages(final List<MessageContainer> containers, final ServerMessage... expected)
+    {
+        final List<ServerMessage> actual = new ArrayList<>();
+        for (MessageContainer container : containers)
+        {
+            assertTrue("Message not acquired", container.getMessageInstance().isAcquired());
+            actual.add(container.getMessageInstance().getMessage());
+        }
+        assertEquals("Unexpected messages", Arrays.asList(expected), actual);
+    }
+
+    private ServerMessage createMessage(final long id, final String groupId)
+    {
+        final AMQMessageHeader header = mock(AMQMessageHeader.class);
+        when(header.getMessageId()).thenReturn(String.valueOf(id));
+        when(header.getGroupId()).thenReturn(groupId);
+
+        final ServerMessage message = mock(ServerMessage.class);
+        when(message.getMessageNumber()).thenReturn(id);
+        when(message.getMessageHeader()).thenReturn(header);
+        when(message.checkValid()).thenReturn(true);
+
+        final StoredMessage storedMessage = mock(StoredMessage.class);
+        when(message.getStoredMessage()).thenReturn(storedMessage);
+
+        final MessageReference ref = mock(MessageReference.class);
+        when(ref.getMessage()).thenReturn(message);
+        when(message.newReference()).thenReturn(ref);
+        when(message.newReference(any(TransactionLogResource.class))).thenReturn(ref);
+        return message;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.queue;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class DrainRateMonitorTest extends UnitTestBase
+{
+    @Test
+    public void testRateCalculatedOverSamplePeriod()
+    {
+        final QueueStatistics queueStatistics = new QueueStatistics();
+        final DrainRateMonitor monitor = new DrainRateMonitor(queueStatistics, 0L);
+
+        for (int i = 0; i < 10; i++)
+        {
+            queueStatistics.addToDequeued(100);
+        }
+
+        monitor.sample(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals("Rate should not be calculated within a second", 0, monitor.getMessageRate());
+
+        monitor.sample(TimeUnit.SECONDS.toNanos(2));
+        assertEquals("Unexpected message rate", 5, monitor.getMessageRate());
+        assertEquals("Unexpected byte rate", 500, monitor.getByteRate());
+
+        monitor.sample(TimeUnit.SECONDS.toNanos(3));
+        assertEquals("Unexpected message rate", 0, monitor.getMessageRate());
+        assertEquals("Unexpected byte rate", 0, monitor.getByteRate());
+    }
+}
@@ -19,11 +19,13 @@
 
 package org.apache.qpid.server.queue;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -31,6 +33,8 @@ import static org.mockito.Mockito.when;
 
 import java.security.PrivilegedAction;
 import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.security.auth.Subject;
 
@@ -174,6 +178,86 @@ public class ProducerFlowControlOverflowPolicyHandlerTest extends UnitTestBase
         verifyNoMoreInteractions(session);
     }
 
+    @Test
+    public void testGraduatedFlowControlUnblocksSessionsAtDrainRate() throws Exception
+    {
+        final AtomicLong nanoTime = new AtomicLong();
+        when(_queue.getContextValue(Boolean.class, Queue.QUEUE_FLOW_CONTROL_GRADUATED)).thenReturn(Boolean.TRUE);
+        _producerFlowControlOverflowPolicyHandler =
+                new ProducerFlowControlOverflowPolicyHandler(_queue, _eventLogger, nanoTime::get);
+
+        when(_queue.getMaximumQueueDepthMessages()).thenReturn(10L);
+        when(_queue.getQueueDepthMessages()).thenReturn(11);
+
+        AMQPSession<?, ?>[] sessions = new AMQPSession<?, ?>[4];
+        for (int i = 0; i < sessions.length; i++)
+        {
+            sessions[i] = mock(AMQPSession.class);
+            checkOverflow(sessions[i]);
+            verify(sessions[i], times(1)).block(_queue);
+        }
+        assertEquals("Unexpected number of blocked sessions",
+                     4, _producerFlowControlOverflowPolicyHandler.getBlockedSessionCount());
+
+        // two messages above the resume limit draining at one message a second: a session every half second
+        when(_queue.getQueueDepthMessages()).thenReturn(10);
+        when(_queue.getDrainRateMessages()).thenReturn(1L);
+        nanoTime.set(TimeUnit.MILLISECONDS.toNanos(400));
+        _producerFlowControlOverflowPolicyHandler.checkOverflow(null);
+        assertEquals("Unexpected number of blocked sessions before the release interval",
+                     4, _producerFlowControlOverflowPolicyHandler.getBlockedSessionCount());
+
+        nanoTime.set(TimeUnit.MILLISECONDS.toNanos(500));
+        _producerFlowControlOverflowPolicyHandler.checkOverflow(null);
+        _producerFlowControlOverflowPolicyHandler.checkOverflow(null);
+        assertEquals("Unexpected number of blocked sessions after the release interval",
+                     3, _producerFlowControlOverflowPolicyHandler.getBlockedSessionCount());
+        verify(sessions[0], times(1)).unblock(_queue);
+
+        nanoTime.set(TimeUnit.MILLISECONDS.toNanos(1200));
+        _producerFlowControlOverflowPolicyHandler.checkOverflow(null);
+        assertEquals("Unexpected number of blocked sessions after the next release interval",
+                     2, _producerFlowControlOverflowPolicyHandler.getBlockedSessionCount());
+        verify(sessions[1], times(1)).unblock(_queue);
+        verify(sessions[2], never()).unblock(_queue);
+        verify(sessions[3], never()).unblock(_queue);
+        assertTrue("Flow should be stopped", _producerFlowControlOverflowPolicyHandler.isQueueFlowStopped());
+
+        when(_queue.getQueueDepthMessages()).thenReturn(8);
+        _producerFlowControlOverflowPolicyHandler.checkOverflow(null);
+        assertEquals("Unexpected number of blocked sessions at the resume limit",
+                     0, _producerFlowControlOverflowPolicyHandler.getBlockedSessionCount());
+        for (AMQPSession<?, ?> session : sessions)
+        {
+            verify(session, times(1)).unblock(_queue);
+        }
+        assertFalse("Flow should not be stopped", _producerFlowControlOverflowPolicyHandler.isQueueFlowStopped());
+    }
+
+    @Test
+    public void testGraduatedFlowControlKeepsSessionsBlockedWhileQueueIsNotDraining() throws Exception
+    {
+        final AtomicLong nanoTime = new AtomicLong();
+        when(_queue.getContextValue(Boolean.class, Queue.QUEUE_FLOW_CONTROL_GRADUATED)).thenReturn(Boolean.TRUE);
+        _producerFlowControlOverflowPolicyHandler =
+                new ProducerFlowControlOverflowPolicyHandler(_queue, _eventLogger, nanoTime::get);
+
+        when(_queue.getMaximumQueueDepthMessages()).thenReturn(10L);
+        when(_queue.getQueueDepthMessages()).thenReturn(11);
+        AMQPSession<?, ?> session = mock(AMQPSession.class);
+        checkOverflow(session);
+        verify(session, times(1)).block(_queue);
+
+        when(_queue.getQueueDepthMessages()).thenReturn(9);
+        when(_queue.getDrainRateMessages()).thenReturn(0L);
+        nanoTime.set(TimeUnit.HOURS.toNanos(1));
+        _producerFlowControlOverflowPolicyHandler.checkOverflow(null);
+
+        assertEquals("Unexpected number of blocked sessions",
+                     1, _producerFlowControlOverflowPolicyHandler.getBlockedSessionCount());
+        verify(session, never()).unblock(_queue);
+    }
+
     private void checkOverflow(AMQPSession<?, ?> session)
     {
         Subject subject = createSubject(session);
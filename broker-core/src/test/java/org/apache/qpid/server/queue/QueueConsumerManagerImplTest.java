@@ -0,0 +1,229 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.queue;
+
+import static org.apache.qpid.server.model.Queue.QUEUE_SCAVANGE_COUNT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class QueueConsumerManagerImplTest extends UnitTestBase
+{
+    private QueueConsumerManagerImpl _manager;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        final AbstractQueue<?> queue = mock(AbstractQueue.class);
+        when(queue.getContextValue(Integer.class, QUEUE_SCAVANGE_COUNT)).thenReturn(9);
+        _manager = new QueueConsumerManagerImpl(queue);
+    }
+
+    @Test
+    public void testInterestedIteratorOrderedByPriority()
+    {
+        final QueueConsumer<?,?> low = createConsumer(1, true, true);
+        final QueueConsumer<?,?> high = createConsumer(10, true, true);
+        final QueueConsumer<?,?> notInterested = createConsumer(10, true, false);
+        final QueueConsumer<?,?> nonAcquiring = createConsumer(10, false, true);
+        _manager.addConsumer(low);
+        _manager.addConsumer(high);
+        _manager.addConsumer(notInterested);
+        _manager.addConsumer(nonAcquiring);
+
+        assertEquals(Arrays.asList(high, low), Lists.newArrayList(_manager.getInterestedIterator()));
+        assertEquals(Arrays.asList(nonAcquiring), Lists.newArrayList(_manager.getNonAcquiringIterator()));
+        assertEquals(Arrays.asList(high, notInterested, nonAcquiring, low),
+                     Lists.newArrayList(_manager.getAllIterator()));
+        assertEquals(4, _manager.getAllSize());
+    }
+
+    @Test
+    public void testNotifiedConsumerNotInterested()
+    {
+        final QueueConsumer<?,?> consumer1 = createConsumer(0, true, true);
+        final QueueConsumer<?,?> consumer2 = createConsumer(0, true, true);
+        _manager.addConsumer(consumer1);
+        _manager.addConsumer(consumer2);
+        assertEquals(Integer.MIN_VALUE, _manager.getHighestNotifiedPriority());
+
+        assertTrue(_manager.setNotified(consumer1, true));
+        assertFalse("Consumer already notified", _manager.setNotified(consumer1, true));
+        assertEquals(Arrays.asList(consumer2), Lists.newArrayList(_manager.getInterestedIterator()));
+        assertEquals(0, _manager.getHighestNotifiedPriority());
+
+        assertTrue(_manager.setNotified(consumer1, false));
+        assertEquals(Integer.MIN_VALUE, _manager.getHighestNotifiedPriority());
+        assertEquals(2, Lists.newArrayList(_manager.getInterestedIterator()).size());
+    }
+
+    @Test
+    public void testInterestedIteratorRoundRobinsAfterNotification()
+    {
+        final List<QueueConsumer<?,?>> consumers = new ArrayList<>();
+        for (int i = 0; i < 3; i++)
+        {
+            final QueueConsumer<?,?> consumer = createConsumer(0, true, true);
+            consumers.add(consumer);
+            _manager.addConsumer(consumer);
+        }
+
+        assertEquals(consumers.get(0), _manager.getInterestedIterator().next());
+        _manager.setNotified(consumers.get(0), true);
+        _manager.setNotified(consumers.get(0), false);
+
+        assertEquals(Arrays.asList(consumers.get(1), consumers.get(2), consumers.get(0)),
+                     Lists.newArrayList(_manager.getInterestedIterator()));
+    }
+
+    @Test
+    public void testSetInterest()
+    {
+        final QueueConsumer<?,?> consumer = createConsumer(0, true, true);
+        _manager.addConsumer(consumer);
+
+        assertTrue(_manager.setInterest(consumer, false));
+        assertFalse(_manager.getInterestedIterator().hasNext());
+        assertFalse("Consumer already not interested", _manager.setInterest(consumer, false));
+
+        assertTrue(_manager.setInterest(consumer, true));
+        assertEquals(Arrays.asList(consumer), Lists.newArrayList(_manager.getInterestedIterator()));
+    }
+
+    @Test
+    public void testRemoveConsumerReleasesSlot()
+    {
+        final List<QueueConsumer<?,?>> consumers = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+        {
+            final QueueConsumer<?,?> consumer = createConsumer(0, true, true);
+            consumers.add(consumer);
+            _manager.addConsumer(consumer);
+        }
+
+        for (int i = 0; i < 100; i += 2)
+        {
+            assertTrue(_manager.removeConsumer(consumers.get(i)));
+        }
+        assertFalse("Consumer already removed", _manager.removeConsumer(consumers.get(0)));
+
+        final QueueConsumer<?,?> replacement = createConsumer(0, true, true);
+        _manager.addConsumer(replacement);
+
+        final Set<QueueConsumer<?,?>> expected = new HashSet<>();
+        for (int i = 1; i < 100; i += 2)
+        {
+            expected.add(consumers.get(i));
+        }
+        expected.add(replacement);
+
+        final List<QueueConsumer<?,?>> interested = Lists.newArrayList(_manager.getInterestedIterator());
+        assertEquals(expected.size(), interested.size());
+        assertEquals(expected, new HashSet<>(interested));
+        assertEquals(51, _manager.getAllSize());
+    }
+
+    @Test
+    public void testConcurrentNotificationConverges() throws Exception
+    {
+        final int consumerCount = 200;
+        final List<QueueConsumer<?,?>> consumers = new ArrayList<>();
+        for (int i = 0; i < consumerCount; i++)
+        {
+            final QueueConsumer<?,?> consumer = createConsumer(i % 3, true, true);
+            consumers.add(consumer);
+            _manager.addConsumer(consumer);
+        }
+
+        final int threadCount = 4;
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try
+        {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threadCount; t++)
+            {
+                futures.add(executor.submit(() ->
+                                            {
+                                                start.await();
+                                                for (int i = 0; i < 10000; i++)
+                                                {
+                                                    final QueueConsumer<?,?> consumer =
+                                                            consumers.get(i % consumerCount);
+                                                    _manager.setNotified(consumer, true);
+                                                    _manager.setNotified(consumer, false);
+                                                }
+                                                return null;
+                                            }));
+            }
+            start.countDown();
+            for (Future<?> future : futures)
+            {
+                future.get(20, TimeUnit.SECONDS);
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        assertEquals(Integer.MIN_VALUE, _manager.getHighestNotifiedPriority());
+        assertEquals(new HashSet<>(consumers), new HashSet<>(Lists.newArrayList(_manager.getInterestedIterator())));
+    }
+
+    private QueueConsumer<?,?> createConsumer(final int priority, final boolean acquires, final boolean interested)
+    {
+        final QueueConsumer<?,?> consumer = mock(QueueConsumer.class);
+        final AtomicReference<QueueConsumerNode> node = new AtomicReference<>();
+        when(consumer.getPriority()).thenReturn(priority);
+        when(consumer.acquires()).thenReturn(acquires);
+        when(consumer.isNotifyWorkDesired()).thenReturn(interested);
+        doAnswer(invocation ->
+                 {
+                     node.set(invocation.getArgument(0));
+                     return null;
+                 }).when(consumer).setQueueConsumerNode(any(QueueConsumerNode.class));
+        when(consumer.getQueueConsumerNode()).thenAnswer(invocation -> node.get());
+        return consumer;
+    }
+}
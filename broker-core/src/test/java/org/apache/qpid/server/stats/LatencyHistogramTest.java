@@ -0,0 +1,104 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.apache.qpid.server.stats;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class LatencyHistogramTest extends UnitTestBase
+{
+    private final LatencyHistogram _histogram = new LatencyHistogram();
+
+    @Test
+    public void testEmptyHistogram()
+    {
+        assertEquals(0, _histogram.getCount());
+        assertEquals(0, _histogram.getSum());
+        assertEquals(0, _histogram.getMean());
+        assertEquals(0, _histogram.getValueAtPercentile(99.0));
+    }
+
+    @Test
+    public void testBucketIndex()
+    {
+        final long[] upperBounds = LatencyHistogram.getBucketUpperBounds();
+
+        assertEquals(0, LatencyHistogram.bucketIndex(0));
+        assertEquals(0, LatencyHistogram.bucketIndex(upperBounds[0]));
+        assertEquals(1, LatencyHistogram.bucketIndex(upperBounds[0] + 1));
+        assertEquals(upperBounds.length - 1, LatencyHistogram.bucketIndex(upperBounds[upperBounds.length - 1]));
+        assertEquals(upperBounds.length, LatencyHistogram.bucketIndex(upperBounds[upperBounds.length - 1] + 1));
+        assertEquals(upperBounds.length, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testRecord()
+    {
+        _histogram.record(TimeUnit.MICROSECONDS.toNanos(5));
+        _histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+        _histogram.record(TimeUnit.HOURS.toNanos(1));
+        _histogram.record(-1);
+
+        assertEquals(4, _histogram.getCount());
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(5) + TimeUnit.MILLISECONDS.toNanos(3) + TimeUnit.HOURS.toNanos(1),
+                     _histogram.getSum());
+
+        final long[] counts = _histogram.getBucketCounts();
+        assertEquals(LatencyHistogram.getBucketUpperBounds().length + 1, counts.length);
+        assertEquals(2, counts[0]);
+        assertEquals(1, counts[LatencyHistogram.bucketIndex(TimeUnit.MILLISECONDS.toNanos(3))]);
+        assertEquals(1, counts[counts.length - 1]);
+    }
+
+    @Test
+    public void testValueAtPercentile()
+    {
+        for (int i = 0; i < 99; i++)
+        {
+            _histogram.record(TimeUnit.MICROSECONDS.toNanos(70));
+        }
+        _histogram.record(TimeUnit.SECONDS.toNanos(2));
+
+        final long median = _histogram.getValueAtPercentile(50.0);
+        assertTrue("Unexpected median " + median,
+                   median > TimeUnit.MICROSECONDS.toNanos(50) && median <= TimeUnit.MICROSECONDS.toNanos(100));
+
+        final long max = _histogram.getValueAtPercentile(100.0);
+        assertTrue("Unexpected maximum " + max,
+                   max > TimeUnit.SECONDS.toNanos(1) && max <= TimeUnit.MILLISECONDS.toNanos(2500));
+    }
+
+    @Test
+    public void testValueAtPercentileInOverflowBucket()
+    {
+        _histogram.record(TimeUnit.HOURS.toNanos(1));
+
+        final long[] upperBounds = LatencyHistogram.getBucketUpperBounds();
+        assertEquals(upperBounds[upperBounds.length - 1], _histogram.getValueAtPercentile(99.0));
+    }
+}
@@ -22,6 +22,7 @@ package org.apache.qpid.server.store;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -35,6 +36,9 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -51,6 +55,7 @@ import org.apache.qpid.server.model.ConfiguredObject;
 import org.apache.qpid.server.model.ConfiguredObjectFactory;
 import org.apache.qpid.server.model.ConfiguredObjectFactoryImpl;
 import org.apache.qpid.server.model.Queue;
+import org.apache.qpid.server.model.SystemConfig;
 import org.apache.qpid.server.model.VirtualHost;
 import org.apache.qpid.server.store.handler.ConfiguredObjectRecordHandler;
 import org.apache.qpid.server.util.FileUtils;
@@ -447,6 +452,146 @@ public class JsonFileConfigStoreTest extends UnitTestBase
     }
 
 
+    @Test
+    public void testChangesAreJournalledAndReplayedAfterCrash() throws Exception
+    {
+        _store = new JsonFileConfigStore(VirtualHost.class, true);
+        _store.init(_parent);
+        _store.openConfigurationStore(mock(ConfiguredObjectRecordHandler.class));
+        createRootRecord();
+
+        final UUID queueId = new UUID(0, 1);
+        final Map<String, Object> queueAttr = Collections.<String, Object>singletonMap(ConfiguredObject.NAME, "q1");
+        _store.create(new ConfiguredObjectRecordImpl(queueId, "Queue", queueAttr, getRootAsParentMap()));
+
+        final File configFile = new File(_storeLocation, _parent.getName() + ".json");
+        final File journalFile = new File(_storeLocation, _parent.getName() + ".journal");
+        assertFalse("Configuration file should not have been rewritten",
+                    new String(Files.readAllBytes(configFile.toPath()), StandardCharsets.UTF_8).contains("q1"));
+        assertTrue("Journal should hold the changes", journalFile.length() > 0);
+
+        // simulate the broker stopping without closing the store
+        _store.cleanup();
+
+        final JsonFileConfigStore recoveredStore = new JsonFileConfigStore(VirtualHost.class, true);
+        recoveredStore.init(_parent);
+        recoveredStore.openConfigurationStore(_handler);
+        verify(_handler).handle(matchesRecord(queueId, "Queue", queueAttr));
+        verify(_handler).handle(matchesRecord(_rootRecord.getId(), VIRTUAL_HOST_TYPE, ANY_MAP));
+        assertEquals("Journal should be emptied on open", 0, journalFile.length());
+        recoveredStore.closeConfigurationStore();
+    }
+
+    @Test
+    public void testIncompleteJournalEntryIsIgnored() throws Exception
+    {
+        _store = new JsonFileConfigStore(VirtualHost.class, true);
+        _store.init(_parent);
+        _store.openConfigurationStore(mock(ConfiguredObjectRecordHandler.class));
+        createRootRecord();
+        _store.cleanup();
+
+        final File journalFile = new File(_storeLocation, _parent.getName() + ".journal");
+        Files.write(journalFile.toPath(),
+                    "{\"op\":\"update\",\"records\":[{\"id\":".getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.APPEND);
+
+        final JsonFileConfigStore recoveredStore = new JsonFileConfigStore(VirtualHost.class, true);
+        recoveredStore.init(_parent);
+        recoveredStore.openConfigurationStore(_handler);
+        verify(_handler, times(1)).handle(matchesRecord(_rootRecord.getId(), VIRTUAL_HOST_TYPE, ANY_MAP));
+        recoveredStore.closeConfigurationStore();
+    }
+
+    @Test
+    public void testChangesAfterIncompleteOnlyJournalEntryAreReplayed() throws Exception
+    {
+        _store = new JsonFileConfigStore(VirtualHost.class, true);
+        _store.init(_parent);
+        _store.openConfigurationStore(mock(ConfiguredObjectRecordHandler.class));
+        createRootRecord();
+        _store.closeConfigurationStore();
+
+        final File journalFile = new File(_storeLocation, _parent.getName() + ".journal");
+        assertEquals("Journal should be emptied on close", 0, journalFile.length());
+        Files.write(journalFile.toPath(),
+                    "{\"op\":\"update\",\"records\":[{\"id\":".getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.APPEND);
+
+        final JsonFileConfigStore recoveredStore = new JsonFileConfigStore(VirtualHost.class, true);
+        recoveredStore.init(_parent);
+        recoveredStore.openConfigurationStore(mock(ConfiguredObjectRecordHandler.class));
+        assertEquals("Incomplete entry should be removed from the journal", 0, journalFile.length());
+
+        final UUID queueId = new UUID(0, 1);
+        final Map<String, Object> queueAttr = Collections.<String, Object>singletonMap(ConfiguredObject.NAME, "q1");
+        recoveredStore.create(new ConfiguredObjectRecordImpl(queueId, "Queue", queueAttr, getRootAsParentMap()));
+        final UUID queue2Id = new UUID(0, 2);
+        final Map<String, Object> queue2Attr = Collections.<String, Object>singletonMap(ConfiguredObject.NAME, "q2");
+        recoveredStore.create(new ConfiguredObjectRecordImpl(queue2Id, "Queue", queue2Attr, getRootAsParentMap()));
+        recoveredStore.cleanup();
+
+        final JsonFileConfigStore reopenedStore = new JsonFileConfigStore(VirtualHost.class, true);
+        reopenedStore.init(_parent);
+        reopenedStore.openConfigurationStore(_handler);
+        verify(_handler).handle(matchesRecord(queueId, "Queue", queueAttr));
+        verify(_handler).handle(matchesRecord(queue2Id, "Queue", queue2Attr));
+        reopenedStore.closeConfigurationStore();
+    }
+
+    @Test
+    public void testUnreadableJournalEntryBeforeTheLastFailsOpen() throws Exception
+    {
+        _store = new JsonFileConfigStore(VirtualHost.class, true);
+        _store.init(_parent);
+        _store.openConfigurationStore(mock(ConfiguredObjectRecordHandler.class));
+        createRootRecord();
+        _store.cleanup();
+
+        final File journalFile = new File(_storeLocation, _parent.getName() + ".journal");
+        Files.write(journalFile.toPath(),
+                    "{\"op\":\"update\",\"records\":[{\"id\":\n{\"op\":\"remove\",\"ids\":[]}\n"
+                            .getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.APPEND);
+
+        final JsonFileConfigStore recoveredStore = new JsonFileConfigStore(VirtualHost.class, true);
+        recoveredStore.init(_parent);
+        try
+        {
+            recoveredStore.openConfigurationStore(_handler);
+            fail("Exception not thrown");
+        }
+        catch (StoreException e)
+        {
+            // pass
+        }
+        assertTrue("Journal should be kept for investigation", journalFile.length() > 0);
+    }
+
+    @Test
+    public void testJournalIsCompactedIntoConfigurationFile() throws Exception
+    {
+        when(_parent.getContextValue(Integer.class, SystemConfig.JSON_CONFIG_STORE_JOURNAL_COMPACTION_THRESHOLD))
+                .thenReturn(2);
+        _store = new JsonFileConfigStore(VirtualHost.class, true);
+        _store.init(_parent);
+        _store.openConfigurationStore(mock(ConfiguredObjectRecordHandler.class));
+        createRootRecord();
+
+        final File configFile = new File(_storeLocation, _parent.getName() + ".json");
+        final File journalFile = new File(_storeLocation, _parent.getName() + ".journal");
+        assertTrue("Journal should hold the change", journalFile.length() > 0);
+
+        _store.create(new ConfiguredObjectRecordImpl(new UUID(0, 1), "Queue",
+                                                     Collections.<String, Object>singletonMap(ConfiguredObject.NAME, "q1"),
+                                                     getRootAsParentMap()));
+
+        assertEquals("Journal should have been emptied", 0, journalFile.length());
+        assertTrue("Configuration file should have been rewritten",
+                   new String(Files.readAllBytes(configFile.toPath()), StandardCharsets.UTF_8).contains("q1"));
+        _store.closeConfigurationStore();
+    }
+
     private void createRootRecord()
     {
         UUID rootRecordId = UUID.randomUUID();
@@ -490,6 +490,22 @@ public abstract class MessageStoreTestCase extends UnitTestBase
         assertEquals(0, storedMessage.getInMemorySize());
     }
 
+    @Test
+    public void testBytesReloadedIntoMemoryAfterFlowToDisk()
+    {
+        assumeThat(flowToDiskSupported(), is(equalTo(true)));
+
+        final StoredMessage<?> storedMessage = createStoredMessage();
+        assertEquals(0, getStore().getBytesReloadedIntoMemory());
+
+        assertTrue(storedMessage.flowToDisk());
+        assertNotNull(storedMessage.getMetaData());
+        assertNotNull(storedMessage.getContent(0, storedMessage.getContentSize()));
+
+        assertEquals(storedMessage.getMetadataSize() + storedMessage.getContentSize(),
+                     getStore().getBytesReloadedIntoMemory());
+    }
+
 
     @Test
     public void testIsInContentInMemoryBeforeFlowControl()
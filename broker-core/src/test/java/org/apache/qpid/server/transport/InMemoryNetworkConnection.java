@@ -0,0 +1,163 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.transport;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.security.Principal;
+import java.security.cert.Certificate;
+
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+
+/**
+ * A network connection with no network: everything the protocol engine sends is counted and discarded.
+ */
+class InMemoryNetworkConnection implements ServerNetworkConnection, ByteBufferSender
+{
+    private final SocketAddress _localAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), 5672);
+    private final SocketAddress _remoteAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+    private long _bytesWritten;
+    private long _maxReadIdleMillis;
+    private long _maxWriteIdleMillis;
+    private volatile boolean _closed;
+
+    long getBytesWritten()
+    {
+        return _bytesWritten;
+    }
+
+    boolean isClosed()
+    {
+        return _closed;
+    }
+
+    @Override
+    public ByteBufferSender getSender()
+    {
+        return this;
+    }
+
+    @Override
+    public boolean isDirectBufferPreferred()
+    {
+        return true;
+    }
+
+    @Override
+    public void send(final QpidByteBuffer msg)
+    {
+        _bytesWritten += msg.remaining();
+        msg.position(msg.limit());
+    }
+
+    @Override
+    public void flush()
+    {
+    }
+
+    @Override
+    public void start()
+    {
+    }
+
+    @Override
+    public void close()
+    {
+        _closed = true;
+    }
+
+    @Override
+    public SocketAddress getRemoteAddress()
+    {
+        return _remoteAddress;
+    }
+
+    @Override
+    public SocketAddress getLocalAddress()
+    {
+        return _localAddress;
+    }
+
+    @Override
+    public void setMaxWriteIdleMillis(final long millis)
+    {
+        _maxWriteIdleMillis = millis;
+    }
+
+    @Override
+    public void setMaxReadIdleMillis(final long millis)
+    {
+        _maxReadIdleMillis = millis;
+    }
+
+    @Override
+    public Principal getPeerPrincipal()
+    {
+        return null;
+    }
+
+    @Override
+    public Certificate getPeerCertificate()
+    {
+        return null;
+    }
+
+    @Override
+    public long getMaxReadIdleMillis()
+    {
+        return _maxReadIdleMillis;
+    }
+
+    @Override
+    public long getMaxWriteIdleMillis()
+    {
+        return _maxWriteIdleMillis;
+    }
+
+    @Override
+    public String getTransportInfo()
+    {
+        return "in-memory";
+    }
+
+    @Override
+    public long getScheduledTime()
+    {
+        return 0;
+    }
+
+    @Override
+    public void addSchedulingDelayNotificationListeners(final SchedulingDelayNotificationListener listener)
+    {
+    }
+
+    @Override
+    public void removeSchedulingDelayNotificationListeners(final SchedulingDelayNotificationListener listener)
+    {
+    }
+
+    @Override
+    public String getSelectedHost()
+    {
+        return null;
+    }
+}
@@ -0,0 +1,487 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.transport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import ch.qos.logback.classic.Level;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.qpid.server.SystemLauncher;
+import org.apache.qpid.server.SystemLauncherListener;
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.model.AuthenticationProvider;
+import org.apache.qpid.server.model.Broker;
+import org.apache.qpid.server.model.BrokerModel;
+import org.apache.qpid.server.model.ConfiguredObject;
+import org.apache.qpid.server.model.JsonSystemConfigImpl;
+import org.apache.qpid.server.model.Port;
+import org.apache.qpid.server.model.Protocol;
+import org.apache.qpid.server.model.Queue;
+import org.apache.qpid.server.model.SystemConfig;
+import org.apache.qpid.server.model.Transport;
+import org.apache.qpid.server.model.VirtualHost;
+import org.apache.qpid.server.model.VirtualHostNode;
+import org.apache.qpid.server.model.port.AmqpPort;
+import org.apache.qpid.server.security.auth.manager.AnonymousAuthenticationManager;
+import org.apache.qpid.server.virtualhost.TestMemoryVirtualHost;
+import org.apache.qpid.server.virtualhostnode.JsonVirtualHostNode;
+import org.apache.qpid.server.virtualhostnode.JsonVirtualHostNodeImpl;
+import org.apache.qpid.test.utils.TestFileUtils;
+
+/**
+ * Drives the {@link MultiVersionProtocolEngine} of an embedded broker with pre-encoded frames through an in-memory
+ * network connection, so that the cost of decoding, routing, enqueuing, delivering and encoding messages can be
+ * measured for one protocol at a time without sockets or a client.
+ * <p>
+ * A {@link FrameStream} supplied by the protocol plug-in opens a connection which both publishes to and consumes
+ * from a single queue.  Messages are then fed to the engine a network buffer at a time, each batch being delivered to
+ * the consumer before the next is fed.  Only the engine's work is timed: frames are encoded between batches, and
+ * allocation is that of the driving thread, on which all of the engine's work runs.
+ * <p>
+ * The number of messages and the payload size are taken from the system properties {@value #MESSAGE_COUNT},
+ * {@value #WARM_UP_MESSAGE_COUNT} and {@value #PAYLOAD_SIZE}, so that a test kept small for the build can be re-run
+ * as a benchmark.  Whilst messages are fed, the root logger is raised to the level named by {@value #LOG_LEVEL}
+ * (INFO by default) so that the debug logging of the test configuration does not dominate the measurement.
+ */
+public class ProtocolEngineBenchmark implements AutoCloseable
+{
+    public static final String MESSAGE_COUNT = "qpid.benchmark.messageCount";
+    public static final String WARM_UP_MESSAGE_COUNT = "qpid.benchmark.warmUpMessageCount";
+    public static final String PAYLOAD_SIZE = "qpid.benchmark.payloadSize";
+    public static final String LOG_LEVEL = "qpid.benchmark.logLevel";
+
+    private static final String VIRTUAL_HOST_NAME = "benchmark";
+    private static final String QUEUE_NAME = "benchmarkQueue";
+    private static final long PROGRESS_TIMEOUT = TimeUnit.SECONDS.toNanos(10);
+
+    private final Protocol _protocol;
+    private SystemLauncher _systemLauncher;
+    private File _workDir;
+    private Broker<?> _broker;
+    private AmqpPort<?> _port;
+    private Queue<?> _queue;
+
+    public ProtocolEngineBenchmark(final Protocol protocol)
+    {
+        _protocol = protocol;
+    }
+
+    /**
+     * Writes the frames a client would send.  Implementations encode frames with the plug-in's own codec into the
+     * given {@link EncodedFrames}.
+     */
+    public interface FrameStream
+    {
+        /**
+         * Frames, starting with the protocol header, that open a connection and a session, attach a publisher to the
+         * queue and attach a consumer with unlimited credit whose messages need no acknowledgement.
+         */
+        void open(EncodedFrames frames, String virtualHostName, String queueName);
+
+        /**
+         * Frames that publish the messages numbered {@code firstMessage} to {@code firstMessage + count - 1}
+         * to the queue.  Every message published before {@code firstMessage} has already been delivered.
+         */
+        void publish(EncodedFrames frames, String queueName, long firstMessage, int count, byte[] payload);
+    }
+
+    public void start() throws Exception
+    {
+        _workDir = TestFileUtils.createTestDirectory("qpid-work", true);
+
+        final Map<String, Object> initialConfiguration = new HashMap<>();
+        initialConfiguration.put(ConfiguredObject.NAME, getClass().getSimpleName());
+        initialConfiguration.put(Broker.MODEL_VERSION, BrokerModel.MODEL_VERSION);
+        final File initialConfigurationFile = new File(_workDir, "initial-config.json");
+        Files.write(initialConfigurationFile.toPath(), new ObjectMapper().writeValueAsBytes(initialConfiguration));
+
+        final Map<String, Object> attributes = new HashMap<>();
+        attributes.put(SystemConfig.TYPE, JsonSystemConfigImpl.SYSTEM_CONFIG_TYPE);
+        attributes.put(SystemConfig.INITIAL_CONFIGURATION_LOCATION, initialConfigurationFile.getAbsolutePath());
+        attributes.put(SystemConfig.STARTUP_LOGGED_TO_SYSTEM_OUT, false);
+        attributes.put(SystemConfig.CONTEXT, Collections.singletonMap("qpid.work_dir", _workDir.getAbsolutePath()));
+        _systemLauncher = new SystemLauncher(new SystemLauncherListener.DefaultSystemLauncherListener()
+        {
+            @Override
+            public void onContainerResolve(final SystemConfig<?> systemConfig)
+            {
+                _broker = systemConfig.getContainer(Broker.class);
+            }
+        });
+        _systemLauncher.startup(attributes);
+
+        final Map<String, Object> authenticationProviderAttributes = new HashMap<>();
+        authenticationProviderAttributes.put(AuthenticationProvider.NAME, "anonymous");
+        authenticationProviderAttributes.put(AuthenticationProvider.TYPE, AnonymousAuthenticationManager.PROVIDER_TYPE);
+        _broker.createChild(AuthenticationProvider.class, authenticationProviderAttributes);
+
+        final Map<String, Object> portAttributes = new HashMap<>();
+        portAttributes.put(Port.NAME, "amqp");
+        portAttributes.put(Port.TYPE, "AMQP");
+        portAttributes.put(Port.PORT, 0);
+        portAttributes.put(Port.BINDING_ADDRESS, "localhost");
+        portAttributes.put(Port.PROTOCOLS, Collections.singleton(_protocol));
+        portAttributes.put(Port.AUTHENTICATION_PROVIDER, "anonymous");
+        _port = (AmqpPort<?>) _broker.createChild(Port.class, portAttributes);
+
+        final Map<String, Object> nodeAttributes = new HashMap<>();
+        nodeAttributes.put(VirtualHostNode.NAME, VIRTUAL_HOST_NAME);
+        nodeAttributes.put(VirtualHostNode.TYPE, JsonVirtualHostNodeImpl.VIRTUAL_HOST_NODE_TYPE);
+        nodeAttributes.put(VirtualHostNode.DEFAULT_VIRTUAL_HOST_NODE, true);
+        nodeAttributes.put(JsonVirtualHostNode.STORE_PATH, new File(_workDir, VIRTUAL_HOST_NAME).getAbsolutePath());
+        nodeAttributes.put(VirtualHostNode.VIRTUALHOST_INITIAL_CONFIGURATION,
+                           String.format("{\"type\":\"%s\"}", TestMemoryVirtualHost.VIRTUAL_HOST_TYPE));
+        final VirtualHostNode<?> node = _broker.createChild(VirtualHostNode.class, nodeAttributes);
+        final VirtualHost<?> virtualHost = node.getVirtualHost();
+
+        _queue = virtualHost.createChild(Queue.class, Collections.singletonMap(Queue.NAME, QUEUE_NAME));
+    }
+
+    public Result run(final FrameStream frameStream)
+    {
+        return run(frameStream,
+                   Integer.getInteger(WARM_UP_MESSAGE_COUNT, 1000),
+                   Integer.getInteger(MESSAGE_COUNT, 1000),
+                   Integer.getInteger(PAYLOAD_SIZE, 256));
+    }
+
+    public Result run(final FrameStream frameStream,
+                      final int warmUpMessageCount,
+                      final int messageCount,
+                      final int payloadSize)
+    {
+        final MultiVersionProtocolEngineFactory engineFactory =
+                new MultiVersionProtocolEngineFactory(_broker, EnumSet.of(_protocol), null, _port, Transport.TCP);
+        final InMemoryNetworkConnection network = new InMemoryNetworkConnection();
+        final MultiVersionProtocolEngine engine = engineFactory.newProtocolEngine(network.getRemoteAddress());
+        if (engine == null)
+        {
+            throw new IllegalStateException("Port refused the connection");
+        }
+        engine.setNetworkConnection(network);
+        engine.setWorkListener(object -> {});
+
+        final ch.qos.logback.classic.Logger rootLogger =
+                (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+        final Level originalLevel = rootLogger.getLevel();
+        rootLogger.setLevel(Level.toLevel(System.getProperty(LOG_LEVEL), Level.INFO));
+        try
+        {
+            final EncodedFrames openFrames = new EncodedFrames();
+            frameStream.open(openFrames, VIRTUAL_HOST_NAME, QUEUE_NAME);
+            receive(engine, openFrames);
+            awaitProgress(engine, network, () -> _queue.getConsumerCount() > 0, "consumer to attach");
+
+            final byte[] payload = new byte[payloadSize];
+            final EncodedFrames singleMessage = new EncodedFrames();
+            frameStream.publish(singleMessage, QUEUE_NAME, 0, 1, payload);
+            final int batchSize = Math.max(1, _port.getNetworkBufferSize() / singleMessage.size());
+
+            final long dequeuedBefore = _queue.getTotalDequeuedMessages();
+            final Measurement warmUp = new Measurement();
+            publish(engine, network, frameStream, 0, warmUpMessageCount, batchSize, payload, dequeuedBefore, warmUp);
+
+            final Measurement measurement = new Measurement();
+            publish(engine, network, frameStream, warmUpMessageCount, messageCount, batchSize, payload,
+                    dequeuedBefore, measurement);
+            return new Result(_protocol, messageCount, payloadSize, batchSize, measurement);
+        }
+        finally
+        {
+            engine.setIOThread(Thread.currentThread());
+            try
+            {
+                engine.closed();
+            }
+            finally
+            {
+                engine.setIOThread(null);
+                rootLogger.setLevel(originalLevel);
+            }
+        }
+    }
+
+    private void publish(final MultiVersionProtocolEngine engine,
+                         final InMemoryNetworkConnection network,
+                         final FrameStream frameStream,
+                         final long firstMessage,
+                         final int messageCount,
+                         final int batchSize,
+                         final byte[] payload,
+                         final long dequeuedBefore,
+                         final Measurement measurement)
+    {
+        long published = 0;
+        while (published < messageCount)
+        {
+            final int count = (int) Math.min(batchSize, messageCount - published);
+            final EncodedFrames frames = new EncodedFrames();
+            frameStream.publish(frames, QUEUE_NAME, firstMessage + published, count, payload);
+            published += count;
+
+            final long expectedDequeued = dequeuedBefore + firstMessage + published;
+            final long bytesWritten = network.getBytesWritten();
+            final long allocated = getAllocatedBytes();
+            final long start = System.nanoTime();
+
+            receive(engine, frames);
+            awaitProgress(engine, network, () -> _queue.getTotalDequeuedMessages() >= expectedDequeued,
+                          "messages to be delivered");
+
+            measurement._elapsedNanos += System.nanoTime() - start;
+            measurement._allocatedBytes += getAllocatedBytes() - allocated;
+            measurement._bytesReceived += frames.size();
+            measurement._bytesWritten += network.getBytesWritten() - bytesWritten;
+        }
+    }
+
+    private void receive(final MultiVersionProtocolEngine engine, final EncodedFrames frames)
+    {
+        engine.setIOThread(Thread.currentThread());
+        try (QpidByteBuffer buffer = frames.toBuffer())
+        {
+            engine.received(buffer);
+            if (buffer.hasRemaining())
+            {
+                throw new IllegalStateException(String.format("Engine left %d byte(s) of a batch unread",
+                                                              buffer.remaining()));
+            }
+            processPendingWork(engine);
+        }
+        finally
+        {
+            engine.setIOThread(null);
+        }
+    }
+
+    private void awaitProgress(final MultiVersionProtocolEngine engine,
+                               final InMemoryNetworkConnection network,
+                               final Condition condition,
+                               final String description)
+    {
+        final long deadline = System.nanoTime() + PROGRESS_TIMEOUT;
+        while (!condition.isSatisfied())
+        {
+            if (network.isClosed())
+            {
+                throw new IllegalStateException("Connection closed whilst waiting for " + description);
+            }
+            if (System.nanoTime() - deadline > 0)
+            {
+                throw new IllegalStateException("Timed out waiting for " + description);
+            }
+            engine.setIOThread(Thread.currentThread());
+            try
+            {
+                processPendingWork(engine);
+            }
+            finally
+            {
+                engine.setIOThread(null);
+            }
+            Thread.yield();
+        }
+    }
+
+    private void processPendingWork(final MultiVersionProtocolEngine engine)
+    {
+        while (engine.hasWork())
+        {
+            engine.clearWork();
+            final Iterator<Runnable> pending = engine.processPendingIterator();
+            while (pending.hasNext())
+            {
+                pending.next().run();
+            }
+        }
+    }
+
+    private static long getAllocatedBytes()
+    {
+        final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean)
+        {
+            return ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(Thread.currentThread()
+                                                                                                  .getId());
+        }
+        return 0;
+    }
+
+    @Override
+    public void close()
+    {
+        try
+        {
+            if (_systemLauncher != null)
+            {
+                _systemLauncher.shutdown();
+            }
+        }
+        finally
+        {
+            if (_workDir != null)
+            {
+                TestFileUtils.delete(_workDir, true);
+            }
+        }
+    }
+
+    private interface Condition
+    {
+        boolean isSatisfied();
+    }
+
+    private static class Measurement
+    {
+        private long _elapsedNanos;
+        private long _allocatedBytes;
+        private long _bytesReceived;
+        private long _bytesWritten;
+    }
+
+    /**
+     * Collects encoded frames in memory.  Frame encoders write to it as they would to a network connection.
+     */
+    public static class EncodedFrames implements ByteBufferSender
+    {
+        private final ByteArrayOutputStream _bytes = new ByteArrayOutputStream();
+
+        public void write(final byte[] bytes)
+        {
+            _bytes.write(bytes, 0, bytes.length);
+        }
+
+        public int size()
+        {
+            return _bytes.size();
+        }
+
+        @Override
+        public boolean isDirectBufferPreferred()
+        {
+            return false;
+        }
+
+        @Override
+        public void send(final QpidByteBuffer msg)
+        {
+            final byte[] data = new byte[msg.remaining()];
+            msg.get(data);
+            write(data);
+        }
+
+        @Override
+        public void flush()
+        {
+        }
+
+        @Override
+        public void close()
+        {
+        }
+
+        QpidByteBuffer toBuffer()
+        {
+            final byte[] bytes = _bytes.toByteArray();
+            final QpidByteBuffer buffer = QpidByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes);
+            buffer.flip();
+            return buffer;
+        }
+    }
+
+    public static class Result
+    {
+        private final Protocol _protocol;
+        private final int _messageCount;
+        private final int _payloadSize;
+        private final int _batchSize;
+        private final Measurement _measurement;
+
+        private Result(final Protocol protocol,
+                       final int messageCount,
+                       final int payloadSize,
+                       final int batchSize,
+                       final Measurement measurement)
+        {
+            _protocol = protocol;
+            _messageCount = messageCount;
+            _payloadSize = payloadSize;
+            _batchSize = batchSize;
+            _measurement = measurement;
+        }
+
+        public int getMessageCount()
+        {
+            return _messageCount;
+        }
+
+        public double getMessagesPerSecond()
+        {
+            return _measurement._elapsedNanos == 0
+                    ? 0
+                    : _messageCount * (double) TimeUnit.SECONDS.toNanos(1) / _measurement._elapsedNanos;
+        }
+
+        public double getNanosPerMessage()
+        {
+            return (double) _measurement._elapsedNanos / _messageCount;
+        }
+
+        public double getAllocatedBytesPerMessage()
+        {
+            return (double) _measurement._allocatedBytes / _messageCount;
+        }
+
+        public double getBytesReceivedPerMessage()
+        {
+            return (double) _measurement._bytesReceived / _messageCount;
+        }
+
+        public double getBytesWrittenPerMessage()
+        {
+            return (double) _measurement._bytesWritten / _messageCount;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("%s: %d message(s) of %d byte(s) in batches of %d: %.0f msg/s, %.0f ns/msg,"
+                                 + " %.0f allocated byte(s)/msg, %.0f byte(s) in/msg, %.0f byte(s) out/msg",
+                                 _protocol, _messageCount, _payloadSize, _batchSize, getMessagesPerSecond(),
+                                 getNanosPerMessage(), getAllocatedBytesPerMessage(), getBytesReceivedPerMessage(),
+                                 getBytesWrittenPerMessage());
+        }
+    }
+}
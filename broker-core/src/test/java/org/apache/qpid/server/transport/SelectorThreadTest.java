@@ -0,0 +1,122 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.transport;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class SelectorThreadTest extends UnitTestBase
+{
+    private static final long TIMEOUT = 10;
+
+    private SelectorThread _selectorThread;
+    private Thread _worker;
+    private ServerSocketChannel _serverSocketChannel;
+    private SocketChannel _clientChannel;
+    private SocketChannel _acceptedChannel;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        final NetworkConnectionScheduler scheduler = mock(NetworkConnectionScheduler.class);
+        when(scheduler.getSelectorThreadName()).thenReturn(getTestName());
+        _selectorThread = new SelectorThread(scheduler, 1, new SharedConnectionWorkQueue());
+        _worker = new Thread(_selectorThread);
+        _worker.start();
+
+        _serverSocketChannel = ServerSocketChannel.open();
+        _serverSocketChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        _clientChannel = SocketChannel.open(_serverSocketChannel.getLocalAddress());
+        _acceptedChannel = _serverSocketChannel.accept();
+        _acceptedChannel.configureBlocking(false);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        try
+        {
+            _selectorThread.close();
+            _worker.join(TimeUnit.SECONDS.toMillis(TIMEOUT));
+        }
+        finally
+        {
+            _acceptedChannel.close();
+            _clientChannel.close();
+            _serverSocketChannel.close();
+        }
+    }
+
+    @Test
+    public void testClosedConnectionWithoutTimerIsRemoved() throws Exception
+    {
+        final AggregateTicker ticker = mock(AggregateTicker.class);
+        when(ticker.getTimeToNextTick(anyLong())).thenReturn(Integer.MAX_VALUE);
+
+        final NonBlockingConnection connection = mock(NonBlockingConnection.class);
+        final AtomicReference<SelectorThread.SelectionTask> selectionTask = new AtomicReference<>();
+        doAnswer(invocation -> selectionTask.get()).when(connection).getSelectionTask();
+        doAnswer(invocation ->
+                 {
+                     selectionTask.set(invocation.getArgument(0));
+                     return null;
+                 }).when(connection).setSelectionTask(any(SelectorThread.SelectionTask.class));
+        when(connection.getSocketChannel()).thenReturn(_acceptedChannel);
+        when(connection.getTicker()).thenReturn(ticker);
+        when(connection.wantsRead()).thenReturn(true);
+
+        _selectorThread.addConnection(connection);
+        awaitUnscheduledConnectionCount(1);
+
+        _acceptedChannel.close();
+        _selectorThread.removeConnection(connection);
+        awaitUnscheduledConnectionCount(0);
+    }
+
+    private void awaitUnscheduledConnectionCount(final int expected) throws InterruptedException
+    {
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT);
+        while (_selectorThread.getUnscheduledConnectionCount() != expected && System.currentTimeMillis() < deadline)
+        {
+            Thread.sleep(10);
+        }
+        assertEquals("Unexpected number of unscheduled connections",
+                     (long) expected,
+                     (long) _selectorThread.getUnscheduledConnectionCount());
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.apache.qpid.server.transport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class TimerWheelTest extends UnitTestBase
+{
+    private static final long TICK = 10L;
+    private static final long START = 1000L;
+
+    private TimerWheel<String> _wheel;
+
+    @Before
+    public void setUp()
+    {
+        _wheel = new TimerWheel<>(TICK, 8, START);
+    }
+
+    @Test
+    public void testTimerNotExpiredBeforeDeadline()
+    {
+        final TimerWheel.Timer<String> timer = new TimerWheel.Timer<>("a");
+        _wheel.schedule(timer, START + 25);
+
+        assertTrue(timer.isScheduled());
+        assertEquals(1, _wheel.getSize());
+        assertEquals(START + 30 - (START + 5), _wheel.getTimeToNextExpiry(START + 5));
+
+        assertEquals(Collections.emptyList(), expire(START + 29));
+        assertEquals(Collections.singletonList("a"), expire(START + 30));
+
+        assertFalse(timer.isScheduled());
+        assertEquals(0, _wheel.getSize());
+        assertEquals(1, _wheel.getExpiredCount());
+        assertEquals(Long.MAX_VALUE, _wheel.getTimeToNextExpiry(START + 30));
+    }
+
+    @Test
+    public void testTimerBeyondOneRotation()
+    {
+        final TimerWheel.Timer<String> near = new TimerWheel.Timer<>("near");
+        final TimerWheel.Timer<String> far = new TimerWheel.Timer<>("far");
+        _wheel.schedule(near, START + 20);
+        // shares the bucket of the near timer, but is due one rotation later
+        _wheel.schedule(far, START + 20 + 8 * TICK);
+
+        assertEquals(Collections.singletonList("near"), expire(START + 20));
+        assertTrue(far.isScheduled());
+        assertEquals(Collections.emptyList(), expire(START + 90));
+        assertEquals(Collections.singletonList("far"), expire(START + 100));
+    }
+
+    @Test
+    public void testExpireAfterLongPause()
+    {
+        final TimerWheel.Timer<String> a = new TimerWheel.Timer<>("a");
+        final TimerWheel.Timer<String> b = new TimerWheel.Timer<>("b");
+        _wheel.schedule(a, START + 10);
+        _wheel.schedule(b, START + 500);
+
+        final List<String> expired = expire(START + 10000);
+        Collections.sort(expired);
+        assertEquals(Arrays.asList("a", "b"), expired);
+    }
+
+    @Test
+    public void testRescheduleAndCancel()
+    {
+        final TimerWheel.Timer<String> a = new TimerWheel.Timer<>("a");
+        final TimerWheel.Timer<String> b = new TimerWheel.Timer<>("b");
+        final TimerWheel.Timer<String> c = new TimerWheel.Timer<>("c");
+        _wheel.schedule(a, START + 10);
+        _wheel.schedule(b, START + 10);
+        _wheel.schedule(c, START + 10);
+
+        _wheel.schedule(a, START + 40);
+        _wheel.cancel(b);
+        _wheel.cancel(b);
+        assertEquals(2, _wheel.getSize());
+
+        assertEquals(Collections.singletonList("c"), expire(START + 10));
+        assertEquals(Collections.singletonList("a"), expire(START + 40));
+        assertEquals(0, _wheel.getSize());
+        assertEquals(START + 40, a.getDeadline());
+    }
+
+    @Test
+    public void testDeadlineInPastExpiresOnNextTick()
+    {
+        final TimerWheel.Timer<String> timer = new TimerWheel.Timer<>("a");
+        _wheel.schedule(timer, START - 100);
+
+        assertEquals(Collections.singletonList("a"), expire(START + TICK));
+    }
+
+    private List<String> expire(final long now)
+    {
+        final List<String> expired = new ArrayList<>();
+        _wheel.expire(now, expired);
+        return expired;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.transport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class WorkStealingConnectionWorkQueueTest extends UnitTestBase
+{
+    private static final long TIMEOUT = 10;
+
+    private WorkStealingConnectionWorkQueue _queue;
+    private NonBlockingConnection _connection;
+    private List<Thread> _workers;
+
+    @Before
+    public void setUp()
+    {
+        _queue = new WorkStealingConnectionWorkQueue();
+        _connection = mock(NonBlockingConnection.class, CALLS_REAL_METHODS);
+        _workers = new ArrayList<>();
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        for (Thread worker : _workers)
+        {
+            worker.interrupt();
+            worker.join(TimeUnit.SECONDS.toMillis(TIMEOUT));
+        }
+    }
+
+    @Test
+    public void testConnectionWorkRunsOnLastThread() throws Exception
+    {
+        final Thread first = startWorker();
+        final Thread affineThread = runAndGetThread(() -> _queue.processing(_connection));
+        assertEquals(first, affineThread);
+
+        final Thread second = startWorker();
+        awaitParked(first);
+        awaitParked(second);
+
+        final AtomicReference<Thread> ranOn = new AtomicReference<>();
+        final CountDownLatch ran = new CountDownLatch(1);
+        _queue.add(() ->
+                   {
+                       ranOn.set(Thread.currentThread());
+                       ran.countDown();
+                   }, _connection);
+
+        assertTrue("Connection work did not run", ran.await(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals("Connection work ran on unexpected thread", first, ranOn.get());
+        assertEquals(0L, _queue.getStolenTaskCount());
+    }
+
+    @Test
+    public void testConnectionWorkStolenFromBusyThread() throws Exception
+    {
+        final Thread first = startWorker();
+        runAndGetThread(() -> _queue.processing(_connection));
+
+        final CountDownLatch busy = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        _queue.add(() ->
+                   {
+                       busy.countDown();
+                       try
+                       {
+                           release.await(TIMEOUT, TimeUnit.SECONDS);
+                       }
+                       catch (InterruptedException e)
+                       {
+                           Thread.currentThread().interrupt();
+                       }
+                   });
+        assertTrue("First worker did not become busy", busy.await(TIMEOUT, TimeUnit.SECONDS));
+
+        final Thread second = startWorker();
+        awaitParked(second);
+        try
+        {
+            final AtomicReference<Thread> ranOn = new AtomicReference<>();
+            final CountDownLatch ran = new CountDownLatch(1);
+            _queue.add(() ->
+                       {
+                           ranOn.set(Thread.currentThread());
+                           ran.countDown();
+                       }, _connection);
+
+            assertTrue("Connection work was not stolen", ran.await(TIMEOUT, TimeUnit.SECONDS));
+            assertEquals("Connection work ran on unexpected thread", second, ranOn.get());
+            assertEquals(1L, _queue.getStolenTaskCount());
+        }
+        finally
+        {
+            release.countDown();
+        }
+        awaitParked(first);
+    }
+
+    @Test
+    public void testSharedWorkRunsOnAnyThread() throws Exception
+    {
+        startWorker();
+        startWorker();
+
+        final int numberOfTasks = 1000;
+        final CountDownLatch ran = new CountDownLatch(numberOfTasks);
+        for (int i = 0; i < numberOfTasks; i++)
+        {
+            _queue.add(ran::countDown);
+        }
+        assertTrue("Tasks did not all run", ran.await(TIMEOUT, TimeUnit.SECONDS));
+    }
+
+    private Thread startWorker()
+    {
+        final Thread worker = new Thread(() ->
+                                         {
+                                             try
+                                             {
+                                                 while (true)
+                                                 {
+                                                     _queue.take().run();
+                                                 }
+                                             }
+                                             catch (InterruptedException e)
+                                             {
+                                                 Thread.currentThread().interrupt();
+                                             }
+                                         }, getTestName() + "-worker-" + _workers.size());
+        worker.setDaemon(true);
+        _workers.add(worker);
+        worker.start();
+        return worker;
+    }
+
+    private Thread runAndGetThread(final Runnable runnable) throws InterruptedException
+    {
+        final AtomicReference<Thread> ranOn = new AtomicReference<>();
+        final CountDownLatch ran = new CountDownLatch(1);
+        _queue.add(() ->
+                   {
+                       runnable.run();
+                       ranOn.set(Thread.currentThread());
+                       ran.countDown();
+                   });
+        assertTrue("Task did not run", ran.await(TIMEOUT, TimeUnit.SECONDS));
+        return ranOn.get();
+    }
+
+    private void awaitParked(final Thread worker) throws InterruptedException
+    {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT);
+        while (worker.getState() != Thread.State.WAITING)
+        {
+            assertTrue("Worker " + worker.getName() + " did not park", System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.virtualhost;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.security.AccessControlException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.apache.qpid.server.configuration.store.StoreConfigurationChangeListener;
+import org.apache.qpid.server.model.BrokerTestHelper;
+import org.apache.qpid.server.model.ConfiguredObject;
+import org.apache.qpid.server.model.Exchange;
+import org.apache.qpid.server.model.Queue;
+import org.apache.qpid.server.security.AccessControl;
+import org.apache.qpid.server.security.Result;
+import org.apache.qpid.server.security.access.Operation;
+import org.apache.qpid.server.store.ConfiguredObjectRecord;
+import org.apache.qpid.server.store.DurableConfigurationStore;
+import org.apache.qpid.server.store.StoreException;
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class BulkConfigurationChangesTest extends UnitTestBase
+{
+    private AccessControl _accessControl;
+    private QueueManagingVirtualHost<?> _virtualHost;
+    private DurableConfigurationStore _store;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        _accessControl = BrokerTestHelper.createAccessControlMock();
+        _virtualHost = BrokerTestHelper.createVirtualHost(getTestName(), _accessControl, this);
+        _store = _virtualHost.getDurableConfigurationStore();
+        clearInvocations(_store);
+        _virtualHost.addChangeListener(new StoreConfigurationChangeListener(_store));
+    }
+
+    @Test
+    public void testBatchIsWrittenToStoreInOneUpdate()
+    {
+        final int applied = _virtualHost.bulkConfigure(Arrays.asList(create("Queue", "queue1"),
+                                                                     create("Queue", "queue2"),
+                                                                     createExchange("exchange1"),
+                                                                     bind("exchange1", "queue1", "key1")));
+
+        assertEquals("Unexpected number of changes applied", 4, applied);
+        final Queue<?> queue1 = _virtualHost.getChildByName(Queue.class, "queue1");
+        final Queue<?> queue2 = _virtualHost.getChildByName(Queue.class, "queue2");
+        final Exchange<?> exchange = _virtualHost.getChildByName(Exchange.class, "exchange1");
+        assertNotNull("Queue not created", queue1);
+        assertNotNull("Queue not created", queue2);
+        assertNotNull("Exchange not created", exchange);
+        assertTrue("Binding not created", exchange.hasBinding("key1", queue1));
+
+        final ArgumentCaptor<ConfiguredObjectRecord> records = ArgumentCaptor.forClass(ConfiguredObjectRecord.class);
+        verify(_store).update(eq(true), records.capture());
+        final Set<UUID> ids = new HashSet<>();
+        for (ConfiguredObjectRecord record : records.getAllValues())
+        {
+            ids.add(record.getId());
+        }
+        assertEquals("Unexpected records written",
+                     new HashSet<>(Arrays.asList(queue1.getId(), queue2.getId(), exchange.getId())),
+                     ids);
+        verify(_store, never()).update(eq(false), any(ConfiguredObjectRecord[].class));
+    }
+
+    @Test
+    public void testInvalidBatchMakesNoChanges()
+    {
+        try
+        {
+            _virtualHost.bulkConfigure(Arrays.asList(create("Queue", "queue1"), delete("Queue", "missing")));
+            fail("Exception not thrown");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // pass
+        }
+
+        assertNull("Queue should not be created", _virtualHost.getChildByName(Queue.class, "queue1"));
+        verify(_store, never()).update(anyBoolean(), any(ConfiguredObjectRecord[].class));
+    }
+
+    @Test
+    public void testDuplicateNameInBatchIsRejected()
+    {
+        try
+        {
+            _virtualHost.bulkConfigure(Arrays.asList(create("Queue", "queue1"), create("Queue", "queue1")));
+            fail("Exception not thrown");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // pass
+        }
+
+        assertNull("Queue should not be created", _virtualHost.getChildByName(Queue.class, "queue1"));
+    }
+
+    @Test
+    public void testUpdateAndDeleteExistingChildren()
+    {
+        _virtualHost.bulkConfigure(Arrays.asList(create("Queue", "queue1"), create("Queue", "queue2")));
+
+        final Map<String, Object> update = new HashMap<>();
+        update.put(BulkConfigurationChanges.ACTION, "update");
+        update.put(BulkConfigurationChanges.CATEGORY, "Queue");
+        update.put(BulkConfigurationChanges.NAME, "queue1");
+        update.put(BulkConfigurationChanges.ATTRIBUTES, Collections.singletonMap(Queue.DESCRIPTION, "updated"));
+
+        _virtualHost.bulkConfigure(Arrays.asList(update, delete("Queue", "queue2")));
+
+        assertEquals("Queue not updated",
+                     "updated",
+                     _virtualHost.getChildByName(Queue.class, "queue1").getDescription());
+        assertNull("Queue not deleted", _virtualHost.getChildByName(Queue.class, "queue2"));
+    }
+
+    @Test
+    public void testChangesToChildrenCreatedInBatch()
+    {
+        _virtualHost.bulkConfigure(Arrays.asList(create("Queue", "queue1"),
+                                                 update("Queue", "queue1", "updated"),
+                                                 createExchange("exchange1"),
+                                                 bind("exchange1", "queue1", "key1"),
+                                                 create("Queue", "queue2"),
+                                                 delete("Queue", "queue2")));
+
+        final Queue<?> queue = _virtualHost.getChildByName(Queue.class, "queue1");
+        assertNotNull("Queue not created", queue);
+        assertEquals("Queue not updated", "updated", queue.getDescription());
+        assertTrue("Binding not created",
+                   _virtualHost.getChildByName(Exchange.class, "exchange1").hasBinding("key1", queue));
+        assertNull("Queue not deleted", _virtualHost.getChildByName(Queue.class, "queue2"));
+    }
+
+    @Test
+    public void testBatchWhichCannotBeStoredIsRemoved()
+    {
+        _virtualHost.bulkConfigure(Collections.singletonList(create("Queue", "queue1")));
+        clearInvocations(_store);
+        doThrow(new StoreException("Test")).when(_store).update(eq(true), any());
+
+        try
+        {
+            _virtualHost.bulkConfigure(Arrays.asList(create("Queue", "queue2"),
+                                                     createExchange("exchange1"),
+                                                     bind("exchange1", "queue1", "key1"),
+                                                     bind("exchange1", "queue2", "key2")));
+            fail("Exception not thrown");
+        }
+        catch (StoreException e)
+        {
+            // pass
+        }
+
+        assertNull("Queue should be removed", _virtualHost.getChildByName(Queue.class, "queue2"));
+        assertNull("Exchange should be removed", _virtualHost.getChildByName(Exchange.class, "exchange1"));
+        assertNotNull("Existing queue should remain", _virtualHost.getChildByName(Queue.class, "queue1"));
+        verify(_store, never()).remove(any());
+    }
+
+    @Test
+    public void testDeniedUpdateMakesNoChanges()
+    {
+        _virtualHost.bulkConfigure(Collections.singletonList(create("Queue", "queue1")));
+        denyQueueUpdates();
+
+        try
+        {
+            _virtualHost.bulkConfigure(Arrays.asList(create("Queue", "queue2"), update("Queue", "queue1", "updated")));
+            fail("Exception not thrown");
+        }
+        catch (AccessControlException e)
+        {
+            // pass
+        }
+
+        assertNull("Queue should not be created", _virtualHost.getChildByName(Queue.class, "queue2"));
+        assertNull("Queue should not be updated", _virtualHost.getChildByName(Queue.class, "queue1").getDescription());
+    }
+
+    @Test
+    public void testDeniedUpdateOfChildCreatedInBatchMakesNoChanges()
+    {
+        denyQueueUpdates();
+
+        try
+        {
+            _virtualHost.bulkConfigure(Arrays.asList(create("Queue", "queue1"), update("Queue", "queue1", "updated")));
+            fail("Exception not thrown");
+        }
+        catch (AccessControlException e)
+        {
+            // pass
+        }
+
+        assertNull("Queue should not be created", _virtualHost.getChildByName(Queue.class, "queue1"));
+    }
+
+    private void denyQueueUpdates()
+    {
+        when(_accessControl.authorise(isNull(),
+                                      eq(Operation.UPDATE),
+                                      argThat(object -> object instanceof Queue),
+                                      any(Map.class))).thenReturn(Result.DENIED);
+    }
+
+    private Map<String, Object> update(final String category, final String name, final String description)
+    {
+        final Map<String, Object> operation = new HashMap<>();
+        operation.put(BulkConfigurationChanges.ACTION, "update");
+        operation.put(BulkConfigurationChanges.CATEGORY, category);
+        operation.put(BulkConfigurationChanges.NAME, name);
+        operation.put(BulkConfigurationChanges.ATTRIBUTES, Collections.singletonMap(ConfiguredObject.DESCRIPTION,
+                                                                                   description));
+        return operation;
+    }
+
+    private Map<String, Object> create(final String category, final String name)
+    {
+        final Map<String, Object> attributes = new HashMap<>();
+        attributes.put(ConfiguredObject.NAME, name);
+        attributes.put(ConfiguredObject.DURABLE, true);
+        final Map<String, Object> operation = new HashMap<>();
+        operation.put(BulkConfigurationChanges.ACTION, "create");
+        operation.put(BulkConfigurationChanges.CATEGORY, category);
+        operation.put(BulkConfigurationChanges.ATTRIBUTES, attributes);
+        return operation;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> createExchange(final String name)
+    {
+        final Map<String, Object> operation = create("Exchange", name);
+        ((Map<String, Object>) operation.get(BulkConfigurationChanges.ATTRIBUTES)).put(ConfiguredObject.TYPE,
+                                                                                       "direct");
+        return operation;
+    }
+
+    private Map<String, Object> delete(final String category, final String name)
+    {
+        final Map<String, Object> operation = new HashMap<>();
+        operation.put(BulkConfigurationChanges.ACTION, "delete");
+        operation.put(BulkConfigurationChanges.CATEGORY, category);
+        operation.put(BulkConfigurationChanges.NAME, name);
+        return operation;
+    }
+
+    private Map<String, Object> bind(final String exchange, final String destination, final String bindingKey)
+    {
+        final Map<String, Object> operation = new HashMap<>();
+        operation.put(BulkConfigurationChanges.ACTION, "bind");
+        operation.put(BulkConfigurationChanges.EXCHANGE, exchange);
+        operation.put(BulkConfigurationChanges.DESTINATION, destination);
+        operation.put(BulkConfigurationChanges.BINDING_KEY, bindingKey);
+        return operation;
+    }
+}
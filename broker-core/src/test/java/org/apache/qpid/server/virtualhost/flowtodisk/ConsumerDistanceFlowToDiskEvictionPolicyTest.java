@@ -0,0 +1,145 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.virtualhost.flowtodisk;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.apache.qpid.server.message.MessageReference;
+import org.apache.qpid.server.message.ServerMessage;
+import org.apache.qpid.server.model.Queue;
+import org.apache.qpid.server.plugin.FlowToDiskEvictionPolicy;
+import org.apache.qpid.server.queue.QueueEntry;
+import org.apache.qpid.server.queue.QueueEntryIterator;
+import org.apache.qpid.server.store.StoredMessage;
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class ConsumerDistanceFlowToDiskEvictionPolicyTest extends UnitTestBase
+{
+    private static final long MESSAGE_SIZE = 10L;
+
+    @Test
+    public void testIdleQueuesAreEvictedBeforeConsumedQueues()
+    {
+        final List<StoredMessage> consumedMessages = new ArrayList<>();
+        final List<StoredMessage> idleMessages = new ArrayList<>();
+        final Queue<?> consumedQueue = createQueue(1, consumedMessages);
+        final Queue<?> idleQueue = createQueue(0, idleMessages);
+
+        final FlowToDiskEvictionPolicy policy = FlowToDiskEvictionPolicyRegistry.getPolicy(
+                ConsumerDistanceFlowToDiskEvictionPolicy.TYPE);
+        policy.evict(Arrays.asList(idleQueue, consumedQueue), 2 * MESSAGE_SIZE);
+
+        for (StoredMessage message : consumedMessages)
+        {
+            verify(message, never()).flowToDisk();
+        }
+        for (StoredMessage message : idleMessages)
+        {
+            verify(message).flowToDisk();
+        }
+    }
+
+    @Test
+    public void testTailOfConsumedQueueIsEvicted()
+    {
+        final List<StoredMessage> consumedMessages = new ArrayList<>();
+        final Queue<?> consumedQueue = createQueue(1, consumedMessages);
+
+        final FlowToDiskEvictionPolicy policy = FlowToDiskEvictionPolicyRegistry.getPolicy(
+                ConsumerDistanceFlowToDiskEvictionPolicy.TYPE);
+        policy.evict(Arrays.asList(consumedQueue), MESSAGE_SIZE);
+
+        verify(consumedMessages.get(0), never()).flowToDisk();
+        verify(consumedMessages.get(1)).flowToDisk();
+    }
+
+    private Queue<?> createQueue(final int consumerCount, final List<StoredMessage> storedMessages)
+    {
+        final Queue<?> queue = mock(Queue.class);
+        when(queue.getConsumerCount()).thenReturn(consumerCount);
+        when(queue.checkValid(any(QueueEntry.class))).thenReturn(true);
+
+        final List<QueueEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 2; i++)
+        {
+            final StoredMessage storedMessage = mock(StoredMessage.class);
+            when(storedMessage.getInMemorySize()).thenReturn(MESSAGE_SIZE);
+            storedMessages.add(storedMessage);
+
+            final ServerMessage message = mock(ServerMessage.class);
+            when(message.getStoredMessage()).thenReturn(storedMessage);
+            final MessageReference reference = mock(MessageReference.class);
+            when(reference.getMessage()).thenReturn(message);
+            when(message.newReference()).thenReturn(reference);
+
+            final QueueEntry entry = mock(QueueEntry.class);
+            when(entry.getMessage()).thenReturn(message);
+            when(entry.getQueue()).thenReturn((Queue) queue);
+            entries.add(entry);
+        }
+        when(queue.queueEntryIterator()).thenAnswer(invocation -> new ListQueueEntryIterator(entries));
+        return queue;
+    }
+
+    private static class ListQueueEntryIterator implements QueueEntryIterator
+    {
+        private final List<QueueEntry> _entries;
+        private int _index = -1;
+
+        ListQueueEntryIterator(final List<QueueEntry> entries)
+        {
+            _entries = entries;
+        }
+
+        @Override
+        public boolean atTail()
+        {
+            return _index >= _entries.size() - 1;
+        }
+
+        @Override
+        public QueueEntry getNode()
+        {
+            return _index < 0 ? null : _entries.get(_index);
+        }
+
+        @Override
+        public boolean advance()
+        {
+            if (atTail())
+            {
+                return false;
+            }
+            _index++;
+            return true;
+        }
+    }
+}
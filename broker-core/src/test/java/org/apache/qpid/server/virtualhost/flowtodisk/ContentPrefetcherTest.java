@@ -0,0 +1,186 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.virtualhost.flowtodisk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Test;
+
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.message.MessageReference;
+import org.apache.qpid.server.message.ServerMessage;
+import org.apache.qpid.server.store.StoredMessage;
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class ContentPrefetcherTest extends UnitTestBase
+{
+    private static final int CONTENT_SIZE = 100;
+
+    private final List<Runnable> _tasks = new ArrayList<>();
+    private final Executor _executor = _tasks::add;
+
+    @Test
+    public void testFlowedContentIsReadOnExecutor()
+    {
+        final ContentPrefetcher prefetcher = new ContentPrefetcher(_executor, 10 * CONTENT_SIZE);
+        final StoredMessage<?> storedMessage = createStoredMessage(1L, false);
+        final MessageReference<?> reference = createReference(storedMessage);
+
+        assertTrue("Prefetch should be scheduled", prefetcher.prefetch(reference));
+        verify(storedMessage, never()).getContent(anyInt(), anyInt());
+        assertEquals("Unexpected outstanding bytes", CONTENT_SIZE, prefetcher.getOutstandingBytes());
+
+        runTasks();
+
+        verify(storedMessage).getContent(0, Integer.MAX_VALUE);
+        verify(reference).release();
+        assertEquals("Unexpected outstanding bytes", 0, prefetcher.getOutstandingBytes());
+    }
+
+    @Test
+    public void testScheduledPrefetchReleasesReferenceAfterClose()
+    {
+        final ContentPrefetcher prefetcher = new ContentPrefetcher(_executor, 10 * CONTENT_SIZE);
+        final StoredMessage<?> storedMessage = createStoredMessage(1L, false);
+        final MessageReference<?> reference = createReference(storedMessage);
+
+        assertTrue("Prefetch should be scheduled", prefetcher.prefetch(reference));
+
+        prefetcher.close();
+        runTasks();
+
+        verify(storedMessage, never()).getContent(anyInt(), anyInt());
+        verify(reference).release();
+        assertEquals("Unexpected outstanding bytes", 0, prefetcher.getOutstandingBytes());
+
+        final MessageReference<?> laterReference = createReference(createStoredMessage(2L, false));
+        assertFalse("Prefetch should be refused after close", prefetcher.prefetch(laterReference));
+        assertTrue("Unexpected task", _tasks.isEmpty());
+        verify(laterReference).release();
+    }
+
+    @Test
+    public void testContentInMemoryIsNotRead()
+    {
+        final ContentPrefetcher prefetcher = new ContentPrefetcher(_executor, 10 * CONTENT_SIZE);
+        final StoredMessage<?> storedMessage = createStoredMessage(1L, true);
+        final MessageReference<?> reference = createReference(storedMessage);
+
+        assertTrue("Prefetch should not be refused", prefetcher.prefetch(reference));
+
+        assertTrue("Unexpected task", _tasks.isEmpty());
+        verify(reference).release();
+    }
+
+    @Test
+    public void testMessageAlreadyBeingReadIsNotScheduledAgain()
+    {
+        final ContentPrefetcher prefetcher = new ContentPrefetcher(_executor, 10 * CONTENT_SIZE);
+        final StoredMessage<?> storedMessage = createStoredMessage(1L, false);
+        final MessageReference<?> reference1 = createReference(storedMessage);
+        final MessageReference<?> reference2 = createReference(storedMessage);
+
+        assertTrue("Prefetch should be scheduled", prefetcher.prefetch(reference1));
+        assertTrue("Prefetch should not be refused", prefetcher.prefetch(reference2));
+
+        assertEquals("Unexpected number of tasks", 1, _tasks.size());
+        verify(reference2).release();
+    }
+
+    @Test
+    public void testBudgetBoundsOutstandingReads()
+    {
+        final ContentPrefetcher prefetcher = new ContentPrefetcher(_executor, CONTENT_SIZE + CONTENT_SIZE / 2);
+        final MessageReference<?> reference1 = createReference(createStoredMessage(1L, false));
+        final MessageReference<?> reference2 = createReference(createStoredMessage(2L, false));
+
+        assertTrue("First prefetch should be scheduled", prefetcher.prefetch(reference1));
+        assertFalse("Second prefetch should exceed the budget", prefetcher.prefetch(reference2));
+        verify(reference2).release();
+
+        runTasks();
+
+        final MessageReference<?> reference3 = createReference(createStoredMessage(2L, false));
+        assertTrue("Prefetch should be scheduled once budget is returned", prefetcher.prefetch(reference3));
+    }
+
+    @Test
+    public void testMessageLargerThanBudgetIsReadWhenNothingOutstanding()
+    {
+        final ContentPrefetcher prefetcher = new ContentPrefetcher(_executor, CONTENT_SIZE / 2);
+        final MessageReference<?> reference = createReference(createStoredMessage(1L, false));
+
+        assertTrue("Prefetch should be scheduled", prefetcher.prefetch(reference));
+    }
+
+    @Test
+    public void testRejectedExecutionReleasesReference()
+    {
+        final ContentPrefetcher prefetcher = new ContentPrefetcher(task -> {
+            throw new RejectedExecutionException();
+        }, 10 * CONTENT_SIZE);
+        final MessageReference<?> reference = createReference(createStoredMessage(1L, false));
+
+        assertFalse("Prefetch should be refused", prefetcher.prefetch(reference));
+
+        verify(reference).release();
+        assertEquals("Unexpected outstanding bytes", 0, prefetcher.getOutstandingBytes());
+    }
+
+    private void runTasks()
+    {
+        final List<Runnable> tasks = new ArrayList<>(_tasks);
+        _tasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private StoredMessage<?> createStoredMessage(final long messageNumber, final boolean inMemory)
+    {
+        final StoredMessage<?> storedMessage = mock(StoredMessage.class);
+        when(storedMessage.getMessageNumber()).thenReturn(messageNumber);
+        when(storedMessage.getContentSize()).thenReturn(CONTENT_SIZE);
+        when(storedMessage.isInContentInMemory()).thenReturn(inMemory);
+        when(storedMessage.getContent(0, Integer.MAX_VALUE)).thenReturn(mock(QpidByteBuffer.class));
+        return storedMessage;
+    }
+
+    @SuppressWarnings("unchecked")
+    private MessageReference<?> createReference(final StoredMessage storedMessage)
+    {
+        final ServerMessage message = mock(ServerMessage.class);
+        when(message.getStoredMessage()).thenReturn(storedMessage);
+        final MessageReference reference = mock(MessageReference.class);
+        when(reference.getMessage()).thenReturn(message);
+        return reference;
+    }
+}
@@ -27,6 +27,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.compression.MessageCompressionCodecRegistry;
 import org.apache.qpid.server.consumer.AbstractConsumerTarget;
 import org.apache.qpid.server.logging.EventLogger;
 import org.apache.qpid.server.logging.messages.ChannelMessages;
@@ -37,6 +38,7 @@ import org.apache.qpid.server.message.MessageInstance.EntryState;
 import org.apache.qpid.server.message.MessageInstanceConsumer;
 import org.apache.qpid.server.message.ServerMessage;
 import org.apache.qpid.server.model.Queue;
+import org.apache.qpid.server.plugin.MessageCompressionCodec;
 import org.apache.qpid.server.plugin.MessageConverter;
 import org.apache.qpid.server.protocol.MessageConverterRegistry;
 import org.apache.qpid.server.protocol.converter.MessageConversionException;
@@ -55,7 +57,6 @@ import org.apache.qpid.server.txn.AutoCommitTransaction;
 import org.apache.qpid.server.txn.ServerTransaction;
 import org.apache.qpid.server.util.Action;
 import org.apache.qpid.server.util.ConnectionScopedRuntimeException;
-import org.apache.qpid.server.util.GZIPUtils;
 import org.apache.qpid.server.util.StateChangeListener;
 
 public class ConsumerTarget_0_10 extends AbstractConsumerTarget<ConsumerTarget_0_10>
@@ -250,34 +251,42 @@ public class ConsumerTarget_0_10 extends AbstractConsumerTarget<ConsumerTarget_0
 
         deliveryProps.setRedelivered(entry.isRedelivered());
 
-        boolean msgCompressed = messageProps != null && GZIPUtils.GZIP_CONTENT_ENCODING.equals(messageProps.getContentEncoding());
+        MessageCompressionCodec messageCodec =
+                messageProps == null ? null : MessageCompressionCodecRegistry.getCodec(messageProps.getContentEncoding());
 
 
         QpidByteBuffer bodyBuffer = msg.getBody();
 
-        boolean compressionSupported = _session.getConnection().getConnectionDelegate().isCompressionSupported();
+        final ServerConnectionDelegate connectionDelegate = _session.getConnection().getConnectionDelegate();
+        final MessageCompressionCodec connectionCodec = connectionDelegate.getMessageCompressionCodec();
 
-        if(msgCompressed && !compressionSupported && bodyBuffer != null)
+        if(messageCodec != null && !connectionDelegate.isCompressionCodecAccepted(messageCodec) && bodyBuffer != null)
         {
-            QpidByteBuffer uncompressedBuffer = inflateIfPossible(bodyBuffer);
-            messageProps.setContentEncoding(null);
-            bodyBuffer.dispose();
-            bodyBuffer = uncompressedBuffer;
+            QpidByteBuffer uncompressedBuffer = inflateIfPossible(messageCodec, bodyBuffer);
+            if (uncompressedBuffer != null)
+            {
+                messageProps.setContentEncoding(null);
+                bodyBuffer.dispose();
+                bodyBuffer = uncompressedBuffer;
+            }
         }
-        else if(!msgCompressed
-                && compressionSupported
+        else if(messageCodec == null
+                && connectionCodec != null
                 && (messageProps == null || messageProps.getContentEncoding() == null)
                 && bodyBuffer != null
                 && bodyBuffer.remaining() > _session.getConnection().getMessageCompressionThreshold())
         {
-            QpidByteBuffer compressedBuffers = deflateIfPossible(bodyBuffer);
-            if(messageProps == null)
+            QpidByteBuffer compressedBuffers = deflateIfPossible(connectionCodec, bodyBuffer);
+            if (compressedBuffers != null)
             {
-                messageProps = new MessageProperties();
+                if(messageProps == null)
+                {
+                    messageProps = new MessageProperties();
+                }
+                messageProps.setContentEncoding(connectionCodec.getType());
+                bodyBuffer.dispose();
+                bodyBuffer = compressedBuffers;
             }
-            messageProps.setContentEncoding(GZIPUtils.GZIP_CONTENT_ENCODING);
-            bodyBuffer.dispose();
-            bodyBuffer = compressedBuffers;
         }
 
         Header header = new Header(deliveryProps, messageProps, msg.getHeader() == null ? null : msg.getHeader().getNonStandardProperties());
@@ -589,28 +598,30 @@ public class ConsumerTarget_0_10 extends AbstractConsumerTarget<ConsumerTarget_0
     }
 
 
-    private QpidByteBuffer deflateIfPossible(final QpidByteBuffer buffer)
+    private QpidByteBuffer deflateIfPossible(final MessageCompressionCodec codec, final QpidByteBuffer buffer)
     {
         try
         {
-            return QpidByteBuffer.deflate(buffer);
+            return codec.compress(buffer);
         }
         catch (IOException e)
         {
-            LOGGER.warn("Unable to compress message payload for consumer with gzip, message will be sent as is", e);
+            LOGGER.warn("Unable to compress message payload for consumer with {}, message will be sent as is",
+                        codec.getType(), e);
             return null;
         }
     }
 
-    private QpidByteBuffer inflateIfPossible(final QpidByteBuffer buffer)
+    private QpidByteBuffer inflateIfPossible(final MessageCompressionCodec codec, final QpidByteBuffer buffer)
     {
         try
         {
-            return QpidByteBuffer.inflate(buffer);
+            return codec.decompress(buffer);
         }
         catch (IOException e)
         {
-            LOGGER.warn("Unable to decompress message payload for consumer with gzip, message will be sent as is", e);
+            LOGGER.warn("Unable to decompress message payload for consumer with {}, message will be sent as is",
+                        codec.getType(), e);
             return null;
         }
     }
@@ -39,10 +39,12 @@ import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.apache.qpid.server.compression.MessageCompressionCodecRegistry;
 import org.apache.qpid.server.model.Broker;
 import org.apache.qpid.server.model.NamedAddressSpace;
 import org.apache.qpid.server.model.port.AmqpPort;
 import org.apache.qpid.server.plugin.ConnectionPropertyEnricher;
+import org.apache.qpid.server.plugin.MessageCompressionCodec;
 import org.apache.qpid.server.properties.ConnectionStartProperties;
 import org.apache.qpid.server.protocol.v0_10.transport.*;
 import org.apache.qpid.server.security.SubjectCreator;
@@ -70,7 +72,7 @@ public class ServerConnectionDelegate extends MethodDelegate<ServerConnection> i
     private final SubjectCreator _subjectCreator;
     private int _maximumFrameSize;
 
-    private boolean _compressionSupported;
+    private List<MessageCompressionCodec> _acceptedCompressionCodecs = Collections.emptyList();
     private volatile SaslNegotiator _saslNegotiator;
 
     enum ConnectionState
@@ -506,13 +508,9 @@ public class ServerConnectionDelegate extends MethodDelegate<ServerConnection> i
         _clientProperties = ok.getClientProperties();
         if(_clientProperties != null)
         {
-            Object compressionSupported =
-                    _clientProperties.get(ConnectionStartProperties.QPID_MESSAGE_COMPRESSION_SUPPORTED);
-            if (compressionSupported != null)
-            {
-                _compressionSupported = Boolean.parseBoolean(String.valueOf(compressionSupported));
-
-            }
+            _acceptedCompressionCodecs = MessageCompressionCodecRegistry.getAcceptedCodecs(
+                    _clientProperties.get(ConnectionStartProperties.QPID_MESSAGE_COMPRESSION_SUPPORTED),
+                    _clientProperties.get(ConnectionStartProperties.QPID_MESSAGE_COMPRESSION_CODECS));
             final AMQPConnection_0_10 protocolEngine = serverConnection.getAmqpConnection();
             protocolEngine.setClientId(getStringClientProperty(ConnectionStartProperties.CLIENT_ID_0_10));
             protocolEngine.setClientProduct(getStringClientProperty(ConnectionStartProperties.PRODUCT));
@@ -558,7 +556,20 @@ public class ServerConnectionDelegate extends MethodDelegate<ServerConnection> i
 
     public boolean isCompressionSupported()
     {
-        return _compressionSupported && _broker.isMessageCompressionEnabled();
+        return !_acceptedCompressionCodecs.isEmpty() && _broker.isMessageCompressionEnabled();
+    }
+
+    /**
+     * @return the codec preferred by the client for compressing messages, or null if compression is not supported
+     */
+    public MessageCompressionCodec getMessageCompressionCodec()
+    {
+        return isCompressionSupported() ? _acceptedCompressionCodecs.get(0) : null;
+    }
+
+    public boolean isCompressionCodecAccepted(MessageCompressionCodec codec)
+    {
+        return isCompressionSupported() && _acceptedCompressionCodecs.contains(codec);
     }
 
     private void connectionAuthFailed(final ServerConnection serverConnection, Exception e)
@@ -425,6 +425,7 @@ public class ServerSessionDelegate extends MethodDelegate<ServerSession> impleme
     @Override
     public void messageTransfer(ServerSession ssn, final MessageTransfer xfr)
     {
+        final long receivedTime = System.nanoTime();
         try
         {
             if(ssn.blockingTimeoutExceeded())
@@ -543,7 +544,7 @@ public class ServerSessionDelegate extends MethodDelegate<ServerSession> impleme
                     else
                     {
                         ssn.recordFuture(Futures.immediateFuture(null),
-                                         new CommandProcessedAction(ssn, xfr));
+                                         new TransferProcessedAction(ssn, xfr, receivedTime));
                     }
                 }
                 catch (VirtualHostUnavailableException e)
@@ -2035,4 +2036,23 @@ public class ServerSessionDelegate extends MethodDelegate<ServerSession> impleme
         }
     }
 
+    private static class TransferProcessedAction extends CommandProcessedAction
+    {
+        private final ServerSession _serverSession;
+        private final long _receivedTime;
+
+        TransferProcessedAction(final ServerSession serverSession, final MessageTransfer xfr, final long receivedTime)
+        {
+            super(serverSession, xfr);
+            _serverSession = serverSession;
+            _receivedTime = receivedTime;
+        }
+
+        @Override
+        public void postCommit()
+        {
+            super.postCommit();
+            _serverSession.getAMQPConnection().registerPublishSettled(_receivedTime);
+        }
+    }
 }
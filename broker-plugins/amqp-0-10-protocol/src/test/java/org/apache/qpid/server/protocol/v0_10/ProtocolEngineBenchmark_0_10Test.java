@@ -0,0 +1,164 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.protocol.v0_10;
+
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.model.Protocol;
+import org.apache.qpid.server.protocol.v0_10.transport.ConnectionOpen;
+import org.apache.qpid.server.protocol.v0_10.transport.ConnectionStartOk;
+import org.apache.qpid.server.protocol.v0_10.transport.ConnectionTuneOk;
+import org.apache.qpid.server.protocol.v0_10.transport.DeliveryProperties;
+import org.apache.qpid.server.protocol.v0_10.transport.Header;
+import org.apache.qpid.server.protocol.v0_10.transport.MessageAcceptMode;
+import org.apache.qpid.server.protocol.v0_10.transport.MessageAcquireMode;
+import org.apache.qpid.server.protocol.v0_10.transport.MessageCreditUnit;
+import org.apache.qpid.server.protocol.v0_10.transport.MessageFlow;
+import org.apache.qpid.server.protocol.v0_10.transport.MessageFlowMode;
+import org.apache.qpid.server.protocol.v0_10.transport.MessageSetFlowMode;
+import org.apache.qpid.server.protocol.v0_10.transport.MessageSubscribe;
+import org.apache.qpid.server.protocol.v0_10.transport.MessageTransfer;
+import org.apache.qpid.server.protocol.v0_10.transport.Method;
+import org.apache.qpid.server.protocol.v0_10.transport.RangeSet;
+import org.apache.qpid.server.protocol.v0_10.transport.RangeSetFactory;
+import org.apache.qpid.server.protocol.v0_10.transport.SessionAttach;
+import org.apache.qpid.server.protocol.v0_10.transport.SessionCommandPoint;
+import org.apache.qpid.server.protocol.v0_10.transport.SessionCompleted;
+import org.apache.qpid.server.transport.ProtocolEngineBenchmark;
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class ProtocolEngineBenchmark_0_10Test extends UnitTestBase
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProtocolEngineBenchmark_0_10Test.class);
+    private static final int CHANNEL = 1;
+    private static final String DESTINATION = "consumer";
+
+    private ProtocolEngineBenchmark _benchmark;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        _benchmark = new ProtocolEngineBenchmark(Protocol.AMQP_0_10);
+        _benchmark.start();
+    }
+
+    @After
+    public void tearDown()
+    {
+        _benchmark.close();
+    }
+
+    @Test
+    public void testPublishAndConsume()
+    {
+        final ProtocolEngineBenchmark.Result result = _benchmark.run(new FrameStream_0_10());
+        LOGGER.info("{}", result);
+
+        assertTrue("Unexpected output size", result.getBytesWrittenPerMessage() > 0);
+    }
+
+    private static class FrameStream_0_10 implements ProtocolEngineBenchmark.FrameStream
+    {
+        @Override
+        public void open(final ProtocolEngineBenchmark.EncodedFrames frames,
+                         final String virtualHostName,
+                         final String queueName)
+        {
+            frames.write(ProtocolEngineCreator_0_10.getInstance().getHeaderIdentifier());
+
+            final ServerDisassembler disassembler = new ServerDisassembler(frames, Constant.MIN_MAX_FRAME_SIZE);
+            send(disassembler, 0, new ConnectionStartOk(Collections.emptyMap(), "ANONYMOUS", new byte[0], "en_US"));
+            send(disassembler, 0, new ConnectionTuneOk(0, Constant.MIN_MAX_FRAME_SIZE, 0));
+            send(disassembler, 0, new ConnectionOpen(virtualHostName, null));
+
+            send(disassembler, CHANNEL, new SessionAttach("benchmark".getBytes(StandardCharsets.UTF_8)));
+            send(disassembler, CHANNEL, new SessionCommandPoint(0, 0));
+            send(disassembler, CHANNEL, new MessageSubscribe(queueName,
+                                                             DESTINATION,
+                                                             MessageAcceptMode.NONE,
+                                                             MessageAcquireMode.PRE_ACQUIRED,
+                                                             null,
+                                                             0,
+                                                             null));
+            send(disassembler, CHANNEL, new MessageSetFlowMode(DESTINATION, MessageFlowMode.CREDIT));
+            send(disassembler, CHANNEL, new MessageFlow(DESTINATION, MessageCreditUnit.MESSAGE, 0xFFFFFFFFL));
+            send(disassembler, CHANNEL, new MessageFlow(DESTINATION, MessageCreditUnit.BYTE, 0xFFFFFFFFL));
+        }
+
+        @Override
+        public void publish(final ProtocolEngineBenchmark.EncodedFrames frames,
+                            final String queueName,
+                            final long firstMessage,
+                            final int count,
+                            final byte[] payload)
+        {
+            final ServerDisassembler disassembler = new ServerDisassembler(frames, Constant.MIN_MAX_FRAME_SIZE);
+
+            // The broker keeps the transfers it sends for replay until they are completed.  Messages are numbered
+            // from zero, as are the broker's commands, and every message before firstMessage has been delivered.
+            if (firstMessage > 0)
+            {
+                final RangeSet delivered = RangeSetFactory.createRangeSet();
+                delivered.add(0, (int) (firstMessage - 1));
+                send(disassembler, CHANNEL, new SessionCompleted(delivered));
+            }
+
+            final DeliveryProperties deliveryProperties = new DeliveryProperties();
+            deliveryProperties.setRoutingKey(queueName);
+            final Header header = new Header(deliveryProperties, null);
+            try (QpidByteBuffer body = QpidByteBuffer.wrap(payload))
+            {
+                for (int i = 0; i < count; i++)
+                {
+                    final MessageTransfer transfer = new MessageTransfer("",
+                                                                         MessageAcceptMode.NONE,
+                                                                         MessageAcquireMode.PRE_ACQUIRED,
+                                                                         header,
+                                                                         body);
+                    try
+                    {
+                        send(disassembler, CHANNEL, transfer);
+                    }
+                    finally
+                    {
+                        transfer.dispose();
+                    }
+                }
+            }
+        }
+
+        private void send(final ServerDisassembler disassembler, final int channel, final Method method)
+        {
+            method.setChannel(channel);
+            disassembler.send(method);
+        }
+    }
+}
@@ -135,6 +135,7 @@ public class AMQChannel extends AbstractAMQPSession<AMQChannel, ConsumerTarget_0
 
     private final Pre0_10CreditManager _creditManager;
     private final boolean _forceMessageValidation;
+    private final long _streamingPublishThreshold;
 
 
     /**
@@ -240,6 +241,7 @@ public class AMQChannel extends AbstractAMQPSession<AMQChannel, ConsumerTarget_0
         }),_accessControllerContext);
 
         _forceMessageValidation = connection.getContextValue(Boolean.class, AMQPConnection_0_8.FORCE_MESSAGE_VALIDATION);
+        _streamingPublishThreshold = connection.getContextValue(Long.class, AMQPConnection_0_8.STREAMING_PUBLISH_THRESHOLD);
 
     }
 
@@ -329,6 +331,16 @@ public class AMQChannel extends AbstractAMQPSession<AMQChannel, ConsumerTarget_0
 
         _currentMessage.setContentHeaderBody(contentHeaderBody);
 
+        final long bodySize = contentHeaderBody.getBodySize();
+        if (_streamingPublishThreshold > 0 && bodySize >= _streamingPublishThreshold)
+        {
+            // large bodies go to the store frame by frame; the message is only routed once the body is complete
+            final MessageMetaData messageMetaData = new MessageMetaData(_currentMessage.getMessagePublishInfo(),
+                                                                        contentHeaderBody,
+                                                                        getConnection().getLastReadTime());
+            _currentMessage.setMessageHandle(_messageStore.addMessage(messageMetaData));
+        }
+
         deliverCurrentMessageIfComplete();
     }
 
@@ -337,6 +349,7 @@ public class AMQChannel extends AbstractAMQPSession<AMQChannel, ConsumerTarget_0
         // check and deliver if header says body length is zero
         if (_currentMessage.allContentReceived())
         {
+            final long receivedTime = System.nanoTime();
             MessagePublishInfo info = _currentMessage.getMessagePublishInfo();
             String routingKey = AMQShortString.toString(info.getRoutingKey());
             String exchangeName = AMQShortString.toString(info.getExchange());
@@ -359,12 +372,16 @@ public class AMQChannel extends AbstractAMQPSession<AMQChannel, ConsumerTarget_0
                 try
                 {
 
-                    final MessageMetaData messageMetaData =
-                            new MessageMetaData(info,
-                                                contentHeader,
-                                                getConnection().getLastReadTime());
+                    MessageHandle<MessageMetaData> handle = _currentMessage.getMessageHandle();
+                    if (handle == null)
+                    {
+                        final MessageMetaData messageMetaData =
+                                new MessageMetaData(info,
+                                                    contentHeader,
+                                                    getConnection().getLastReadTime());
 
-                    final MessageHandle<MessageMetaData> handle = _messageStore.addMessage(messageMetaData);
+                        handle = _messageStore.addMessage(messageMetaData);
+                    }
                     int bodyCount = _currentMessage.getBodyCount();
                     if (bodyCount > 0)
                     {
@@ -490,6 +507,7 @@ public class AMQChannel extends AbstractAMQPSession<AMQChannel, ConsumerTarget_0
                                                                                     .createBasicAckBody(
                                                                                             _deliveryTag, false);
                                                      _connection.writeFrame(body.generateFrame(_channelId));
+                                                     _connection.registerPublishSettled(receivedTime);
                                                  }
 
                                                  @Override
@@ -549,11 +567,22 @@ public class AMQChannel extends AbstractAMQPSession<AMQChannel, ConsumerTarget_0
         {
             // we want to make sure we don't keep a reference to the message in the
             // event of an error
+            discardStreamedContent(_currentMessage);
             _currentMessage = null;
             throw e;
         }
     }
 
+    private void discardStreamedContent(final IncomingMessage incomingMessage)
+    {
+        final MessageHandle<MessageMetaData> handle = incomingMessage == null ? null : incomingMessage.getMessageHandle();
+        if (handle != null)
+        {
+            incomingMessage.setMessageHandle(null);
+            handle.allContentAdded().remove();
+        }
+    }
+
     public long getNextDeliveryTag()
     {
         return ++_deliveryTag;
@@ -3570,7 +3599,12 @@ public class AMQChannel extends AbstractAMQPSession<AMQChannel, ConsumerTarget_0
         {
             _currentMessage = null;
             final ContentHeaderBody contentHeader = currentMessage.getContentHeader();
-            if (contentHeader != null)
+            if (currentMessage.getMessageHandle() != null)
+            {
+                // the header is owned by the metadata of the partially streamed message
+                discardStreamedContent(currentMessage);
+            }
+            else if (contentHeader != null)
             {
                 contentHeader.dispose();
             }
@@ -56,6 +56,14 @@ public interface AMQPConnection_0_8<C extends AMQPConnection_0_8<C>> extends AMQ
     @ManagedContextDefault(name= FORCE_MESSAGE_VALIDATION)
     boolean DEFAULT_FORCE_MESSAGE_VALIDATION = false;
 
+    String STREAMING_PUBLISH_THRESHOLD = "qpid.connection.streamingPublishThreshold";
+    @SuppressWarnings("unused")
+    @ManagedContextDefault(name = STREAMING_PUBLISH_THRESHOLD,
+            description = "Body size (in bytes) at or above which published content frames are passed to the"
+                          + " message store as they arrive rather than being held until the message is complete."
+                          + " A non-positive value disables streaming publish.")
+    long DEFAULT_STREAMING_PUBLISH_THRESHOLD = 1024L * 1024L;
+
     @DerivedAttribute(description = "The actual negotiated value of heartbeat delay.")
     int getHeartbeatDelay();
 
@@ -33,6 +33,7 @@ import java.security.PrivilegedAction;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
@@ -50,6 +51,7 @@ import org.slf4j.LoggerFactory;
 
 import org.apache.qpid.server.QpidException;
 import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.compression.MessageCompressionCodecRegistry;
 import org.apache.qpid.server.logging.messages.ConnectionMessages;
 import org.apache.qpid.server.message.InstanceProperties;
 import org.apache.qpid.server.model.Broker;
@@ -59,6 +61,7 @@ import org.apache.qpid.server.model.Protocol;
 import org.apache.qpid.server.model.Transport;
 import org.apache.qpid.server.model.port.AmqpPort;
 import org.apache.qpid.server.plugin.ConnectionPropertyEnricher;
+import org.apache.qpid.server.plugin.MessageCompressionCodec;
 import org.apache.qpid.server.properties.ConnectionStartProperties;
 import org.apache.qpid.server.protocol.ConnectionClosingTicker;
 import org.apache.qpid.server.protocol.ErrorCodes;
@@ -143,7 +146,7 @@ public class AMQPConnection_0_8Impl
     private boolean _blocking;
 
     private volatile boolean _closeWhenNoRoute;
-    private volatile boolean _compressionSupported;
+    private volatile List<MessageCompressionCodec> _acceptedCompressionCodecs = Collections.emptyList();
 
     /**
      * QPID-6744 - Older queue clients (<=0.32) set the nowait flag false on the queue.delete method and then
@@ -570,8 +573,11 @@ public class AMQPConnection_0_8Impl
             Object compressionSupported = clientProperties.get(ConnectionStartProperties.QPID_MESSAGE_COMPRESSION_SUPPORTED);
             if (compressionSupported != null)
             {
-                _compressionSupported = Boolean.parseBoolean(String.valueOf(compressionSupported));
-                LOGGER.debug("Client set compressionSupported={} for connection {}", _compressionSupported, this);
+                _acceptedCompressionCodecs = MessageCompressionCodecRegistry.getAcceptedCodecs(
+                        compressionSupported,
+                        clientProperties.get(ConnectionStartProperties.QPID_MESSAGE_COMPRESSION_CODECS));
+                LOGGER.debug("Client set compressionSupported={} accepting codecs {} for connection {}",
+                             compressionSupported, _acceptedCompressionCodecs, this);
             }
 
             String clientId = Objects.toString(clientProperties.get(ConnectionStartProperties.CLIENT_ID_0_8), null);
@@ -1274,7 +1280,20 @@ public class AMQPConnection_0_8Impl
 
     public boolean isCompressionSupported()
     {
-        return _compressionSupported && getBroker().isMessageCompressionEnabled();
+        return !_acceptedCompressionCodecs.isEmpty() && getBroker().isMessageCompressionEnabled();
+    }
+
+    /**
+     * @return the codec preferred by the client for compressing messages, or null if compression is not supported
+     */
+    public MessageCompressionCodec getMessageCompressionCodec()
+    {
+        return isCompressionSupported() ? _acceptedCompressionCodecs.get(0) : null;
+    }
+
+    public boolean isCompressionCodecAccepted(MessageCompressionCodec codec)
+    {
+        return isCompressionSupported() && _acceptedCompressionCodecs.contains(codec);
     }
 
     private SubjectCreator getSubjectCreator()
@@ -27,6 +27,7 @@ import org.apache.qpid.server.protocol.v0_8.transport.ContentBody;
 import org.apache.qpid.server.protocol.v0_8.transport.ContentHeaderBody;
 import org.apache.qpid.server.protocol.v0_8.transport.MessagePublishInfo;
 import org.apache.qpid.server.message.MessageDestination;
+import org.apache.qpid.server.store.MessageHandle;
 
 public class IncomingMessage
 {
@@ -41,6 +42,11 @@ public class IncomingMessage
     private long _bodyLengthReceived = 0;
     private List<ContentBody> _contentChunks = new ArrayList<ContentBody>();
 
+    /**
+     * When set, body frames are passed straight to the store rather than being accumulated in memory
+     */
+    private MessageHandle<MessageMetaData> _messageHandle;
+
     public IncomingMessage(MessagePublishInfo info)
     {
         _messagePublishInfo = info;
@@ -59,7 +65,21 @@ public class IncomingMessage
     public long addContentBodyFrame(final ContentBody contentChunk)
     {
         _bodyLengthReceived += contentChunk.getSize();
-        _contentChunks.add(contentChunk);
+        if (_messageHandle != null && _bodyLengthReceived <= getSize())
+        {
+            try
+            {
+                _messageHandle.addContent(contentChunk.getPayload());
+            }
+            finally
+            {
+                contentChunk.dispose();
+            }
+        }
+        else
+        {
+            _contentChunks.add(contentChunk);
+        }
         return _bodyLengthReceived;
     }
 
@@ -93,6 +113,16 @@ public class IncomingMessage
         _messageDestination = e;
     }
 
+    public MessageHandle<MessageMetaData> getMessageHandle()
+    {
+        return _messageHandle;
+    }
+
+    public void setMessageHandle(final MessageHandle<MessageMetaData> messageHandle)
+    {
+        _messageHandle = messageHandle;
+    }
+
     public int getBodyCount()
     {
         return _contentChunks.size();
@@ -27,7 +27,6 @@ import static org.apache.qpid.server.message.mimecontentconverter.ConversionUtil
 import static org.apache.qpid.server.message.mimecontentconverter.ConversionUtils.TEXT_CONTENT_TYPES;
 
 import java.net.URISyntaxException;
-import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -35,6 +34,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.compression.MessageCompressionCodecRegistry;
 import org.apache.qpid.server.message.AMQMessageHeader;
 import org.apache.qpid.server.message.internal.InternalMessage;
 import org.apache.qpid.server.message.internal.InternalMessageHeader;
@@ -45,7 +45,6 @@ import org.apache.qpid.server.model.NamedAddressSpace;
 import org.apache.qpid.server.plugin.MessageConverter;
 import org.apache.qpid.server.plugin.PluggableService;
 import org.apache.qpid.server.url.AMQBindingURL;
-import org.apache.qpid.server.util.GZIPUtils;
 
 @PluggableService
 public class MessageConverter_v0_8_to_Internal implements MessageConverter<AMQMessage, InternalMessage>
@@ -74,8 +73,7 @@ public class MessageConverter_v0_8_to_Internal implements MessageConverter<AMQMe
 
         String encoding = serverMessage.getMessageHeader().getEncoding();
         byte[] uncompressed;
-        if (GZIPUtils.GZIP_CONTENT_ENCODING.equals(encoding)
-            && (uncompressed = GZIPUtils.uncompressBufferToArray(ByteBuffer.wrap(data))) != null)
+        if ((uncompressed = MessageCompressionCodecRegistry.uncompressToArray(encoding, data)) != null)
         {
             data = uncompressed;
             encoding =  null;
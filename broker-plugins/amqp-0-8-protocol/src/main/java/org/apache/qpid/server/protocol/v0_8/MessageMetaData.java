@@ -30,6 +30,7 @@ import org.apache.qpid.server.message.AMQMessageHeader;
 import org.apache.qpid.server.plugin.MessageMetaDataType;
 import org.apache.qpid.server.protocol.v0_8.transport.AMQProtocolVersionException;
 import org.apache.qpid.server.protocol.v0_8.transport.BasicContentHeaderProperties;
+import org.apache.qpid.server.protocol.v0_8.transport.CachedDeliveryFrames;
 import org.apache.qpid.server.protocol.v0_8.transport.ContentHeaderBody;
 import org.apache.qpid.server.protocol.v0_8.transport.MessagePublishInfo;
 import org.apache.qpid.server.store.StorableMessageMetaData;
@@ -47,6 +48,7 @@ public class MessageMetaData implements StorableMessageMetaData
 
 
     private final long _arrivalTime;
+    private volatile CachedDeliveryFrames _cachedDeliveryFrames;
     private static final byte MANDATORY_FLAG = 1;
     private static final byte IMMEDIATE_FLAG = 2;
     public static final MessageMetaDataType.Factory<MessageMetaData> FACTORY = new MetaDataFactory();
@@ -82,6 +84,23 @@ public class MessageMetaData implements StorableMessageMetaData
         return _arrivalTime;
     }
 
+    /**
+     * Returns the encoded form of the delivery frames which are common to every delivery of this message,
+     * creating it on first use.
+     *
+     * @return the cached delivery frames
+     */
+    public CachedDeliveryFrames getCachedDeliveryFrames()
+    {
+        CachedDeliveryFrames cachedDeliveryFrames = _cachedDeliveryFrames;
+        if (cachedDeliveryFrames == null)
+        {
+            cachedDeliveryFrames = CachedDeliveryFrames.create(_messagePublishInfo, _contentHeaderBody);
+            _cachedDeliveryFrames = cachedDeliveryFrames;
+        }
+        return cachedDeliveryFrames;
+    }
+
     @Override
     public MessageMetaDataType getType()
     {
@@ -139,12 +158,14 @@ public class MessageMetaData implements StorableMessageMetaData
     @Override
     public synchronized void dispose()
     {
+        _cachedDeliveryFrames = null;
         _contentHeaderBody.dispose();
     }
 
     @Override
     public synchronized void clearEncodedForm()
     {
+        _cachedDeliveryFrames = null;
         _contentHeaderBody.clearEncodedForm();
     }
 
@@ -27,8 +27,10 @@ import org.slf4j.LoggerFactory;
 
 import org.apache.qpid.server.QpidException;
 import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.compression.MessageCompressionCodecRegistry;
 import org.apache.qpid.server.message.InstanceProperties;
 import org.apache.qpid.server.message.MessageContentSource;
+import org.apache.qpid.server.plugin.MessageCompressionCodec;
 import org.apache.qpid.server.protocol.v0_8.transport.AMQBody;
 import org.apache.qpid.server.protocol.v0_8.transport.AMQDataBlock;
 import org.apache.qpid.server.protocol.v0_8.transport.AMQFrame;
@@ -36,16 +38,15 @@ import org.apache.qpid.server.protocol.v0_8.transport.AMQMethodBody;
 import org.apache.qpid.server.protocol.v0_8.transport.AMQVersionAwareProtocolSession;
 import org.apache.qpid.server.protocol.v0_8.transport.BasicCancelOkBody;
 import org.apache.qpid.server.protocol.v0_8.transport.BasicContentHeaderProperties;
+import org.apache.qpid.server.protocol.v0_8.transport.CachedDeliveryFrames;
 import org.apache.qpid.server.protocol.v0_8.transport.ContentHeaderBody;
 import org.apache.qpid.server.protocol.v0_8.transport.MessagePublishInfo;
 import org.apache.qpid.server.transport.ByteBufferSender;
-import org.apache.qpid.server.util.GZIPUtils;
 
 public class ProtocolOutputConverterImpl implements ProtocolOutputConverter
 {
     private static final int BASIC_CLASS_ID = 60;
     private final AMQPConnection_0_8Impl _connection;
-    private static final AMQShortString GZIP_ENCODING = AMQShortString.valueOf(GZIPUtils.GZIP_CONTENT_ENCODING);
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ProtocolOutputConverterImpl.class);
 
@@ -62,8 +63,63 @@ public class ProtocolOutputConverterImpl implements ProtocolOutputConverter
                              AMQShortString consumerTag)
     {
         final boolean isRedelivered = Boolean.TRUE.equals(props.getProperty(InstanceProperties.Property.REDELIVERED));
-        AMQBody deliverBody = createEncodedDeliverBody(msg, isRedelivered, deliveryTag, consumerTag);
-        return writeMessageDelivery(msg, channelId, deliverBody);
+        final MessageMetaData messageMetaData = msg.getMessageMetaData();
+        if (requiresContentModification(messageMetaData.getContentHeaderBody(), (int) msg.getSize()))
+        {
+            AMQBody deliverBody = createEncodedDeliverBody(msg, isRedelivered, deliveryTag, consumerTag);
+            return writeMessageDelivery(msg, channelId, deliverBody);
+        }
+        else
+        {
+            return writeCachedMessageDelivery(msg,
+                                              messageMetaData.getCachedDeliveryFrames(),
+                                              channelId,
+                                              deliveryTag,
+                                              consumerTag,
+                                              isRedelivered);
+        }
+    }
+
+    private boolean requiresContentModification(final ContentHeaderBody contentHeaderBody, final int bodySize)
+    {
+        final MessageCompressionCodec messageCodec = getCompressionCodec(contentHeaderBody);
+        return (messageCodec != null && !_connection.isCompressionCodecAccepted(messageCodec))
+               || (messageCodec == null
+                   && _connection.getMessageCompressionCodec() != null
+                   && contentHeaderBody.getProperties().getEncoding() == null
+                   && bodySize > _connection.getMessageCompressionThreshold());
+    }
+
+    private long writeCachedMessageDelivery(final AMQMessage message,
+                                            final CachedDeliveryFrames cachedDeliveryFrames,
+                                            final int channelId,
+                                            final long deliveryTag,
+                                            final AMQShortString consumerTag,
+                                            final boolean isRedelivered)
+    {
+        final int bodySize = (int) message.getSize();
+        if (bodySize == 0)
+        {
+            writeFrame(cachedDeliveryFrames.createDeliveryBlock(channelId, consumerTag, deliveryTag, isRedelivered, null));
+        }
+        else
+        {
+            int maxFrameBodySize = (int) _connection.getMaxFrameSize() - AMQFrame.getFrameOverhead();
+            try (QpidByteBuffer contentByteBuffer = message.getContent())
+            {
+                int contentChunkSize = bodySize > maxFrameBodySize ? maxFrameBodySize : bodySize;
+                try (QpidByteBuffer chunk = contentByteBuffer.view(0, contentChunkSize))
+                {
+                    writeFrame(cachedDeliveryFrames.createDeliveryBlock(channelId,
+                                                                        consumerTag,
+                                                                        deliveryTag,
+                                                                        isRedelivered,
+                                                                        chunk));
+                }
+                writeRemainingContentFrames(channelId, contentByteBuffer, contentChunkSize, bodySize, maxFrameBodySize);
+            }
+        }
+        return bodySize;
     }
 
     private long writeMessageDelivery(AMQMessage message, int channelId, AMQBody deliverBody)
@@ -80,16 +136,16 @@ public class ProtocolOutputConverterImpl implements ProtocolOutputConverter
     {
 
         int bodySize = (int) message.getSize();
-        boolean msgCompressed = isCompressed(contentHeaderBody);
+        MessageCompressionCodec messageCodec = getCompressionCodec(contentHeaderBody);
         DisposableMessageContentSource modifiedContent = null;
 
-        boolean compressionSupported = _connection.isCompressionSupported();
+        MessageCompressionCodec connectionCodec = _connection.getMessageCompressionCodec();
 
 
         long length;
-        if(msgCompressed
-           && !compressionSupported
-           && (modifiedContent = inflateIfPossible(message)) != null)
+        if(messageCodec != null
+           && !_connection.isCompressionCodecAccepted(messageCodec)
+           && (modifiedContent = inflateIfPossible(messageCodec, message)) != null)
         {
             BasicContentHeaderProperties modifiedProps =
                     new BasicContentHeaderProperties(contentHeaderBody.getProperties());
@@ -97,15 +153,15 @@ public class ProtocolOutputConverterImpl implements ProtocolOutputConverter
 
             length = writeMessageDeliveryModified(modifiedContent, channelId, deliverBody, modifiedProps);
        }
-        else if(!msgCompressed
-                && compressionSupported
+        else if(messageCodec == null
+                && connectionCodec != null
                 && contentHeaderBody.getProperties().getEncoding()==null
                 && bodySize > _connection.getMessageCompressionThreshold()
-                && (modifiedContent = deflateIfPossible(message)) != null)
+                && (modifiedContent = deflateIfPossible(connectionCodec, message)) != null)
         {
             BasicContentHeaderProperties modifiedProps =
                     new BasicContentHeaderProperties(contentHeaderBody.getProperties());
-            modifiedProps.setEncoding(GZIP_ENCODING);
+            modifiedProps.setEncoding(connectionCodec.getType());
 
             length = writeMessageDeliveryModified(modifiedContent, channelId, deliverBody, modifiedProps);
         }
@@ -124,29 +180,33 @@ public class ProtocolOutputConverterImpl implements ProtocolOutputConverter
         return length;
     }
 
-    private DisposableMessageContentSource deflateIfPossible(MessageContentSource source)
+    private DisposableMessageContentSource deflateIfPossible(MessageCompressionCodec codec,
+                                                             MessageContentSource source)
     {
         try (QpidByteBuffer contentBuffers = source.getContent())
         {
-            return new ModifiedContentSource(QpidByteBuffer.deflate(contentBuffers));
+            return new ModifiedContentSource(codec.compress(contentBuffers));
         }
         catch (IOException e)
         {
-            LOGGER.warn("Unable to compress message payload for consumer with gzip, message will be sent as is", e);
+            LOGGER.warn("Unable to compress message payload for consumer with {}, message will be sent as is",
+                        codec.getType(), e);
             return null;
         }
     }
 
 
-    private DisposableMessageContentSource inflateIfPossible(MessageContentSource source)
+    private DisposableMessageContentSource inflateIfPossible(MessageCompressionCodec codec,
+                                                             MessageContentSource source)
     {
         try (QpidByteBuffer contentBuffers = source.getContent())
         {
-            return new ModifiedContentSource(QpidByteBuffer.inflate(contentBuffers));
+            return new ModifiedContentSource(codec.decompress(contentBuffers));
         }
         catch (IOException e)
         {
-            LOGGER.warn("Unable to decompress message payload for consumer with gzip, message will be sent as is", e);
+            LOGGER.warn("Unable to decompress message payload for consumer with {}, message will be sent as is",
+                        codec.getType(), e);
             return null;
         }
     }
@@ -188,24 +248,33 @@ public class ProtocolOutputConverterImpl implements ProtocolOutputConverter
                                                          new MessageContentSourceBody(chunk)));
                 }
 
-                int writtenSize = contentChunkSize;
-                while (writtenSize < bodySize)
-                {
-                    contentChunkSize =
-                            (bodySize - writtenSize) > maxFrameBodySize ? maxFrameBodySize : bodySize - writtenSize;
-                    try (QpidByteBuffer chunk = contentByteBuffer.view(writtenSize, contentChunkSize))
-                    {
-                        writtenSize += contentChunkSize;
-                        writeFrame(new AMQFrame(channelId, new MessageContentSourceBody(chunk)));
-                    }
-                }
+                writeRemainingContentFrames(channelId, contentByteBuffer, contentChunkSize, bodySize, maxFrameBodySize);
+            }
+        }
+    }
+
+    private void writeRemainingContentFrames(final int channelId,
+                                             final QpidByteBuffer contentByteBuffer,
+                                             final int alreadyWrittenSize,
+                                             final int bodySize,
+                                             final int maxFrameBodySize)
+    {
+        int writtenSize = alreadyWrittenSize;
+        while (writtenSize < bodySize)
+        {
+            int contentChunkSize =
+                    (bodySize - writtenSize) > maxFrameBodySize ? maxFrameBodySize : bodySize - writtenSize;
+            try (QpidByteBuffer chunk = contentByteBuffer.view(writtenSize, contentChunkSize))
+            {
+                writtenSize += contentChunkSize;
+                writeFrame(new AMQFrame(channelId, new MessageContentSourceBody(chunk)));
             }
         }
     }
 
-    private boolean isCompressed(final ContentHeaderBody contentHeaderBody)
+    private MessageCompressionCodec getCompressionCodec(final ContentHeaderBody contentHeaderBody)
     {
-        return GZIP_ENCODING.equals(contentHeaderBody.getProperties().getEncoding());
+        return MessageCompressionCodecRegistry.getCodec(contentHeaderBody.getProperties().getEncodingAsString());
     }
 
     private class MessageContentSourceBody implements AMQBody
@@ -0,0 +1,202 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.protocol.v0_8.transport;
+
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.protocol.v0_8.AMQShortString;
+import org.apache.qpid.server.protocol.v0_8.EncodingUtils;
+import org.apache.qpid.server.transport.ByteBufferSender;
+
+/**
+ * Holds the parts of the basic.deliver method frame and the content header frame which do not vary between
+ * deliveries of the same message.  Each delivery then only has to encode the consumer tag, delivery tag and
+ * redelivered flag, and can write the method frame, the content header frame and the header of the first content
+ * frame into a single buffer.
+ */
+public final class CachedDeliveryFrames
+{
+    private static final int FRAME_HEADER_SIZE = 7;
+    private static final int DELIVER_FIXED_SIZE = 2 + 2 + 8 + 1;
+
+    private static final QpidByteBuffer FRAME_END_BYTE_BUFFER = QpidByteBuffer.allocateDirect(1);
+    static
+    {
+        FRAME_END_BYTE_BUFFER.put(AMQFrame.FRAME_END_BYTE);
+        FRAME_END_BYTE_BUFFER.flip();
+    }
+
+    private final byte[] _encodedExchangeAndRoutingKey;
+    private final byte[] _encodedContentHeaderBody;
+
+    private CachedDeliveryFrames(final byte[] encodedExchangeAndRoutingKey, final byte[] encodedContentHeaderBody)
+    {
+        _encodedExchangeAndRoutingKey = encodedExchangeAndRoutingKey;
+        _encodedContentHeaderBody = encodedContentHeaderBody;
+    }
+
+    public static CachedDeliveryFrames create(final MessagePublishInfo messagePublishInfo,
+                                              final ContentHeaderBody contentHeaderBody)
+    {
+        final AMQShortString exchange = messagePublishInfo.getExchange();
+        final AMQShortString routingKey = messagePublishInfo.getRoutingKey();
+        final byte[] encodedExchangeAndRoutingKey = new byte[EncodingUtils.encodedShortStringLength(exchange)
+                                                             + EncodingUtils.encodedShortStringLength(routingKey)];
+        try (QpidByteBuffer buf = QpidByteBuffer.wrap(encodedExchangeAndRoutingKey))
+        {
+            EncodingUtils.writeShortStringBytes(buf, exchange);
+            EncodingUtils.writeShortStringBytes(buf, routingKey);
+        }
+
+        final byte[] encodedContentHeaderBody = new byte[contentHeaderBody.getSize()];
+        try (QpidByteBuffer buf = QpidByteBuffer.wrap(encodedContentHeaderBody))
+        {
+            contentHeaderBody.writePayload(buf);
+        }
+        return new CachedDeliveryFrames(encodedExchangeAndRoutingKey, encodedContentHeaderBody);
+    }
+
+    /**
+     * Creates the data block for a basic.deliver of this message.
+     *
+     * @param channel the channel id
+     * @param consumerTag the consumer tag
+     * @param deliveryTag the delivery tag
+     * @param redelivered the redelivered flag
+     * @param firstContentChunk the content of the first content frame, or null if the message has no content
+     * @return the data block
+     */
+    public AMQDataBlock createDeliveryBlock(final int channel,
+                                            final AMQShortString consumerTag,
+                                            final long deliveryTag,
+                                            final boolean redelivered,
+                                            final QpidByteBuffer firstContentChunk)
+    {
+        return new DeliveryBlock(channel, consumerTag, deliveryTag, redelivered, firstContentChunk);
+    }
+
+    private int getMethodBodySize(final AMQShortString consumerTag)
+    {
+        return DELIVER_FIXED_SIZE
+               + EncodingUtils.encodedShortStringLength(consumerTag)
+               + _encodedExchangeAndRoutingKey.length;
+    }
+
+    private final class DeliveryBlock extends AMQDataBlock
+    {
+        private final int _channel;
+        private final AMQShortString _consumerTag;
+        private final long _deliveryTag;
+        private final boolean _redelivered;
+        private final QpidByteBuffer _firstContentChunk;
+
+        private DeliveryBlock(final int channel,
+                              final AMQShortString consumerTag,
+                              final long deliveryTag,
+                              final boolean redelivered,
+                              final QpidByteBuffer firstContentChunk)
+        {
+            _channel = channel;
+            _consumerTag = consumerTag;
+            _deliveryTag = deliveryTag;
+            _redelivered = redelivered;
+            _firstContentChunk = firstContentChunk;
+        }
+
+        @Override
+        public long getSize()
+        {
+            long size = getEncodedFramesSize();
+            if (_firstContentChunk != null)
+            {
+                size += _firstContentChunk.remaining() + 1;
+            }
+            return size;
+        }
+
+        private int getEncodedFramesSize()
+        {
+            int size = FRAME_HEADER_SIZE + getMethodBodySize(_consumerTag) + 1
+                       + FRAME_HEADER_SIZE + _encodedContentHeaderBody.length + 1;
+            if (_firstContentChunk != null)
+            {
+                size += FRAME_HEADER_SIZE;
+            }
+            return size;
+        }
+
+        @Override
+        public long writePayload(final ByteBufferSender sender)
+        {
+            final int encodedSize = getEncodedFramesSize();
+            long size = encodedSize;
+            try (QpidByteBuffer buf = QpidByteBuffer.allocate(sender.isDirectBufferPreferred(), encodedSize))
+            {
+                buf.put(AMQMethodBodyImpl.TYPE);
+                buf.putUnsignedShort(_channel);
+                buf.putUnsignedInt(getMethodBodySize(_consumerTag));
+                buf.putUnsignedShort(BasicDeliverBody.CLASS_ID);
+                buf.putUnsignedShort(BasicDeliverBody.METHOD_ID);
+                EncodingUtils.writeShortStringBytes(buf, _consumerTag);
+                buf.putLong(_deliveryTag);
+                buf.put(_redelivered ? (byte) 1 : (byte) 0);
+                buf.put(_encodedExchangeAndRoutingKey);
+                buf.put(AMQFrame.FRAME_END_BYTE);
+
+                buf.put(ContentHeaderBody.TYPE);
+                buf.putUnsignedShort(_channel);
+                buf.putUnsignedInt(_encodedContentHeaderBody.length);
+                buf.put(_encodedContentHeaderBody);
+                buf.put(AMQFrame.FRAME_END_BYTE);
+
+                if (_firstContentChunk != null)
+                {
+                    buf.put(ContentBody.TYPE);
+                    buf.putUnsignedShort(_channel);
+                    buf.putUnsignedInt(_firstContentChunk.remaining());
+                }
+                buf.flip();
+                sender.send(buf);
+            }
+
+            if (_firstContentChunk != null)
+            {
+                size += _firstContentChunk.remaining() + 1;
+                sender.send(_firstContentChunk);
+                try (QpidByteBuffer endFrame = FRAME_END_BYTE_BUFFER.duplicate())
+                {
+                    sender.send(endFrame);
+                }
+            }
+            return size;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "[" + getClass().getSimpleName()
+                   + " channel=" + _channel
+                   + ", consumerTag=" + _consumerTag
+                   + ", deliveryTag=" + _deliveryTag
+                   + ", redelivered=" + _redelivered
+                   + ", contentChunk=" + (_firstContentChunk == null ? 0 : _firstContentChunk.remaining()) + "]";
+        }
+    }
+}
@@ -20,6 +20,7 @@
  */
 package org.apache.qpid.server.protocol.v0_8;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -36,6 +37,7 @@ import java.security.AccessControlException;
 import java.security.Principal;
 import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.security.auth.Subject;
 
@@ -45,6 +47,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
 import org.apache.qpid.server.configuration.updater.TaskExecutor;
 import org.apache.qpid.server.logging.EventLogger;
 import org.apache.qpid.server.message.InstanceProperties;
@@ -69,6 +72,7 @@ import org.apache.qpid.server.store.MessageStore;
 import org.apache.qpid.server.store.NullMessageStore;
 import org.apache.qpid.server.store.StorableMessageMetaData;
 import org.apache.qpid.server.store.StoredMemoryMessage;
+import org.apache.qpid.server.store.StoredMessage;
 import org.apache.qpid.server.virtualhost.QueueManagingVirtualHost;
 import org.apache.qpid.test.utils.UnitTestBase;
 
@@ -126,6 +130,7 @@ public class AMQChannelTest extends UnitTestBase
         when(_amqConnection.getContextValue(Integer.class, Session.PRODUCER_AUTH_CACHE_SIZE)).thenReturn(Session.PRODUCER_AUTH_CACHE_SIZE_DEFAULT);
         when(_amqConnection.getContextValue(Long.class, Connection.MAX_UNCOMMITTED_IN_MEMORY_SIZE)).thenReturn(Connection.DEFAULT_MAX_UNCOMMITTED_IN_MEMORY_SIZE);
         when(_amqConnection.getContextValue(Boolean.class, AMQPConnection_0_8.FORCE_MESSAGE_VALIDATION)).thenReturn(true);
+        when(_amqConnection.getContextValue(Long.class, AMQPConnection_0_8.STREAMING_PUBLISH_THRESHOLD)).thenReturn(AMQPConnection_0_8.DEFAULT_STREAMING_PUBLISH_THRESHOLD);
         when(_amqConnection.getTaskExecutor()).thenReturn(taskExecutor);
         when(_amqConnection.getChildExecutor()).thenReturn(taskExecutor);
         when(_amqConnection.getModel()).thenReturn(BrokerModel.getInstance());
@@ -249,4 +254,64 @@ public class AMQChannelTest extends UnitTestBase
                                          eq(ROUTING_KEY.toString()),
                                          any(InstanceProperties.class));
     }
+
+    @Test
+    public void testLargeMessageContentIsStreamedToStore() throws Exception
+    {
+        final AtomicInteger contentAdded = new AtomicInteger();
+        when(_amqConnection.getContextValue(Long.class, AMQPConnection_0_8.STREAMING_PUBLISH_THRESHOLD)).thenReturn(4L);
+        when(_amqConnection.getMaxMessageSize()).thenReturn(1024L);
+        when(_virtualHost.getDefaultDestination()).thenReturn(_messageDestination);
+        when(_virtualHost.getMessageStore()).thenReturn(new NullMessageStore()
+        {
+            @Override
+            public <T extends StorableMessageMetaData> MessageHandle<T> addMessage(final T metaData)
+            {
+                final StoredMemoryMessage<T> storedMessage = new StoredMemoryMessage<>(1, metaData);
+                return new MessageHandle<T>()
+                {
+                    @Override
+                    public void addContent(final QpidByteBuffer src)
+                    {
+                        contentAdded.incrementAndGet();
+                        storedMessage.addContent(src);
+                    }
+
+                    @Override
+                    public StoredMessage<T> allContentAdded()
+                    {
+                        return storedMessage.allContentAdded();
+                    }
+                };
+            }
+        });
+        final ArgumentCaptor<ServerMessage> messageCaptor = ArgumentCaptor.forClass(ServerMessage.class);
+        doAnswer(new Answer()
+        {
+            @Override
+            public Object answer(final InvocationOnMock invocation) throws Throwable
+            {
+                ServerMessage message = messageCaptor.getValue();
+                return new RoutingResult(message);
+            }
+        }).when(_messageDestination).route(messageCaptor.capture(), eq(ROUTING_KEY.toString()), any(InstanceProperties.class));
+        AMQChannel channel = new AMQChannel(_amqConnection, 1, _virtualHost.getMessageStore());
+
+        BasicContentHeaderProperties properties = new BasicContentHeaderProperties();
+        properties.setUserId(_amqConnection.getAuthorizedPrincipal().getName());
+        channel.receiveBasicPublish(AMQShortString.EMPTY_STRING, ROUTING_KEY, false, false);
+        channel.receiveMessageHeader(properties, 8);
+        channel.receiveMessageContent(QpidByteBuffer.wrap(new byte[]{1, 2, 3, 4}));
+
+        assertEquals("Content frame should have been passed to the store on arrival", 1, contentAdded.get());
+        verifyNoInteractions(_messageDestination);
+
+        channel.receiveMessageContent(QpidByteBuffer.wrap(new byte[]{5, 6, 7, 8}));
+
+        assertEquals(2, contentAdded.get());
+        verify(_messageDestination).route((ServerMessage) any(),
+                                         eq(ROUTING_KEY.toString()),
+                                         any(InstanceProperties.class));
+        assertEquals(8, messageCaptor.getValue().getSize());
+    }
 }
@@ -0,0 +1,137 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.protocol.v0_8;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.model.Protocol;
+import org.apache.qpid.server.protocol.v0_8.transport.AMQBody;
+import org.apache.qpid.server.protocol.v0_8.transport.AMQFrame;
+import org.apache.qpid.server.protocol.v0_8.transport.BasicConsumeBody;
+import org.apache.qpid.server.protocol.v0_8.transport.BasicContentHeaderProperties;
+import org.apache.qpid.server.protocol.v0_8.transport.BasicPublishBody;
+import org.apache.qpid.server.protocol.v0_8.transport.ChannelOpenBody;
+import org.apache.qpid.server.protocol.v0_8.transport.ConnectionOpenBody;
+import org.apache.qpid.server.protocol.v0_8.transport.ConnectionStartOkBody;
+import org.apache.qpid.server.protocol.v0_8.transport.ConnectionTuneOkBody;
+import org.apache.qpid.server.protocol.v0_8.transport.ContentBody;
+import org.apache.qpid.server.protocol.v0_8.transport.ContentHeaderBody;
+import org.apache.qpid.server.transport.ProtocolEngineBenchmark;
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class ProtocolEngineBenchmark_0_9_1Test extends UnitTestBase
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProtocolEngineBenchmark_0_9_1Test.class);
+    private static final int CHANNEL = 1;
+
+    private ProtocolEngineBenchmark _benchmark;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        _benchmark = new ProtocolEngineBenchmark(Protocol.AMQP_0_9_1);
+        _benchmark.start();
+    }
+
+    @After
+    public void tearDown()
+    {
+        _benchmark.close();
+    }
+
+    @Test
+    public void testPublishAndConsume()
+    {
+        final ProtocolEngineBenchmark.Result result = _benchmark.run(new FrameStream_0_9_1());
+        LOGGER.info("{}", result);
+
+        assertTrue("Unexpected output size", result.getBytesWrittenPerMessage() > 0);
+    }
+
+    private static class FrameStream_0_9_1 implements ProtocolEngineBenchmark.FrameStream
+    {
+        @Override
+        public void open(final ProtocolEngineBenchmark.EncodedFrames frames,
+                         final String virtualHostName,
+                         final String queueName)
+        {
+            frames.write(ProtocolEngineCreator_0_9_1.getInstance().getHeaderIdentifier());
+
+            send(frames, 0, new ConnectionStartOkBody(FieldTable.convertToFieldTable(Collections.emptyMap()),
+                                                      AMQShortString.valueOf("ANONYMOUS"),
+                                                      new byte[0],
+                                                      AMQShortString.valueOf("en_US")));
+            send(frames, 0, new ConnectionTuneOkBody(0, 0, 0));
+            send(frames, 0, new ConnectionOpenBody(AMQShortString.valueOf(virtualHostName), null, false));
+
+            send(frames, CHANNEL, new ChannelOpenBody());
+            send(frames, CHANNEL, new BasicConsumeBody(0,
+                                                       AMQShortString.valueOf(queueName),
+                                                       AMQShortString.valueOf("consumer"),
+                                                       false,
+                                                       true,
+                                                       false,
+                                                       false,
+                                                       null));
+        }
+
+        @Override
+        public void publish(final ProtocolEngineBenchmark.EncodedFrames frames,
+                            final String queueName,
+                            final long firstMessage,
+                            final int count,
+                            final byte[] payload)
+        {
+            final AMQShortString routingKey = AMQShortString.valueOf(queueName);
+            try (QpidByteBuffer content = QpidByteBuffer.wrap(payload))
+            {
+                for (int i = 0; i < count; i++)
+                {
+                    send(frames, CHANNEL, new BasicPublishBody(0, null, routingKey, false, false));
+                    send(frames, CHANNEL, new ContentHeaderBody(new BasicContentHeaderProperties(), payload.length));
+                    final ContentBody contentBody = new ContentBody(content);
+                    try
+                    {
+                        send(frames, CHANNEL, contentBody);
+                    }
+                    finally
+                    {
+                        contentBody.dispose();
+                    }
+                }
+            }
+        }
+
+        private void send(final ProtocolEngineBenchmark.EncodedFrames frames, final int channel, final AMQBody body)
+        {
+            new AMQFrame(channel, body).writePayload(frames);
+        }
+    }
+}
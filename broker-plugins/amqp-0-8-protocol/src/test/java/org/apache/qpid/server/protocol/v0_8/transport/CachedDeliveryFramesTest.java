@@ -0,0 +1,142 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.protocol.v0_8.transport;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.protocol.v0_8.AMQShortString;
+import org.apache.qpid.server.protocol.v0_8.FieldTableFactory;
+import org.apache.qpid.server.transport.ByteBufferSender;
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class CachedDeliveryFramesTest extends UnitTestBase
+{
+    private static final int CHANNEL = 3;
+    private static final AMQShortString EXCHANGE = AMQShortString.valueOf("amq.direct");
+    private static final AMQShortString ROUTING_KEY = AMQShortString.valueOf("queue");
+    private static final AMQShortString CONSUMER_TAG = AMQShortString.valueOf("sgen_1");
+
+    private MessagePublishInfo _publishInfo;
+    private ContentHeaderBody _contentHeaderBody;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        BasicContentHeaderProperties properties = new BasicContentHeaderProperties();
+        properties.setContentType("text/plain");
+        properties.setMessageId("ID:1");
+        properties.setHeaders(FieldTableFactory.createFieldTable(Collections.singletonMap("key", "value")));
+        _publishInfo = new MessagePublishInfo(EXCHANGE, false, false, ROUTING_KEY);
+        _contentHeaderBody = new ContentHeaderBody(properties, 5);
+    }
+
+    @Test
+    public void testDeliveryWithContentMatchesUncachedEncoding()
+    {
+        final byte[] content = "hello".getBytes(StandardCharsets.UTF_8);
+        final CachedDeliveryFrames cachedDeliveryFrames = CachedDeliveryFrames.create(_publishInfo, _contentHeaderBody);
+
+        final byte[] expected;
+        final byte[] actual;
+        final AMQDataBlock block;
+        try (QpidByteBuffer chunk = QpidByteBuffer.wrap(content))
+        {
+            final TestSender expectedSender = new TestSender();
+            new AMQFrame(CHANNEL, createDeliverBody(42L, true)).writePayload(expectedSender);
+            new AMQFrame(CHANNEL, _contentHeaderBody).writePayload(expectedSender);
+            new AMQFrame(CHANNEL, new ContentBody(chunk.duplicate())).writePayload(expectedSender);
+            expected = expectedSender.getBytes();
+
+            final TestSender actualSender = new TestSender();
+            block = cachedDeliveryFrames.createDeliveryBlock(CHANNEL, CONSUMER_TAG, 42L, true, chunk);
+            assertEquals("Unexpected block size", expected.length, block.getSize());
+            assertEquals("Unexpected written size", expected.length, block.writePayload(actualSender));
+            actual = actualSender.getBytes();
+        }
+
+        assertArrayEquals("Unexpected encoding", expected, actual);
+    }
+
+    @Test
+    public void testDeliveryWithoutContentMatchesUncachedEncoding()
+    {
+        _contentHeaderBody.setBodySize(0);
+        final CachedDeliveryFrames cachedDeliveryFrames = CachedDeliveryFrames.create(_publishInfo, _contentHeaderBody);
+
+        final TestSender expectedSender = new TestSender();
+        new AMQFrame(CHANNEL, createDeliverBody(7L, false)).writePayload(expectedSender);
+        new AMQFrame(CHANNEL, _contentHeaderBody).writePayload(expectedSender);
+
+        final TestSender actualSender = new TestSender();
+        final AMQDataBlock block = cachedDeliveryFrames.createDeliveryBlock(CHANNEL, CONSUMER_TAG, 7L, false, null);
+        block.writePayload(actualSender);
+
+        assertArrayEquals("Unexpected encoding", expectedSender.getBytes(), actualSender.getBytes());
+    }
+
+    private BasicDeliverBody createDeliverBody(final long deliveryTag, final boolean redelivered)
+    {
+        return new BasicDeliverBody(CONSUMER_TAG, deliveryTag, redelivered, EXCHANGE, ROUTING_KEY);
+    }
+
+    private static class TestSender implements ByteBufferSender
+    {
+        private final ByteArrayOutputStream _output = new ByteArrayOutputStream();
+
+        @Override
+        public boolean isDirectBufferPreferred()
+        {
+            return false;
+        }
+
+        @Override
+        public void send(final QpidByteBuffer msg)
+        {
+            byte[] data = new byte[msg.remaining()];
+            msg.get(data);
+            _output.write(data, 0, data.length);
+        }
+
+        @Override
+        public void flush()
+        {
+        }
+
+        @Override
+        public void close()
+        {
+        }
+
+        byte[] getBytes()
+        {
+            return _output.toByteArray();
+        }
+    }
+}
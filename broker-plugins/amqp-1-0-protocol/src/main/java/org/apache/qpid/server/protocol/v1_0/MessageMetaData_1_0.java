@@ -653,7 +653,7 @@ public class MessageMetaData_1_0 implements StorableMessageMetaData
         @Override
         public Object getHeader(final String name)
         {
-            return _applicationPropertiesSection == null ? null : _applicationPropertiesSection.getValue().get(name);
+            return _applicationPropertiesSection == null ? null : _applicationPropertiesSection.getProperty(name);
         }
 
         @Override
@@ -666,7 +666,7 @@ public class MessageMetaData_1_0 implements StorableMessageMetaData
 
             for (String key : names)
             {
-                if (!_applicationPropertiesSection.getValue().containsKey(key))
+                if (!_applicationPropertiesSection.containsProperty(key))
                 {
                     return false;
                 }
@@ -687,7 +687,7 @@ public class MessageMetaData_1_0 implements StorableMessageMetaData
         @Override
         public boolean containsHeader(final String name)
         {
-            return _applicationPropertiesSection != null && _applicationPropertiesSection.getValue().containsKey(name);
+            return _applicationPropertiesSection != null && _applicationPropertiesSection.containsProperty(name);
         }
 
         public String getSubject()
@@ -72,6 +72,7 @@ import org.apache.qpid.server.protocol.v1_0.type.transport.Detach;
 import org.apache.qpid.server.protocol.v1_0.type.transport.Error;
 import org.apache.qpid.server.protocol.v1_0.type.transport.ReceiverSettleMode;
 import org.apache.qpid.server.protocol.v1_0.type.transport.Role;
+import org.apache.qpid.server.transport.AMQPConnection;
 import org.apache.qpid.server.txn.AsyncAutoCommitTransaction;
 import org.apache.qpid.server.txn.AsyncCommand;
 import org.apache.qpid.server.txn.AutoCommitTransaction;
@@ -157,6 +158,7 @@ public class StandardReceivingLinkEndpoint extends AbstractReceivingLinkEndpoint
     @Override
     protected Error receiveDelivery(Delivery delivery)
     {
+        final long receivedTime = System.nanoTime();
         ReceiverSettleMode transferReceiverSettleMode = delivery.getReceiverSettleMode();
 
         if(delivery.getResume())
@@ -337,7 +339,8 @@ public class StandardReceivingLinkEndpoint extends AbstractReceivingLinkEndpoint
                     {
                         _pendingDispositions.add(new PendingDispositionHolder(delivery.getDeliveryTag(),
                                                                               resultantState,
-                                                                              settled));
+                                                                              settled,
+                                                                              receivedTime));
                     }
                     else
                     {
@@ -602,8 +605,10 @@ public class StandardReceivingLinkEndpoint extends AbstractReceivingLinkEndpoint
         {
             try
             {
+                final AMQPConnection<?> connection = getSession().getAMQPConnection();
                 PendingDispositionHolder disposition = itr.next();
                 PendingDispositionHolder current = disposition;
+                connection.registerPublishSettled(disposition.getReceivedTime());
 
                 Set<Binary> deliveryTags = new HashSet<>();
                 deliveryTags.add(disposition.getDeliveryTag());
@@ -611,6 +616,7 @@ public class StandardReceivingLinkEndpoint extends AbstractReceivingLinkEndpoint
                 while (itr.hasNext())
                 {
                     disposition = itr.next();
+                    connection.registerPublishSettled(disposition.getReceivedTime());
 
                     if (current.isSettled() != disposition.isSettled() ||
                         !Objects.equals(current.getResultantState(), disposition.getResultantState()))
@@ -638,14 +644,17 @@ public class StandardReceivingLinkEndpoint extends AbstractReceivingLinkEndpoint
         private final Binary _deliveryTag;
         private final DeliveryState _resultantState;
         private final boolean _settled;
+        private final long _receivedTime;
 
         PendingDispositionHolder(final Binary deliveryTag,
                                  final DeliveryState resultantState,
-                                 final boolean settled)
+                                 final boolean settled,
+                                 final long receivedTime)
         {
             _deliveryTag = deliveryTag;
             _resultantState = resultantState;
             _settled = settled;
+            _receivedTime = receivedTime;
         }
 
         Binary getDeliveryTag()
@@ -663,6 +672,11 @@ public class StandardReceivingLinkEndpoint extends AbstractReceivingLinkEndpoint
             return _settled;
         }
 
+        long getReceivedTime()
+        {
+            return _receivedTime;
+        }
+
 
     }
 }
@@ -32,15 +32,15 @@ import org.apache.qpid.server.util.ConnectionScopedRuntimeException;
 
 public abstract class AbstractSection<T, S extends NonEncodingRetainingSection<T>> implements EncodingRetainingSection<T>
 {
-    private static final AMQPDescribedTypeRegistry TYPE_REGISTRY = AMQPDescribedTypeRegistry.newInstance()
+    static final AMQPDescribedTypeRegistry TYPE_REGISTRY = AMQPDescribedTypeRegistry.newInstance()
                                                                                             .registerTransportLayer()
                                                                                             .registerMessagingLayer()
                                                                                             .registerTransactionLayer()
                                                                                             .registerSecurityLayer();
-    private T _value;
+    private volatile T _value;
 
     private S _section;
-    private QpidByteBuffer _encodedForm;
+    private volatile QpidByteBuffer _encodedForm;
     // _encodedSize is valid only when _encodedForm is non-null
     private long _encodedSize = 0;
 
@@ -68,16 +68,44 @@ public abstract class AbstractSection<T, S extends NonEncodingRetainingSection<T
     protected abstract DescribedTypeConstructor<S> createNonEncodingRetainingSectionConstructor();
 
     @Override
-    public synchronized T getValue()
+    public T getValue()
     {
-        if(_value == null)
+        T value = _value;
+        if (value == null)
         {
-            S section = decode(createNonEncodingRetainingSectionConstructor());
-            _value = section.getValue();
+            synchronized (this)
+            {
+                value = _value;
+                if (value == null)
+                {
+                    S section = decode(createNonEncodingRetainingSectionConstructor());
+                    value = section.getValue();
+                    _value = value;
+                }
+            }
         }
+        return value;
+    }
+
+    /**
+     * @return the decoded value, or null if the section has not yet been decoded
+     */
+    T getValueIfDecoded()
+    {
         return _value;
     }
 
+    /**
+     * Returns a duplicate of the encoded form without re-encoding the section, for readers which can fall back to
+     * {@link #getValue()}.  The duplicate is owned by the caller and may be read without holding the monitor.
+     *
+     * @return a duplicate of the encoded form, or null if the encoded form is not retained
+     */
+    synchronized QpidByteBuffer getEncodedFormIfRetained()
+    {
+        return _encodedForm == null ? null : _encodedForm.duplicate();
+    }
+
     @Override
     public synchronized final QpidByteBuffer getEncodedForm()
     {
@@ -68,7 +68,7 @@ public class ApplicationProperties implements NonEncodingRetainingSection<Map<St
         return new ApplicationPropertiesSection(this);
     }
 
-    private boolean isSimpleType(final Object value)
+    static boolean isSimpleType(final Object value)
     {
         return value == null
                || value instanceof String
@@ -21,14 +21,25 @@
 
 package org.apache.qpid.server.protocol.v1_0.type.messaging;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import java.util.Map;
 
 import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
 import org.apache.qpid.server.protocol.v1_0.codec.DescribedTypeConstructor;
+import org.apache.qpid.server.protocol.v1_0.codec.ValueHandler;
+import org.apache.qpid.server.protocol.v1_0.type.AmqpErrorException;
 import org.apache.qpid.server.protocol.v1_0.type.messaging.codec.ApplicationPropertiesConstructor;
+import org.apache.qpid.server.protocol.v1_0.type.transport.AmqpError;
 
 public class ApplicationPropertiesSection extends AbstractSection<Map<String,Object>, ApplicationProperties>
 {
+    private static final Object NOT_FOUND = new Object();
+
+    private static final byte MAP8 = (byte) 0xc1;
+    private static final byte MAP32 = (byte) 0xd1;
+    private static final byte STR8 = (byte) 0xa1;
+    private static final byte STR32 = (byte) 0xb1;
 
     public ApplicationPropertiesSection(final QpidByteBuffer encodedForm)
     {
@@ -51,6 +62,207 @@ public class ApplicationPropertiesSection extends AbstractSection<Map<String,Obj
         return new ApplicationPropertiesSection(this);
     }
 
+    /**
+     * Returns the value of a single property.  If the section has not yet been decoded, the encoded map is scanned
+     * for the key and only the matching value is decoded.
+     *
+     * @param name the property name
+     * @return the property value, or null if there is no such property
+     */
+    public Object getProperty(final String name)
+    {
+        final Object value = findProperty(name);
+        return value == NOT_FOUND ? null : value;
+    }
+
+    /**
+     * Returns whether the section contains the given property, without decoding the section if it has not yet been
+     * decoded.
+     *
+     * @param name the property name
+     * @return true if the section contains the property
+     */
+    public boolean containsProperty(final String name)
+    {
+        return findProperty(name) != NOT_FOUND;
+    }
+
+    private Object findProperty(final String name)
+    {
+        final Map<String, Object> decodedValue = getValueIfDecoded();
+        if (decodedValue == null && name != null)
+        {
+            try (QpidByteBuffer encodedForm = getEncodedFormIfRetained())
+            {
+                if (encodedForm != null)
+                {
+                    return scanEncodedForm(encodedForm, name.getBytes(UTF_8));
+                }
+            }
+            catch (AmqpErrorException e)
+            {
+                // fall back to decoding the whole section, which reports the error
+            }
+        }
+
+        final Map<String, Object> value = decodedValue == null ? getValue() : decodedValue;
+        return value.containsKey(name) ? value.get(name) : NOT_FOUND;
+    }
+
+    private Object scanEncodedForm(final QpidByteBuffer in, final byte[] name) throws AmqpErrorException
+    {
+        if (!in.hasRemaining() || in.get() != ValueHandler.DESCRIBED_TYPE)
+        {
+            throw new AmqpErrorException(AmqpError.DECODE_ERROR, "Not a described type.");
+        }
+        skipValue(in);
+
+        ensureRemaining(in, 1);
+        final byte formatCode = in.get();
+        final long count;
+        if (formatCode == MAP8)
+        {
+            ensureRemaining(in, 2);
+            in.getUnsignedByte();
+            count = in.getUnsignedByte();
+        }
+        else if (formatCode == MAP32)
+        {
+            ensureRemaining(in, 8);
+            in.getInt();
+            count = in.getUnsignedInt();
+        }
+        else
+        {
+            throw new AmqpErrorException(AmqpError.DECODE_ERROR,
+                                         String.format("Unexpected application properties format-code 0x%02x",
+                                                       formatCode));
+        }
+
+        if ((count & 0x1) == 1)
+        {
+            throw new AmqpErrorException(AmqpError.DECODE_ERROR,
+                                         String.format("Map cannot have odd number of elements: %d", count));
+        }
+
+        for (long i = 0; i < count / 2; i++)
+        {
+            if (keyMatches(in, name))
+            {
+                final Object value = new ValueHandler(TYPE_REGISTRY).parse(in);
+                if (!ApplicationProperties.isSimpleType(value))
+                {
+                    throw new AmqpErrorException(AmqpError.DECODE_ERROR,
+                                                 "Application properties do not allow non-primitive values");
+                }
+                return value;
+            }
+            skipValue(in);
+        }
+        return NOT_FOUND;
+    }
+
+    private static boolean keyMatches(final QpidByteBuffer in, final byte[] name) throws AmqpErrorException
+    {
+        ensureRemaining(in, 1);
+        final byte formatCode = in.get(in.position());
+        final int size;
+        if (formatCode == STR8)
+        {
+            ensureRemaining(in, 2);
+            in.get();
+            size = in.getUnsignedByte();
+        }
+        else if (formatCode == STR32)
+        {
+            ensureRemaining(in, 5);
+            in.get();
+            size = in.getInt();
+        }
+        else
+        {
+            skipValue(in);
+            return false;
+        }
+
+        ensureRemaining(in, size);
+        final int start = in.position();
+        in.position(start + size);
+        if (size != name.length)
+        {
+            return false;
+        }
+        for (int i = 0; i < size; i++)
+        {
+            if (in.get(start + i) != name[i])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void skipValue(final QpidByteBuffer in) throws AmqpErrorException
+    {
+        ensureRemaining(in, 1);
+        final byte formatCode = in.get();
+        if (formatCode == ValueHandler.DESCRIBED_TYPE)
+        {
+            // descriptor followed by the described value
+            skipValue(in);
+            skipValue(in);
+            return;
+        }
+
+        final int width;
+        switch ((formatCode >> 4) & 0x0F)
+        {
+            case 0x4:
+                width = 0;
+                break;
+            case 0x5:
+                width = 1;
+                break;
+            case 0x6:
+                width = 2;
+                break;
+            case 0x7:
+                width = 4;
+                break;
+            case 0x8:
+                width = 8;
+                break;
+            case 0x9:
+                width = 16;
+                break;
+            case 0xa:
+            case 0xc:
+            case 0xe:
+                ensureRemaining(in, 1);
+                width = in.getUnsignedByte();
+                break;
+            case 0xb:
+            case 0xd:
+            case 0xf:
+                ensureRemaining(in, 4);
+                width = in.getInt();
+                break;
+            default:
+                throw new AmqpErrorException(AmqpError.DECODE_ERROR,
+                                             String.format("Unknown type format-code 0x%02x", formatCode));
+        }
+        ensureRemaining(in, width);
+        in.position(in.position() + width);
+    }
+
+    private static void ensureRemaining(final QpidByteBuffer in, final int size) throws AmqpErrorException
+    {
+        if (size < 0 || !in.hasRemaining(size))
+        {
+            throw new AmqpErrorException(AmqpError.DECODE_ERROR, "Insufficient data for application properties");
+        }
+    }
+
     @Override
     protected DescribedTypeConstructor<ApplicationProperties> createNonEncodingRetainingSectionConstructor()
     {
@@ -0,0 +1,180 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.protocol.v1_0;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.model.Protocol;
+import org.apache.qpid.server.protocol.v1_0.codec.FrameWriter;
+import org.apache.qpid.server.protocol.v1_0.framing.TransportFrame;
+import org.apache.qpid.server.protocol.v1_0.type.Binary;
+import org.apache.qpid.server.protocol.v1_0.type.FrameBody;
+import org.apache.qpid.server.protocol.v1_0.type.UnsignedInteger;
+import org.apache.qpid.server.protocol.v1_0.type.codec.AMQPDescribedTypeRegistry;
+import org.apache.qpid.server.protocol.v1_0.type.messaging.Data;
+import org.apache.qpid.server.protocol.v1_0.type.messaging.DataSection;
+import org.apache.qpid.server.protocol.v1_0.type.messaging.Source;
+import org.apache.qpid.server.protocol.v1_0.type.messaging.Target;
+import org.apache.qpid.server.protocol.v1_0.type.transport.Attach;
+import org.apache.qpid.server.protocol.v1_0.type.transport.Begin;
+import org.apache.qpid.server.protocol.v1_0.type.transport.Flow;
+import org.apache.qpid.server.protocol.v1_0.type.transport.Open;
+import org.apache.qpid.server.protocol.v1_0.type.transport.ReceiverSettleMode;
+import org.apache.qpid.server.protocol.v1_0.type.transport.Role;
+import org.apache.qpid.server.protocol.v1_0.type.transport.SenderSettleMode;
+import org.apache.qpid.server.protocol.v1_0.type.transport.Transfer;
+import org.apache.qpid.server.transport.ProtocolEngineBenchmark;
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class ProtocolEngineBenchmark_1_0_0Test extends UnitTestBase
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProtocolEngineBenchmark_1_0_0Test.class);
+    private static final AMQPDescribedTypeRegistry TYPE_REGISTRY = AMQPDescribedTypeRegistry.newInstance()
+                                                                                            .registerTransportLayer()
+                                                                                            .registerMessagingLayer()
+                                                                                            .registerTransactionLayer()
+                                                                                            .registerSecurityLayer();
+    private static final UnsignedInteger PUBLISHER_HANDLE = UnsignedInteger.ZERO;
+    private static final UnsignedInteger CONSUMER_HANDLE = UnsignedInteger.ONE;
+
+    private ProtocolEngineBenchmark _benchmark;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        _benchmark = new ProtocolEngineBenchmark(Protocol.AMQP_1_0);
+        _benchmark.start();
+    }
+
+    @After
+    public void tearDown()
+    {
+        _benchmark.close();
+    }
+
+    @Test
+    public void testPublishAndConsume()
+    {
+        final ProtocolEngineBenchmark.Result result = _benchmark.run(new FrameStream_1_0());
+        LOGGER.info("{}", result);
+
+        assertTrue("Unexpected output size", result.getBytesWrittenPerMessage() > 0);
+    }
+
+    private static class FrameStream_1_0 implements ProtocolEngineBenchmark.FrameStream
+    {
+        @Override
+        public void open(final ProtocolEngineBenchmark.EncodedFrames frames,
+                         final String virtualHostName,
+                         final String queueName)
+        {
+            frames.write(ProtocolEngineCreator_1_0_0.getInstance().getHeaderIdentifier());
+
+            final Open open = new Open();
+            open.setContainerId("benchmark");
+            open.setHostname(virtualHostName);
+            send(frames, open);
+
+            final Begin begin = new Begin();
+            begin.setNextOutgoingId(UnsignedInteger.ZERO);
+            begin.setIncomingWindow(UnsignedInteger.MAX_VALUE);
+            begin.setOutgoingWindow(UnsignedInteger.MAX_VALUE);
+            send(frames, begin);
+
+            final Target publisherTarget = new Target();
+            publisherTarget.setAddress(queueName);
+            final Attach publisher = new Attach();
+            publisher.setName("publisher");
+            publisher.setHandle(PUBLISHER_HANDLE);
+            publisher.setRole(Role.SENDER);
+            publisher.setSndSettleMode(SenderSettleMode.SETTLED);
+            publisher.setSource(new Source());
+            publisher.setTarget(publisherTarget);
+            publisher.setInitialDeliveryCount(UnsignedInteger.ZERO);
+            send(frames, publisher);
+
+            final Source consumerSource = new Source();
+            consumerSource.setAddress(queueName);
+            final Attach consumer = new Attach();
+            consumer.setName("consumer");
+            consumer.setHandle(CONSUMER_HANDLE);
+            consumer.setRole(Role.RECEIVER);
+            consumer.setSndSettleMode(SenderSettleMode.SETTLED);
+            consumer.setRcvSettleMode(ReceiverSettleMode.FIRST);
+            consumer.setSource(consumerSource);
+            consumer.setTarget(new Target());
+            send(frames, consumer);
+
+            final Flow flow = new Flow();
+            flow.setHandle(CONSUMER_HANDLE);
+            flow.setDeliveryCount(UnsignedInteger.ZERO);
+            flow.setLinkCredit(UnsignedInteger.valueOf(Integer.MAX_VALUE));
+            flow.setNextIncomingId(UnsignedInteger.ZERO);
+            flow.setIncomingWindow(UnsignedInteger.MAX_VALUE);
+            flow.setNextOutgoingId(UnsignedInteger.ZERO);
+            flow.setOutgoingWindow(UnsignedInteger.MAX_VALUE);
+            send(frames, flow);
+        }
+
+        @Override
+        public void publish(final ProtocolEngineBenchmark.EncodedFrames frames,
+                            final String queueName,
+                            final long firstMessage,
+                            final int count,
+                            final byte[] payload)
+        {
+            final DataSection section = new Data(new Binary(payload)).createEncodingRetainingSection();
+            try (QpidByteBuffer encodedMessage = section.getEncodedForm())
+            {
+                for (int i = 0; i < count; i++)
+                {
+                    final UnsignedInteger deliveryId = UnsignedInteger.valueOf(firstMessage + i);
+                    final Transfer transfer = new Transfer();
+                    transfer.setHandle(PUBLISHER_HANDLE);
+                    transfer.setDeliveryId(deliveryId);
+                    transfer.setDeliveryTag(new Binary(deliveryId.toString().getBytes()));
+                    transfer.setMessageFormat(UnsignedInteger.ZERO);
+                    transfer.setSettled(Boolean.TRUE);
+                    try (QpidByteBuffer transferPayload = encodedMessage.duplicate())
+                    {
+                        new FrameWriter(TYPE_REGISTRY, frames).send(new TransportFrame(0, transfer, transferPayload));
+                    }
+                }
+            }
+            finally
+            {
+                section.dispose();
+            }
+        }
+
+        private void send(final ProtocolEngineBenchmark.EncodedFrames frames, final FrameBody body)
+        {
+            new FrameWriter(TYPE_REGISTRY, frames).send(new TransportFrame(0, body));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.protocol.v1_0.type.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.protocol.v1_0.type.Binary;
+import org.apache.qpid.server.protocol.v1_0.type.Symbol;
+import org.apache.qpid.server.protocol.v1_0.type.UnsignedInteger;
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class ApplicationPropertiesSectionTest extends UnitTestBase
+{
+    private ApplicationPropertiesSection _section;
+
+    @After
+    public void tearDown()
+    {
+        if (_section != null)
+        {
+            _section.dispose();
+        }
+    }
+
+    @Test
+    public void testPropertyLookupWithoutDecoding()
+    {
+        final Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("binary", new Binary(new byte[]{1, 2, 3}));
+        properties.put("uint", UnsignedInteger.valueOf(7));
+        properties.put("symbol", Symbol.valueOf("sym"));
+        properties.put("uuid", UUID.randomUUID());
+        properties.put("null", null);
+        properties.put("string", "value");
+        properties.put("long", Long.MAX_VALUE);
+
+        _section = createEncodedSection(properties);
+
+        assertEquals("value", _section.getProperty("string"));
+        assertEquals(Long.MAX_VALUE, _section.getProperty("long"));
+        assertEquals(Symbol.valueOf("sym"), _section.getProperty("symbol"));
+        assertNull(_section.getProperty("null"));
+        assertNull(_section.getProperty("missing"));
+        assertTrue(_section.containsProperty("null"));
+        assertTrue(_section.containsProperty("uint"));
+        assertFalse(_section.containsProperty("missing"));
+        assertFalse(_section.containsProperty("strin"));
+        assertNull("Section unexpectedly decoded", _section.getValueIfDecoded());
+
+        assertEquals(properties, _section.getValue());
+    }
+
+    @Test
+    public void testPropertyLookupInLargeMap()
+    {
+        final Map<String, Object> properties = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++)
+        {
+            properties.put("key" + i, "value" + i);
+        }
+        final StringBuilder longKey = new StringBuilder();
+        for (int i = 0; i < 300; i++)
+        {
+            longKey.append('k');
+        }
+        properties.put(longKey.toString(), 42);
+
+        _section = createEncodedSection(properties);
+
+        assertEquals("value99", _section.getProperty("key99"));
+        assertEquals(42, _section.getProperty(longKey.toString()));
+        assertFalse(_section.containsProperty("key100"));
+        assertNull("Section unexpectedly decoded", _section.getValueIfDecoded());
+    }
+
+    @Test
+    public void testPropertyLookupOnDecodedSection()
+    {
+        final Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("string", "value");
+
+        _section = new ApplicationProperties(properties).createEncodingRetainingSection();
+
+        assertEquals("value", _section.getProperty("string"));
+        assertTrue(_section.containsProperty("string"));
+        assertFalse(_section.containsProperty("missing"));
+    }
+
+    private ApplicationPropertiesSection createEncodedSection(final Map<String, Object> properties)
+    {
+        final ApplicationPropertiesSection section = new ApplicationProperties(properties).createEncodingRetainingSection();
+        try (QpidByteBuffer encodedForm = section.getEncodedForm())
+        {
+            return new ApplicationPropertiesSection(encodedForm);
+        }
+        finally
+        {
+            section.dispose();
+        }
+    }
+}
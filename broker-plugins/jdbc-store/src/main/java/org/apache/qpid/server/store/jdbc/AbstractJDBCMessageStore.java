@@ -58,6 +58,7 @@ import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
 import org.apache.qpid.server.message.EnqueueableMessage;
 import org.apache.qpid.server.model.ConfiguredObject;
 import org.apache.qpid.server.plugin.MessageMetaDataType;
+import org.apache.qpid.server.stats.LatencyHistogram;
 import org.apache.qpid.server.store.Event;
 import org.apache.qpid.server.store.EventListener;
 import org.apache.qpid.server.store.EventManager;
@@ -109,6 +110,8 @@ public abstract class AbstractJDBCMessageStore implements MessageStore
     private String _tablePrefix = "";
     private final AtomicLong _inMemorySize = new AtomicLong();
     private final AtomicLong _bytesEvacuatedFromMemory = new AtomicLong();
+    private final AtomicLong _bytesReloadedIntoMemory = new AtomicLong();
+    private final LatencyHistogram _commitLatencyHistogram = new LatencyHistogram();
     private final Set<StoredJDBCMessage<?>> _messages = Collections.newSetFromMap(new ConcurrentHashMap<>());
     private final Set<MessageDeleteListener> _messageDeleteListeners = Collections.newSetFromMap(new ConcurrentHashMap<>());
     private final Set<Action<Connection>> _deleteActions = Collections.newSetFromMap(new ConcurrentHashMap<>());
@@ -262,6 +265,7 @@ public abstract class AbstractJDBCMessageStore implements MessageStore
         _messages.clear();
         _inMemorySize.set(0);
         _bytesEvacuatedFromMemory.set(0);
+        _bytesReloadedIntoMemory.set(0);
         if(_executor != null)
         {
             _executor.shutdown();
@@ -931,6 +935,7 @@ public abstract class AbstractJDBCMessageStore implements MessageStore
 
     private <X> ListenableFuture<X> commitTranAsync(final ConnectionWrapper connWrapper, final X val) throws StoreException
     {
+        final long startTime = System.nanoTime();
         final SettableFuture<X> future = SettableFuture.create();
         _executor.submit(new Runnable()
                         {
@@ -940,6 +945,7 @@ public abstract class AbstractJDBCMessageStore implements MessageStore
                                 try
                                 {
                                     commitTran(connWrapper);
+                                    _commitLatencyHistogram.recordSince(startTime);
                                     future.set(val);
                                 }
                                 catch (RuntimeException e)
@@ -1204,6 +1210,18 @@ public abstract class AbstractJDBCMessageStore implements MessageStore
         return _bytesEvacuatedFromMemory.get();
     }
 
+    @Override
+    public long getBytesReloadedIntoMemory()
+    {
+        return _bytesReloadedIntoMemory.get();
+    }
+
+    @Override
+    public LatencyHistogram getCommitLatencyHistogram()
+    {
+        return _commitLatencyHistogram;
+    }
+
     protected class JDBCTransaction implements Transaction
     {
         private final ConnectionWrapper _connWrapper;
@@ -1266,7 +1284,9 @@ public abstract class AbstractJDBCMessageStore implements MessageStore
         {
             checkMessageStoreOpen();
             doPreCommitActions();
+            final long startTime = System.nanoTime();
             AbstractJDBCMessageStore.this.commitTran(_connWrapper);
+            _commitLatencyHistogram.recordSince(startTime);
             storedSizeChange(_storeSizeIncrease);
             doPostCommitActions();
         }
@@ -1510,6 +1530,7 @@ public abstract class AbstractJDBCMessageStore implements MessageStore
         private final int _metadataSize;
 
         private MessageDataRef<T> _messageDataRef;
+        private boolean _evacuated;
 
         StoredJDBCMessage(long messageId,
                           T metaData, boolean isRecovered)
@@ -1543,6 +1564,7 @@ public abstract class AbstractJDBCMessageStore implements MessageStore
                         metaData = (T) AbstractJDBCMessageStore.this.getMetaData(_messageId);
                         _messageDataRef = new MessageDataRef<>(metaData, _messageDataRef.getData(), false);
                         _inMemorySize.addAndGet(getMetadataSize());
+                        countReload(getMetadataSize());
                     }
                     catch (SQLException e)
                     {
@@ -1596,6 +1618,7 @@ public abstract class AbstractJDBCMessageStore implements MessageStore
                     data = AbstractJDBCMessageStore.this.getAllContent(_messageId);
                     _messageDataRef.setData(data);
                     _inMemorySize.addAndGet(getContentSize());
+                    countReload(getContentSize());
                 }
                 else
                 {
@@ -1752,10 +1775,19 @@ public abstract class AbstractJDBCMessageStore implements MessageStore
                 final long bytesCleared = _messageDataRef.clear(false);
                 _inMemorySize.addAndGet(-bytesCleared);
                 _bytesEvacuatedFromMemory.addAndGet(bytesCleared);
+                _evacuated |= bytesCleared > 0;
             }
             return true;
         }
 
+        private void countReload(final long bytesReloaded)
+        {
+            if (_evacuated)
+            {
+                _bytesReloadedIntoMemory.addAndGet(bytesReloaded);
+            }
+        }
+
         @Override
         public synchronized void reallocate()
         {
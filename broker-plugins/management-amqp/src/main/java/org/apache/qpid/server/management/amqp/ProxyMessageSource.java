@@ -25,6 +25,7 @@ import java.security.AccessController;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -418,6 +419,12 @@ public class ProxyMessageSource implements MessageSource, MessageDestination
             return _underlying.pullMessage();
         }
 
+        @Override
+        public List<MessageContainer> pullMessages(final int maxMessages)
+        {
+            return _underlying.pullMessages(maxMessages);
+        }
+
         @Override
         public T getTarget()
         {
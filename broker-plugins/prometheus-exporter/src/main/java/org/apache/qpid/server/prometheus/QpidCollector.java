@@ -25,6 +25,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 import io.prometheus.client.Collector;
@@ -36,12 +37,17 @@ import org.apache.qpid.server.model.ConfiguredObjectStatistic;
 import org.apache.qpid.server.model.Model;
 import org.apache.qpid.server.model.StatisticType;
 import org.apache.qpid.server.model.StatisticUnit;
+import org.apache.qpid.server.stats.LatencyHistogram;
+import org.apache.qpid.server.stats.LatencyHistogramProvider;
 
 public class QpidCollector extends Collector
 {
     private final static MetricFamilySamples IGNORED = new MetricFamilySamples(null, null, null, null);
     static final String COUNT_SUFFIX = "count";
     static final String TOTAL_SUFFIX = "total";
+    static final String SECONDS_SUFFIX = "seconds";
+    private static final String BUCKET_LABEL = "le";
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
     private final Predicate<ConfiguredObjectStatistic<?,?>> _includeStatisticFilter;
     private final Predicate<String> _includeMetricFilter;
     private ConfiguredObject<?> _root;
@@ -92,6 +98,68 @@ public class QpidCollector extends Collector
                 family.samples.add(new MetricFamilySamples.Sample(family.name, labelNames, labelsValues, doubleValue));
             }
         }
+
+        if (object instanceof LatencyHistogramProvider)
+        {
+            final Map<String, LatencyHistogram> histograms = ((LatencyHistogramProvider) object).getLatencyHistograms();
+            for (final Map.Entry<String, LatencyHistogram> entry : histograms.entrySet())
+            {
+                final String familyName = getHistogramFamilyName(object.getCategoryClass(), entry.getKey());
+                MetricFamilySamples family = metricFamilyMap.get(familyName);
+                if (family == null)
+                {
+                    family = _includeMetricFilter.test(familyName)
+                            ? new MetricFamilySamples(familyName,
+                                                      Type.HISTOGRAM,
+                                                      String.format("Distribution of %s in seconds.", entry.getKey()),
+                                                      new ArrayList<>())
+                            : IGNORED;
+                    metricFamilyMap.put(familyName, family);
+                    if (family != IGNORED)
+                    {
+                        metricFamilySamples.add(family);
+                    }
+                }
+                if (family != IGNORED)
+                {
+                    addHistogramSamples(family, labelNames, buildLabelValues(object), entry.getValue());
+                }
+            }
+        }
+    }
+
+    private void addHistogramSamples(final MetricFamilySamples family,
+                                     final List<String> labelNames,
+                                     final List<String> labelValues,
+                                     final LatencyHistogram histogram)
+    {
+        final List<String> bucketLabelNames = new ArrayList<>(labelNames);
+        bucketLabelNames.add(BUCKET_LABEL);
+
+        final long[] upperBounds = LatencyHistogram.getBucketUpperBounds();
+        final long[] counts = histogram.getBucketCounts();
+        long cumulativeCount = 0;
+        for (int i = 0; i < counts.length; i++)
+        {
+            cumulativeCount += counts[i];
+            final double upperBound = i < upperBounds.length
+                    ? upperBounds[i] / NANOS_PER_SECOND
+                    : Double.POSITIVE_INFINITY;
+            final List<String> bucketLabelValues = new ArrayList<>(labelValues);
+            bucketLabelValues.add(doubleToGoString(upperBound));
+            family.samples.add(new MetricFamilySamples.Sample(family.name + "_bucket",
+                                                              bucketLabelNames,
+                                                              bucketLabelValues,
+                                                              cumulativeCount));
+        }
+        family.samples.add(new MetricFamilySamples.Sample(family.name + "_count",
+                                                          labelNames,
+                                                          labelValues,
+                                                          cumulativeCount));
+        family.samples.add(new MetricFamilySamples.Sample(family.name + "_sum",
+                                                          labelNames,
+                                                          labelValues,
+                                                          histogram.getSum() / NANOS_PER_SECOND));
     }
 
     private MetricFamilySamples createMetricFamilySamples(final String statisticName,
@@ -214,6 +282,15 @@ public class QpidCollector extends Collector
                              metricName);
     }
 
+    static String getHistogramFamilyName(final Class<? extends ConfiguredObject> categoryClass,
+                                         final String histogramName)
+    {
+        return String.format("qpid_%s_%s_%s",
+                             toSnakeCase(categoryClass.getSimpleName()),
+                             toSnakeCase(histogramName),
+                             SECONDS_SUFFIX);
+    }
+
     private static String generateMetricName(final ConfiguredObjectStatistic<?, ?> statistics)
     {
         String metricName = toSnakeCase(statistics.getName());
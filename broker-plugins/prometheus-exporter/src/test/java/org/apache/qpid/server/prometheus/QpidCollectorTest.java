@@ -29,12 +29,14 @@ import static org.hamcrest.Matchers.closeTo;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import io.prometheus.client.Collector;
@@ -58,6 +60,8 @@ import org.apache.qpid.server.model.testmodels.hierarchy.TestModel;
 import org.apache.qpid.server.model.testmodels.hierarchy.TestPetrolEngineImpl;
 import org.apache.qpid.server.model.testmodels.hierarchy.TestSensor;
 import org.apache.qpid.server.model.testmodels.hierarchy.TestTemperatureSensorImpl;
+import org.apache.qpid.server.stats.LatencyHistogram;
+import org.apache.qpid.server.stats.LatencyHistogramProvider;
 import org.apache.qpid.test.utils.UnitTestBase;
 
 public class QpidCollectorTest extends UnitTestBase
@@ -208,6 +212,56 @@ public class QpidCollectorTest extends UnitTestBase
 
     }
 
+    @Test
+    public void testCollectLatencyHistogram()
+    {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(5));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+        histogram.record(TimeUnit.HOURS.toNanos(1));
+
+        final ConfiguredObject<?> root = mock(ConfiguredObject.class,
+                                               withSettings().extraInterfaces(LatencyHistogramProvider.class));
+        when(root.getModel()).thenReturn(TestModel.getInstance());
+        when(root.getCategoryClass()).thenReturn((Class) TestCar.class);
+        when(root.getStatistics()).thenReturn(Collections.emptyMap());
+        when(((LatencyHistogramProvider) root).getLatencyHistograms()).thenReturn(Collections.singletonMap("brakingTime",
+                                                                                                         histogram));
+
+        _qpidCollector = new QpidCollector(root, new IncludeDisabledStatisticPredicate(false), s -> true);
+        final List<Collector.MetricFamilySamples> metrics = _qpidCollector.collect();
+
+        assertThat(metrics.size(), equalTo(1));
+        final Collector.MetricFamilySamples family = metrics.get(0);
+        final String familyName = "qpid_test_car_braking_time_seconds";
+        assertThat(family.name, is(equalTo(familyName)));
+        assertThat(family.type, is(equalTo(Collector.Type.HISTOGRAM)));
+
+        final long[] upperBounds = LatencyHistogram.getBucketUpperBounds();
+        assertMetricFamilySamplesSize(family, upperBounds.length + 3);
+
+        final Collector.MetricFamilySamples.Sample firstBucket = family.samples.get(0);
+        assertThat(firstBucket.name, is(equalTo(familyName + "_bucket")));
+        assertThat(firstBucket.labelNames, is(equalTo(Collections.singletonList("le"))));
+        assertThat(firstBucket.labelValues, is(equalTo(Collections.singletonList("1.0E-5"))));
+        assertThat(firstBucket.value, closeTo(1, 0.01));
+
+        final Collector.MetricFamilySamples.Sample lastFiniteBucket = family.samples.get(upperBounds.length - 1);
+        assertThat(lastFiniteBucket.labelValues, is(equalTo(Collections.singletonList("300.0"))));
+        assertThat(lastFiniteBucket.value, closeTo(2, 0.01));
+
+        final Collector.MetricFamilySamples.Sample infiniteBucket = family.samples.get(upperBounds.length);
+        assertThat(infiniteBucket.labelValues, is(equalTo(Collections.singletonList("+Inf"))));
+        assertThat(infiniteBucket.value, closeTo(3, 0.01));
+
+        final Collector.MetricFamilySamples.Sample count = family.samples.get(upperBounds.length + 1);
+        assertThat(count.name, is(equalTo(familyName + "_count")));
+        assertThat(count.value, closeTo(3, 0.01));
+
+        final Collector.MetricFamilySamples.Sample sum = family.samples.get(upperBounds.length + 2);
+        assertThat(sum.name, is(equalTo(familyName + "_sum")));
+        assertThat(sum.value, closeTo(3600.003005, 0.000001));
+    }
 
     private Collector.MetricFamilySamples.Sample findSampleByLabelValue(final Collector.MetricFamilySamples metricFamilySamples,
                                                                         final String nameLabelValue)
@@ -0,0 +1,165 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.store.segment;
+
+import java.util.Arrays;
+
+/**
+ * The ids of the messages enqueued on a single queue, held in an open-addressed hash set of primitive longs so that
+ * each entry costs eight bytes rather than a boxed map entry.  Message ids are always positive, so zero marks a free
+ * slot.
+ * <p>
+ * This class is not thread safe; the store only touches it whilst holding its append lock.
+ */
+final class QueueIndex
+{
+    private static final int MINIMUM_CAPACITY = 16;
+    private static final long FREE = 0L;
+
+    private long[] _table = new long[MINIMUM_CAPACITY];
+    private int _size;
+
+    boolean add(final long messageId)
+    {
+        if (messageId <= 0)
+        {
+            throw new IllegalArgumentException("Message id must be positive: " + messageId);
+        }
+        int slot = slot(messageId, _table.length);
+        while (_table[slot] != FREE)
+        {
+            if (_table[slot] == messageId)
+            {
+                return false;
+            }
+            slot = (slot + 1) & (_table.length - 1);
+        }
+        _table[slot] = messageId;
+        _size++;
+        if (_size > (_table.length >> 1) + (_table.length >> 2))
+        {
+            resize(_table.length << 1);
+        }
+        return true;
+    }
+
+    boolean remove(final long messageId)
+    {
+        final int mask = _table.length - 1;
+        int slot = slot(messageId, _table.length);
+        while (_table[slot] != messageId)
+        {
+            if (_table[slot] == FREE)
+            {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // shift back any following entries that would otherwise become unreachable from their home slot
+        int free = slot;
+        int next = (free + 1) & mask;
+        while (_table[next] != FREE)
+        {
+            final int home = slot(_table[next], _table.length);
+            if (((next - home) & mask) >= ((next - free) & mask))
+            {
+                _table[free] = _table[next];
+                free = next;
+            }
+            next = (next + 1) & mask;
+        }
+        _table[free] = FREE;
+        _size--;
+
+        if (_table.length > MINIMUM_CAPACITY && _size < _table.length >> 3)
+        {
+            resize(_table.length >> 1);
+        }
+        return true;
+    }
+
+    boolean contains(final long messageId)
+    {
+        int slot = slot(messageId, _table.length);
+        while (_table[slot] != FREE)
+        {
+            if (_table[slot] == messageId)
+            {
+                return true;
+            }
+            slot = (slot + 1) & (_table.length - 1);
+        }
+        return false;
+    }
+
+    int size()
+    {
+        return _size;
+    }
+
+    boolean isEmpty()
+    {
+        return _size == 0;
+    }
+
+    /**
+     * Returns the message ids in ascending order, which is the order in which they were published.
+     */
+    long[] toSortedArray()
+    {
+        final long[] ids = new long[_size];
+        int i = 0;
+        for (final long id : _table)
+        {
+            if (id != FREE)
+            {
+                ids[i++] = id;
+            }
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    private void resize(final int capacity)
+    {
+        final long[] old = _table;
+        _table = new long[capacity];
+        for (final long id : old)
+        {
+            if (id != FREE)
+            {
+                int slot = slot(id, capacity);
+                while (_table[slot] != FREE)
+                {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                _table[slot] = id;
+            }
+        }
+    }
+
+    private static int slot(final long messageId, final int capacity)
+    {
+        final long hash = messageId * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & (capacity - 1);
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.store.segment;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only log file which is mapped into memory.  Each record is laid out as the length of its body, a CRC32
+ * checksum of the body and the body itself.  The unused remainder of the file is zero filled, so a zero length marks
+ * the end of the log, and a checksum mismatch marks a record that was torn by a crash.
+ * <p>
+ * A record may also be reserved and have its body filled in later, after further records have been appended.  Its
+ * checksum is only written once the body is complete, so a record which was never completed is skipped on recovery.
+ * <p>
+ * Appends are serialised by the owning store.  Reads may run concurrently with appends to other parts of the file.
+ */
+final class Segment
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(Segment.class);
+
+    static final int RECORD_HEADER_SIZE = 8;
+    private static final String FILE_SUFFIX = ".seg";
+
+    private final long _sequence;
+    private final File _file;
+    private final MappedByteBuffer _buffer;
+    private final AtomicLong _liveBytes = new AtomicLong();
+    private final AtomicInteger _openReservations = new AtomicInteger();
+    private int _writePosition;
+
+    private Segment(final long sequence, final File file, final MappedByteBuffer buffer)
+    {
+        _sequence = sequence;
+        _file = file;
+        _buffer = buffer;
+    }
+
+    static Segment create(final File directory, final long sequence, final int capacity) throws IOException
+    {
+        final File file = new File(directory, String.format("%019d%s", sequence, FILE_SUFFIX));
+        return new Segment(sequence, file, map(file, capacity));
+    }
+
+    static Segment open(final File file) throws IOException
+    {
+        final long length = file.length();
+        if (length > Integer.MAX_VALUE)
+        {
+            throw new IOException(String.format("Segment file '%s' is too large: %d", file, length));
+        }
+        return new Segment(getSequence(file), file, map(file, (int) length));
+    }
+
+    static boolean isSegmentFile(final File file)
+    {
+        final String name = file.getName();
+        if (!file.isFile() || !name.endsWith(FILE_SUFFIX) || name.length() == FILE_SUFFIX.length())
+        {
+            return false;
+        }
+        for (int i = 0; i < name.length() - FILE_SUFFIX.length(); i++)
+        {
+            if (!Character.isDigit(name.charAt(i)))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static long getSequence(final File file)
+    {
+        final String name = file.getName();
+        return Long.parseLong(name.substring(0, name.length() - FILE_SUFFIX.length()));
+    }
+
+    private static MappedByteBuffer map(final File file, final int length) throws IOException
+    {
+        // the mapping remains valid once the channel is closed
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+             FileChannel channel = randomAccessFile.getChannel())
+        {
+            if (randomAccessFile.length() < length)
+            {
+                randomAccessFile.setLength(length);
+            }
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+        }
+    }
+
+    long getSequence()
+    {
+        return _sequence;
+    }
+
+    File getFile()
+    {
+        return _file;
+    }
+
+    int getCapacity()
+    {
+        return _buffer.capacity();
+    }
+
+    int getRemaining()
+    {
+        return getCapacity() - _writePosition;
+    }
+
+    long getLiveBytes()
+    {
+        return _liveBytes.get();
+    }
+
+    void addLiveBytes(final long delta)
+    {
+        _liveBytes.addAndGet(delta);
+    }
+
+    /**
+     * Appends a record, letting the writer fill in the body.  The caller must have checked that the segment has
+     * room for the body and its header.
+     *
+     * @return the position of the body of the record
+     */
+    int append(final int bodyLength, final Consumer<ByteBuffer> bodyWriter)
+    {
+        final int recordPosition = _writePosition;
+        final int bodyPosition = recordPosition + RECORD_HEADER_SIZE;
+        final ByteBuffer body = slice(bodyPosition, bodyLength);
+        bodyWriter.accept(body);
+        if (body.hasRemaining())
+        {
+            throw new IllegalStateException(String.format("Record body underflow: %d bytes unwritten", body.remaining()));
+        }
+
+        _buffer.putInt(recordPosition + Integer.BYTES, checksum(slice(bodyPosition, bodyLength)));
+        _buffer.putInt(recordPosition, bodyLength);
+        _writePosition = bodyPosition + bodyLength;
+        return bodyPosition;
+    }
+
+    /**
+     * Reserves space for a record whose body will be written later through a {@link #slice(int, int)} of it.  The
+     * caller must have checked that the segment has room for the body and its header, and must eventually call
+     * either {@link #completeReservation(int, int)} or {@link #abandonReservation()}.
+     *
+     * @return the position of the body of the record
+     */
+    int reserve(final int bodyLength)
+    {
+        final int recordPosition = _writePosition;
+        final int bodyPosition = recordPosition + RECORD_HEADER_SIZE;
+        _openReservations.incrementAndGet();
+        _buffer.putInt(recordPosition, bodyLength);
+        _writePosition = bodyPosition + bodyLength;
+        return bodyPosition;
+    }
+
+    /**
+     * Writes the checksum of a reserved record whose body has been written in full.
+     */
+    void completeReservation(final int bodyPosition, final int bodyLength)
+    {
+        _buffer.putInt(bodyPosition - Integer.BYTES, checksum(slice(bodyPosition, bodyLength)));
+        _openReservations.decrementAndGet();
+    }
+
+    /**
+     * Gives up on a reserved record, leaving it to be skipped on recovery.
+     */
+    void abandonReservation()
+    {
+        _openReservations.decrementAndGet();
+    }
+
+    boolean hasOpenReservations()
+    {
+        return _openReservations.get() > 0;
+    }
+
+    /**
+     * Returns a view onto part of the segment, independent of the views held by other threads.
+     */
+    ByteBuffer slice(final int position, final int length)
+    {
+        final ByteBuffer duplicate = _buffer.duplicate();
+        duplicate.limit(position + length);
+        duplicate.position(position);
+        return duplicate.slice();
+    }
+
+    /**
+     * Passes each intact record to the visitor in turn, stopping at the end of the log.  A record with a plausible
+     * length but a bad checksum is skipped, as it may be a reservation that was never completed.
+     */
+    void scan(final RecordVisitor visitor)
+    {
+        final int capacity = getCapacity();
+        int position = 0;
+        while (position <= capacity - RECORD_HEADER_SIZE)
+        {
+            final int length = _buffer.getInt(position);
+            if (length <= 0 || length > capacity - position - RECORD_HEADER_SIZE)
+            {
+                break;
+            }
+            final int bodyPosition = position + RECORD_HEADER_SIZE;
+            if (_buffer.getInt(position + Integer.BYTES) == checksum(slice(bodyPosition, length)))
+            {
+                visitor.visit(this, bodyPosition, slice(bodyPosition, length));
+            }
+            else
+            {
+                LOGGER.warn("Ignoring torn or incomplete record at position {} in segment '{}'", position, _file);
+            }
+            position = bodyPosition + length;
+        }
+        _writePosition = position;
+    }
+
+    void force()
+    {
+        _buffer.force();
+    }
+
+    private static int checksum(final ByteBuffer body)
+    {
+        final CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Segment[" + _file.getName() + "]";
+    }
+
+    interface RecordVisitor
+    {
+        void visit(Segment segment, int bodyPosition, ByteBuffer body);
+    }
+}
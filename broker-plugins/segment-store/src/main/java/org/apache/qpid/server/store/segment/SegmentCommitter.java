@@ -0,0 +1,183 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.store.segment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.qpid.server.store.StoreException;
+
+/**
+ * Makes committed records durable in groups.  Committing threads queue a future and the commit thread forces the
+ * segments written since the previous force once for all of the commits that have queued up meanwhile, so the cost of
+ * the force is shared between the transactions committed during it.
+ */
+final class SegmentCommitter extends Thread
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(SegmentCommitter.class);
+
+    private final AtomicBoolean _stopped = new AtomicBoolean(false);
+    private final Queue<PendingCommit<?>> _pendingCommits = new ConcurrentLinkedQueue<>();
+    private final List<PendingCommit<?>> _inProcessCommits = new ArrayList<>(256);
+    private final Object _lock = new Object();
+    private final Runnable _forceAction;
+    private volatile long _forceCount;
+
+    SegmentCommitter(final String name, final Runnable forceAction)
+    {
+        super(name);
+        setDaemon(true);
+        _forceAction = forceAction;
+    }
+
+    <X> ListenableFuture<X> commit(final X value)
+    {
+        if (_stopped.get())
+        {
+            throw new StoreException("Segment committer is stopped");
+        }
+        final SettableFuture<X> future = SettableFuture.create();
+        _pendingCommits.add(new PendingCommit<>(future, value));
+        synchronized (_lock)
+        {
+            _lock.notifyAll();
+        }
+        return future;
+    }
+
+    long getForceCount()
+    {
+        return _forceCount;
+    }
+
+    @Override
+    public void run()
+    {
+        while (!_stopped.get())
+        {
+            synchronized (_lock)
+            {
+                while (!_stopped.get() && _pendingCommits.isEmpty())
+                {
+                    try
+                    {
+                        _lock.wait(500);
+                    }
+                    catch (InterruptedException e)
+                    {
+                        // check the stopped flag and carry on
+                    }
+                }
+            }
+            processCommits();
+        }
+    }
+
+    private void processCommits()
+    {
+        PendingCommit<?> commit;
+        while ((commit = _pendingCommits.poll()) != null)
+        {
+            _inProcessCommits.add(commit);
+        }
+        if (_inProcessCommits.isEmpty())
+        {
+            return;
+        }
+
+        try
+        {
+            _forceAction.run();
+            _forceCount++;
+            for (PendingCommit<?> inProcessCommit : _inProcessCommits)
+            {
+                inProcessCommit.complete();
+            }
+        }
+        catch (RuntimeException e)
+        {
+            LOGGER.error("Exception forcing segments to disk", e);
+            for (PendingCommit<?> inProcessCommit : _inProcessCommits)
+            {
+                inProcessCommit.abort(e);
+            }
+        }
+        finally
+        {
+            _inProcessCommits.clear();
+        }
+    }
+
+    /**
+     * Stops the thread, first completing any commits which are still queued.
+     */
+    void close()
+    {
+        synchronized (_lock)
+        {
+            _stopped.set(true);
+            _lock.notifyAll();
+        }
+        if (Thread.currentThread() != this)
+        {
+            try
+            {
+                join();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new StoreException("Segment committer has not shutdown", e);
+            }
+        }
+        processCommits();
+    }
+
+    private static final class PendingCommit<X>
+    {
+        private final SettableFuture<X> _future;
+        private final X _value;
+
+        private PendingCommit(final SettableFuture<X> future, final X value)
+        {
+            _future = future;
+            _value = value;
+        }
+
+        void complete()
+        {
+            _future.set(_value);
+        }
+
+        void abort(final RuntimeException e)
+        {
+            _future.setException(e);
+        }
+    }
+}
@@ -0,0 +1,1718 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.store.segment;
+
+import static org.apache.qpid.server.store.segment.Segment.RECORD_HEADER_SIZE;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.message.EnqueueableMessage;
+import org.apache.qpid.server.model.ConfiguredObject;
+import org.apache.qpid.server.plugin.MessageMetaDataType;
+import org.apache.qpid.server.stats.LatencyHistogram;
+import org.apache.qpid.server.store.Event;
+import org.apache.qpid.server.store.EventListener;
+import org.apache.qpid.server.store.EventManager;
+import org.apache.qpid.server.store.FileBasedSettings;
+import org.apache.qpid.server.store.MessageDurability;
+import org.apache.qpid.server.store.MessageEnqueueRecord;
+import org.apache.qpid.server.store.MessageHandle;
+import org.apache.qpid.server.store.MessageMetaDataTypeRegistry;
+import org.apache.qpid.server.store.MessageStore;
+import org.apache.qpid.server.store.SizeMonitoringSettings;
+import org.apache.qpid.server.store.StorableMessageMetaData;
+import org.apache.qpid.server.store.StoreException;
+import org.apache.qpid.server.store.StoredMessage;
+import org.apache.qpid.server.store.Transaction;
+import org.apache.qpid.server.store.TransactionLogResource;
+import org.apache.qpid.server.store.handler.DistributedTransactionHandler;
+import org.apache.qpid.server.store.handler.MessageHandler;
+import org.apache.qpid.server.store.handler.MessageInstanceHandler;
+import org.apache.qpid.server.txn.Xid;
+import org.apache.qpid.server.util.DaemonThreadFactory;
+import org.apache.qpid.server.util.FileUtils;
+
+/**
+ * A message store which appends message data and transaction outcomes to memory-mapped segment files, rather than
+ * going through a general purpose database.
+ * <p>
+ * Three kinds of record are written:
+ * <ul>
+ *     <li>message records, holding the metadata and content of a message, written when a message is first enqueued
+ *     persistently or flowed to disk, or reserved as soon as a large message is added so that its content can be
+ *     written straight into the segment as it arrives;</li>
+ *     <li>transaction records, holding all the enqueues, dequeues and distributed transaction changes of one
+ *     transaction, so that a transaction is either recovered whole or not at all;</li>
+ *     <li>snapshot records, holding the whole queue index, written by compaction.</li>
+ * </ul>
+ * The enqueued message ids of each queue are held in memory in a compact index, which is rebuilt on recovery by
+ * replaying the records of the segments in order.  Committed records are made durable by a single thread which forces
+ * the segment files once for every group of transactions which committed whilst the previous force was in progress.
+ * <p>
+ * Compaction runs in the background.  It copies the live messages out of any sealed segment which has become mostly
+ * garbage, writes a snapshot of the index so that the transaction records in those segments are no longer needed, and
+ * then deletes the segments.
+ */
+public class SegmentMessageStore implements MessageStore
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(SegmentMessageStore.class);
+
+    public static final String SEGMENT_SIZE = "qpid.segment_store.segmentSize";
+    public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    public static final String COMPACTION_PERIOD = "qpid.segment_store.compactionPeriod";
+    public static final long DEFAULT_COMPACTION_PERIOD = 30000L;
+
+    public static final String COMPACTION_LIVE_RATIO = "qpid.segment_store.compactionLiveRatio";
+    public static final double DEFAULT_COMPACTION_LIVE_RATIO = 0.5d;
+
+    public static final String STREAMING_THRESHOLD = "qpid.segment_store.streamingThreshold";
+    public static final int DEFAULT_STREAMING_THRESHOLD = 1024 * 1024;
+
+    private static final byte MESSAGE_RECORD = 1;
+    private static final byte TRANSACTION_RECORD = 2;
+    private static final byte SNAPSHOT_RECORD = 3;
+
+    // record type, message id, metadata type, metadata length, then the metadata, content length and content
+    private static final int METADATA_POSITION = 1 + Long.BYTES + 1 + Integer.BYTES;
+    private static final int MESSAGE_RECORD_OVERHEAD = METADATA_POSITION + Integer.BYTES;
+    // queue id, message id
+    private static final int ENTRY_LENGTH = 2 * Long.BYTES + Long.BYTES;
+
+    private final AtomicBoolean _messageStoreOpen = new AtomicBoolean();
+    private final AtomicLong _messageId = new AtomicLong(1);
+    private final AtomicLong _inMemorySize = new AtomicLong();
+    private final AtomicLong _bytesEvacuatedFromMemory = new AtomicLong();
+    private final AtomicLong _bytesReloadedIntoMemory = new AtomicLong();
+    private final LatencyHistogram _commitLatencyHistogram = new LatencyHistogram();
+    private final EventManager _eventManager = new EventManager();
+    private final Set<MessageDeleteListener> _messageDeleteListeners = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final ConcurrentMap<Long, StoredSegmentMessage<?>> _messages = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Segment> _segments = new ConcurrentSkipListMap<>();
+
+    private final Object _appendLock = new Object();
+    private final Set<Segment> _unforcedSegments = new HashSet<>();
+    private final Map<UUID, QueueIndex> _queueIndexes = new HashMap<>();
+    private final Map<Xid, XidActions> _distributedTransactions = new HashMap<>();
+    private Segment _head;
+    private long _totalStoreSize;
+    private boolean _limitBusted;
+
+    private ConfiguredObject<?> _parent;
+    private File _storeDirectory;
+    private int _segmentSize;
+    private double _compactionLiveRatio;
+    private int _streamingThreshold;
+    private long _persistentSizeLowThreshold;
+    private long _persistentSizeHighThreshold;
+    private SegmentCommitter _committer;
+    private ScheduledExecutorService _compactionExecutor;
+
+    @Override
+    public void openMessageStore(final ConfiguredObject<?> parent)
+    {
+        if (_messageStoreOpen.compareAndSet(false, true))
+        {
+            _parent = parent;
+            _storeDirectory = new File(((FileBasedSettings) parent).getStorePath());
+            if (!_storeDirectory.isDirectory() && !_storeDirectory.mkdirs())
+            {
+                throw new StoreException(String.format("Cannot create store directory '%s'", _storeDirectory));
+            }
+
+            _segmentSize = parent.getContextValue(Integer.class, SEGMENT_SIZE);
+            _compactionLiveRatio = parent.getContextValue(Double.class, COMPACTION_LIVE_RATIO);
+            _streamingThreshold = parent.getContextValue(Integer.class, STREAMING_THRESHOLD);
+            final long compactionPeriod = parent.getContextValue(Long.class, COMPACTION_PERIOD);
+
+            if (parent instanceof SizeMonitoringSettings)
+            {
+                final SizeMonitoringSettings sizeMonitorSettings = (SizeMonitoringSettings) parent;
+                _persistentSizeHighThreshold = sizeMonitorSettings.getStoreOverfullSize();
+                _persistentSizeLowThreshold = sizeMonitorSettings.getStoreUnderfullSize();
+                if (_persistentSizeLowThreshold > _persistentSizeHighThreshold || _persistentSizeLowThreshold < 0L)
+                {
+                    _persistentSizeLowThreshold = _persistentSizeHighThreshold;
+                }
+            }
+
+            recover();
+
+            synchronized (_appendLock)
+            {
+                // never append to a recovered segment, whose tail may hold a torn record
+                rollHead(0);
+            }
+
+            _committer = new SegmentCommitter("Segment-Committer-" + parent.getName(), this::forceUnforcedSegments);
+            _committer.start();
+
+            if (compactionPeriod > 0)
+            {
+                _compactionExecutor = Executors.newSingleThreadScheduledExecutor(
+                        new DaemonThreadFactory("Segment-Compactor-" + parent.getName()));
+                _compactionExecutor.scheduleWithFixedDelay(this::compactQuietly,
+                                                           compactionPeriod,
+                                                           compactionPeriod,
+                                                           TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    @Override
+    public void upgradeStoreStructure() throws StoreException
+    {
+    }
+
+    @Override
+    public <T extends StorableMessageMetaData> MessageHandle<T> addMessage(final T metaData)
+    {
+        checkMessageStoreOpen();
+
+        final StoredSegmentMessage<T> message = new StoredSegmentMessage<>(getNextMessageId(), metaData);
+        _messages.put(message.getMessageNumber(), message);
+        if (_streamingThreshold > 0 && message.getContentSize() >= _streamingThreshold)
+        {
+            message.reserve();
+        }
+        return message;
+    }
+
+    @Override
+    public long getNextMessageId()
+    {
+        return _messageId.getAndIncrement();
+    }
+
+    @Override
+    public boolean isPersistent()
+    {
+        return true;
+    }
+
+    @Override
+    public long getInMemorySize()
+    {
+        return _inMemorySize.get();
+    }
+
+    @Override
+    public long getBytesEvacuatedFromMemory()
+    {
+        return _bytesEvacuatedFromMemory.get();
+    }
+
+    @Override
+    public long getBytesReloadedIntoMemory()
+    {
+        return _bytesReloadedIntoMemory.get();
+    }
+
+    @Override
+    public LatencyHistogram getCommitLatencyHistogram()
+    {
+        return _commitLatencyHistogram;
+    }
+
+    @Override
+    public Transaction newTransaction()
+    {
+        checkMessageStoreOpen();
+
+        return new SegmentTransaction();
+    }
+
+    @Override
+    public void closeMessageStore()
+    {
+        if (_messageStoreOpen.compareAndSet(true, false))
+        {
+            if (_compactionExecutor != null)
+            {
+                _compactionExecutor.shutdown();
+                try
+                {
+                    if (!_compactionExecutor.awaitTermination(1, TimeUnit.MINUTES))
+                    {
+                        LOGGER.warn("Segment compaction did not finish before the store was closed");
+                    }
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                _compactionExecutor = null;
+            }
+
+            if (_committer != null)
+            {
+                _committer.close();
+                _committer = null;
+            }
+
+            for (StoredSegmentMessage<?> message : _messages.values())
+            {
+                message.clear();
+            }
+            _messages.clear();
+            _inMemorySize.set(0L);
+            _bytesEvacuatedFromMemory.set(0L);
+            _bytesReloadedIntoMemory.set(0L);
+
+            synchronized (_appendLock)
+            {
+                // the mappings are released once the segments are garbage collected
+                _segments.clear();
+                _unforcedSegments.clear();
+                _queueIndexes.clear();
+                _distributedTransactions.clear();
+                _head = null;
+                _totalStoreSize = 0L;
+                _limitBusted = false;
+            }
+        }
+    }
+
+    @Override
+    public void onDelete(final ConfiguredObject<?> parent)
+    {
+        if (isMessageStoreOpen())
+        {
+            throw new IllegalStateException("Cannot delete the store as store is still open");
+        }
+
+        final String storePath = ((FileBasedSettings) parent).getStorePath();
+        if (storePath != null)
+        {
+            LOGGER.debug("Deleting store : {}", storePath);
+
+            if (!FileUtils.delete(new File(storePath), true))
+            {
+                LOGGER.info("Failed to delete the store at location : {}", storePath);
+            }
+        }
+    }
+
+    @Override
+    public void addEventListener(final EventListener eventListener, final Event... events)
+    {
+        _eventManager.addEventListener(eventListener, events);
+    }
+
+    @Override
+    public String getStoreLocation()
+    {
+        return ((FileBasedSettings) _parent).getStorePath();
+    }
+
+    @Override
+    public File getStoreLocationAsFile()
+    {
+        return new File(getStoreLocation());
+    }
+
+    @Override
+    public void addMessageDeleteListener(final MessageDeleteListener listener)
+    {
+        _messageDeleteListeners.add(listener);
+    }
+
+    @Override
+    public void removeMessageDeleteListener(final MessageDeleteListener listener)
+    {
+        _messageDeleteListeners.remove(listener);
+    }
+
+    @Override
+    public MessageStoreReader newMessageStoreReader()
+    {
+        return new SegmentMessageStoreReader();
+    }
+
+    int getSegmentCount()
+    {
+        return _segments.size();
+    }
+
+    long getForceCount()
+    {
+        return _committer == null ? 0L : _committer.getForceCount();
+    }
+
+    /**
+     * Compacts the sealed segments in which fewer than the configured fraction of the bytes belong to live messages.
+     *
+     * @return the number of segments deleted
+     */
+    int compact()
+    {
+        checkMessageStoreOpen();
+
+        final Segment head;
+        synchronized (_appendLock)
+        {
+            head = _head;
+        }
+
+        final Set<Segment> victims = new HashSet<>();
+        for (Segment segment : _segments.values())
+        {
+            if (segment != head
+                && !segment.hasOpenReservations()
+                && segment.getLiveBytes() < segment.getCapacity() * _compactionLiveRatio)
+            {
+                victims.add(segment);
+            }
+        }
+        if (victims.isEmpty())
+        {
+            return 0;
+        }
+
+        for (StoredSegmentMessage<?> message : _messages.values())
+        {
+            message.relocate(victims);
+        }
+        synchronized (_appendLock)
+        {
+            appendSnapshot();
+        }
+        awaitCommit(_committer.commit(null));
+
+        long bytesDeleted = 0L;
+        for (Segment segment : victims)
+        {
+            _segments.remove(segment.getSequence());
+            try
+            {
+                Files.deleteIfExists(segment.getFile().toPath());
+            }
+            catch (IOException e)
+            {
+                LOGGER.warn("Failed to delete compacted segment '{}'", segment.getFile(), e);
+            }
+            bytesDeleted += segment.getCapacity();
+        }
+        synchronized (_appendLock)
+        {
+            storeSizeChanged(-bytesDeleted);
+        }
+
+        LOGGER.debug("Compaction deleted {} segment(s) of total size {}", victims.size(), bytesDeleted);
+        return victims.size();
+    }
+
+    private void compactQuietly()
+    {
+        try
+        {
+            if (isMessageStoreOpen())
+            {
+                compact();
+            }
+        }
+        catch (RuntimeException e)
+        {
+            LOGGER.error("Segment compaction failed", e);
+        }
+    }
+
+    private boolean isMessageStoreOpen()
+    {
+        return _messageStoreOpen.get();
+    }
+
+    private void checkMessageStoreOpen()
+    {
+        if (!_messageStoreOpen.get())
+        {
+            throw new IllegalStateException("Message store is not open");
+        }
+    }
+
+    private void recover()
+    {
+        final File[] files = _storeDirectory.listFiles(Segment::isSegmentFile);
+        if (files == null)
+        {
+            throw new StoreException(String.format("Cannot list the contents of store directory '%s'", _storeDirectory));
+        }
+
+        final Map<Long, File> orderedFiles = new TreeMap<>();
+        for (File file : files)
+        {
+            orderedFiles.put(Segment.getSequence(file), file);
+        }
+
+        final RecoveryVisitor visitor = new RecoveryVisitor();
+        synchronized (_appendLock)
+        {
+            for (File file : orderedFiles.values())
+            {
+                final Segment segment;
+                try
+                {
+                    segment = Segment.open(file);
+                }
+                catch (IOException e)
+                {
+                    throw new StoreException(String.format("Cannot open segment file '%s'", file), e);
+                }
+                _segments.put(segment.getSequence(), segment);
+                segment.scan(visitor);
+                storeSizeChanged(segment.getCapacity());
+            }
+            _messageId.set(visitor.getNextMessageId());
+        }
+
+        LOGGER.debug("Recovered {} message(s) and {} queue(s) from {} segment(s)",
+                     _messages.size(), _queueIndexes.size(), _segments.size());
+    }
+
+    /**
+     * Appends a record to the head segment, first starting a new head segment if the record does not fit.
+     * Must be called whilst holding the append lock.
+     */
+    private Segment appendRecord(final int bodyLength, final Consumer<ByteBuffer> bodyWriter, final int[] position)
+    {
+        ensureHeadRemaining(bodyLength);
+        position[0] = _head.append(bodyLength, bodyWriter);
+        _unforcedSegments.add(_head);
+        return _head;
+    }
+
+    /**
+     * Reserves a record in the head segment, whose body the caller will write without holding the append lock.
+     * Must be called whilst holding the append lock.
+     */
+    private Segment reserveRecord(final int bodyLength, final int[] position)
+    {
+        ensureHeadRemaining(bodyLength);
+        position[0] = _head.reserve(bodyLength);
+        return _head;
+    }
+
+    private void ensureHeadRemaining(final int bodyLength)
+    {
+        if (_head.getRemaining() < RECORD_HEADER_SIZE + bodyLength)
+        {
+            rollHead(bodyLength);
+        }
+    }
+
+    private void rollHead(final int bodyLength)
+    {
+        final long sequence = _segments.isEmpty() ? 1L : _segments.lastKey() + 1L;
+        final long capacity = Math.max(_segmentSize, (long) RECORD_HEADER_SIZE + bodyLength);
+        if (capacity > Integer.MAX_VALUE)
+        {
+            throw new StoreException(String.format("Record of size %d is too large for the store", bodyLength));
+        }
+        try
+        {
+            _head = Segment.create(_storeDirectory, sequence, (int) capacity);
+        }
+        catch (IOException e)
+        {
+            throw new StoreException(String.format("Cannot create segment %d in '%s'", sequence, _storeDirectory), e);
+        }
+        _segments.put(sequence, _head);
+        storeSizeChanged(capacity);
+    }
+
+    private void forceUnforcedSegments()
+    {
+        final List<Segment> segments;
+        synchronized (_appendLock)
+        {
+            segments = new ArrayList<>(_unforcedSegments);
+            _unforcedSegments.clear();
+        }
+        for (Segment segment : segments)
+        {
+            segment.force();
+        }
+    }
+
+    private void storeSizeChanged(final long delta)
+    {
+        _totalStoreSize += delta;
+        if (_persistentSizeHighThreshold > 0)
+        {
+            if (!_limitBusted && _totalStoreSize > _persistentSizeHighThreshold)
+            {
+                _limitBusted = true;
+                _eventManager.notifyEvent(Event.PERSISTENT_MESSAGE_SIZE_OVERFULL);
+            }
+            else if (_limitBusted && _totalStoreSize < _persistentSizeLowThreshold)
+            {
+                _limitBusted = false;
+                _eventManager.notifyEvent(Event.PERSISTENT_MESSAGE_SIZE_UNDERFULL);
+            }
+        }
+    }
+
+    private <X> X awaitCommit(final ListenableFuture<X> future)
+    {
+        try
+        {
+            return future.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new StoreException("Interrupted whilst waiting for the commit to complete", e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new StoreException("Commit failed", e.getCause());
+        }
+    }
+
+    private void appendSnapshot()
+    {
+        int length = 1 + Long.BYTES + Integer.BYTES + Integer.BYTES;
+        final List<Map.Entry<UUID, long[]>> queues = new ArrayList<>(_queueIndexes.size());
+        for (Map.Entry<UUID, QueueIndex> entry : _queueIndexes.entrySet())
+        {
+            final long[] messageIds = entry.getValue().toSortedArray();
+            queues.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), messageIds));
+            length += 2 * Long.BYTES + Integer.BYTES + messageIds.length * Long.BYTES;
+        }
+        for (Map.Entry<Xid, XidActions> entry : _distributedTransactions.entrySet())
+        {
+            length += getXidLength(entry.getKey()) + entry.getValue().getLength();
+        }
+
+        final long nextMessageId = _messageId.get();
+        appendRecord(length, body ->
+        {
+            body.put(SNAPSHOT_RECORD);
+            body.putLong(nextMessageId);
+            body.putInt(queues.size());
+            for (Map.Entry<UUID, long[]> queue : queues)
+            {
+                putUuid(body, queue.getKey());
+                body.putInt(queue.getValue().length);
+                for (long messageId : queue.getValue())
+                {
+                    body.putLong(messageId);
+                }
+            }
+            body.putInt(_distributedTransactions.size());
+            for (Map.Entry<Xid, XidActions> entry : _distributedTransactions.entrySet())
+            {
+                putXid(body, entry.getKey());
+                entry.getValue().write(body);
+            }
+        }, new int[1]);
+    }
+
+    private void applySnapshot(final ByteBuffer body)
+    {
+        _queueIndexes.clear();
+        _distributedTransactions.clear();
+
+        final int queueCount = body.getInt();
+        for (int i = 0; i < queueCount; i++)
+        {
+            final UUID queueId = getUuid(body);
+            final int messageCount = body.getInt();
+            final QueueIndex index = new QueueIndex();
+            for (int j = 0; j < messageCount; j++)
+            {
+                index.add(body.getLong());
+            }
+            if (!index.isEmpty())
+            {
+                _queueIndexes.put(queueId, index);
+            }
+        }
+        final int xidCount = body.getInt();
+        for (int i = 0; i < xidCount; i++)
+        {
+            final Xid xid = getXid(body);
+            _distributedTransactions.put(xid, XidActions.read(body));
+        }
+    }
+
+    /**
+     * Applies a transaction record to the index.  Must be called whilst holding the append lock.
+     */
+    private void applyTransaction(final ByteBuffer body)
+    {
+        final int enqueueCount = body.getInt();
+        for (int i = 0; i < enqueueCount; i++)
+        {
+            final UUID queueId = getUuid(body);
+            _queueIndexes.computeIfAbsent(queueId, id -> new QueueIndex()).add(body.getLong());
+        }
+
+        final int dequeueCount = body.getInt();
+        for (int i = 0; i < dequeueCount; i++)
+        {
+            final UUID queueId = getUuid(body);
+            final long messageId = body.getLong();
+            final QueueIndex index = _queueIndexes.get(queueId);
+            if (index != null && index.remove(messageId) && index.isEmpty())
+            {
+                _queueIndexes.remove(queueId);
+            }
+        }
+
+        final int recordedXidCount = body.getInt();
+        for (int i = 0; i < recordedXidCount; i++)
+        {
+            final Xid xid = getXid(body);
+            _distributedTransactions.put(xid, XidActions.read(body));
+        }
+
+        final int removedXidCount = body.getInt();
+        for (int i = 0; i < removedXidCount; i++)
+        {
+            _distributedTransactions.remove(getXid(body));
+        }
+    }
+
+    private static void putUuid(final ByteBuffer buffer, final UUID uuid)
+    {
+        buffer.putLong(uuid.getMostSignificantBits());
+        buffer.putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(final ByteBuffer buffer)
+    {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static int getXidLength(final Xid xid)
+    {
+        return Long.BYTES + Integer.BYTES + xid.getGlobalId().length + Integer.BYTES + xid.getBranchId().length;
+    }
+
+    private static void putXid(final ByteBuffer buffer, final Xid xid)
+    {
+        buffer.putLong(xid.getFormat());
+        buffer.putInt(xid.getGlobalId().length);
+        buffer.put(xid.getGlobalId());
+        buffer.putInt(xid.getBranchId().length);
+        buffer.put(xid.getBranchId());
+    }
+
+    private static Xid getXid(final ByteBuffer buffer)
+    {
+        final long format = buffer.getLong();
+        final byte[] globalId = new byte[buffer.getInt()];
+        buffer.get(globalId);
+        final byte[] branchId = new byte[buffer.getInt()];
+        buffer.get(branchId);
+        return new Xid(format, globalId, branchId);
+    }
+
+    private static void putEntries(final ByteBuffer buffer, final Collection<SegmentEnqueueRecord> entries)
+    {
+        buffer.putInt(entries.size());
+        for (SegmentEnqueueRecord entry : entries)
+        {
+            putUuid(buffer, entry.getQueueId());
+            buffer.putLong(entry.getMessageNumber());
+        }
+    }
+
+    private static List<SegmentEnqueueRecord> getEntries(final ByteBuffer buffer)
+    {
+        final int count = buffer.getInt();
+        final List<SegmentEnqueueRecord> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+        {
+            entries.add(new SegmentEnqueueRecord(getUuid(buffer), buffer.getLong()));
+        }
+        return entries;
+    }
+
+    private final class RecoveryVisitor implements Segment.RecordVisitor
+    {
+        private long _maximumMessageId;
+
+        @Override
+        public void visit(final Segment segment, final int bodyPosition, final ByteBuffer body)
+        {
+            final byte recordType = body.get();
+            switch (recordType)
+            {
+                case MESSAGE_RECORD:
+                    final long messageId = body.getLong();
+                    final int metadataSize = body.getInt(METADATA_POSITION - Integer.BYTES);
+                    final int contentSize = body.getInt(METADATA_POSITION + metadataSize);
+                    final StoredSegmentMessage<?> message =
+                            new StoredSegmentMessage<>(messageId, segment, bodyPosition, body.limit(),
+                                                       metadataSize, contentSize);
+                    final StoredSegmentMessage<?> previous = _messages.put(messageId, message);
+                    if (previous != null)
+                    {
+                        // the message was copied out of an older segment by a compaction that did not complete
+                        previous.supersede();
+                    }
+                    recordMessageId(messageId);
+                    break;
+                case TRANSACTION_RECORD:
+                    applyTransaction(body);
+                    break;
+                case SNAPSHOT_RECORD:
+                    recordMessageId(body.getLong() - 1);
+                    applySnapshot(body);
+                    break;
+                default:
+                    throw new StoreException(String.format("Unknown record type %d at position %d in %s",
+                                                           recordType, bodyPosition, segment));
+            }
+        }
+
+        private void recordMessageId(final long messageId)
+        {
+            _maximumMessageId = Math.max(_maximumMessageId, messageId);
+        }
+
+        long getNextMessageId()
+        {
+            for (QueueIndex index : _queueIndexes.values())
+            {
+                final long[] messageIds = index.toSortedArray();
+                if (messageIds.length > 0)
+                {
+                    recordMessageId(messageIds[messageIds.length - 1]);
+                }
+            }
+            return _maximumMessageId + 1;
+        }
+    }
+
+    private final class SegmentTransaction implements Transaction
+    {
+        private final List<SegmentEnqueueRecord> _enqueues = new ArrayList<>();
+        private final List<SegmentEnqueueRecord> _dequeues = new ArrayList<>();
+        private final Map<Xid, XidActions> _recordedXids = new LinkedHashMap<>();
+        private final List<Xid> _removedXids = new ArrayList<>();
+        private final List<StoredSegmentMessage<?>> _messagesToStore = new ArrayList<>();
+
+        @Override
+        public MessageEnqueueRecord enqueueMessage(final TransactionLogResource queue,
+                                                   final EnqueueableMessage message)
+        {
+            checkMessageStoreOpen();
+
+            addMessageToStore(message.getStoredMessage());
+            final SegmentEnqueueRecord record = new SegmentEnqueueRecord(queue.getId(), message.getMessageNumber());
+            _enqueues.add(record);
+            return record;
+        }
+
+        @Override
+        public void dequeueMessage(final MessageEnqueueRecord enqueueRecord)
+        {
+            checkMessageStoreOpen();
+
+            _dequeues.add(new SegmentEnqueueRecord(enqueueRecord.getQueueId(), enqueueRecord.getMessageNumber()));
+        }
+
+        @Override
+        public void commitTran()
+        {
+            awaitCommit(commitTranAsync(null));
+        }
+
+        @Override
+        public <X> ListenableFuture<X> commitTranAsync(final X val)
+        {
+            checkMessageStoreOpen();
+            final long startTime = System.nanoTime();
+
+            if (_enqueues.isEmpty() && _dequeues.isEmpty() && _recordedXids.isEmpty() && _removedXids.isEmpty())
+            {
+                _messagesToStore.clear();
+                return Futures.immediateFuture(val);
+            }
+
+            // the message records must precede the transaction record which refers to them
+            for (StoredSegmentMessage<?> message : _messagesToStore)
+            {
+                message.store();
+            }
+
+            int length = 1 + 4 * Integer.BYTES + (_enqueues.size() + _dequeues.size()) * ENTRY_LENGTH;
+            for (Map.Entry<Xid, XidActions> entry : _recordedXids.entrySet())
+            {
+                length += getXidLength(entry.getKey()) + entry.getValue().getLength();
+            }
+            for (Xid xid : _removedXids)
+            {
+                length += getXidLength(xid);
+            }
+
+            synchronized (_appendLock)
+            {
+                final int[] position = new int[1];
+                final Segment segment = appendRecord(length, body ->
+                {
+                    body.put(TRANSACTION_RECORD);
+                    putEntries(body, _enqueues);
+                    putEntries(body, _dequeues);
+                    body.putInt(_recordedXids.size());
+                    for (Map.Entry<Xid, XidActions> entry : _recordedXids.entrySet())
+                    {
+                        putXid(body, entry.getKey());
+                        entry.getValue().write(body);
+                    }
+                    body.putInt(_removedXids.size());
+                    for (Xid xid : _removedXids)
+                    {
+                        putXid(body, xid);
+                    }
+                }, position);
+
+                final ByteBuffer body = segment.slice(position[0], length);
+                body.get();
+                applyTransaction(body);
+            }
+            clear();
+
+            final ListenableFuture<X> future = _committer.commit(val);
+            future.addListener(() -> _commitLatencyHistogram.recordSince(startTime), MoreExecutors.directExecutor());
+            return future;
+        }
+
+        @Override
+        public void abortTran()
+        {
+            checkMessageStoreOpen();
+            clear();
+        }
+
+        @Override
+        public void removeXid(final StoredXidRecord record)
+        {
+            checkMessageStoreOpen();
+
+            _removedXids.add(new Xid(record.getFormat(), record.getGlobalId(), record.getBranchId()));
+        }
+
+        @Override
+        public StoredXidRecord recordXid(final long format,
+                                         final byte[] globalId,
+                                         final byte[] branchId,
+                                         final EnqueueRecord[] enqueues,
+                                         final DequeueRecord[] dequeues)
+        {
+            checkMessageStoreOpen();
+
+            final List<SegmentEnqueueRecord> xidEnqueues = new ArrayList<>();
+            if (enqueues != null)
+            {
+                for (EnqueueRecord record : enqueues)
+                {
+                    addMessageToStore(record.getMessage().getStoredMessage());
+                    xidEnqueues.add(new SegmentEnqueueRecord(record.getResource().getId(),
+                                                             record.getMessage().getMessageNumber()));
+                }
+            }
+            final List<SegmentEnqueueRecord> xidDequeues = new ArrayList<>();
+            if (dequeues != null)
+            {
+                for (DequeueRecord record : dequeues)
+                {
+                    xidDequeues.add(new SegmentEnqueueRecord(record.getEnqueueRecord().getQueueId(),
+                                                             record.getEnqueueRecord().getMessageNumber()));
+                }
+            }
+            _recordedXids.put(new Xid(format, globalId, branchId), new XidActions(xidEnqueues, xidDequeues));
+            return new SegmentStoredXidRecord(format, globalId, branchId);
+        }
+
+        private void addMessageToStore(final StoredMessage<?> storedMessage)
+        {
+            if (storedMessage instanceof StoredSegmentMessage)
+            {
+                _messagesToStore.add((StoredSegmentMessage<?>) storedMessage);
+            }
+        }
+
+        private void clear()
+        {
+            _enqueues.clear();
+            _dequeues.clear();
+            _recordedXids.clear();
+            _removedXids.clear();
+            _messagesToStore.clear();
+        }
+    }
+
+    private final class StoredSegmentMessage<T extends StorableMessageMetaData> implements StoredMessage<T>, MessageHandle<T>
+    {
+        private final long _messageId;
+        private final int _contentSize;
+        private final int _metadataSize;
+
+        private T _metaData;
+        private QpidByteBuffer _data;
+        private ByteBuffer _stream;
+        private Segment _segment;
+        private int _position;
+        private int _recordLength;
+        private boolean _removed;
+        private boolean _evacuated;
+
+        StoredSegmentMessage(final long messageId, final T metaData)
+        {
+            _messageId = messageId;
+            _metaData = metaData;
+            _contentSize = metaData.getContentSize();
+            _metadataSize = metaData.getStorableSize();
+            _inMemorySize.addAndGet(_metadataSize);
+        }
+
+        StoredSegmentMessage(final long messageId,
+                             final Segment segment,
+                             final int position,
+                             final int recordLength,
+                             final int metadataSize,
+                             final int contentSize)
+        {
+            _messageId = messageId;
+            _segment = segment;
+            _position = position;
+            _recordLength = recordLength;
+            _metadataSize = metadataSize;
+            _contentSize = contentSize;
+            segment.addLiveBytes(RECORD_HEADER_SIZE + recordLength);
+        }
+
+        @Override
+        public synchronized T getMetaData()
+        {
+            if (_removed)
+            {
+                return null;
+            }
+            if (_metaData == null)
+            {
+                checkMessageStoreOpen();
+
+                final ByteBuffer record = _segment.slice(_position, _recordLength);
+                final MessageMetaDataType<?> type =
+                        MessageMetaDataTypeRegistry.fromOrdinal(record.get(METADATA_POSITION - Integer.BYTES - 1) & 0xff);
+                final byte[] encoded = new byte[_metadataSize];
+                record.position(METADATA_POSITION);
+                record.get(encoded);
+                try (QpidByteBuffer buf = QpidByteBuffer.wrap(encoded))
+                {
+                    _metaData = (T) type.createMetaData(buf);
+                }
+                _inMemorySize.addAndGet(_metadataSize);
+                countReload(_metadataSize);
+            }
+            return _metaData;
+        }
+
+        @Override
+        public long getMessageNumber()
+        {
+            return _messageId;
+        }
+
+        @Override
+        public synchronized void addContent(final QpidByteBuffer src)
+        {
+            if (_stream != null)
+            {
+                src.copyTo(_stream);
+                return;
+            }
+            try (QpidByteBuffer data = _data)
+            {
+                if (data == null)
+                {
+                    _data = src.slice();
+                }
+                else
+                {
+                    _data = QpidByteBuffer.concatenate(Arrays.asList(data, src));
+                }
+            }
+        }
+
+        @Override
+        public synchronized StoredMessage<T> allContentAdded()
+        {
+            if (_stream == null)
+            {
+                _inMemorySize.addAndGet(_contentSize);
+            }
+            else if (_stream.hasRemaining())
+            {
+                // the publisher went away part way through, so the record stays incomplete until removed
+                abandonStream();
+            }
+            else
+            {
+                _stream = null;
+                _segment.completeReservation(_position, _recordLength);
+                synchronized (_appendLock)
+                {
+                    _unforcedSegments.add(_segment);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public synchronized QpidByteBuffer getContent(final int offset, int length)
+        {
+            final QpidByteBuffer content = getContentAsByteBuffer();
+            if (length == Integer.MAX_VALUE)
+            {
+                length = content.remaining();
+            }
+            return content.view(offset, length);
+        }
+
+        /**
+         * Returns the content, reading it back from the segment if it has been flowed to disk.  The caller must not
+         * dispose of it, as a reference is kept.
+         */
+        private QpidByteBuffer getContentAsByteBuffer()
+        {
+            if (_removed)
+            {
+                return QpidByteBuffer.emptyQpidByteBuffer();
+            }
+            if (_data == null)
+            {
+                if (_segment == null || _contentSize == 0)
+                {
+                    return QpidByteBuffer.emptyQpidByteBuffer();
+                }
+
+                checkMessageStoreOpen();
+
+                final QpidByteBuffer data = QpidByteBuffer.allocateDirect(_contentSize);
+                data.put(_segment.slice(_position + METADATA_POSITION + _metadataSize + Integer.BYTES, _contentSize));
+                data.flip();
+                _data = data;
+                _inMemorySize.addAndGet(_contentSize);
+                countReload(_contentSize);
+            }
+            return _data;
+        }
+
+        @Override
+        public int getContentSize()
+        {
+            return _contentSize;
+        }
+
+        @Override
+        public int getMetadataSize()
+        {
+            return _metadataSize;
+        }
+
+        /**
+         * Appends the message record, unless the message has already been stored.
+         */
+        synchronized void store()
+        {
+            if (_segment != null || _removed)
+            {
+                return;
+            }
+
+            final byte[] encodedMetaData = encodeMetaData();
+            final QpidByteBuffer data = _data;
+            final int contentLength = data == null ? 0 : data.remaining();
+            final int recordLength = MESSAGE_RECORD_OVERHEAD + _metadataSize + contentLength;
+
+            final int[] position = new int[1];
+            final Segment segment;
+            synchronized (_appendLock)
+            {
+                segment = appendRecord(recordLength, body ->
+                {
+                    putRecordPrefix(body, encodedMetaData, contentLength);
+                    if (data != null)
+                    {
+                        data.copyTo(body);
+                    }
+                }, position);
+            }
+            setLocation(segment, position[0], recordLength);
+        }
+
+        /**
+         * Reserves the whole message record up front, so that content added afterwards is written straight into the
+         * segment rather than being held in memory.
+         */
+        synchronized void reserve()
+        {
+            final byte[] encodedMetaData = encodeMetaData();
+            final int recordLength = MESSAGE_RECORD_OVERHEAD + _metadataSize + _contentSize;
+
+            final int[] position = new int[1];
+            final Segment segment;
+            synchronized (_appendLock)
+            {
+                segment = reserveRecord(recordLength, position);
+            }
+            final ByteBuffer body = segment.slice(position[0], recordLength);
+            putRecordPrefix(body, encodedMetaData, _contentSize);
+            _stream = body.slice();
+            setLocation(segment, position[0], recordLength);
+        }
+
+        private byte[] encodeMetaData()
+        {
+            final byte[] encodedMetaData = new byte[_metadataSize];
+            try (QpidByteBuffer buf = QpidByteBuffer.wrap(encodedMetaData))
+            {
+                _metaData.writeToBuffer(buf);
+            }
+            return encodedMetaData;
+        }
+
+        private void putRecordPrefix(final ByteBuffer body, final byte[] encodedMetaData, final int contentLength)
+        {
+            body.put(MESSAGE_RECORD);
+            body.putLong(_messageId);
+            body.put((byte) _metaData.getType().ordinal());
+            body.putInt(_metadataSize);
+            body.put(encodedMetaData);
+            body.putInt(contentLength);
+        }
+
+        /**
+         * Copies the message record to the head segment if it is held in one of the given segments.
+         */
+        synchronized void relocate(final Set<Segment> segments)
+        {
+            if (_removed || _segment == null || !segments.contains(_segment))
+            {
+                return;
+            }
+
+            final ByteBuffer record = _segment.slice(_position, _recordLength);
+            final int[] position = new int[1];
+            final Segment segment;
+            synchronized (_appendLock)
+            {
+                segment = appendRecord(_recordLength, body -> body.put(record), position);
+            }
+            _segment.addLiveBytes(-(RECORD_HEADER_SIZE + _recordLength));
+            setLocation(segment, position[0], _recordLength);
+        }
+
+        /**
+         * Releases the record of a recovered message which has been recovered again from a later segment.  Only
+         * called during recovery, before any other thread can see the message.
+         */
+        private void supersede()
+        {
+            _segment.addLiveBytes(-(RECORD_HEADER_SIZE + _recordLength));
+            _removed = true;
+        }
+
+        private void setLocation(final Segment segment, final int position, final int recordLength)
+        {
+            _segment = segment;
+            _position = position;
+            _recordLength = recordLength;
+            segment.addLiveBytes(RECORD_HEADER_SIZE + recordLength);
+        }
+
+        @Override
+        public synchronized void remove()
+        {
+            if (_removed)
+            {
+                return;
+            }
+
+            _messages.remove(_messageId, this);
+            if (_segment != null)
+            {
+                _segment.addLiveBytes(-(RECORD_HEADER_SIZE + _recordLength));
+            }
+            abandonStream();
+            if (!_messageDeleteListeners.isEmpty())
+            {
+                for (final MessageDeleteListener messageDeleteListener : _messageDeleteListeners)
+                {
+                    messageDeleteListener.messageDeleted(this);
+                }
+            }
+            _removed = true;
+            _inMemorySize.addAndGet(-release(true));
+        }
+
+        @Override
+        public synchronized boolean isInContentInMemory()
+        {
+            return !_removed && (_segment == null || _data != null);
+        }
+
+        @Override
+        public synchronized long getInMemorySize()
+        {
+            if (_removed)
+            {
+                return 0L;
+            }
+            long size = 0L;
+            if (_segment == null || _metaData != null)
+            {
+                size += _metadataSize;
+            }
+            if (_segment == null || _data != null)
+            {
+                size += _contentSize;
+            }
+            return size;
+        }
+
+        @Override
+        public synchronized boolean flowToDisk()
+        {
+            store();
+            if (!_removed)
+            {
+                final long bytesCleared = release(false);
+                _inMemorySize.addAndGet(-bytesCleared);
+                _bytesEvacuatedFromMemory.addAndGet(bytesCleared);
+                _evacuated |= bytesCleared > 0;
+            }
+            return true;
+        }
+
+        private void countReload(final long bytesReloaded)
+        {
+            if (_evacuated)
+            {
+                _bytesReloadedIntoMemory.addAndGet(bytesReloaded);
+            }
+        }
+
+        @Override
+        public synchronized void reallocate()
+        {
+            if (_metaData != null)
+            {
+                _metaData.reallocate();
+            }
+            _data = QpidByteBuffer.reallocateIfNecessary(_data);
+        }
+
+        synchronized void clear()
+        {
+            if (!_removed)
+            {
+                if (_segment != null)
+                {
+                    _segment.addLiveBytes(-(RECORD_HEADER_SIZE + _recordLength));
+                }
+                abandonStream();
+                _removed = true;
+                release(true);
+            }
+        }
+
+        private void abandonStream()
+        {
+            if (_stream != null)
+            {
+                _stream = null;
+                _segment.abandonReservation();
+            }
+        }
+
+        private long release(final boolean dispose)
+        {
+            long bytesCleared = 0L;
+            if (_data != null)
+            {
+                bytesCleared += _contentSize;
+                _data.dispose();
+                _data = null;
+            }
+            if (_metaData != null)
+            {
+                bytesCleared += _metadataSize;
+                if (dispose)
+                {
+                    _metaData.dispose();
+                }
+                else
+                {
+                    _metaData.clearEncodedForm();
+                }
+                _metaData = null;
+            }
+            return bytesCleared;
+        }
+
+        @Override
+        public String toString()
+        {
+            return getClass().getSimpleName() + "[messageId=" + _messageId + "]";
+        }
+    }
+
+    private static final class SegmentEnqueueRecord implements MessageEnqueueRecord
+    {
+        private final UUID _queueId;
+        private final long _messageNumber;
+
+        SegmentEnqueueRecord(final UUID queueId, final long messageNumber)
+        {
+            _queueId = queueId;
+            _messageNumber = messageNumber;
+        }
+
+        @Override
+        public UUID getQueueId()
+        {
+            return _queueId;
+        }
+
+        @Override
+        public long getMessageNumber()
+        {
+            return _messageNumber;
+        }
+    }
+
+    private static final class XidActions
+    {
+        private final List<SegmentEnqueueRecord> _enqueues;
+        private final List<SegmentEnqueueRecord> _dequeues;
+
+        XidActions(final List<SegmentEnqueueRecord> enqueues, final List<SegmentEnqueueRecord> dequeues)
+        {
+            _enqueues = enqueues;
+            _dequeues = dequeues;
+        }
+
+        static XidActions read(final ByteBuffer buffer)
+        {
+            final List<SegmentEnqueueRecord> enqueues = getEntries(buffer);
+            return new XidActions(enqueues, getEntries(buffer));
+        }
+
+        int getLength()
+        {
+            return 2 * Integer.BYTES + (_enqueues.size() + _dequeues.size()) * ENTRY_LENGTH;
+        }
+
+        void write(final ByteBuffer buffer)
+        {
+            putEntries(buffer, _enqueues);
+            putEntries(buffer, _dequeues);
+        }
+
+        RecoveredRecord[] getEnqueueRecords()
+        {
+            return toRecords(_enqueues);
+        }
+
+        RecoveredRecord[] getDequeueRecords()
+        {
+            return toRecords(_dequeues);
+        }
+
+        private static RecoveredRecord[] toRecords(final List<SegmentEnqueueRecord> entries)
+        {
+            final RecoveredRecord[] records = new RecoveredRecord[entries.size()];
+            for (int i = 0; i < records.length; i++)
+            {
+                records[i] = new RecoveredRecord(entries.get(i));
+            }
+            return records;
+        }
+    }
+
+    private static final class RecoveredRecord implements Transaction.EnqueueRecord,
+                                                          Transaction.DequeueRecord,
+                                                          TransactionLogResource,
+                                                          EnqueueableMessage
+    {
+        private final SegmentEnqueueRecord _record;
+
+        RecoveredRecord(final SegmentEnqueueRecord record)
+        {
+            _record = record;
+        }
+
+        @Override
+        public MessageEnqueueRecord getEnqueueRecord()
+        {
+            return _record;
+        }
+
+        @Override
+        public TransactionLogResource getResource()
+        {
+            return this;
+        }
+
+        @Override
+        public EnqueueableMessage getMessage()
+        {
+            return this;
+        }
+
+        @Override
+        public long getMessageNumber()
+        {
+            return _record.getMessageNumber();
+        }
+
+        @Override
+        public boolean isPersistent()
+        {
+            return true;
+        }
+
+        @Override
+        public StoredMessage getStoredMessage()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getName()
+        {
+            return _record.getQueueId().toString();
+        }
+
+        @Override
+        public UUID getId()
+        {
+            return _record.getQueueId();
+        }
+
+        @Override
+        public MessageDurability getMessageDurability()
+        {
+            return MessageDurability.DEFAULT;
+        }
+    }
+
+    private static final class SegmentStoredXidRecord implements Transaction.StoredXidRecord
+    {
+        private final long _format;
+        private final byte[] _globalId;
+        private final byte[] _branchId;
+
+        SegmentStoredXidRecord(final long format, final byte[] globalId, final byte[] branchId)
+        {
+            _format = format;
+            _globalId = globalId;
+            _branchId = branchId;
+        }
+
+        @Override
+        public long getFormat()
+        {
+            return _format;
+        }
+
+        @Override
+        public byte[] getGlobalId()
+        {
+            return _globalId;
+        }
+
+        @Override
+        public byte[] getBranchId()
+        {
+            return _branchId;
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass())
+            {
+                return false;
+            }
+
+            final SegmentStoredXidRecord that = (SegmentStoredXidRecord) o;
+            return _format == that._format
+                   && Arrays.equals(_globalId, that._globalId)
+                   && Arrays.equals(_branchId, that._branchId);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            int result = (int) (_format ^ (_format >>> 32));
+            result = 31 * result + Arrays.hashCode(_globalId);
+            result = 31 * result + Arrays.hashCode(_branchId);
+            return result;
+        }
+    }
+
+    private class SegmentMessageStoreReader implements MessageStoreReader
+    {
+        @Override
+        public StoredMessage<?> getMessage(final long messageId)
+        {
+            return _messages.get(messageId);
+        }
+
+        @Override
+        public void close()
+        {
+        }
+
+        @Override
+        public void visitMessages(final MessageHandler handler) throws StoreException
+        {
+            checkMessageStoreOpen();
+
+            for (StoredSegmentMessage<?> message : _messages.values())
+            {
+                if (!handler.handle(message))
+                {
+                    break;
+                }
+            }
+        }
+
+        @Override
+        public void visitMessageInstances(final MessageInstanceHandler handler) throws StoreException
+        {
+            checkMessageStoreOpen();
+
+            final List<Map.Entry<UUID, long[]>> queues = new ArrayList<>();
+            synchronized (_appendLock)
+            {
+                for (Map.Entry<UUID, QueueIndex> entry : _queueIndexes.entrySet())
+                {
+                    queues.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue().toSortedArray()));
+                }
+            }
+            for (Map.Entry<UUID, long[]> queue : queues)
+            {
+                if (!visitMessageInstances(queue.getKey(), queue.getValue(), handler))
+                {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void visitMessageInstances(final TransactionLogResource queue,
+                                          final MessageInstanceHandler handler) throws StoreException
+        {
+            checkMessageStoreOpen();
+
+            final long[] messageIds;
+            synchronized (_appendLock)
+            {
+                final QueueIndex index = _queueIndexes.get(queue.getId());
+                messageIds = index == null ? new long[0] : index.toSortedArray();
+            }
+            visitMessageInstances(queue.getId(), messageIds, handler);
+        }
+
+        private boolean visitMessageInstances(final UUID queueId,
+                                              final long[] messageIds,
+                                              final MessageInstanceHandler handler)
+        {
+            for (long messageId : messageIds)
+            {
+                if (!handler.handle(new SegmentEnqueueRecord(queueId, messageId)))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void visitDistributedTransactions(final DistributedTransactionHandler handler) throws StoreException
+        {
+            checkMessageStoreOpen();
+
+            final Map<Xid, XidActions> distributedTransactions;
+            synchronized (_appendLock)
+            {
+                distributedTransactions = new LinkedHashMap<>(_distributedTransactions);
+            }
+            for (Map.Entry<Xid, XidActions> entry : distributedTransactions.entrySet())
+            {
+                final Xid xid = entry.getKey();
+                final XidActions actions = entry.getValue();
+                if (!handler.handle(new SegmentStoredXidRecord(xid.getFormat(), xid.getGlobalId(), xid.getBranchId()),
+                                    actions.getEnqueueRecords(),
+                                    actions.getDequeueRecords()))
+                {
+                    break;
+                }
+            }
+        }
+    }
+}
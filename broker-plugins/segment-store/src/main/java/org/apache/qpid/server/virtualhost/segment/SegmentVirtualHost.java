@@ -0,0 +1,68 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.virtualhost.segment;
+
+import org.apache.qpid.server.model.ManagedAttribute;
+import org.apache.qpid.server.model.ManagedContextDefault;
+import org.apache.qpid.server.model.ManagedObject;
+import org.apache.qpid.server.store.FileBasedSettings;
+import org.apache.qpid.server.store.SizeMonitoringSettings;
+import org.apache.qpid.server.store.segment.SegmentMessageStore;
+import org.apache.qpid.server.virtualhost.QueueManagingVirtualHost;
+
+@ManagedObject(category = false, type = SegmentVirtualHostImpl.VIRTUAL_HOST_TYPE, amqpName = "org.apache.qpid.SegmentVirtualHost")
+public interface SegmentVirtualHost<X extends SegmentVirtualHost<X>> extends QueueManagingVirtualHost<X>,
+                                                                             FileBasedSettings,
+                                                                             SizeMonitoringSettings
+{
+    String STORE_PATH = "storePath";
+
+    @ManagedContextDefault(name = SegmentMessageStore.SEGMENT_SIZE,
+            description = "The size in bytes of each memory-mapped segment file of the message store")
+    int DEFAULT_SEGMENT_SIZE = SegmentMessageStore.DEFAULT_SEGMENT_SIZE;
+
+    @ManagedContextDefault(name = SegmentMessageStore.COMPACTION_PERIOD,
+            description = "The period in milliseconds between checks for segments to compact (zero disables compaction)")
+    long DEFAULT_COMPACTION_PERIOD = SegmentMessageStore.DEFAULT_COMPACTION_PERIOD;
+
+    @ManagedContextDefault(name = SegmentMessageStore.COMPACTION_LIVE_RATIO,
+            description = "A sealed segment is compacted once the fraction of its bytes belonging to live messages"
+                          + " falls below this ratio")
+    double DEFAULT_COMPACTION_LIVE_RATIO = SegmentMessageStore.DEFAULT_COMPACTION_LIVE_RATIO;
+
+    @ManagedContextDefault(name = SegmentMessageStore.STREAMING_THRESHOLD,
+            description = "Content size in bytes at or above which a message's record is reserved when the message is"
+                          + " added, so that its content is written straight into the segment as it arrives"
+                          + " (zero disables streaming)")
+    int DEFAULT_STREAMING_THRESHOLD = SegmentMessageStore.DEFAULT_STREAMING_THRESHOLD;
+
+    @Override
+    @ManagedAttribute(mandatory = true, defaultValue = "${qpid.work_dir}${file.separator}${this:name}${file.separator}messages")
+    String getStorePath();
+
+    @Override
+    @ManagedAttribute(mandatory = true, defaultValue = "0")
+    Long getStoreUnderfullSize();
+
+    @Override
+    @ManagedAttribute(mandatory = true, defaultValue = "0")
+    Long getStoreOverfullSize();
+}
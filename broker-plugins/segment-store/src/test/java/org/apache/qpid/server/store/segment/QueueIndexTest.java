@@ -0,0 +1,92 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.store.segment;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class QueueIndexTest extends UnitTestBase
+{
+    @Test
+    public void testAddRemoveAndContains()
+    {
+        final QueueIndex index = new QueueIndex();
+        assertTrue(index.add(3L));
+        assertTrue(index.add(1L));
+        assertFalse("Duplicate should not be added", index.add(3L));
+        assertEquals(2, index.size());
+
+        assertTrue(index.contains(1L));
+        assertTrue(index.remove(1L));
+        assertFalse(index.remove(1L));
+        assertFalse(index.contains(1L));
+        assertEquals(1, index.size());
+        assertArrayEquals(new long[]{3L}, index.toSortedArray());
+    }
+
+    @Test
+    public void testGrowAndShrinkMatchesReferenceSet()
+    {
+        final QueueIndex index = new QueueIndex();
+        final TreeSet<Long> reference = new TreeSet<>();
+        final Random random = new Random(0);
+        for (int i = 0; i < 20000; i++)
+        {
+            final long messageId = 1 + random.nextInt(5000);
+            if (random.nextInt(3) == 0)
+            {
+                assertEquals(reference.remove(messageId), index.remove(messageId));
+            }
+            else
+            {
+                assertEquals(reference.add(messageId), index.add(messageId));
+            }
+        }
+        // drain most entries so that the table shrinks
+        for (long messageId = 1; messageId <= 4900; messageId++)
+        {
+            assertEquals(reference.remove(messageId), index.remove(messageId));
+        }
+
+        assertEquals(reference.size(), index.size());
+        final long[] expected = reference.stream().mapToLong(Long::longValue).toArray();
+        assertArrayEquals(expected, index.toSortedArray());
+        for (long messageId : expected)
+        {
+            assertTrue(index.contains(messageId));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveMessageIdRejected()
+    {
+        new QueueIndex().add(0L);
+    }
+}
@@ -0,0 +1,381 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.store.segment;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.message.EnqueueableMessage;
+import org.apache.qpid.server.model.VirtualHost;
+import org.apache.qpid.server.store.MessageDurability;
+import org.apache.qpid.server.store.MessageEnqueueRecord;
+import org.apache.qpid.server.store.MessageHandle;
+import org.apache.qpid.server.store.MessageStore;
+import org.apache.qpid.server.store.MessageStoreTestCase;
+import org.apache.qpid.server.store.StoredMessage;
+import org.apache.qpid.server.store.TestMessageMetaData;
+import org.apache.qpid.server.store.Transaction;
+import org.apache.qpid.server.store.TransactionLogResource;
+import org.apache.qpid.server.util.FileUtils;
+import org.apache.qpid.server.virtualhost.segment.SegmentVirtualHost;
+
+public class SegmentMessageStoreTest extends MessageStoreTestCase
+{
+    private static final int SMALL_SEGMENT_SIZE = 512;
+    private static final int CONTENT_SIZE = 100;
+
+    private String _storeLocation;
+    private int _segmentSize = SegmentMessageStore.DEFAULT_SEGMENT_SIZE;
+    private int _streamingThreshold = SegmentMessageStore.DEFAULT_STREAMING_THRESHOLD;
+
+    @Override
+    public void tearDown() throws Exception
+    {
+        try
+        {
+            getStore().closeMessageStore();
+            deleteStoreIfExists();
+        }
+        finally
+        {
+            super.tearDown();
+        }
+    }
+
+    @Test
+    public void testOnDelete() throws Exception
+    {
+        final File location = new File(_storeLocation);
+        assertTrue("Store does not exist at " + _storeLocation, location.exists());
+
+        getStore().closeMessageStore();
+        assertTrue("Store does not exist at " + _storeLocation, location.exists());
+
+        getStore().onDelete(getVirtualHost());
+        assertFalse("Store exists at " + _storeLocation, location.exists());
+    }
+
+    @Test
+    public void testRecoveryAcrossSegments() throws Exception
+    {
+        _segmentSize = SMALL_SEGMENT_SIZE;
+        reopenStore();
+
+        final TransactionLogResource queue = createQueue();
+        final List<MessageEnqueueRecord> records = new ArrayList<>();
+        for (int i = 0; i < 20; i++)
+        {
+            records.add(enqueue(queue, createMessage(i)));
+        }
+        for (int i = 0; i < 10; i++)
+        {
+            dequeue(records.get(i));
+        }
+        assertTrue("Expected the records to span several segments", getSegmentStore().getSegmentCount() > 1);
+
+        reopenStore();
+
+        final List<Long> expectedIds = new ArrayList<>();
+        for (int i = 10; i < 20; i++)
+        {
+            expectedIds.add(records.get(i).getMessageNumber());
+        }
+        assertEquals(expectedIds, getEnqueuedMessageIds(queue));
+
+        final StoredMessage<?> message = getStore().newMessageStoreReader().getMessage(expectedIds.get(0));
+        assertNotNull("Message not recovered", message);
+        assertFalse("Recovered message content should not be held in memory", message.isInContentInMemory());
+        assertEquals(CONTENT_SIZE, message.getContentSize());
+        assertArrayEquals(createContent(10), getContent(message));
+        assertEquals(CONTENT_SIZE, ((TestMessageMetaData) message.getMetaData()).getContentSize());
+    }
+
+    @Test
+    public void testCompactionDeletesGarbageSegments() throws Exception
+    {
+        _segmentSize = SMALL_SEGMENT_SIZE;
+        reopenStore();
+
+        final TransactionLogResource queue = createQueue();
+        final Map<Long, Integer> liveMessages = new HashMap<>();
+        final List<MessageEnqueueRecord> records = new ArrayList<>();
+        final List<StoredMessage<?>> messages = new ArrayList<>();
+        for (int i = 0; i < 30; i++)
+        {
+            final StoredMessage<TestMessageMetaData> message = createMessage(i);
+            messages.add(message);
+            records.add(enqueue(queue, message));
+        }
+        for (int i = 0; i < 30; i++)
+        {
+            if (i % 10 == 0)
+            {
+                liveMessages.put(records.get(i).getMessageNumber(), i);
+            }
+            else
+            {
+                dequeue(records.get(i));
+                messages.get(i).remove();
+            }
+        }
+
+        final SegmentMessageStore store = getSegmentStore();
+        final int segmentCount = store.getSegmentCount();
+        assertTrue("Expected segments to be deleted", store.compact() > 0);
+        assertTrue("Expected fewer segments after compaction", store.getSegmentCount() < segmentCount);
+        assertEquals("Unexpected segment files on disk",
+                     store.getSegmentCount(),
+                     new File(_storeLocation).listFiles(Segment::isSegmentFile).length);
+
+        reopenStore();
+
+        final List<Long> enqueuedIds = getEnqueuedMessageIds(queue);
+        assertEquals(new ArrayList<>(new TreeSet<>(liveMessages.keySet())), enqueuedIds);
+        for (long messageId : enqueuedIds)
+        {
+            final StoredMessage<?> message = getStore().newMessageStoreReader().getMessage(messageId);
+            assertNotNull("Message " + messageId + " not recovered", message);
+            assertArrayEquals(createContent(liveMessages.get(messageId)), getContent(message));
+        }
+    }
+
+    @Test
+    public void testReopenedStoreDoesNotReuseCompactedMessageIds() throws Exception
+    {
+        _segmentSize = SMALL_SEGMENT_SIZE;
+        reopenStore();
+
+        final TransactionLogResource queue = createQueue();
+        long lastMessageId = 0;
+        for (int i = 0; i < 10; i++)
+        {
+            final StoredMessage<TestMessageMetaData> message = createMessage(i);
+            dequeue(enqueue(queue, message));
+            message.remove();
+            lastMessageId = message.getMessageNumber();
+        }
+        getSegmentStore().compact();
+
+        reopenStore();
+
+        final StoredMessage<TestMessageMetaData> message = createMessage(10);
+        assertTrue("Unexpected message id " + message.getMessageNumber(),
+                   message.getMessageNumber() > lastMessageId);
+    }
+
+    @Test
+    public void testStreamedMessageIsWrittenStraightToSegment() throws Exception
+    {
+        _streamingThreshold = CONTENT_SIZE;
+        reopenStore();
+
+        final TransactionLogResource queue = createQueue();
+        final byte[] content = createContent(0);
+        final MessageHandle<TestMessageMetaData> handle =
+                getStore().addMessage(new TestMessageMetaData(0, CONTENT_SIZE));
+        try (QpidByteBuffer first = QpidByteBuffer.wrap(content, 0, CONTENT_SIZE / 2);
+             QpidByteBuffer second = QpidByteBuffer.wrap(content, CONTENT_SIZE / 2, CONTENT_SIZE - CONTENT_SIZE / 2))
+        {
+            handle.addContent(first);
+            handle.addContent(second);
+        }
+        final StoredMessage<TestMessageMetaData> message = handle.allContentAdded();
+
+        assertFalse("Streamed content should not be held in memory", message.isInContentInMemory());
+        assertArrayEquals(content, getContent(message));
+
+        final MessageEnqueueRecord record = enqueue(queue, message);
+
+        reopenStore();
+
+        assertEquals(Collections.singletonList(record.getMessageNumber()), getEnqueuedMessageIds(queue));
+        final StoredMessage<?> recovered = getStore().newMessageStoreReader().getMessage(record.getMessageNumber());
+        assertNotNull("Message not recovered", recovered);
+        assertArrayEquals(content, getContent(recovered));
+    }
+
+    @Test
+    public void testRecoverySkipsIncompleteStreamedMessage() throws Exception
+    {
+        _streamingThreshold = CONTENT_SIZE;
+        reopenStore();
+
+        final TransactionLogResource queue = createQueue();
+        final MessageHandle<TestMessageMetaData> incomplete =
+                getStore().addMessage(new TestMessageMetaData(0, CONTENT_SIZE));
+        try (QpidByteBuffer content = QpidByteBuffer.wrap(createContent(0), 0, CONTENT_SIZE / 2))
+        {
+            incomplete.addContent(content);
+        }
+        final long incompleteMessageId = incomplete.allContentAdded().getMessageNumber();
+
+        final MessageEnqueueRecord record = enqueue(queue, createMessage(1));
+
+        reopenStore();
+
+        assertEquals(Collections.singletonList(record.getMessageNumber()), getEnqueuedMessageIds(queue));
+        assertArrayEquals(createContent(1),
+                          getContent(getStore().newMessageStoreReader().getMessage(record.getMessageNumber())));
+        assertNull("Incomplete message should not be recovered",
+                   getStore().newMessageStoreReader().getMessage(incompleteMessageId));
+    }
+
+    @Override
+    protected VirtualHost createVirtualHost()
+    {
+        _storeLocation = TMP_FOLDER + File.separator + getTestName();
+        deleteStoreIfExists();
+
+        final SegmentVirtualHost parent = mock(SegmentVirtualHost.class);
+        when(parent.getName()).thenReturn(getTestName());
+        when(parent.getStorePath()).thenReturn(_storeLocation);
+        when(parent.getStoreOverfullSize()).thenReturn(0L);
+        when(parent.getStoreUnderfullSize()).thenReturn(0L);
+        when(parent.getContextValue(Integer.class, SegmentMessageStore.SEGMENT_SIZE)).thenAnswer(invocation -> _segmentSize);
+        when(parent.getContextValue(Long.class, SegmentMessageStore.COMPACTION_PERIOD)).thenReturn(0L);
+        when(parent.getContextValue(Double.class, SegmentMessageStore.COMPACTION_LIVE_RATIO))
+                .thenReturn(SegmentMessageStore.DEFAULT_COMPACTION_LIVE_RATIO);
+        when(parent.getContextValue(Integer.class, SegmentMessageStore.STREAMING_THRESHOLD))
+                .thenAnswer(invocation -> _streamingThreshold);
+        return parent;
+    }
+
+    @Override
+    protected MessageStore createMessageStore()
+    {
+        return new SegmentMessageStore();
+    }
+
+    @Override
+    protected boolean flowToDiskSupported()
+    {
+        return true;
+    }
+
+    private SegmentMessageStore getSegmentStore()
+    {
+        return (SegmentMessageStore) getStore();
+    }
+
+    private void deleteStoreIfExists()
+    {
+        if (_storeLocation != null)
+        {
+            final File location = new File(_storeLocation);
+            if (location.exists())
+            {
+                FileUtils.delete(location, true);
+            }
+        }
+    }
+
+    private StoredMessage<TestMessageMetaData> createMessage(final int index)
+    {
+        final MessageHandle<TestMessageMetaData> handle =
+                getStore().addMessage(new TestMessageMetaData(index, CONTENT_SIZE));
+        try (QpidByteBuffer content = QpidByteBuffer.wrap(createContent(index)))
+        {
+            handle.addContent(content);
+        }
+        return handle.allContentAdded();
+    }
+
+    private byte[] createContent(final int index)
+    {
+        final byte[] content = new byte[CONTENT_SIZE];
+        final byte[] text = ("message-" + index).getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < content.length; i++)
+        {
+            content[i] = text[i % text.length];
+        }
+        return content;
+    }
+
+    private byte[] getContent(final StoredMessage<?> message)
+    {
+        try (QpidByteBuffer content = message.getContent(0, message.getContentSize()))
+        {
+            final byte[] bytes = new byte[content.remaining()];
+            content.copyTo(bytes);
+            return bytes;
+        }
+    }
+
+    private TransactionLogResource createQueue()
+    {
+        final UUID queueId = UUID.randomUUID();
+        final TransactionLogResource queue = mock(TransactionLogResource.class);
+        when(queue.getId()).thenReturn(queueId);
+        when(queue.getName()).thenReturn(getTestName());
+        when(queue.getMessageDurability()).thenReturn(MessageDurability.DEFAULT);
+        return queue;
+    }
+
+    private MessageEnqueueRecord enqueue(final TransactionLogResource queue, final StoredMessage<?> message)
+    {
+        final EnqueueableMessage enqueueableMessage = mock(EnqueueableMessage.class);
+        when(enqueueableMessage.isPersistent()).thenReturn(true);
+        when(enqueueableMessage.getMessageNumber()).thenReturn(message.getMessageNumber());
+        when(enqueueableMessage.getStoredMessage()).thenReturn((StoredMessage) message);
+
+        final Transaction transaction = getStore().newTransaction();
+        final MessageEnqueueRecord record = transaction.enqueueMessage(queue, enqueueableMessage);
+        transaction.commitTran();
+        return record;
+    }
+
+    private void dequeue(final MessageEnqueueRecord record)
+    {
+        final Transaction transaction = getStore().newTransaction();
+        transaction.dequeueMessage(record);
+        transaction.commitTran();
+    }
+
+    private List<Long> getEnqueuedMessageIds(final TransactionLogResource queue)
+    {
+        final List<Long> messageIds = new ArrayList<>();
+        getStore().newMessageStoreReader().visitMessageInstances(queue, record ->
+        {
+            messageIds.add(record.getMessageNumber());
+            return true;
+        });
+        return messageIds;
+    }
+}
@@ -24,17 +24,23 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.net.SocketAddress;
 import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
 import java.security.Principal;
 import java.security.cert.Certificate;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLEngine;
@@ -54,10 +60,13 @@ import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.eclipse.jetty.util.thread.ThreadPool;
 import org.eclipse.jetty.websocket.api.Session;
 import org.eclipse.jetty.websocket.api.WebSocketPolicy;
+import org.eclipse.jetty.websocket.api.WriteCallback;
 import org.eclipse.jetty.websocket.api.annotations.OnWebSocketClose;
 import org.eclipse.jetty.websocket.api.annotations.OnWebSocketConnect;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketFrame;
 import org.eclipse.jetty.websocket.api.annotations.OnWebSocketMessage;
 import org.eclipse.jetty.websocket.api.annotations.WebSocket;
+import org.eclipse.jetty.websocket.api.extensions.Frame;
 import org.eclipse.jetty.websocket.server.WebSocketHandler;
 import org.eclipse.jetty.websocket.servlet.ServletUpgradeRequest;
 import org.eclipse.jetty.websocket.servlet.WebSocketServletFactory;
@@ -74,10 +83,8 @@ import org.apache.qpid.server.transport.AcceptingTransport;
 import org.apache.qpid.server.transport.ByteBufferSender;
 import org.apache.qpid.server.transport.MultiVersionProtocolEngine;
 import org.apache.qpid.server.transport.MultiVersionProtocolEngineFactory;
-import org.apache.qpid.server.transport.ProtocolEngine;
 import org.apache.qpid.server.transport.SchedulingDelayNotificationListener;
 import org.apache.qpid.server.transport.ServerNetworkConnection;
-import org.apache.qpid.server.transport.network.Ticker;
 import org.apache.qpid.server.transport.network.security.ssl.SSLUtil;
 import org.apache.qpid.server.util.ServerScopedRuntimeException;
 
@@ -86,6 +93,8 @@ class WebSocketProvider implements AcceptingTransport
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(WebSocketProvider.class);
     private static final String AMQP_WEBSOCKET_SUBPROTOCOL = "amqp";
+    private static final int COALESCING_THRESHOLD = 4096;
+    private static final int MAX_PENDING_WRITE_BUFFERS = 4;
 
     private final Transport _transport;
     private final SslContextFactory _sslContextFactory;
@@ -97,10 +106,7 @@ class WebSocketProvider implements AcceptingTransport
 
     private Server _server;
 
-    private final List<ConnectionWrapper> _activeConnections = new CopyOnWriteArrayList<>();
-
-    private final WebSocketIdleTimeoutChecker _idleTimeoutChecker = new WebSocketIdleTimeoutChecker();
-    private final AtomicBoolean _closed = new AtomicBoolean();
+    private ScheduledThreadPoolExecutor _idleTimeoutChecker;
 
     WebSocketProvider(final Transport transport,
                       final SSLContext sslContext,
@@ -128,7 +134,13 @@ class WebSocketProvider implements AcceptingTransport
     @Override
     public void start()
     {
-        _idleTimeoutChecker.start();
+        _idleTimeoutChecker = new ScheduledThreadPoolExecutor(1, runnable ->
+        {
+            final Thread thread = new Thread(runnable, "WebSocket Idle Checker: " + _port);
+            thread.setDaemon(true);
+            return thread;
+        });
+        _idleTimeoutChecker.setRemoveOnCancelPolicy(true);
 
         _server = new Server(new QBBTrackingThreadPool());
 
@@ -282,8 +294,10 @@ class WebSocketProvider implements AcceptingTransport
     @Override
     public void close()
     {
-        _closed.set(true);
-        _idleTimeoutChecker.wakeup();
+        if (_idleTimeoutChecker != null)
+        {
+            _idleTimeoutChecker.shutdownNow();
+        }
         try
         {
             _server.stop();
@@ -345,6 +359,7 @@ class WebSocketProvider implements AcceptingTransport
         private volatile MultiVersionProtocolEngine _protocolEngine;
         private volatile ConnectionWrapper _connectionWrapper;
         private volatile boolean _unexpectedByteBufferSizeReported;
+        private boolean _binaryMessageInProgress;
 
         AmqpWebSocket()
         {
@@ -372,14 +387,31 @@ class WebSocketProvider implements AcceptingTransport
             }
             _protocolEngine.setNetworkConnection(_connectionWrapper);
             _protocolEngine.setWorkListener(object -> _server.getThreadPool().execute(() -> _connectionWrapper.doWork()));
-            _activeConnections.add(_connectionWrapper);
-            _idleTimeoutChecker.wakeup();
+            _connectionWrapper.scheduleTick();
 
         }
 
-        @OnWebSocketMessage @SuppressWarnings("unused")
-        public void onWebSocketBinary(Session sess, final byte[] payload, int offset, final int len)
+        /**
+         * Binary payloads are taken frame by frame, straight from Jetty's read buffer, rather than having Jetty
+         * aggregate each message into a byte array first.
+         */
+        @OnWebSocketFrame @SuppressWarnings("unused")
+        public void onWebSocketFrame(final Session sess, final Frame frame)
+        {
+            final Frame.Type type = frame.getType();
+            if (type == Frame.Type.BINARY || (type == Frame.Type.CONTINUATION && _binaryMessageInProgress))
+            {
+                _binaryMessageInProgress = !frame.isFin();
+                if (frame.hasPayload())
+                {
+                    onBinaryPayload(frame.getPayload().duplicate());
+                }
+            }
+        }
+
+        private void onBinaryPayload(final ByteBuffer payload)
         {
+            final int len = payload.remaining();
             synchronized (_connectionWrapper)
             {
                 _protocolEngine.clearWork();
@@ -392,21 +424,20 @@ class WebSocketProvider implements AcceptingTransport
                         iter.next().run();
                     }
 
-                    int lastRead;
-                    int remaining = len;
                     do
                     {
-                        int chunkLen = Math.min(remaining, _netInputBuffer.remaining());
-                        _netInputBuffer.put(payload, offset, chunkLen);
-                        remaining -= chunkLen;
-                        offset += chunkLen;
+                        int chunkLen = Math.min(payload.remaining(), _netInputBuffer.remaining());
+                        ByteBuffer chunk = payload.duplicate();
+                        chunk.limit(chunk.position() + chunkLen);
+                        _netInputBuffer.put(chunk);
+                        payload.position(payload.position() + chunkLen);
 
                         _netInputBuffer.flip();
                         _protocolEngine.received(_netInputBuffer);
                         _connectionWrapper.doWrite();
                         restoreApplicationBufferForWrite();
                     }
-                    while(remaining > 0);
+                    while(payload.hasRemaining());
 
                     if (LOGGER.isDebugEnabled())
                     {
@@ -418,7 +449,7 @@ class WebSocketProvider implements AcceptingTransport
                     _protocolEngine.setIOThread(null);
                 }
             }
-            _idleTimeoutChecker.wakeup();
+            _connectionWrapper.scheduleTick();
         }
 
         private void restoreApplicationBufferForWrite()
@@ -483,8 +514,10 @@ class WebSocketProvider implements AcceptingTransport
             {
                 _protocolEngine.closed();
             }
-            _activeConnections.remove(_connectionWrapper);
-            _idleTimeoutChecker.wakeup();
+            if (_connectionWrapper != null)
+            {
+                _connectionWrapper.cancelTick();
+            }
             _netInputBuffer.dispose();
         }
     }
@@ -499,6 +532,14 @@ class WebSocketProvider implements AcceptingTransport
         private final ThreadPool _threadPool;
         private final Runnable _tickJob;
 
+        private final AtomicLong _pendingWriteBytes = new AtomicLong();
+        private final Object _tickLock = new Object();
+        private ScheduledFuture<?> _scheduledTick;
+        private long _scheduledTickTime;
+        private boolean _tickCancelled;
+        private final long _maxPendingWriteBytes;
+        private volatile boolean _writeBlocked;
+
         private Certificate _certificate;
         private long _maxWriteIdleMillis;
         private long _maxReadIdleMillis;
@@ -514,6 +555,7 @@ class WebSocketProvider implements AcceptingTransport
             _remoteAddress = remoteAddress;
             _protocolEngine = protocolEngine;
             _threadPool = threadPool;
+            _maxPendingWriteBytes = (long) MAX_PENDING_WRITE_BUFFERS * _broker.getNetworkBufferSize();
             _tickJob = new Runnable()
                         {
                             @Override
@@ -524,6 +566,7 @@ class WebSocketProvider implements AcceptingTransport
                                     protocolEngine.getAggregateTicker().tick(System.currentTimeMillis());
                                     doWrite();
                                 }
+                                scheduleTick();
                             }
                         };
         }
@@ -542,7 +585,7 @@ class WebSocketProvider implements AcceptingTransport
         @Override
         public boolean isDirectBufferPreferred()
         {
-            return false;
+            return true;
         }
 
         @Override
@@ -650,42 +693,79 @@ class WebSocketProvider implements AcceptingTransport
 
         public synchronized void doWrite()
         {
-            int size = 0;
-            List<QpidByteBuffer> toBeWritten = new ArrayList<>(_buffers.size());
+            final List<QpidByteBuffer> coalesced = new ArrayList<>();
+            int coalescedSize = 0;
             QpidByteBuffer buf;
             while((buf = _buffers.poll())!= null)
             {
-                // TODO: For efficiency perhaps only coalesce sequential small buffers and let large buffers
-                // go alone in a binary message.  This would likely avoid the memory copies of large transfer payloads
-                size += buf.remaining();
-                toBeWritten.add(buf);
+                // Small buffers are gathered into a single message, larger ones are sent without being copied
+                if (buf.remaining() < COALESCING_THRESHOLD)
+                {
+                    coalesced.add(buf);
+                    coalescedSize += buf.remaining();
+                }
+                else
+                {
+                    sendCoalesced(coalesced, coalescedSize);
+                    coalesced.clear();
+                    coalescedSize = 0;
+                    sendAsync(buf);
+                }
             }
+            sendCoalesced(coalesced, coalescedSize);
 
-            byte[] data = new byte[size];
-            int offset = 0;
+            _writeBlocked = true;
+            if (_pendingWriteBytes.get() <= _maxPendingWriteBytes)
+            {
+                _writeBlocked = false;
+            }
+            _protocolEngine.setTransportBlockedForWriting(_writeBlocked);
+        }
 
-            for(QpidByteBuffer tmp : toBeWritten)
+        private void sendCoalesced(final List<QpidByteBuffer> buffers, final int size)
+        {
+            if (buffers.size() == 1)
             {
-                int remaining = tmp.remaining();
-                tmp.get(data, offset, remaining);
-                tmp.dispose();
-                offset += remaining;
+                sendAsync(buffers.get(0));
             }
-            if(size > 0)
+            else if (!buffers.isEmpty())
             {
-                try
+                final QpidByteBuffer data = QpidByteBuffer.allocateDirect(size);
+                for (QpidByteBuffer tmp : buffers)
                 {
-                    _connection.getRemote().sendBytes(ByteBuffer.wrap(data));
-                    if (LOGGER.isDebugEnabled())
-                    {
-                        LOGGER.debug("Written {} byte(s)", data.length);
-                    }
-                }
-                catch (IOException e)
-                {
-                    LOGGER.info("Exception on write: {}", e.getMessage());
-                    close();
+                    data.put(tmp);
+                    tmp.dispose();
                 }
+                data.flip();
+                sendAsync(data);
+            }
+        }
+
+        private void sendAsync(final QpidByteBuffer data)
+        {
+            final int size = data.remaining();
+            _pendingWriteBytes.addAndGet(size);
+            try
+            {
+                QpidByteBuffer.write(new RemoteEndpointChannel(data, size), Collections.singletonList(data));
+            }
+            catch (IOException e)
+            {
+                LOGGER.info("Exception on write: {}", e.getMessage());
+                close();
+            }
+        }
+
+        private void written(final QpidByteBuffer data, final int size)
+        {
+            data.dispose();
+            if (LOGGER.isDebugEnabled())
+            {
+                LOGGER.debug("Written {} byte(s)", size);
+            }
+            if (_pendingWriteBytes.addAndGet(-size) <= _maxPendingWriteBytes && _writeBlocked)
+            {
+                _threadPool.execute(this::doWork);
             }
         }
 
@@ -703,7 +783,7 @@ class WebSocketProvider implements AcceptingTransport
                 }
 
                 doWrite();
-                _idleTimeoutChecker.wakeup();
+                scheduleTick();
             }
             finally
             {
@@ -713,71 +793,160 @@ class WebSocketProvider implements AcceptingTransport
         }
 
 
-        public void tick()
+        /**
+         * Schedules a tick for when the protocol engine's tickers are next due, unless one is already scheduled for
+         * that time or earlier.  A tick that turns out to be early is harmless: the tickers do nothing and the
+         * connection is rescheduled.
+         */
+        void scheduleTick()
         {
-            _threadPool.execute(_tickJob);
+            final long currentTime = System.currentTimeMillis();
+            final int timeToNextTick = _protocolEngine.getAggregateTicker().getTimeToNextTick(currentTime);
+            if (timeToNextTick == Integer.MAX_VALUE)
+            {
+                return;
+            }
+            final long tickTime = currentTime + Math.max(0, timeToNextTick);
+            synchronized (_tickLock)
+            {
+                if (!_tickCancelled && (_scheduledTick == null || tickTime < _scheduledTickTime))
+                {
+                    if (_scheduledTick != null)
+                    {
+                        _scheduledTick.cancel(false);
+                    }
+                    _scheduledTickTime = tickTime;
+                    try
+                    {
+                        _scheduledTick = _idleTimeoutChecker.schedule(() -> tick(tickTime),
+                                                                      tickTime - currentTime,
+                                                                      TimeUnit.MILLISECONDS);
+                    }
+                    catch (RejectedExecutionException e)
+                    {
+                        _scheduledTick = null;
+                    }
+                }
+            }
         }
-    }
 
+        void cancelTick()
+        {
+            synchronized (_tickLock)
+            {
+                _tickCancelled = true;
+                if (_scheduledTick != null)
+                {
+                    _scheduledTick.cancel(false);
+                    _scheduledTick = null;
+                }
+            }
+        }
 
-
-    private class WebSocketIdleTimeoutChecker extends Thread
-    {
-
-        public WebSocketIdleTimeoutChecker()
+        private void tick(final long tickTime)
         {
-            setName("WebSocket Idle Checker: " + _port);
+            synchronized (_tickLock)
+            {
+                if (_scheduledTickTime == tickTime)
+                {
+                    _scheduledTick = null;
+                }
+            }
+            _threadPool.execute(_tickJob);
         }
 
-        @Override
-        public void run()
+        /**
+         * Sends each fragment of a buffer as a binary message using Jetty's asynchronous writes, which are gathered
+         * into as few network writes as possible.  The buffer is disposed once the last of its fragments is written.
+         */
+        private class RemoteEndpointChannel implements GatheringByteChannel
         {
-            while(!_closed.get())
+            private final QpidByteBuffer _data;
+            private final int _size;
+
+            RemoteEndpointChannel(final QpidByteBuffer data, final int size)
             {
-                ConnectionWrapper connectionToTick = null;
-                long currentTime = System.currentTimeMillis();
-                synchronized (this)
+                _data = data;
+                _size = size;
+            }
+
+            @Override
+            public long write(final ByteBuffer[] srcs, final int offset, final int length)
+            {
+                long written = 0;
+                final List<ByteBuffer> fragments = new ArrayList<>(length);
+                for (int i = offset; i < offset + length; i++)
+                {
+                    if (srcs[i].hasRemaining())
+                    {
+                        fragments.add(srcs[i]);
+                        written += srcs[i].remaining();
+                    }
+                }
+
+                if (fragments.isEmpty())
+                {
+                    written(_data, _size);
+                }
+                else
                 {
-                    long nextTick = Long.MAX_VALUE;
-                    for(ConnectionWrapper connection : _activeConnections)
+                    final AtomicInteger outstanding = new AtomicInteger(fragments.size());
+                    final WriteCallback callback = new WriteCallback()
                     {
-                        ProtocolEngine engine = connection._protocolEngine;
-                        final Ticker ticker = engine.getAggregateTicker();
-                        long tick = ticker.getTimeToNextTick(currentTime);
-                        if(tick <= 0)
+                        @Override
+                        public void writeFailed(final Throwable x)
                         {
-                            connectionToTick = connection;
-                            nextTick = -1;
-                            break;
+                            LOGGER.info("Exception on write: {}", x.getMessage());
+                            ConnectionWrapper.this.close();
+                            writeSuccess();
                         }
-                        else if(tick < nextTick)
+
+                        @Override
+                        public void writeSuccess()
                         {
-                            nextTick = tick;
+                            if (outstanding.decrementAndGet() == 0)
+                            {
+                                written(_data, _size);
+                            }
                         }
-                    }
-                    if(nextTick > 0)
+                    };
+                    for (ByteBuffer fragment : fragments)
                     {
                         try
                         {
-                            wait(nextTick);
+                            _connection.getRemote().sendBytes(fragment, callback);
                         }
-                        catch (InterruptedException e)
+                        catch (RuntimeException e)
                         {
-                            Thread.currentThread().interrupt();
-                            break;
+                            callback.writeFailed(e);
                         }
                     }
                 }
-                if(connectionToTick != null)
-                {
-                    connectionToTick.tick();
-                }
+                return written;
             }
-        }
 
-        private synchronized void wakeup()
-        {
-            notifyAll();
+            @Override
+            public long write(final ByteBuffer[] srcs)
+            {
+                return write(srcs, 0, srcs.length);
+            }
+
+            @Override
+            public int write(final ByteBuffer src)
+            {
+                return (int) write(new ByteBuffer[]{src}, 0, 1);
+            }
+
+            @Override
+            public boolean isOpen()
+            {
+                return _connection.isOpen();
+            }
+
+            @Override
+            public void close()
+            {
+            }
         }
     }
 }
@@ -29,6 +29,11 @@ var DELIVERY_MODE_PERSISTENT = 2;
 var messageSize = 1024;
 var maximumDuration = 10000;
 var numberOfParticipantPairs = 10;
+// Messages per second sent by each producer; 0 sends as fast as possible
+var producerRate = 0;
+// When true (and producerRate is positive) producers send on a fixed schedule regardless of how quickly the broker
+// accepts messages, and latencies are measured from the scheduled send time
+var openLoop = false;
 
 function createProducerConnection(i, connectionFactory, destination, acknowledgeMode, deliveryMode)
 {
@@ -43,7 +48,9 @@ function createProducerConnection(i, connectionFactory, destination, acknowledge
                 "_destinationName": destination,
                 "_messageSize": messageSize,
                 "_deliveryMode": deliveryMode,
-                "_maximumDuration": maximumDuration
+                "_maximumDuration": maximumDuration,
+                "_rate": producerRate,
+                "_openLoop": openLoop
             }]
         }]
     };
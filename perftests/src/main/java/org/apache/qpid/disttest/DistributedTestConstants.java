@@ -25,6 +25,7 @@ public abstract class DistributedTestConstants
 
     public static final String MSG_COMMAND_PROPERTY = "COMMAND";
     public static final String MSG_JSON_PROPERTY = "JSON";
+    public static final String MSG_SEND_TIME_NANOS_PROPERTY = "SEND_TIME_NANOS";
 
     public static final String CONTROLLER_QUEUE_JNDI_NAME = "controllerqueue";
 }
@@ -20,12 +20,11 @@
 package org.apache.qpid.disttest.client;
 
 
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.List;
 import java.util.NavigableSet;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -34,10 +33,13 @@ import javax.jms.JMSException;
 import javax.jms.Message;
 import javax.jms.MessageListener;
 
+import org.apache.qpid.disttest.DistributedTestConstants;
 import org.apache.qpid.disttest.DistributedTestException;
+import org.apache.qpid.disttest.client.utils.EpochNanoClock;
 import org.apache.qpid.disttest.jms.ClientJmsDelegate;
 import org.apache.qpid.disttest.message.CreateConsumerCommand;
 import org.apache.qpid.disttest.message.ParticipantResult;
+import org.apache.qpid.disttest.results.aggregation.LatencyHistogram;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -61,7 +63,7 @@ public class ConsumerParticipant implements Participant
 
     private volatile long _startTime;
     private volatile Exception _asyncMessageListenerException;
-    private List<Long> _messageLatencies;
+    private LatencyHistogram _messageLatencies;
     private final long _syncReceiveTimeout;
 
     public ConsumerParticipant(final ClientJmsDelegate delegate, final CreateConsumerCommand command)
@@ -76,7 +78,7 @@ public class ConsumerParticipant implements Participant
         _resultFactory = new ParticipantResultFactory();
         if (command.isEvaluateLatency())
         {
-            _messageLatencies = new ArrayList<>();
+            _messageLatencies = new LatencyHistogram();
         }
         _expectedNumberOfMessages = _command.getNumberOfMessages();
         _evaluateLatency = _command.isEvaluateLatency();
@@ -200,9 +202,8 @@ public class ConsumerParticipant implements Participant
 
         if (_evaluateLatency)
         {
-            long messageTimestamp = getMessageTimestamp(message);
-            long latency = System.currentTimeMillis() - messageTimestamp;
-            _messageLatencies.add(latency);
+            long sendTimeNanos = getSendTimeNanos(message);
+            _messageLatencies.recordValue(EpochNanoClock.currentTimeNanos() - sendTimeNanos);
         }
 
         boolean batchComplete = (_batchEnabled && (messageCount % _batchSize == 0));
@@ -235,11 +236,15 @@ public class ConsumerParticipant implements Participant
         return true;
     }
 
-    private long getMessageTimestamp(final Message message)
+    private long getSendTimeNanos(final Message message)
     {
         try
         {
-            return message.getJMSTimestamp();
+            if (message.propertyExists(DistributedTestConstants.MSG_SEND_TIME_NANOS_PROPERTY))
+            {
+                return message.getLongProperty(DistributedTestConstants.MSG_SEND_TIME_NANOS_PROPERTY);
+            }
+            return TimeUnit.MILLISECONDS.toNanos(message.getJMSTimestamp());
         }
         catch (JMSException e)
         {
@@ -18,7 +18,6 @@
  */
 package org.apache.qpid.disttest.client;
 
-import java.util.Collection;
 import java.util.Date;
 
 import org.apache.qpid.disttest.message.ConsumerParticipantResult;
@@ -27,7 +26,7 @@ import org.apache.qpid.disttest.message.CreateParticipantCommand;
 import org.apache.qpid.disttest.message.CreateProducerCommand;
 import org.apache.qpid.disttest.message.ParticipantResult;
 import org.apache.qpid.disttest.message.ProducerParticipantResult;
-import org.apache.qpid.disttest.results.aggregation.SeriesStatistics;
+import org.apache.qpid.disttest.results.aggregation.LatencyHistogram;
 
 public class ParticipantResultFactory
 {
@@ -41,7 +40,7 @@ public class ParticipantResultFactory
                                                        long totalPayloadReceived,
                                                        Date start,
                                                        Date end,
-                                                       Collection<Long> messageLatencies,
+                                                       LatencyHistogram messageLatencies,
                                                        String providerVersion,
                                                        String protocolVersion)
     {
@@ -60,11 +59,10 @@ public class ParticipantResultFactory
         consumerParticipantResult.setTotalNumberOfConsumers(1);
         consumerParticipantResult.setTotalNumberOfProducers(0);
 
-        SeriesStatistics statistics = new SeriesStatistics(messageLatencies);
-        consumerParticipantResult.setAverageLatency(statistics.getAverage());
-        consumerParticipantResult.setMinLatency(statistics.getMinimum());
-        consumerParticipantResult.setMaxLatency(statistics.getMaximum());
-        consumerParticipantResult.setLatencyStandardDeviation(statistics.getStandardDeviation());
+        if (messageLatencies != null)
+        {
+            consumerParticipantResult.updateLatencyStatistics(messageLatencies);
+        }
 
         consumerParticipantResult.setProviderVersion(providerVersion);
         consumerParticipantResult.setProtocolVersion(protocolVersion);
@@ -24,10 +24,12 @@ import java.util.NavigableSet;
 import java.util.TreeSet;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 import javax.jms.Message;
 
 import com.google.common.util.concurrent.RateLimiter;
+import org.apache.qpid.disttest.client.utils.EpochNanoClock;
 import org.apache.qpid.disttest.jms.ClientJmsDelegate;
 import org.apache.qpid.disttest.message.CreateProducerCommand;
 import org.apache.qpid.disttest.message.ParticipantResult;
@@ -52,6 +54,11 @@ public class ProducerParticipant implements Participant
     private final int _batchSize;
     private final int _acknowledgeMode;
     private final RateLimiter _rateLimiter;
+    private final boolean _openLoop;
+    private final double _sendIntervalNanos;
+    private long _scheduleStartTime;
+    private long _scheduledSends;
+    private long _maximumScheduleLag;
     private volatile boolean _collectData = false;
 
     public ProducerParticipant(final ClientJmsDelegate jmsDelegate, final CreateProducerCommand command)
@@ -64,7 +71,9 @@ public class ProducerParticipant implements Participant
         _batchSize = _command.getBatchSize();
         _acknowledgeMode = _jmsDelegate.getAcknowledgeMode(_command.getSessionName());
         final double rate = _command.getRate();
-        _rateLimiter = (rate > 0 ? RateLimiter.create(rate) : null);
+        _openLoop = _command.isOpenLoop() && rate > 0;
+        _sendIntervalNanos = (rate > 0 ? TimeUnit.SECONDS.toNanos(1) / rate : 0);
+        _rateLimiter = (rate > 0 && !_openLoop ? RateLimiter.create(rate) : null);
     }
 
     @Override
@@ -77,17 +86,32 @@ public class ProducerParticipant implements Participant
         long totalPayloadSizeOfAllMessagesSent = 0;
         NavigableSet<Integer> allProducedPayloadSizes = new TreeSet<>();
 
-        LOGGER.debug("Producer {} about to send messages. Duration limit: {} ms Message Limit : {}",
-                    getName(), _maximumDuration, _numberOfMessages);
+        LOGGER.debug("Producer {} about to send messages. Duration limit: {} ms Message Limit : {} Open loop : {}",
+                    getName(), _maximumDuration, _numberOfMessages, _openLoop);
 
+        restartSchedule();
         while (_stopTestLatch.getCount() != 0)
         {
-            if (_rateLimiter != null)
+            final boolean collectData = _collectData;
+            long intendedSendTime = 0;
+            if (_openLoop)
+            {
+                if (collectData && startTime == 0)
+                {
+                    restartSchedule();
+                }
+                intendedSendTime = awaitNextScheduledSend();
+                if (intendedSendTime < 0)
+                {
+                    break;
+                }
+            }
+            else if (_rateLimiter != null)
             {
                 _rateLimiter.acquire();
             }
 
-            if (_collectData)
+            if (collectData)
             {
                 if (startTime == 0)
                 {
@@ -106,7 +130,7 @@ public class ProducerParticipant implements Participant
                     _collectData = false;
                 }
 
-                lastPublishedMessage = _jmsDelegate.sendNextMessage(_command);
+                lastPublishedMessage = sendNextMessage(intendedSendTime);
 
                 numberOfMessagesSent++;
 
@@ -126,19 +150,22 @@ public class ProducerParticipant implements Participant
                     }
                     _jmsDelegate.commitIfNecessary(_command.getSessionName());
 
-                    doSleepForInterval();
+                    if (!_openLoop)
+                    {
+                        doSleepForInterval();
+                    }
                 }
             }
             else
             {
                 if (_maximumDuration > 0)
                 {
-                    _jmsDelegate.sendNextMessage(_command);
+                    sendNextMessage(intendedSendTime);
 
                     _jmsDelegate.commitIfNecessary(_command.getSessionName());
                     LOGGER.trace("Pre-message sent by {}", this);
                 }
-                if (_rateLimiter == null && _maximumDuration == 0)
+                if (_rateLimiter == null && !_openLoop && _maximumDuration == 0)
                 {
                     if (!_startDataCollectionLatch.await(1, TimeUnit.SECONDS))
                     {
@@ -166,6 +193,11 @@ public class ProducerParticipant implements Participant
 
         LOGGER.info("Producer {} finished publishing. Number of messages published: {}",
                     getName(), numberOfMessagesSent);
+        if (_openLoop)
+        {
+            LOGGER.info("Producer {} fell at most {} ms behind its send schedule",
+                        getName(), TimeUnit.NANOSECONDS.toMillis(_maximumScheduleLag));
+        }
 
         Date start = new Date(startTime);
         String providerVersion = _jmsDelegate.getProviderVersion(_command.getSessionName());
@@ -215,6 +247,52 @@ public class ProducerParticipant implements Participant
         _stopTestLatch.countDown();
     }
 
+    private Message sendNextMessage(final long intendedSendTime)
+    {
+        if (_openLoop)
+        {
+            return _jmsDelegate.sendNextMessage(_command, intendedSendTime);
+        }
+        return _jmsDelegate.sendNextMessage(_command);
+    }
+
+    private void restartSchedule()
+    {
+        _scheduleStartTime = EpochNanoClock.currentTimeNanos();
+        _scheduledSends = 0;
+        _maximumScheduleLag = 0;
+    }
+
+    /**
+     * Waits for the next slot of the open loop schedule.  Slots are fixed by the rate alone, so a producer held up by
+     * the broker sends its overdue messages straight away rather than pushing the rest of the schedule back;
+     * consumers measure latency from the intended send time, so time spent stalled is not omitted from the results.
+     *
+     * @return the intended send time in nanoseconds since the epoch, or -1 if the test was stopped whilst waiting
+     */
+    private long awaitNextScheduledSend() throws InterruptedException
+    {
+        final long intendedSendTime = _scheduleStartTime + (long) (_scheduledSends * _sendIntervalNanos);
+        _scheduledSends++;
+
+        long remaining = intendedSendTime - EpochNanoClock.currentTimeNanos();
+        while (remaining > 0)
+        {
+            if (_stopTestLatch.getCount() == 0)
+            {
+                return -1;
+            }
+            LockSupport.parkNanos(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(100)));
+            if (Thread.interrupted())
+            {
+                throw new InterruptedException();
+            }
+            remaining = intendedSendTime - EpochNanoClock.currentTimeNanos();
+        }
+        _maximumScheduleLag = Math.max(_maximumScheduleLag, -remaining);
+        return intendedSendTime;
+    }
+
     private int getPayloadSizeForResultIfConstantOrZeroOtherwise(NavigableSet<Integer> allPayloadSizes)
     {
         return allPayloadSizes.size() == 1 ? allPayloadSizes.first() : 0;
@@ -0,0 +1,43 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.disttest.client.utils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall-clock time in nanoseconds since the epoch, anchored to {@link System#currentTimeMillis()} once and advanced
+ * by {@link System#nanoTime()}.  Readings are precise within one JVM; between JVMs they are only as close as the
+ * hosts' clocks.
+ */
+public final class EpochNanoClock
+{
+    private static final long EPOCH_NANOS_AT_ORIGIN = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+    private static final long NANO_TIME_AT_ORIGIN = System.nanoTime();
+
+    private EpochNanoClock()
+    {
+    }
+
+    public static long currentTimeNanos()
+    {
+        return EPOCH_NANOS_AT_ORIGIN + (System.nanoTime() - NANO_TIME_AT_ORIGIN);
+    }
+}
@@ -36,6 +36,8 @@ public class ProducerConfig extends ParticipantConfig
     private int _priority;
     private long _timeToLive;
     private long _interval;
+    private double _rate;
+    private boolean _openLoop;
     private String _messageProviderName;
 
     public ProducerConfig()
@@ -87,6 +89,8 @@ public class ProducerConfig extends ParticipantConfig
         command.setPriority(_priority);
         command.setTimeToLive(_timeToLive);
         command.setInterval(_interval);
+        command.setRate(_rate);
+        command.setOpenLoop(_openLoop);
         command.setMessageProviderName(_messageProviderName);
 
         return command;
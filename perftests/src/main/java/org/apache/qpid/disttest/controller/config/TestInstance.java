@@ -63,8 +63,11 @@ public class TestInstance
 
             if (command instanceof CreateProducerCommand)
             {
-                CreateProducerCommand producerCommand = (CreateProducerCommand) command;
-                producerCommand.setRate(ratePerProducer);
+                if (ratePerProducer > 0)
+                {
+                    CreateProducerCommand producerCommand = (CreateProducerCommand) command;
+                    producerCommand.setRate(ratePerProducer);
+                }
             }
 
             if (command instanceof CreateParticipantCommand)
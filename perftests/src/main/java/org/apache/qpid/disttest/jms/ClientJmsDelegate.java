@@ -53,6 +53,7 @@ import org.apache.qpid.disttest.DistributedTestException;
 import org.apache.qpid.disttest.client.Client;
 import org.apache.qpid.disttest.client.ConnectionLostListener;
 import org.apache.qpid.disttest.client.MessageProvider;
+import org.apache.qpid.disttest.client.utils.EpochNanoClock;
 import org.apache.qpid.disttest.message.Command;
 import org.apache.qpid.disttest.message.CreateConnectionCommand;
 import org.apache.qpid.disttest.message.CreateConsumerCommand;
@@ -415,6 +416,15 @@ public class ClientJmsDelegate
         }
     }
     public Message sendNextMessage(final CreateProducerCommand command)
+    {
+        return sendNextMessage(command, EpochNanoClock.currentTimeNanos());
+    }
+
+    /**
+     * Sends the next message, stamping it with the time it was scheduled to be sent rather than the time it actually
+     * was, so that consumer latencies include any time the producer spent held up behind the broker.
+     */
+    public Message sendNextMessage(final CreateProducerCommand command, final long intendedSendTimeNanos)
     {
         final String messageProviderName = command.getMessageProviderName();
         final MessageProvider messageProvider = getMessageProvider(messageProviderName);
@@ -439,6 +449,7 @@ public class ClientJmsDelegate
             {
                 ttl = message.getLongProperty(MessageProvider.TTL);
             }
+            message.setLongProperty(DistributedTestConstants.MSG_SEND_TIME_NANOS_PROPERTY, intendedSendTimeNanos);
             producer.send(message, deliveryMode, priority, ttl);
             return message;
         }
@@ -25,7 +25,7 @@ import static org.apache.qpid.disttest.message.ParticipantAttribute.IS_SELECTOR;
 import static org.apache.qpid.disttest.message.ParticipantAttribute.IS_SYNCHRONOUS_CONSUMER;
 import static org.apache.qpid.disttest.message.ParticipantAttribute.IS_TOPIC;
 
-import java.util.Collection;
+import org.apache.qpid.disttest.results.aggregation.LatencyHistogram;
 
 public class ConsumerParticipantResult extends ParticipantResult
 {
@@ -36,11 +36,15 @@ public class ConsumerParticipantResult extends ParticipantResult
     private boolean _noLocal;
     private boolean _synchronousConsumer;
 
-    private Collection<Long> _messageLatencies;
+    private LatencyHistogram _messageLatencies;
     private long _minLatency;
     private long _maxLatency;
     private double _averageLatency;
     private double _latencyStandardDeviation;
+    private double _50thPercentileLatency;
+    private double _99thPercentileLatency;
+    private double _99_9thPercentileLatency;
+    private double _99_99thPercentileLatency;
 
     public ConsumerParticipantResult()
     {
@@ -124,16 +128,31 @@ public class ConsumerParticipantResult extends ParticipantResult
         return _topic;
     }
 
-    public Collection<Long> getMessageLatencies()
+    public LatencyHistogram getMessageLatencies()
     {
         return _messageLatencies;
     }
 
-    public void setMessageLatencies(Collection<Long> messageLatencies)
+    public void setMessageLatencies(LatencyHistogram messageLatencies)
     {
         _messageLatencies = messageLatencies;
     }
 
+    /**
+     * Sets the latency statistics, in milliseconds, from the given histogram of nanosecond latencies.
+     */
+    public void updateLatencyStatistics(LatencyHistogram latencies)
+    {
+        _minLatency = Math.round(LatencyHistogram.toMillis(latencies.getMinValue()));
+        _maxLatency = Math.round(LatencyHistogram.toMillis(latencies.getMaxValue()));
+        _averageLatency = LatencyHistogram.toMillis(latencies.getMean());
+        _latencyStandardDeviation = LatencyHistogram.toMillis(latencies.getStandardDeviation());
+        _50thPercentileLatency = LatencyHistogram.toMillis(latencies.getValueAtPercentile(50.0));
+        _99thPercentileLatency = LatencyHistogram.toMillis(latencies.getValueAtPercentile(99.0));
+        _99_9thPercentileLatency = LatencyHistogram.toMillis(latencies.getValueAtPercentile(99.9));
+        _99_99thPercentileLatency = LatencyHistogram.toMillis(latencies.getValueAtPercentile(99.99));
+    }
+
     @Override
     @OutputAttribute(attribute=ParticipantAttribute.MIN_LATENCY)
     public long getMinLatency()
@@ -182,4 +201,32 @@ public class ConsumerParticipantResult extends ParticipantResult
         _latencyStandardDeviation = latencyStandardDeviation;
     }
 
+    @Override
+    @OutputAttribute(attribute=ParticipantAttribute.LATENCY_50TH_PERCENTILE)
+    public double get50thPercentileLatency()
+    {
+        return _50thPercentileLatency;
+    }
+
+    @Override
+    @OutputAttribute(attribute=ParticipantAttribute.LATENCY_99TH_PERCENTILE)
+    public double get99thPercentileLatency()
+    {
+        return _99thPercentileLatency;
+    }
+
+    @Override
+    @OutputAttribute(attribute=ParticipantAttribute.LATENCY_99_9TH_PERCENTILE)
+    public double get99_9thPercentileLatency()
+    {
+        return _99_9thPercentileLatency;
+    }
+
+    @Override
+    @OutputAttribute(attribute=ParticipantAttribute.LATENCY_99_99TH_PERCENTILE)
+    public double get99_99thPercentileLatency()
+    {
+        return _99_99thPercentileLatency;
+    }
+
 }
@@ -27,6 +27,7 @@ public class CreateProducerCommand extends CreateParticipantCommand
     private long _timeToLive;
     private long _interval;
     private double _rate;
+    private boolean _openLoop;
     private String _messageProviderName;
 
     public CreateProducerCommand()
@@ -104,4 +105,14 @@ public class CreateProducerCommand extends CreateParticipantCommand
         _rate = rate;
     }
 
+    public boolean isOpenLoop()
+    {
+        return _openLoop;
+    }
+
+    public void setOpenLoop(final boolean openLoop)
+    {
+        _openLoop = openLoop;
+    }
+
 }
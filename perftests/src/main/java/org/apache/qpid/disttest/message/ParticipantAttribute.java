@@ -60,6 +60,10 @@ public enum ParticipantAttribute
     MIN_LATENCY("minLatency"),
     MAX_LATENCY("maxLatency"),
     LATENCY_STANDARD_DEVIATION("latencyStandardDeviation"),
+    LATENCY_50TH_PERCENTILE("p50Latency", "#.###"),
+    LATENCY_99TH_PERCENTILE("p99Latency", "#.###"),
+    LATENCY_99_9TH_PERCENTILE("p999Latency", "#.###"),
+    LATENCY_99_99TH_PERCENTILE("p9999Latency", "#.###"),
     MESSAGE_THROUGHPUT("throughputMessagesPerS"),
     PROVIDER_VERSION("providerVersion"),
     PROTOCOL_VERSION("protocolVersion");
@@ -308,6 +308,30 @@ public class ParticipantResult extends Response
         return 0;
     }
 
+    @OutputAttribute(attribute = ParticipantAttribute.LATENCY_50TH_PERCENTILE)
+    public double get50thPercentileLatency()
+    {
+        return 0;
+    }
+
+    @OutputAttribute(attribute = ParticipantAttribute.LATENCY_99TH_PERCENTILE)
+    public double get99thPercentileLatency()
+    {
+        return 0;
+    }
+
+    @OutputAttribute(attribute = ParticipantAttribute.LATENCY_99_9TH_PERCENTILE)
+    public double get99_9thPercentileLatency()
+    {
+        return 0;
+    }
+
+    @OutputAttribute(attribute = ParticipantAttribute.LATENCY_99_99TH_PERCENTILE)
+    public double get99_99thPercentileLatency()
+    {
+        return 0;
+    }
+
     public int getPriority()
     {
         return 0;
@@ -0,0 +1,156 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.disttest.results.aggregation;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records latencies in nanoseconds into a fixed number of buckets.  Values below {@link #SUB_BUCKET_COUNT} are
+ * counted exactly; larger values fall into one of {@link #SUB_BUCKET_COUNT} / 2 linear sub-buckets per power of two,
+ * so percentiles are reported to within 1/64 of the value regardless of how many latencies are recorded.
+ * Minimum, maximum, mean and standard deviation are tracked exactly.
+ */
+public class LatencyHistogram
+{
+    static final int SUB_BUCKET_BITS = 7;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKET_HALF_COUNT;
+
+    private long[] _counts = new long[BUCKET_COUNT];
+    private long _totalCount;
+    private long _minValue = Long.MAX_VALUE;
+    private long _maxValue;
+    private double _sum;
+    private double _sumOfSquares;
+
+    public void recordValue(long value)
+    {
+        final long nonNegativeValue = Math.max(0, value);
+        _counts[indexOf(nonNegativeValue)]++;
+        _totalCount++;
+        _minValue = Math.min(_minValue, nonNegativeValue);
+        _maxValue = Math.max(_maxValue, nonNegativeValue);
+        _sum += nonNegativeValue;
+        _sumOfSquares += (double) nonNegativeValue * nonNegativeValue;
+    }
+
+    public void add(LatencyHistogram other)
+    {
+        if (other != null && other._totalCount > 0)
+        {
+            for (int i = 0; i < BUCKET_COUNT; i++)
+            {
+                _counts[i] += other._counts[i];
+            }
+            _totalCount += other._totalCount;
+            _minValue = Math.min(_minValue, other._minValue);
+            _maxValue = Math.max(_maxValue, other._maxValue);
+            _sum += other._sum;
+            _sumOfSquares += other._sumOfSquares;
+        }
+    }
+
+    public long getTotalCount()
+    {
+        return _totalCount;
+    }
+
+    public long getMinValue()
+    {
+        return _totalCount == 0 ? 0 : _minValue;
+    }
+
+    public long getMaxValue()
+    {
+        return _maxValue;
+    }
+
+    public double getMean()
+    {
+        return _totalCount == 0 ? 0 : _sum / _totalCount;
+    }
+
+    public double getStandardDeviation()
+    {
+        if (_totalCount == 0)
+        {
+            return 0;
+        }
+        final double mean = getMean();
+        final long size = _totalCount == 1 ? 1 : _totalCount - 1;
+        final double variance = (_sumOfSquares - _totalCount * mean * mean) / size;
+        return Math.sqrt(Math.max(0, variance));
+    }
+
+    /**
+     * @return the highest value equivalent to the one at the given percentile, never more than the largest value
+     * recorded
+     */
+    public long getValueAtPercentile(double percentile)
+    {
+        if (_totalCount == 0)
+        {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * _totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            seen += _counts[i];
+            if (seen >= rank)
+            {
+                return Math.min(highestValueAt(i), _maxValue);
+            }
+        }
+        return _maxValue;
+    }
+
+    public static double toMillis(double nanos)
+    {
+        return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    static int indexOf(long value)
+    {
+        if (value < SUB_BUCKET_COUNT)
+        {
+            return (int) value;
+        }
+        final int magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int shift = magnitude - SUB_BUCKET_BITS + 1;
+        return SUB_BUCKET_COUNT
+               + (magnitude - SUB_BUCKET_BITS) * SUB_BUCKET_HALF_COUNT
+               + (int) ((value >>> shift) - SUB_BUCKET_HALF_COUNT);
+    }
+
+    static long highestValueAt(int index)
+    {
+        if (index < SUB_BUCKET_COUNT)
+        {
+            return index;
+        }
+        final int magnitude = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + SUB_BUCKET_BITS;
+        final int shift = magnitude - SUB_BUCKET_BITS + 1;
+        final long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
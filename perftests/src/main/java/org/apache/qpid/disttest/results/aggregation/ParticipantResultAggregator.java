@@ -51,7 +51,7 @@ public class ParticipantResultAggregator
     private NavigableSet<String> _encounteredProviderVersions = new TreeSet<>();
     private NavigableSet<String> _encounteredProtocolVersions = new TreeSet<>();
 
-    private SeriesStatistics _latencyStatistics = new SeriesStatistics();
+    private final LatencyHistogram _latencies = new LatencyHistogram();
 
     public ParticipantResultAggregator(Class<? extends ParticipantResult> targetClass, String aggregateResultName)
     {
@@ -68,8 +68,7 @@ public class ParticipantResultAggregator
             if (result instanceof ConsumerParticipantResult)
             {
                 ConsumerParticipantResult consumerParticipantResult = (ConsumerParticipantResult)result;
-                _latencyStatistics.addMessageLatencies(consumerParticipantResult.getMessageLatencies());
-                _latencyStatistics.aggregate();
+                _latencies.add(consumerParticipantResult.getMessageLatencies());
             }
         }
     }
@@ -80,10 +79,7 @@ public class ParticipantResultAggregator
         if (_targetClass == ConsumerParticipantResult.class)
         {
             ConsumerParticipantResult consumerParticipantResult = new ConsumerParticipantResult(_aggregatedResultName);
-            consumerParticipantResult.setAverageLatency(_latencyStatistics.getAverage());
-            consumerParticipantResult.setMinLatency(_latencyStatistics.getMinimum());
-            consumerParticipantResult.setMaxLatency(_latencyStatistics.getMaximum());
-            consumerParticipantResult.setLatencyStandardDeviation(_latencyStatistics.getStandardDeviation());
+            consumerParticipantResult.updateLatencyStatistics(_latencies);
             aggregatedResult = consumerParticipantResult;
         }
         else
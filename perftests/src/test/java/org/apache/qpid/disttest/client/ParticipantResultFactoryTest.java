@@ -18,7 +18,6 @@
  */
 package org.apache.qpid.disttest.client;
 
-import java.util.Collections;
 import java.util.Date;
 
 import javax.jms.DeliveryMode;
@@ -31,6 +30,7 @@ import org.apache.qpid.disttest.message.CreateParticipantCommand;
 import org.apache.qpid.disttest.message.CreateProducerCommand;
 import org.apache.qpid.disttest.message.ParticipantResult;
 import org.apache.qpid.disttest.message.ProducerParticipantResult;
+import org.apache.qpid.disttest.results.aggregation.LatencyHistogram;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -158,7 +158,7 @@ public class ParticipantResultFactoryTest extends UnitTestBase
                                                                                        PAYLOAD_SIZE,
                                                                                        TOTAL_PAYLOAD_PROCESSED,
                                                                                        START, END,
-                                                                                       Collections.<Long>emptyList(),
+                                                                                       new LatencyHistogram(),
                                                                                        PROVIDER_VERSION,
                                                                                        PROTOCOL_VERSION);
 
@@ -19,9 +19,11 @@
 package org.apache.qpid.disttest.client;
 
 import static org.apache.qpid.disttest.client.ParticipantTestHelper.assertExpectedProducerResults;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -79,6 +81,7 @@ public class ProducerParticipantTest extends UnitTestBase
         _command.setMaximumDuration((long) MAXIMUM_DURATION);
 
         when(_delegate.sendNextMessage(isA(CreateProducerCommand.class))).thenReturn(_mockMessage);
+        when(_delegate.sendNextMessage(isA(CreateProducerCommand.class), anyLong())).thenReturn(_mockMessage);
         when(_delegate.calculatePayloadSizeFrom(_mockMessage)).thenReturn(PAYLOAD_SIZE_PER_MESSAGE);
         when(_delegate.getAcknowledgeMode(SESSION_NAME1)).thenReturn(Session.AUTO_ACKNOWLEDGE);
 
@@ -118,6 +121,35 @@ public class ProducerParticipantTest extends UnitTestBase
         verify(_delegate, atLeastOnce()).commitIfNecessary(SESSION_NAME1);
     }
 
+    @Test
+    public void testSendMessagesOpenLoop() throws Exception
+    {
+        _command.setRate(100);
+        _command.setOpenLoop(true);
+        _producer = new ProducerParticipant(_delegate, _command);
+
+        _producer.startDataCollection();
+        final ParticipantResult[] result = new ParticipantResult[1];
+        ResultReporter resultReporter = new ResultReporter()
+        {
+            @Override
+            public void reportResult(final ParticipantResult theResult)
+            {
+                result[0] = theResult;
+                _producer.stopTestAsync();
+            }
+        };
+        _producer.startTest(CLIENT_NAME, resultReporter);
+
+        assertNotNull("Producer should have reported a result", result[0]);
+        final long numberOfMessages = result[0].getNumberOfMessagesProcessed();
+        assertTrue("Unexpected number of messages sent at 100 msg/s over " + MAXIMUM_DURATION + " ms : "
+                   + numberOfMessages, numberOfMessages >= 90 && numberOfMessages <= 110);
+
+        verify(_delegate, atLeastOnce()).sendNextMessage(isA(CreateProducerCommand.class), anyLong());
+        verify(_delegate, never()).sendNextMessage(isA(CreateProducerCommand.class));
+    }
+
     @Test
     public void testReleaseResources()
     {
@@ -59,6 +59,8 @@ public class ProducerConfigTest extends UnitTestBase
         assertEquals((long) Message.DEFAULT_DELIVERY_MODE, (long) p.getDeliveryMode());
         assertEquals((long) Message.DEFAULT_PRIORITY, (long) p.getPriority());
         assertEquals(Message.DEFAULT_TIME_TO_LIVE, p.getTimeToLive());
+        assertEquals(0, p.getRate(), 0);
+        assertFalse(p.isOpenLoop());
     }
 
     @Test
@@ -32,6 +32,10 @@ import static org.apache.qpid.disttest.message.ParticipantAttribute.IS_SELECTOR;
 import static org.apache.qpid.disttest.message.ParticipantAttribute.IS_SYNCHRONOUS_CONSUMER;
 import static org.apache.qpid.disttest.message.ParticipantAttribute.IS_TOPIC;
 import static org.apache.qpid.disttest.message.ParticipantAttribute.ITERATION_NUMBER;
+import static org.apache.qpid.disttest.message.ParticipantAttribute.LATENCY_50TH_PERCENTILE;
+import static org.apache.qpid.disttest.message.ParticipantAttribute.LATENCY_99TH_PERCENTILE;
+import static org.apache.qpid.disttest.message.ParticipantAttribute.LATENCY_99_99TH_PERCENTILE;
+import static org.apache.qpid.disttest.message.ParticipantAttribute.LATENCY_99_9TH_PERCENTILE;
 import static org.apache.qpid.disttest.message.ParticipantAttribute.LATENCY_STANDARD_DEVIATION;
 import static org.apache.qpid.disttest.message.ParticipantAttribute.MAXIMUM_DURATION;
 import static org.apache.qpid.disttest.message.ParticipantAttribute.MAX_LATENCY;
@@ -126,6 +130,10 @@ public class ResultsTestFixture
         participantAttributes.put(MAX_LATENCY, 9l);
         participantAttributes.put(AVERAGE_LATENCY, 4.6f);
         participantAttributes.put(LATENCY_STANDARD_DEVIATION, 2.0f);
+        participantAttributes.put(LATENCY_50TH_PERCENTILE, 5.0d);
+        participantAttributes.put(LATENCY_99TH_PERCENTILE, 8.9d);
+        participantAttributes.put(LATENCY_99_9TH_PERCENTILE, 8.99d);
+        participantAttributes.put(LATENCY_99_99TH_PERCENTILE, 8.9999d);
         participantAttributes.put(MESSAGE_THROUGHPUT, 2);
         participantAttributes.put(PROVIDER_VERSION, PROVIDER_VERSION1);
         participantAttributes.put(PROTOCOL_VERSION, PROTOCOL_VERSION1);
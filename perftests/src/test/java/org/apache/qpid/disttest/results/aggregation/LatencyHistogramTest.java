@@ -0,0 +1,109 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.disttest.results.aggregation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class LatencyHistogramTest extends UnitTestBase
+{
+    @Test
+    public void testStatisticsAreExact()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (Long latency : SeriesStatisticsTest.SERIES)
+        {
+            histogram.recordValue(latency);
+        }
+
+        assertEquals("Unexpected count", (long) SeriesStatisticsTest.SERIES.size(), histogram.getTotalCount());
+        assertEquals("Unexpected min", 2L, histogram.getMinValue());
+        assertEquals("Unexpected max", 9L, histogram.getMaxValue());
+        assertEquals("Unexpected average", 5.0, histogram.getMean(), 0.01);
+        assertEquals("Unexpected standard deviation", 2.0, histogram.getStandardDeviation(), 0.01);
+        assertEquals("Unexpected median", 5L, histogram.getValueAtPercentile(50.0));
+        assertEquals("Unexpected 100th percentile", 9L, histogram.getValueAtPercentile(100.0));
+    }
+
+    @Test
+    public void testPercentilesWithinPrecision()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10000; i++)
+        {
+            histogram.recordValue(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+
+        assertWithinPrecision(TimeUnit.MICROSECONDS.toNanos(5000), histogram.getValueAtPercentile(50.0));
+        assertWithinPrecision(TimeUnit.MICROSECONDS.toNanos(9900), histogram.getValueAtPercentile(99.0));
+        assertWithinPrecision(TimeUnit.MICROSECONDS.toNanos(9990), histogram.getValueAtPercentile(99.9));
+        assertWithinPrecision(TimeUnit.MICROSECONDS.toNanos(9999), histogram.getValueAtPercentile(99.99));
+        assertEquals("Unexpected max", TimeUnit.MICROSECONDS.toNanos(10000), histogram.getMaxValue());
+    }
+
+    @Test
+    public void testBucketBoundaries()
+    {
+        for (long value : new long[]{0, 1, 127, 128, 255, 256, 1000, 123456789L, Long.MAX_VALUE})
+        {
+            int index = LatencyHistogram.indexOf(value);
+            long highest = LatencyHistogram.highestValueAt(index);
+            assertTrue("Value " + value + " above its bucket", value <= highest);
+            if (index > 0)
+            {
+                assertTrue("Value " + value + " within previous bucket",
+                           value > LatencyHistogram.highestValueAt(index - 1));
+            }
+        }
+    }
+
+    @Test
+    public void testAdd()
+    {
+        LatencyHistogram first = new LatencyHistogram();
+        first.recordValue(10);
+        first.recordValue(20);
+        LatencyHistogram second = new LatencyHistogram();
+        second.recordValue(30);
+
+        LatencyHistogram total = new LatencyHistogram();
+        total.add(first);
+        total.add(second);
+        total.add(new LatencyHistogram());
+
+        assertEquals("Unexpected count", 3L, total.getTotalCount());
+        assertEquals("Unexpected min", 10L, total.getMinValue());
+        assertEquals("Unexpected max", 30L, total.getMaxValue());
+        assertEquals("Unexpected average", 20.0, total.getMean(), 0.01);
+    }
+
+    private void assertWithinPrecision(final long expected, final long actual)
+    {
+        assertTrue("Value " + actual + " is not within precision of " + expected,
+                   actual >= expected && actual - expected <= expected / 64);
+    }
+}
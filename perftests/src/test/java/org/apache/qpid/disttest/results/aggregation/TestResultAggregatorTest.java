@@ -21,6 +21,7 @@ package org.apache.qpid.disttest.results.aggregation;
 
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Assert;
 
@@ -138,7 +139,12 @@ public class TestResultAggregatorTest extends UnitTestBase
         {
             if (participantResult instanceof ConsumerParticipantResult)
             {
-                ((ConsumerParticipantResult)participantResult).setMessageLatencies(SeriesStatisticsTest.SERIES);
+                LatencyHistogram latencies = new LatencyHistogram();
+                for (Long latency : SeriesStatisticsTest.SERIES)
+                {
+                    latencies.recordValue(TimeUnit.MILLISECONDS.toNanos(latency));
+                }
+                ((ConsumerParticipantResult)participantResult).setMessageLatencies(latencies);
                 break;
             }
         }